@@ -0,0 +1,44 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregating the values found by a deep scan. Run with <code>-prof gc</code> to see the allocation of the
+ * intermediate results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AggregationBenchmark {
+
+    @Param({"$..price.sum()", "$..price.avg()", "$..price.max()", "$..price.stddev()", "$..price.length()"})
+    public String path;
+
+    private JsonPath compiled;
+
+    @Setup
+    public void setup() {
+        compiled = JsonPath.compile(path);
+    }
+
+    @Benchmark
+    public Object aggregate(DocumentState doc) {
+        return doc.document.read(compiled);
+    }
+}
@@ -0,0 +1,68 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.EvaluationEngine;
+import com.jayway.jsonpath.EvaluationListener;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Definite paths read by the token chain, by the definite path walk every engine uses for reads and by
+ * classes generated for hot paths with {@link EvaluationEngine#BYTECODE}. Only json-smart and Jackson documents are
+ * compiled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BytecodeBenchmark {
+
+    @Param({"RECURSIVE", "BYTECODE"})
+    public EvaluationEngine engine;
+
+    @Param({"$.store.bicycle.color", "$.store.book[0].title", "$.store.book[-1].reviews[0].reviewer.name"})
+    public String path;
+
+    private JsonPath compiled;
+    private Configuration configuration;
+    private Configuration listening;
+
+    @Setup
+    public void setup(DocumentState doc) {
+        compiled = JsonPath.compile(path);
+        configuration = doc.configuration.engine(engine);
+        listening = configuration.addEvaluationListeners(new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult found) {
+                return EvaluationContinuation.CONTINUE;
+            }
+        });
+    }
+
+    @Benchmark
+    public Object read(DocumentState doc) {
+        return compiled.read(doc.document.json(), configuration);
+    }
+
+    /**
+     * The token chain, which definite reads skip unless evaluation listeners are configured.
+     */
+    @Benchmark
+    public Object tokenChain(DocumentState doc) {
+        return compiled.read(doc.document.json(), listening);
+    }
+}
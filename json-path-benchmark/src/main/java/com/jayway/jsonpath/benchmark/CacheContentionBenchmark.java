@@ -0,0 +1,119 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.cache.Cache;
+import com.jayway.jsonpath.spi.cache.ConcurrentLRUCache;
+import com.jayway.jsonpath.spi.cache.LRUCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hit throughput of the path caches with an increasing number of threads reading from a shared, fully populated
+ * cache. Scaling with the thread count is what matters here, compare the per thread count results. The threads
+ * read all the cached paths or all the same one, the worst case for entries written on every hit.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CacheContentionBenchmark {
+
+    private static final int CACHE_SIZE = 400;
+
+    public enum CacheType {
+        LRU {
+            @Override
+            Cache create(int limit) {
+                return new LRUCache(limit);
+            }
+        },
+        CONCURRENT_LRU {
+            @Override
+            Cache create(int limit) {
+                return new ConcurrentLRUCache(limit);
+            }
+        };
+
+        abstract Cache create(int limit);
+    }
+
+    @State(Scope.Benchmark)
+    public static class CacheState {
+
+        @Param({"LRU", "CONCURRENT_LRU"})
+        public CacheType type;
+
+        // the number of cached paths read
+        @Param({"400", "1"})
+        public int read;
+
+        public Cache cache;
+        public String[] keys;
+
+        @Setup
+        public void setup() {
+            cache = type.create(CACHE_SIZE);
+            keys = new String[read];
+            for (int i = 0; i < CACHE_SIZE; i++) {
+                String key = "$.store.book[" + i + "].title";
+                cache.put(key, JsonPath.compile(key));
+                if (i < read) {
+                    keys[i] = key;
+                }
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class KeyCursor {
+        private int next;
+
+        @Setup
+        public void setup() {
+            next = (int) (Thread.currentThread().getId() * 31) % CACHE_SIZE;
+        }
+
+        String next(String[] keys) {
+            String key = keys[next % keys.length];
+            next = next + 1 == CACHE_SIZE ? 0 : next + 1;
+            return key;
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public JsonPath hit_1_thread(CacheState state, KeyCursor cursor) {
+        return state.cache.get(cursor.next(state.keys));
+    }
+
+    @Benchmark
+    @Threads(4)
+    public JsonPath hit_4_threads(CacheState state, KeyCursor cursor) {
+        return state.cache.get(cursor.next(state.keys));
+    }
+
+    @Benchmark
+    @Threads(16)
+    public JsonPath hit_16_threads(CacheState state, KeyCursor cursor) {
+        return state.cache.get(cursor.next(state.keys));
+    }
+
+    @Benchmark
+    @Threads(64)
+    public JsonPath hit_64_threads(CacheState state, KeyCursor cursor) {
+        return state.cache.get(cursor.next(state.keys));
+    }
+}
@@ -0,0 +1,33 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * A parsed document for every provider and document size combination.
+ */
+@State(Scope.Benchmark)
+public class DocumentState {
+
+    @Param({"JSON_SMART", "JACKSON", "JACKSON_JSON_NODE", "GSON", "JSON_ORG", "TAPESTRY", "JETTISON"})
+    public Providers provider;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Documents.Size size;
+
+    public Configuration configuration;
+    public String json;
+    public DocumentContext document;
+
+    @Setup
+    public void setup() {
+        configuration = provider.configuration();
+        json = Documents.generate(size);
+        document = JsonPath.using(configuration).parse(json);
+    }
+}
@@ -0,0 +1,78 @@
+package com.jayway.jsonpath.benchmark;
+
+import java.util.Random;
+
+/**
+ * Generates deterministic store documents of different sizes for the benchmarks.
+ *
+ * <pre>
+ * {
+ *   "store" : {
+ *     "book" : [ { "id", "category", "author", "title", "price", "isbn" (every other book), "tags" : [...], "reviews" : [ {...} ] } ],
+ *     "bicycle" : { "color", "price" }
+ *   },
+ *   "expensive" : 10
+ * }
+ * </pre>
+ */
+public final class Documents {
+
+    public enum Size {
+        SMALL(10),
+        MEDIUM(1000),
+        LARGE(20000);
+
+        private final int books;
+
+        Size(int books) {
+            this.books = books;
+        }
+
+        public int books() {
+            return books;
+        }
+    }
+
+    public static final int TAGS_PER_BOOK = 3;
+
+    private static final String[] CATEGORIES = {"reference", "fiction", "poetry", "science"};
+    private static final String[] AUTHORS = {"Nigel Rees", "Evelyn Waugh", "Herman Melville", "J. R. R. Tolkien", "Ursula K. Le Guin"};
+
+    private Documents() {
+    }
+
+    public static String generate(Size size) {
+        return generate(size.books());
+    }
+
+    public static String generate(int books) {
+        Random random = new Random(books);
+        StringBuilder sb = new StringBuilder(books * 256);
+        sb.append("{\"store\":{\"book\":[");
+        for (int i = 0; i < books; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i)
+              .append(",\"category\":\"").append(CATEGORIES[random.nextInt(CATEGORIES.length)]).append('"')
+              .append(",\"author\":\"").append(AUTHORS[random.nextInt(AUTHORS.length)]).append('"')
+              .append(",\"title\":\"Title ").append(i).append('"')
+              .append(",\"price\":").append(random.nextInt(3000) / 100d);
+            if (i % 2 == 0) {
+                sb.append(",\"isbn\":\"0-").append(100000 + random.nextInt(900000)).append("-x\"");
+            }
+            sb.append(",\"tags\":[");
+            for (int t = 0; t < TAGS_PER_BOOK; t++) {
+                if (t > 0) {
+                    sb.append(',');
+                }
+                sb.append("\"tag-").append(random.nextInt(50)).append('"');
+            }
+            sb.append("],\"reviews\":[{\"id\":").append(i * 10)
+              .append(",\"stars\":").append(1 + random.nextInt(5))
+              .append(",\"reviewer\":{\"id\":").append(random.nextInt(10000)).append(",\"name\":\"reviewer\"}}]}");
+        }
+        sb.append("],\"bicycle\":{\"color\":\"red\",\"price\":19.95}},\"expensive\":10}");
+        return sb.toString();
+    }
+}
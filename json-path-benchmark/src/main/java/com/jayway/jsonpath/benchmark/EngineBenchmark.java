@@ -0,0 +1,50 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.EvaluationEngine;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Indefinite paths evaluated by each {@link EvaluationEngine}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmark {
+
+    @Param({"RECURSIVE", "INTERPRETER"})
+    public EvaluationEngine engine;
+
+    @Param({"$.store.book[*].author", "$.store.book[?(@.price < 10)].title", "$..id", "$.store.book[1:3].tags[*]"})
+    public String path;
+
+    private JsonPath compiled;
+    private Configuration configuration;
+
+    @Setup
+    public void setup(DocumentState doc) {
+        compiled = JsonPath.compile(path);
+        configuration = doc.configuration.engine(engine);
+    }
+
+    @Benchmark
+    public Object read(DocumentState doc) {
+        return compiled.read(doc.document.json(), configuration);
+    }
+}
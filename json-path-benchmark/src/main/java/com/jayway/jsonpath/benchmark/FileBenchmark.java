@@ -0,0 +1,75 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing a json file, through a file input stream and through {@link JsonPath#parse(File, Configuration)} with
+ * {@link Option#MAP_FILES}, which memory maps the file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileBenchmark {
+
+    @Param({"JSON_SMART", "JACKSON", "JACKSON_JSON_NODE", "GSON"})
+    public Providers provider;
+
+    @Param({"MEDIUM", "LARGE"})
+    public Documents.Size size;
+
+    private Configuration configuration;
+    private Configuration mapping;
+    private File file;
+
+    @Setup
+    public void setup() throws IOException {
+        configuration = provider.configuration();
+        mapping = configuration.addOptions(Option.MAP_FILES);
+        file = File.createTempFile("benchmark", ".json");
+        OutputStream out = new FileOutputStream(file);
+        try {
+            out.write(Documents.generate(size).getBytes("UTF-8"));
+        } finally {
+            out.close();
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public Object inputStream() throws IOException {
+        return JsonPath.using(configuration).parse(new FileInputStream(file)).json();
+    }
+
+    @Benchmark
+    public Object mapped() throws IOException {
+        return JsonPath.using(mapping).parse(file).json();
+    }
+}
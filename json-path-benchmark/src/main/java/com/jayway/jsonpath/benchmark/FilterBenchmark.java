@@ -0,0 +1,49 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inline filter predicates applied to every element of the book array.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark {
+
+    @Param({
+            "$.store.book[?(@.price < 10)]",
+            "$.store.book[?(@.category == 'fiction' && @.price > 5)].title",
+            "$.store.book[?(@.isbn)].id",
+            "$.store.book[?(@.category in ['poetry', 'science'])].id",
+            "$.store.book[?(@.price > $.expensive)].id"
+    })
+    public String path;
+
+    private JsonPath compiled;
+
+    @Setup
+    public void setup() {
+        compiled = JsonPath.compile(path);
+    }
+
+    @Benchmark
+    public Object filter(DocumentState doc) {
+        return doc.document.read(compiled);
+    }
+}
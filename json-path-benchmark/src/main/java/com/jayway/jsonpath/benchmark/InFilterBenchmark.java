@@ -0,0 +1,68 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filters of 10k items by allow-lists of ids, written in the filter or read from the document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InFilterBenchmark {
+
+    private static final int ITEMS = 10000;
+
+    @Param({"10", "1000", "5000"})
+    public int ids;
+
+    @Param({"literal", "document"})
+    public String list;
+
+    @Param({"JSON_SMART", "JACKSON"})
+    public Providers provider;
+
+    private DocumentContext document;
+    private JsonPath compiled;
+
+    @Setup
+    public void setup() {
+        StringBuilder allowed = new StringBuilder();
+        for (int i = 0; i < ids; i++) {
+            allowed.append(i == 0 ? "" : ",").append(i * 7);
+        }
+        StringBuilder json = new StringBuilder(ITEMS * 16);
+        json.append("{\"allowed\":[").append(allowed).append("],\"items\":[");
+        for (int i = 0; i < ITEMS; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append('}');
+        }
+        json.append("]}");
+        Configuration configuration = provider.configuration();
+        document = JsonPath.using(configuration).parse(json.toString());
+        compiled = JsonPath.compile("literal".equals(list)
+                ? "$.items[?(@.id in [" + allowed + "])].id"
+                : "$.items[?(@.id in $.allowed)].id");
+    }
+
+    @Benchmark
+    public Object filter() {
+        return document.read(compiled);
+    }
+}
@@ -0,0 +1,71 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.EvaluationListener;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.ResultHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consuming every result of a path one by one, from the list read, from the lazy iterator or from a result
+ * handler. Run with <code>-prof gc</code> to compare the memory they hold.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IterateBenchmark {
+
+    @Param({"$..author", "$.store.book[*].tags[*]", "$.store.book[?(@.price > 20)].id"})
+    public String path;
+
+    private JsonPath compiled;
+
+    @Setup
+    public void setup() {
+        compiled = JsonPath.compile(path);
+    }
+
+    @Benchmark
+    public void read(DocumentState doc, Blackhole blackhole) {
+        List<Object> values = doc.document.read(compiled);
+        for (Object value : values) {
+            blackhole.consume(value);
+        }
+    }
+
+    @Benchmark
+    public void handle(DocumentState doc, final Blackhole blackhole) {
+        compiled.read(doc.document.json(), doc.configuration, new ResultHandler() {
+            @Override
+            public EvaluationListener.EvaluationContinuation handle(EvaluationListener.FoundResult found) {
+                blackhole.consume(found.result());
+                return EvaluationListener.EvaluationContinuation.CONTINUE;
+            }
+        });
+    }
+
+    @Benchmark
+    public void iterate(DocumentState doc, Blackhole blackhole) {
+        Iterator<Object> values = compiled.iterate(doc.document.json(), doc.configuration);
+        while (values.hasNext()) {
+            blackhole.consume(values.next());
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.EvaluationEngine;
+import com.jayway.jsonpath.JsonLines;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.ReadContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Reading a few fields from every record of newline delimited json. Scores are records per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(JsonLinesBenchmark.RECORDS)
+public class JsonLinesBenchmark {
+
+    static final int RECORDS = 10000;
+
+    private static final JsonPath[] PATHS = {
+            JsonPath.compile("$.id"), JsonPath.compile("$.level"), JsonPath.compile("$.request.status")
+    };
+
+    @Param({"JSON_SMART", "JACKSON", "GSON"})
+    public Providers provider;
+
+    private Configuration configuration;
+    private Configuration streaming;
+    private byte[] lines;
+    private byte[] compressed;
+
+    @Setup
+    public void setup() throws IOException {
+        configuration = provider.configuration();
+        streaming = configuration.engine(EvaluationEngine.STREAMING);
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < RECORDS; i++) {
+            text.append("{\"id\":").append(i)
+                    .append(",\"time\":\"2017-01-01T00:00:").append(i % 60)
+                    .append("Z\",\"level\":\"").append(i % 10 == 0 ? "WARN" : "INFO")
+                    .append("\",\"message\":\"request handled by worker ").append(i % 16)
+                    .append("\",\"request\":{\"method\":\"GET\",\"path\":\"/items/").append(i)
+                    .append("\",\"status\":").append(i % 50 == 0 ? 500 : 200)
+                    .append(",\"headers\":{\"accept\":\"application/json\",\"user-agent\":\"bench\"}}")
+                    .append(",\"tags\":[\"a\",\"b\",\"c\"]}\n");
+        }
+        lines = text.toString().getBytes("UTF-8");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(out);
+        gzip.write(lines);
+        gzip.close();
+        compressed = out.toByteArray();
+    }
+
+    @Benchmark
+    public void parseEachLine(Blackhole blackhole) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(lines), "UTF-8"));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            ReadContext ctx = JsonPath.using(configuration).parse(line);
+            for (JsonPath path : PATHS) {
+                blackhole.consume(ctx.read(path));
+            }
+        }
+    }
+
+    @Benchmark
+    public void readLines(Blackhole blackhole) throws IOException {
+        consume(JsonPath.readLines(new ByteArrayInputStream(lines), configuration, PATHS), blackhole);
+    }
+
+    @Benchmark
+    public void readLinesStreaming(Blackhole blackhole) throws IOException {
+        consume(JsonPath.readLines(new ByteArrayInputStream(lines), streaming, PATHS), blackhole);
+    }
+
+    @Benchmark
+    public void readLinesGzip(Blackhole blackhole) throws IOException {
+        consume(JsonPath.readLines(new ByteArrayInputStream(compressed), configuration, PATHS), blackhole);
+    }
+
+    private static void consume(JsonLines records, Blackhole blackhole) {
+        while (records.hasNext()) {
+            JsonLines.Record record = records.next();
+            for (int i = 0; i < PATHS.length; i++) {
+                blackhole.consume(record.<Object>read(i));
+            }
+        }
+        records.close();
+    }
+}
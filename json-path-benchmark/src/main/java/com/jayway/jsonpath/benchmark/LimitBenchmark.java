@@ -0,0 +1,57 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limited reads of large arrays. The time of the limited reads follows the limit rather than the size of the
+ * document, {@link #all()} reads every result for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LimitBenchmark {
+
+    @Param({"$.store.book[2:]", "$.store.book[*].title", "$..author", "$.store.book[?(@.price > 20)].id"})
+    public String path;
+
+    @Param({"1", "10", "100"})
+    public int limit;
+
+    private JsonPath compiled;
+
+    @Setup
+    public void setup() {
+        compiled = JsonPath.compile(path);
+    }
+
+    @Benchmark
+    public Object limited(DocumentState doc) {
+        return doc.document.limit(limit).read(compiled);
+    }
+
+    @Benchmark
+    public Object first(DocumentState doc) {
+        return compiled.readFirst(doc.document.json(), doc.configuration);
+    }
+
+    @Benchmark
+    public Object all(DocumentState doc) {
+        return doc.document.read(compiled);
+    }
+}
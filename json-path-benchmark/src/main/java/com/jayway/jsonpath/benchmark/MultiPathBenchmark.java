@@ -0,0 +1,83 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.MultiPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Extracting a set of fields from a document, path by path and with a {@link MultiPath}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MultiPathBenchmark {
+
+    public enum Fields {
+        /**
+         * Definite paths below a few shared prefixes.
+         */
+        DEFINITE(
+                "$.store.book[0].id", "$.store.book[0].title", "$.store.book[0].author", "$.store.book[0].price",
+                "$.store.book[0].reviews[0].stars", "$.store.book[0].reviews[0].reviewer.id", "$.store.book[0].reviews[0].reviewer.name",
+                "$.store.book[1].id", "$.store.book[1].title", "$.store.book[1].author", "$.store.book[1].price",
+                "$.store.book[1].reviews[0].stars", "$.store.book[1].reviews[0].reviewer.id", "$.store.book[1].reviews[0].reviewer.name",
+                "$.store.bicycle.color", "$.store.bicycle.price", "$.expensive"),
+        /**
+         * Wildcards, filters and scans sharing their prefix.
+         */
+        INDEFINITE(
+                "$.store.book[*].id", "$.store.book[*].title", "$.store.book[*].author", "$.store.book[*].isbn",
+                "$.store.book[?(@.price < 10)].id", "$.store.book[?(@.price < 10)].title", "$.store.book[?(@.price < 10)].tags[0]",
+                "$.store..reviewer.id", "$.store..reviewer.name");
+
+        private final String[] paths;
+
+        Fields(String... paths) {
+            this.paths = paths;
+        }
+    }
+
+    @Param({"DEFINITE", "INDEFINITE"})
+    public Fields fields;
+
+    private JsonPath[] separate;
+    private MultiPath set;
+
+    @Setup
+    public void setup() {
+        separate = new JsonPath[fields.paths.length];
+        for (int i = 0; i < separate.length; i++) {
+            separate[i] = JsonPath.compile(fields.paths[i]);
+        }
+        set = JsonPath.compileSet(fields.paths);
+    }
+
+    @Benchmark
+    public void separate(DocumentState doc, Blackhole blackhole) {
+        Object json = doc.document.json();
+        for (JsonPath path : separate) {
+            blackhole.consume(path.read(json, doc.configuration));
+        }
+    }
+
+    @Benchmark
+    public Object set(DocumentState doc) {
+        return set.read(doc.document.json(), doc.configuration);
+    }
+}
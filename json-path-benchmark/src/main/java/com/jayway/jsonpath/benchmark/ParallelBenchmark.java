@@ -0,0 +1,68 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deep scans, wildcards and filters over large containers, in the calling thread and split among the threads of an
+ * executor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParallelBenchmark {
+
+    @Param({"$..price", "$.store.book[*].reviews[*].stars", "$.store.book[?(@.price < 10)].title"})
+    public String path;
+
+    // threads of the executor, to measure how parallel reads scale with the cores available
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private JsonPath compiled;
+    private ExecutorService executor;
+    private DocumentContext parallel;
+
+    @Setup
+    public void setup(DocumentState doc) {
+        compiled = JsonPath.compile(path);
+        executor = Executors.newFixedThreadPool(threads);
+        Configuration configuration = doc.configuration.executor(executor);
+        parallel = JsonPath.using(configuration).parse(doc.json);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public Object sequential(DocumentState doc) {
+        return doc.document.read(compiled);
+    }
+
+    @Benchmark
+    public Object parallel() {
+        return parallel.read(compiled);
+    }
+}
@@ -0,0 +1,42 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.path.PathCompiler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of compiling a path string into a {@link Path}, bypassing the path cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PathCompileBenchmark {
+
+    @Param({
+            "$.store.book[0].title",
+            "$['store']['book'][*]['author']",
+            "$..book[?(@.price < 10 && @.category == 'fiction')].title",
+            "$.store.book[1:5].tags[-1]",
+            "$..price.sum()"
+    })
+    public String path;
+
+    @Benchmark
+    public Path compile() {
+        return PathCompiler.compile(path);
+    }
+}
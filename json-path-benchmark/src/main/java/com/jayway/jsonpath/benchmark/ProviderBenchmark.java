@@ -0,0 +1,40 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing with every {@link com.jayway.jsonpath.spi.json.JsonProvider}, alone and followed by a single read.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProviderBenchmark {
+
+    private static final JsonPath AUTHORS = JsonPath.compile("$.store.book[*].author");
+
+    @Benchmark
+    public Object parse(DocumentState doc) {
+        return doc.configuration.jsonProvider().parse(doc.json);
+    }
+
+    @Benchmark
+    public Object parseAndRead(DocumentState doc) {
+        return JsonPath.using(doc.configuration).parse(doc.json).read(AUTHORS);
+    }
+
+    @Benchmark
+    public String toJson(DocumentState doc) {
+        return doc.document.jsonString();
+    }
+}
@@ -0,0 +1,73 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.spi.json.GsonJsonProvider;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import com.jayway.jsonpath.spi.json.JettisonProvider;
+import com.jayway.jsonpath.spi.json.JsonOrgJsonProvider;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import com.jayway.jsonpath.spi.json.TapeJsonProvider;
+import com.jayway.jsonpath.spi.json.TapestryJsonProvider;
+import com.jayway.jsonpath.spi.mapper.GsonMappingProvider;
+import com.jayway.jsonpath.spi.mapper.JacksonMappingProvider;
+import com.jayway.jsonpath.spi.mapper.JsonOrgMappingProvider;
+import com.jayway.jsonpath.spi.mapper.JsonSmartMappingProvider;
+import com.jayway.jsonpath.spi.mapper.TapestryMappingProvider;
+
+/**
+ * The {@link com.jayway.jsonpath.spi.json.JsonProvider}s benchmarked, usable as a JMH <code>@Param</code>.
+ */
+public enum Providers {
+
+    JSON_SMART {
+        @Override
+        public Configuration configuration() {
+            return Configuration.builder().jsonProvider(new JsonSmartJsonProvider()).mappingProvider(new JsonSmartMappingProvider()).build();
+        }
+    },
+    JACKSON {
+        @Override
+        public Configuration configuration() {
+            return Configuration.builder().jsonProvider(new JacksonJsonProvider()).mappingProvider(new JacksonMappingProvider()).build();
+        }
+    },
+    JACKSON_JSON_NODE {
+        @Override
+        public Configuration configuration() {
+            return Configuration.builder().jsonProvider(new JacksonJsonNodeJsonProvider()).mappingProvider(new JacksonMappingProvider()).build();
+        }
+    },
+    GSON {
+        @Override
+        public Configuration configuration() {
+            return Configuration.builder().jsonProvider(new GsonJsonProvider()).mappingProvider(new GsonMappingProvider()).build();
+        }
+    },
+    JSON_ORG {
+        @Override
+        public Configuration configuration() {
+            return Configuration.builder().jsonProvider(new JsonOrgJsonProvider()).mappingProvider(new JsonOrgMappingProvider()).build();
+        }
+    },
+    TAPESTRY {
+        @Override
+        public Configuration configuration() {
+            return Configuration.builder().jsonProvider(TapestryJsonProvider.INSTANCE).mappingProvider(new TapestryMappingProvider()).build();
+        }
+    },
+    JETTISON {
+        @Override
+        public Configuration configuration() {
+            return Configuration.builder().jsonProvider(new JettisonProvider()).mappingProvider(new JsonSmartMappingProvider()).build();
+        }
+    },
+    TAPE {
+        @Override
+        public Configuration configuration() {
+            return Configuration.builder().jsonProvider(new TapeJsonProvider()).mappingProvider(new JsonSmartMappingProvider()).build();
+        }
+    };
+
+    public abstract Configuration configuration();
+}
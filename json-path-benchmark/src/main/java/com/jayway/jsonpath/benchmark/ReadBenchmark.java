@@ -0,0 +1,70 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.spi.cache.CacheProvider;
+import com.jayway.jsonpath.spi.cache.NOOPCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads through {@link com.jayway.jsonpath.ReadContext} with a precompiled path, with the path cache
+ * (hot) and with caching disabled (cold, every read compiles).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class PathState {
+
+        @Param({"$.store.book[0].title", "$.store.book[*].author", "$.store.bicycle.color"})
+        public String path;
+
+        public JsonPath compiled;
+
+        @Setup
+        public void setup() {
+            compiled = JsonPath.compile(path);
+        }
+    }
+
+    /**
+     * Disables the path cache. Every benchmark runs in its own fork so this does not affect the hot cache benchmark.
+     */
+    @State(Scope.Benchmark)
+    public static class ColdCache {
+        @Setup
+        public void setup() {
+            CacheProvider.setCache(new NOOPCache());
+        }
+    }
+
+    @Benchmark
+    public Object readCompiled(DocumentState doc, PathState path) {
+        return doc.document.read(path.compiled);
+    }
+
+    @Benchmark
+    public Object readHotCache(DocumentState doc, PathState path) {
+        return doc.document.read(path.path);
+    }
+
+    @Benchmark
+    public Object readColdCache(ColdCache cold, DocumentState doc, PathState path) {
+        return doc.document.read(path.path);
+    }
+}
@@ -0,0 +1,53 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repeated deep scans on the same document, with and without a scan index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScanIndexBenchmark {
+
+    @Param({"$..author", "$..reviewer.name", "$..bicycle.color"})
+    public String path;
+
+    private JsonPath compiled;
+    private DocumentContext indexed;
+
+    @Setup
+    public void setup(DocumentState doc) {
+        compiled = JsonPath.compile(path);
+        indexed = JsonPath.using(doc.configuration.addOptions(Option.SCAN_INDEX)).parse(doc.json);
+        indexed.read(compiled);
+    }
+
+    @Benchmark
+    public Object scan(DocumentState doc) {
+        return doc.document.read(compiled);
+    }
+
+    @Benchmark
+    public Object indexed() {
+        return indexed.read(compiled);
+    }
+}
@@ -0,0 +1,75 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filters over an array of 100k records where one record in ten has the filtered properties, the relative
+ * paths of the filter missing in all others.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SparseFilterBenchmark {
+
+    private static final int RECORDS = 100000;
+
+    @Param({
+            "$[?(@.price > 10)].id",
+            "$[?(@.offer.price > 10)].id",
+            "$[?(@.price)].id",
+            "$[?(@.offer.price)].id",
+            "$[?(@.tags[0] == 'sale')].id"
+    })
+    public String path;
+
+    @Param({"JSON_SMART", "JACKSON", "GSON"})
+    public Providers provider;
+
+    private DocumentContext document;
+    private JsonPath compiled;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder(RECORDS * 64);
+        sb.append('[');
+        for (int i = 0; i < RECORDS; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append("{\"id\":").append(i);
+            if (i % 10 == 0) {
+                sb.append(",\"price\":").append(i % 20)
+                  .append(",\"offer\":{\"price\":").append(i % 30).append('}')
+                  .append(",\"tags\":[\"sale\"]");
+            }
+            sb.append('}');
+        }
+        sb.append(']');
+        Configuration configuration = provider.configuration();
+        document = JsonPath.using(configuration).parse(sb.toString());
+        compiled = JsonPath.compile(path);
+    }
+
+    @Benchmark
+    public Object filter() {
+        return document.read(compiled);
+    }
+}
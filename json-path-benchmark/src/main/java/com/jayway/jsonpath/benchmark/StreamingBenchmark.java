@@ -0,0 +1,53 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.EvaluationEngine;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a path from json text, parsing the document first and evaluating the path while the text is tokenized.
+ * Run with <code>-prof gc</code> to compare the allocation of both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamingBenchmark {
+
+    @Param({"$.expensive", "$.store.book[0].title", "$.store.book[*].author", "$..price", "$.store.book[?(@.price < 10)].title"})
+    public String path;
+
+    private JsonPath compiled;
+    private Configuration streaming;
+
+    @Setup
+    public void setup(DocumentState doc) {
+        compiled = JsonPath.compile(path);
+        streaming = doc.configuration.engine(EvaluationEngine.STREAMING);
+    }
+
+    @Benchmark
+    public Object parsed(DocumentState doc) {
+        return compiled.read(doc.json, doc.configuration);
+    }
+
+    @Benchmark
+    public Object streamed(DocumentState doc) {
+        return compiled.read(doc.json, streaming);
+    }
+}
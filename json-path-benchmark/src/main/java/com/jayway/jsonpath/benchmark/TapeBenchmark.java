@@ -0,0 +1,60 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing json text and reading a path from it, with json-smart parsing the whole document and the tape provider
+ * decoding only what the path reads. Run with <code>-prof gc</code> to compare the allocation of both.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TapeBenchmark {
+
+    @Param({"JSON_SMART", "TAPE"})
+    public Providers provider;
+
+    @Param({"MEDIUM", "LARGE"})
+    public Documents.Size size;
+
+    @Param({"$.store.book[5].title", "$.store.book[*].author", "$..price"})
+    public String path;
+
+    private Configuration configuration;
+    private JsonPath compiled;
+    private String json;
+
+    @Setup
+    public void setup() {
+        configuration = provider.configuration();
+        compiled = JsonPath.compile(path);
+        json = Documents.generate(size);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return configuration.jsonProvider().parse(json);
+    }
+
+    @Benchmark
+    public Object parseAndRead() {
+        return compiled.read(json, configuration);
+    }
+}
@@ -0,0 +1,72 @@
+package com.jayway.jsonpath.benchmark;
+
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write operations through {@link com.jayway.jsonpath.WriteContext}. Every operation leaves the document in the
+ * state it was found so the document does not grow or shrink between invocations.
+ * <p>
+ * The tapestry provider is left out as it does not support adding to arrays or putting into objects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriteBenchmark {
+
+    private static final JsonPath TITLE = JsonPath.compile("$.store.book[0].title");
+    private static final JsonPath ALL_PRICES = JsonPath.compile("$.store.book[*].price");
+    private static final JsonPath BICYCLE = JsonPath.compile("$.store.bicycle");
+    private static final JsonPath BICYCLE_COLOR = JsonPath.compile("$.store.bicycle.color");
+    private static final JsonPath TAGS = JsonPath.compile("$.store.book[0].tags");
+    private static final JsonPath ADDED_TAG = JsonPath.compile("$.store.book[0].tags[" + Documents.TAGS_PER_BOOK + "]");
+
+    @Param({"JSON_SMART", "JACKSON", "JACKSON_JSON_NODE", "GSON", "JSON_ORG", "JETTISON"})
+    public Providers provider;
+
+    @Param({"SMALL", "MEDIUM", "LARGE"})
+    public Documents.Size size;
+
+    private DocumentContext document;
+
+    @Setup
+    public void setup() {
+        document = JsonPath.using(provider.configuration()).parse(Documents.generate(size));
+    }
+
+    @Benchmark
+    public DocumentContext setDefinite() {
+        return document.set(TITLE, "new title");
+    }
+
+    @Benchmark
+    public DocumentContext setIndefinite() {
+        return document.set(ALL_PRICES, 10.0);
+    }
+
+    @Benchmark
+    public DocumentContext deleteAndPut() {
+        return document.delete(BICYCLE_COLOR).put(BICYCLE, "color", "red");
+    }
+
+    @Benchmark
+    public DocumentContext addAndDelete() {
+        return document.add(TAGS, "tag-x").delete(ADDED_TAG);
+    }
+}
@@ -15,6 +15,8 @@
 package com.jayway.jsonpath;
 
 import com.jayway.jsonpath.internal.DefaultsImpl;
+import com.jayway.jsonpath.spi.cache.Cache;
+import com.jayway.jsonpath.spi.cache.CacheProvider;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 import com.jayway.jsonpath.spi.mapper.MappingProvider;
 
@@ -24,7 +26,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
+import static com.jayway.jsonpath.internal.Utils.isTrue;
 import static com.jayway.jsonpath.internal.Utils.notNull;
 import static java.util.Arrays.asList;
 
@@ -55,16 +59,29 @@ public class Configuration {
     private final MappingProvider mappingProvider;
     private final Set<Option> options;
     private final Collection<EvaluationListener> evaluationListeners;
+    private final Cache cache;
+    private final EvaluationEngine engine;
+    private final int maxScanDepth;
+    private final ExecutorService executor;
+    private final int parallelThreshold;
 
-    private Configuration(JsonProvider jsonProvider, MappingProvider mappingProvider, EnumSet<Option> options, Collection<EvaluationListener> evaluationListeners) {
+    private Configuration(JsonProvider jsonProvider, MappingProvider mappingProvider, EnumSet<Option> options, Collection<EvaluationListener> evaluationListeners, Cache cache, EvaluationEngine engine, int maxScanDepth, ExecutorService executor, int parallelThreshold) {
         notNull(jsonProvider, "jsonProvider can not be null");
         notNull(mappingProvider, "mappingProvider can not be null");
         notNull(options, "setOptions can not be null");
         notNull(evaluationListeners, "evaluationListeners can not be null");
+        notNull(engine, "engine can not be null");
+        isTrue(maxScanDepth >= 0, "maxScanDepth can not be negative");
+        isTrue(parallelThreshold > 0, "parallelThreshold must be positive");
         this.jsonProvider = jsonProvider;
         this.mappingProvider = mappingProvider;
         this.options = Collections.unmodifiableSet(options);
         this.evaluationListeners = Collections.unmodifiableCollection(evaluationListeners);
+        this.cache = cache;
+        this.engine = engine;
+        this.maxScanDepth = maxScanDepth;
+        this.executor = executor;
+        this.parallelThreshold = parallelThreshold;
     }
 
     /**
@@ -73,7 +90,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration addEvaluationListeners(EvaluationListener... evaluationListener){
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).cache(cache).engine(engine).maxScanDepth(maxScanDepth).executor(executor).parallelThreshold(parallelThreshold).build();
     }
 
     /**
@@ -82,7 +99,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration setEvaluationListeners(EvaluationListener... evaluationListener){
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListener).cache(cache).engine(engine).maxScanDepth(maxScanDepth).executor(executor).parallelThreshold(parallelThreshold).build();
     }
 
     /**
@@ -99,7 +116,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration jsonProvider(JsonProvider newJsonProvider) {
-        return Configuration.builder().jsonProvider(newJsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(newJsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).cache(cache).engine(engine).maxScanDepth(maxScanDepth).executor(executor).parallelThreshold(parallelThreshold).build();
     }
 
     /**
@@ -116,7 +133,7 @@ public class Configuration {
      * @return a new configuration
      */
     public Configuration mappingProvider(MappingProvider newMappingProvider) {
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(newMappingProvider).options(options).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(newMappingProvider).options(options).evaluationListener(evaluationListeners).cache(cache).engine(engine).maxScanDepth(maxScanDepth).executor(executor).parallelThreshold(parallelThreshold).build();
     }
 
     /**
@@ -127,6 +144,102 @@ public class Configuration {
         return mappingProvider;
     }
 
+    /**
+     * Creates a new Configuration that caches compiled paths in the given {@link com.jayway.jsonpath.spi.cache.Cache}
+     * instead of the global cache of {@link com.jayway.jsonpath.spi.cache.CacheProvider}
+     * @param newCache cache to use in new configuration, null to use the global cache
+     * @return a new configuration
+     */
+    public Configuration cache(Cache newCache) {
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).cache(newCache).engine(engine).maxScanDepth(maxScanDepth).executor(executor).parallelThreshold(parallelThreshold).build();
+    }
+
+    /**
+     * Returns the {@link com.jayway.jsonpath.spi.cache.Cache} used by this configuration. This is the global
+     * cache of {@link com.jayway.jsonpath.spi.cache.CacheProvider} unless a cache has been configured.
+     * @return cache used
+     */
+    public Cache cache() {
+        return cache != null ? cache : CacheProvider.getCache();
+    }
+
+    /**
+     * Creates a new Configuration that evaluates paths with the given {@link EvaluationEngine}
+     * @param newEngine engine to use in new configuration
+     * @return a new configuration
+     */
+    public Configuration engine(EvaluationEngine newEngine) {
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).cache(cache).engine(newEngine).maxScanDepth(maxScanDepth).executor(executor).parallelThreshold(parallelThreshold).build();
+    }
+
+    /**
+     * Returns the {@link EvaluationEngine} used by this configuration
+     * @return engine used
+     */
+    public EvaluationEngine engine() {
+        return engine;
+    }
+
+    /**
+     * Creates a new Configuration that limits how deep a deep scan (<code>..</code>) descends into a document.
+     * A scan that reaches a value nested deeper than this below the scanned value fails with a {@link JsonPathException}.
+     * @param newMaxScanDepth the maximum depth, {@link Integer#MAX_VALUE} for no limit
+     * @return a new configuration
+     */
+    public Configuration maxScanDepth(int newMaxScanDepth) {
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).cache(cache).engine(engine).maxScanDepth(newMaxScanDepth).executor(executor).parallelThreshold(parallelThreshold).build();
+    }
+
+    /**
+     * Returns the maximum depth of deep scans
+     * @return the maximum depth, {@link Integer#MAX_VALUE} if there is no limit
+     */
+    public int maxScanDepth() {
+        return maxScanDepth;
+    }
+
+    /**
+     * Creates a new Configuration that evaluates deep scans, wildcards and filters over large containers in parallel
+     * on the given executor. Results are the same, in the same order, as without an executor.
+     * <p>
+     * Parallel evaluation applies to reads without evaluation listeners. The threads of the executor read the
+     * document concurrently, this requires a {@link JsonProvider} supporting concurrent reads and predicates that
+     * can be applied concurrently. The calling thread waits for the executor, a read must not be evaluated by a
+     * thread of a bounded executor it is configured with. Paths are evaluated token by token, as with
+     * {@link EvaluationEngine#RECURSIVE}, whatever the configured engine.
+     * @param newExecutor executor to use in new configuration, null to evaluate in the calling thread only
+     * @return a new configuration
+     */
+    public Configuration executor(ExecutorService newExecutor) {
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).cache(cache).engine(engine).maxScanDepth(maxScanDepth).executor(newExecutor).parallelThreshold(parallelThreshold).build();
+    }
+
+    /**
+     * Returns the executor parallel evaluation is done on
+     * @return the executor, null if evaluation is not parallel
+     */
+    public ExecutorService executor() {
+        return executor;
+    }
+
+    /**
+     * Creates a new Configuration that splits containers among the threads of its {@link #executor()} once they
+     * hold the given number of elements or properties
+     * @param newParallelThreshold the minimum size of a container evaluated in parallel
+     * @return a new configuration
+     */
+    public Configuration parallelThreshold(int newParallelThreshold) {
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).cache(cache).engine(engine).maxScanDepth(maxScanDepth).executor(executor).parallelThreshold(newParallelThreshold).build();
+    }
+
+    /**
+     * Returns the minimum size of a container evaluated in parallel
+     * @return the threshold
+     */
+    public int parallelThreshold() {
+        return parallelThreshold;
+    }
+
     /**
      * Creates a new configuration by adding the new options to the options used in this configuration.
      * @param options options to add
@@ -136,7 +249,7 @@ public class Configuration {
         EnumSet<Option> opts = EnumSet.noneOf(Option.class);
         opts.addAll(this.options);
         opts.addAll(asList(options));
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(opts).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(opts).evaluationListener(evaluationListeners).cache(cache).engine(engine).maxScanDepth(maxScanDepth).executor(executor).parallelThreshold(parallelThreshold).build();
     }
 
     /**
@@ -145,7 +258,7 @@ public class Configuration {
      * @return
      */
     public Configuration setOptions(Option... options) {
-        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).build();
+        return Configuration.builder().jsonProvider(jsonProvider).mappingProvider(mappingProvider).options(options).evaluationListener(evaluationListeners).cache(cache).engine(engine).maxScanDepth(maxScanDepth).executor(executor).parallelThreshold(parallelThreshold).build();
     }
 
     /**
@@ -191,6 +304,11 @@ public class Configuration {
         private MappingProvider mappingProvider;
         private EnumSet<Option> options = EnumSet.noneOf(Option.class);
         private Collection<EvaluationListener> evaluationListener = new ArrayList<EvaluationListener>();
+        private Cache cache;
+        private EvaluationEngine engine = EvaluationEngine.RECURSIVE;
+        private int maxScanDepth = Integer.MAX_VALUE;
+        private ExecutorService executor;
+        private int parallelThreshold = 1000;
 
         public ConfigurationBuilder jsonProvider(JsonProvider provider) {
             this.jsonProvider = provider;
@@ -224,6 +342,31 @@ public class Configuration {
             return this;
         }
 
+        public ConfigurationBuilder cache(Cache cache) {
+            this.cache = cache;
+            return this;
+        }
+
+        public ConfigurationBuilder engine(EvaluationEngine engine) {
+            this.engine = engine;
+            return this;
+        }
+
+        public ConfigurationBuilder maxScanDepth(int maxScanDepth) {
+            this.maxScanDepth = maxScanDepth;
+            return this;
+        }
+
+        public ConfigurationBuilder executor(ExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        public ConfigurationBuilder parallelThreshold(int parallelThreshold) {
+            this.parallelThreshold = parallelThreshold;
+            return this;
+        }
+
         public Configuration build() {
             if (jsonProvider == null || mappingProvider == null) {
                 final Defaults defaults = getEffectiveDefaults();
@@ -234,7 +377,7 @@ public class Configuration {
                     mappingProvider = defaults.mappingProvider();
                 }
             }
-            return new Configuration(jsonProvider, mappingProvider, options, evaluationListener);
+            return new Configuration(jsonProvider, mappingProvider, options, evaluationListener, cache, engine, maxScanDepth, executor, parallelThreshold);
         }
     }
 
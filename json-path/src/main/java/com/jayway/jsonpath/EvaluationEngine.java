@@ -0,0 +1,45 @@
+package com.jayway.jsonpath;
+
+/**
+ * The strategy used to evaluate a compiled path against a document. All engines produce the same results,
+ * paths and exceptions, they only differ in how the work is carried out.
+ *
+ * @see Configuration#engine(EvaluationEngine)
+ */
+public enum EvaluationEngine {
+
+    /**
+     * Every token of the path evaluates the next token for each value it selects. Call depth grows with the
+     * length of the path and, for deep scans, with the depth of the document.
+     */
+    RECURSIVE,
+
+    /**
+     * The path is lowered into a flat instruction array that is executed by a single loop with an explicit
+     * work stack. Evaluation does not recurse, so deep scans of deeply nested documents can not overflow the
+     * call stack, and every step is a switch over a handful of opcodes instead of a virtual call.
+     */
+    INTERPRETER,
+
+    /**
+     * Like {@link #INTERPRETER}, and definite paths of properties and array indexes that have been read often are
+     * compiled into a generated class that hard-codes their property names and indexes. This applies to the
+     * json-smart and Jackson providers, whose documents are made of {@link java.util.Map}s and
+     * {@link java.util.List}s. Other paths and providers are evaluated as with {@link #INTERPRETER}.
+     */
+    BYTECODE,
+
+    /**
+     * Paths read straight from json text, with {@link JsonPath#read(String, Configuration)} and the
+     * {@link java.io.InputStream} and {@link java.io.File} variants, are evaluated while the text is tokenized,
+     * without building the document. Only the values the path selects, or needs to apply a filter to, are parsed
+     * by the {@link com.jayway.jsonpath.spi.json.JsonProvider}, everything else is skipped. Memory use is then
+     * bound by the size of the results instead of the size of the document. Definite paths stop reading the text
+     * once their value has been read.
+     * <p>
+     * This applies to the json-smart, Jackson and Gson providers, to paths without functions whose filters do not
+     * refer to the root document, and not with {@link Option#REQUIRE_PROPERTIES}. Other reads, and documents that
+     * are already parsed, are evaluated as with {@link #INTERPRETER}.
+     */
+    STREAMING
+}
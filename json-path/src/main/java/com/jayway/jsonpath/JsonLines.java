@@ -0,0 +1,312 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.internal.JsonTokenizer;
+import com.jayway.jsonpath.internal.RecordParser;
+import com.jayway.jsonpath.internal.Utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PushbackInputStream;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads a set of paths from every record of newline delimited json (NDJSON, JSON Lines), one record at a time:
+ * <pre>
+ * JsonLines lines = JsonPath.readLines(new FileInputStream("events.ndjson.gz"), configuration, id, type);
+ * try {
+ *     while (lines.hasNext()) {
+ *         JsonLines.Record record = lines.next();
+ *         if (record.isValid()) {
+ *             process(record.&lt;String&gt;read(0), record.&lt;String&gt;read(1));
+ *         } else {
+ *             log(record.lineNumber(), record.error());
+ *         }
+ *     }
+ * } finally {
+ *     lines.close();
+ * }
+ * </pre>
+ * Records are read lazily as the iteration goes, into a single buffer reused for all lines, parsed by a single
+ * parser reused for all records, and the paths are read from each record without creating a {@link DocumentContext}.
+ * With {@link EvaluationEngine#STREAMING}, paths that support it are evaluated on the buffer in place, without parsing
+ * the record, for records of at least {@value #STREAMING_THRESHOLD} characters: smaller records are parsed once for
+ * all paths, which is faster. Streamed records are still read to their end, so that malformed records are reported
+ * even when the paths were read before the error. Blank lines are skipped, a malformed record is returned with its error and the
+ * iteration goes on with the next line.
+ * <p>
+ * Gzip compressed input is detected and decompressed. Text is read as UTF-8.
+ * <p>
+ * Instances are not thread safe.
+ */
+public class JsonLines implements Iterator<JsonLines.Record>, Closeable {
+
+    static final int STREAMING_THRESHOLD = 16384;
+
+    private final Reader reader;
+    private final Configuration configuration;
+    private final JsonPath[] paths;
+    private final boolean[] streams;
+    private final RecordParser parser;
+
+    private char[] buffer = new char[8192];
+    // the characters read but not yet returned as lines are buffer[pos] to buffer[limit - 1]
+    private int pos;
+    private int limit;
+    private boolean eof;
+    private int lineStart;
+    private int lineEnd;
+    private long lineNumber;
+
+    private Record next;
+
+    JsonLines(InputStream json, Configuration configuration, JsonPath[] paths) throws IOException {
+        Utils.notNull(json, "json input stream can not be null");
+        Utils.notNull(configuration, "configuration can not be null");
+        Utils.notNull(paths, "paths can not be null");
+        this.reader = new InputStreamReader(decompressed(json), "UTF-8");
+        this.configuration = configuration;
+        this.paths = paths.clone();
+        this.streams = new boolean[paths.length];
+        this.parser = RecordParser.create(configuration.jsonProvider());
+        for (int i = 0; i < paths.length; i++) {
+            Utils.notNull(paths[i], "path can not be null");
+            streams[i] = paths[i].streams(configuration);
+        }
+    }
+
+    /**
+     * @return the stream, decompressing it if it starts with the gzip magic number
+     */
+    private static InputStream decompressed(InputStream json) throws IOException {
+        PushbackInputStream in = new PushbackInputStream(json, 2);
+        byte[] magic = new byte[2];
+        int read = 0;
+        while (read < magic.length) {
+            int n = in.read(magic, read, magic.length - read);
+            if (n < 0) {
+                break;
+            }
+            read += n;
+        }
+        in.unread(magic, 0, read);
+        if (read == 2 && (magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b) {
+            return new GZIPInputStream(in, 65536);
+        }
+        return in;
+    }
+
+    /**
+     * @throws JsonPathException if the input can not be read
+     */
+    @Override
+    public boolean hasNext() {
+        while (next == null) {
+            if (!nextLine()) {
+                return false;
+            }
+            if (!isBlank()) {
+                next = evaluate();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @throws JsonPathException if the input can not be read
+     */
+    @Override
+    public Record next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Record record = next;
+        next = null;
+        return record;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Closes the input
+     */
+    @Override
+    public void close() {
+        Utils.closeQuietly(reader);
+    }
+
+    private Record evaluate() {
+        Record record = new Record(lineNumber, paths.length);
+        Object document = null;
+        boolean large = lineEnd - lineStart >= STREAMING_THRESHOLD;
+        boolean checked = false;
+        for (int i = 0; i < paths.length; i++) {
+            try {
+                if (large && streams[i]) {
+                    JsonTokenizer json = new JsonTokenizer(buffer, lineStart, lineEnd);
+                    try {
+                        record.values[i] = paths[i].readStreaming(json, configuration);
+                    } catch (InvalidJsonException e) {
+                        throw e;
+                    } catch (RuntimeException e) {
+                        record.failure(i, e);
+                    }
+                    if (!checked) {
+                        // definite paths stop reading at their value, the rest of the record must still be valid
+                        json.skipDocument();
+                        checked = true;
+                    }
+                    continue;
+                }
+                if (document == null) {
+                    document = parser.parse(buffer, lineStart, lineEnd - lineStart);
+                    checked = true;
+                }
+                record.values[i] = paths[i].read(document, configuration);
+            } catch (InvalidJsonException e) {
+                record.error = e;
+                return record;
+            } catch (RuntimeException e) {
+                record.failure(i, e);
+            }
+        }
+        return record;
+    }
+
+    private boolean isBlank() {
+        for (int i = lineStart; i < lineEnd; i++) {
+            char c = buffer[i];
+            if (c != ' ' && c != '\t' && c != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the next line in the buffer, reading more input as needed
+     *
+     * @return false at the end of the input
+     */
+    private boolean nextLine() {
+        int scan = pos;
+        while (true) {
+            for (int i = scan; i < limit; i++) {
+                if (buffer[i] == '\n') {
+                    line(i);
+                    pos = i + 1;
+                    return true;
+                }
+            }
+            if (eof) {
+                if (pos == limit) {
+                    return false;
+                }
+                line(limit);
+                pos = limit;
+                return true;
+            }
+            if (pos > 0) {
+                System.arraycopy(buffer, pos, buffer, 0, limit - pos);
+                limit -= pos;
+                pos = 0;
+            } else if (limit == buffer.length) {
+                char[] grown = new char[buffer.length * 2];
+                System.arraycopy(buffer, 0, grown, 0, limit);
+                buffer = grown;
+            }
+            scan = limit;
+            fill();
+        }
+    }
+
+    private void line(int end) {
+        lineNumber++;
+        lineStart = pos;
+        lineEnd = end > pos && buffer[end - 1] == '\r' ? end - 1 : end;
+    }
+
+    private void fill() {
+        try {
+            int read = reader.read(buffer, limit, buffer.length - limit);
+            if (read < 0) {
+                eof = true;
+            } else {
+                limit += read;
+            }
+        } catch (IOException e) {
+            throw new JsonPathException("Failed to read json lines", e);
+        }
+    }
+
+    /**
+     * The values of the paths in a record
+     */
+    public static class Record {
+
+        private final long lineNumber;
+        private final Object[] values;
+        private RuntimeException[] failures;
+        private InvalidJsonException error;
+
+        private Record(long lineNumber, int paths) {
+            this.lineNumber = lineNumber;
+            this.values = new Object[paths];
+        }
+
+        private void failure(int index, RuntimeException e) {
+            if (failures == null) {
+                failures = new RuntimeException[values.length];
+            }
+            failures[index] = e;
+        }
+
+        /**
+         * @return the number of the line of the record, starting at 1
+         */
+        public long lineNumber() {
+            return lineNumber;
+        }
+
+        /**
+         * @return false if the record is not valid json
+         */
+        public boolean isValid() {
+            return error == null;
+        }
+
+        /**
+         * @return the error of a malformed record, or null if the record is valid json
+         */
+        public InvalidJsonException error() {
+            return error;
+        }
+
+        /**
+         * Returns the value of a path in the record, as {@link JsonPath#read(Object, Configuration)} would.
+         *
+         * @param index the index of the path in the paths the lines are read with
+         * @param <T>   expected return type
+         * @return the value of the path
+         * @throws InvalidJsonException if the record is malformed
+         * @throws JsonPathException    the exception reading the path threw, such as a {@link PathNotFoundException}
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T read(int index) {
+            if (error != null) {
+                throw error;
+            }
+            if (failures != null && failures[index] != null) {
+                throw failures[index];
+            }
+            return (T) values[index];
+        }
+    }
+}
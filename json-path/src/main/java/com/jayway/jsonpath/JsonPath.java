@@ -16,18 +16,25 @@ package com.jayway.jsonpath;
 
 
 import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.EvaluationPath;
+import com.jayway.jsonpath.internal.JsonTokenizer;
 import com.jayway.jsonpath.internal.ParseContextImpl;
 import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.ResultSink;
 import com.jayway.jsonpath.internal.Utils;
 import com.jayway.jsonpath.internal.path.PathCompiler;
+import com.jayway.jsonpath.internal.path.StreamingEvaluator;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
 import java.net.URL;
+import java.util.Iterator;
+import java.util.List;
 
 import static com.jayway.jsonpath.Option.ALWAYS_RETURN_LIST;
 import static com.jayway.jsonpath.Option.AS_PATH_LIST;
@@ -167,8 +174,130 @@ public class JsonPath {
      * @param <T>           expected return type
      * @return object(s) matched by the given path
      */
-    @SuppressWarnings("unchecked")
     public <T> T read(Object jsonObject, Configuration configuration) {
+        return read(jsonObject, configuration, (EvaluationContext) null);
+    }
+
+    /**
+     * Applies this JsonPath to the provided json document, stopping the evaluation once the given number of
+     * results has been found. The cost of the read is that of finding these results, not that of the whole
+     * document: slices ending the path are cut short and deep scans stop descending.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @param maxResults    the maximum number of results to read, greater than zero
+     * @param <T>           expected return type
+     * @return object(s) matched by the given path
+     * @see ReadContext#limit(int)
+     */
+    public <T> T read(Object jsonObject, Configuration configuration, int maxResults) {
+        isTrue(maxResults > 0, "maxResults must be greater than zero");
+        return read(jsonObject, configuration, null, maxResults);
+    }
+
+    /**
+     * Applies this JsonPath to the provided json document and returns the first value it finds, in document
+     * order, or its path if option AS_PATH_LIST is set. The evaluation stops at that value.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @param <T>           expected return type
+     * @return the first object matched by the given path, or null if there is none and exceptions are suppressed
+     * @throws PathNotFoundException if the path matches nothing
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T readFirst(Object jsonObject, Configuration configuration) {
+        notNull(jsonObject, "json can not be null");
+        notNull(configuration, "configuration can not be null");
+        if (path.isFunctionPath()) {
+            return read(jsonObject, configuration);
+        }
+        try {
+            EvaluationContext evaluated = path.evaluate(jsonObject, jsonObject, configuration, 1);
+            List<String> paths = evaluated.getPathList();
+            if (paths.isEmpty()) {
+                throw new PathNotFoundException("No results for path: " + path.toString());
+            }
+            if (configuration.containsOption(AS_PATH_LIST)) {
+                return (T) paths.get(0);
+            }
+            if (path.isDefinite()) {
+                return evaluated.getValue(true);
+            }
+            JsonProvider jsonProvider = configuration.jsonProvider();
+            Object value = jsonProvider.getArrayIndex(evaluated.getValue(false), 0);
+            return (T) (value == null ? null : jsonProvider.unwrap(value));
+        } catch (RuntimeException e) {
+            if (!configuration.containsOption(Option.SUPPRESS_EXCEPTIONS)) {
+                throw e;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Applies this JsonPath to the provided json document, passing every result to the handler as it is found.
+     * No result array is built and evaluation listeners are not notified, the handler can end the evaluation.
+     * Option AS_PATH_LIST is ignored, the handler is given both the value and the path of a result.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @param handler       the handler receiving the results, in document order
+     */
+    public void read(Object jsonObject, Configuration configuration, ResultHandler handler) {
+        notNull(jsonObject, "json can not be null");
+        notNull(configuration, "configuration can not be null");
+        notNull(handler, "handler can not be null");
+        try {
+            path.evaluate(jsonObject, jsonObject, configuration, new HandlerSink(handler, configuration.jsonProvider()));
+        } catch (JsonPathException e) {
+            if (!configuration.containsOption(Option.SUPPRESS_EXCEPTIONS)) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Applies this JsonPath to the provided json document lazily. The evaluation advances as values are pulled
+     * from the returned iterator, it holds its position in the document rather than all results, and the
+     * evaluation ends when the iterator is no longer used.
+     * <p>
+     * Only values are iterated, option AS_PATH_LIST is not allowed. Evaluation listeners are not notified. The
+     * path is evaluated by the {@link EvaluationEngine#INTERPRETER} whatever the engine of the configuration,
+     * and never in parallel.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @param <T>           expected type of the values
+     * @return an iterator over the objects matched by the given path, in document order
+     * @throws JsonPathException if option AS_PATH_LIST is set
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Iterator<T> iterate(Object jsonObject, Configuration configuration) {
+        notNull(jsonObject, "json can not be null");
+        notNull(configuration, "configuration can not be null");
+        if (configuration.containsOption(AS_PATH_LIST)) {
+            throw new JsonPathException("Option " + AS_PATH_LIST + " is not allowed when iterating a path!");
+        }
+        return (Iterator<T>) path.iterate(jsonObject, jsonObject, configuration);
+    }
+
+    /**
+     * Applies this JsonPath to the provided json document, using the results of an evaluation that has already
+     * been carried out if there is one.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @param evaluated     the evaluation of this path against jsonObject, or null
+     * @param <T>           expected return type
+     * @return object(s) matched by the given path
+     */
+    <T> T read(Object jsonObject, Configuration configuration, EvaluationContext evaluated) {
+        return read(jsonObject, configuration, evaluated, Integer.MAX_VALUE);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T read(Object jsonObject, Configuration configuration, EvaluationContext evaluated, int maxResults) {
         boolean optAsPathList = configuration.containsOption(AS_PATH_LIST);
         boolean optAlwaysReturnList = configuration.containsOption(Option.ALWAYS_RETURN_LIST);
         boolean optSuppressExceptions = configuration.containsOption(Option.SUPPRESS_EXCEPTIONS);
@@ -178,13 +307,21 @@ public class JsonPath {
                 if (optAsPathList || optAlwaysReturnList) {
                     throw new JsonPathException("Options " + AS_PATH_LIST + " and " + ALWAYS_RETURN_LIST + " are not allowed when using path functions!");
                 }
-                return path.evaluate(jsonObject, jsonObject, configuration).getValue(true);
-
-            } else if (optAsPathList) {
-                return (T) path.evaluate(jsonObject, jsonObject, configuration).getPath();
+                return path.read(jsonObject, jsonObject, configuration, true);
+            }
+            if (evaluated == null && maxResults != Integer.MAX_VALUE && !path.isDefinite()) {
+                evaluated = path.evaluate(jsonObject, jsonObject, configuration, maxResults);
+            }
+            if (optAsPathList) {
+                if (evaluated == null) {
+                    evaluated = path.evaluate(jsonObject, jsonObject, configuration);
+                }
+                return (T) evaluated.getPath();
 
             } else {
-                Object res = path.evaluate(jsonObject, jsonObject, configuration).getValue(false);
+                Object res = evaluated == null
+                        ? path.read(jsonObject, jsonObject, configuration, false)
+                        : evaluated.getValue(false);
                 if (optAlwaysReturnList && path.isDefinite()) {
                     Object array = configuration.jsonProvider().createArray();
                     configuration.jsonProvider().setArrayIndex(array, 0, res);
@@ -342,6 +479,9 @@ public class JsonPath {
         notEmpty(json, "json can not be null or empty");
         notNull(configuration, "jsonProvider can not be null");
 
+        if (streams(configuration)) {
+            return readStreaming(new JsonTokenizer(new StringReader(json)), configuration);
+        }
         return read(configuration.jsonProvider().parse(json), configuration);
     }
 
@@ -387,9 +527,9 @@ public class JsonPath {
         isTrue(jsonFile.exists(), "json file does not exist");
         notNull(configuration, "jsonProvider can not be null");
 
-        FileInputStream fis = null;
+        InputStream fis = null;
         try {
-            fis = new FileInputStream(jsonFile);
+            fis = Utils.openFile(jsonFile, configuration);
             return read(fis, configuration);
         } finally {
             Utils.closeQuietly(fis);
@@ -442,12 +582,74 @@ public class JsonPath {
         notNull(configuration, "configuration can not be null");
 
         try {
+            if (streams(configuration)) {
+                return readStreaming(new JsonTokenizer(new InputStreamReader(jsonInputStream, charset)), configuration);
+            }
             return read(configuration.jsonProvider().parse(jsonInputStream, charset), configuration);
         } finally {
             Utils.closeQuietly(jsonInputStream);
         }
     }
 
+    /**
+     * @return true if reads of json text with the configuration are evaluated while the text is tokenized
+     */
+    boolean streams(Configuration configuration) {
+        return configuration.engine() == EvaluationEngine.STREAMING && StreamingEvaluator.supports(path, configuration);
+    }
+
+    /**
+     * Applies this JsonPath to json text while it is tokenized, the path must {@link #streams(Configuration) stream}
+     */
+    <T> T readStreaming(JsonTokenizer json, Configuration configuration) {
+        if (!StreamingEvaluator.streams(json)) {
+            // a document that is a single value is parsed and read as the other engines read it
+            return read(StreamingEvaluator.parse(json, configuration), configuration);
+        }
+        EvaluationContext evaluated = StreamingEvaluator.evaluate(path, json, configuration);
+        return read(evaluated.rootDocument(), configuration, evaluated);
+    }
+
+    /**
+     * Passes the results of an evaluation to a {@link ResultHandler}, as a single found result updated for each.
+     */
+    private static final class HandlerSink implements ResultSink, EvaluationListener.FoundResult {
+
+        private final ResultHandler handler;
+        private final JsonProvider jsonProvider;
+        private int index = -1;
+        private EvaluationPath path;
+        private Object result;
+
+        private HandlerSink(ResultHandler handler, JsonProvider jsonProvider) {
+            this.handler = handler;
+            this.jsonProvider = jsonProvider;
+        }
+
+        @Override
+        public boolean add(EvaluationPath path, Object value) {
+            this.index++;
+            this.path = path;
+            this.result = value == null ? null : jsonProvider.unwrap(value);
+            return handler.handle(this) != EvaluationListener.EvaluationContinuation.ABORT;
+        }
+
+        @Override
+        public int index() {
+            return index;
+        }
+
+        @Override
+        public String path() {
+            return path.toString();
+        }
+
+        @Override
+        public Object result() {
+            return result;
+        }
+    }
+
     // --------------------------------------------------------
     //
     // Static factory methods
@@ -467,6 +669,19 @@ public class JsonPath {
         return new JsonPath(jsonPath, filters);
     }
 
+    /**
+     * Compiles a set of JsonPaths that are read together, in a single traversal of the document
+     *
+     * @param jsonPaths the paths to compile
+     * @return compiled set of paths
+     * @see MultiPath
+     */
+    public static MultiPath compileSet(String... jsonPaths) {
+        notNull(jsonPaths, "paths can not be null");
+
+        return new MultiPath(jsonPaths);
+    }
+
 
     // --------------------------------------------------------
     //
@@ -546,6 +761,60 @@ public class JsonPath {
         return new ParseContextImpl().parse(jsonInputStream).read(jsonPath, filters);
     }
 
+    /**
+     * Reads JsonPaths from every record of newline delimited json, one record at a time
+     *
+     * @param jsonInputStream json lines, optionally gzip compressed
+     * @param paths           the paths to read from every record
+     * @return the records, the stream is closed when they are closed
+     * @throws IOException
+     * @see JsonLines
+     */
+    public static JsonLines readLines(InputStream jsonInputStream, JsonPath... paths) throws IOException {
+        return readLines(jsonInputStream, Configuration.defaultConfiguration(), paths);
+    }
+
+    /**
+     * Reads JsonPaths from every record of newline delimited json, one record at a time
+     *
+     * @param jsonInputStream json lines, optionally gzip compressed
+     * @param configuration   configuration to use
+     * @param paths           the paths to read from every record
+     * @return the records, the stream is closed when they are closed
+     * @throws IOException
+     * @see JsonLines
+     */
+    public static JsonLines readLines(InputStream jsonInputStream, Configuration configuration, JsonPath... paths) throws IOException {
+        return new JsonLines(jsonInputStream, configuration, paths);
+    }
+
+    /**
+     * Reads JsonPaths from every record of a file of newline delimited json, one record at a time
+     *
+     * @param jsonFile      file of json lines, optionally gzip compressed
+     * @param configuration configuration to use
+     * @param paths         the paths to read from every record
+     * @return the records, the file is closed when they are closed
+     * @throws IOException
+     * @see JsonLines
+     */
+    public static JsonLines readLines(File jsonFile, Configuration configuration, JsonPath... paths) throws IOException {
+        notNull(jsonFile, "json file can not be null");
+        isTrue(jsonFile.exists(), "json file does not exist");
+        notNull(configuration, "configuration can not be null");
+
+        InputStream fis = Utils.openFile(jsonFile, configuration);
+        try {
+            return readLines(fis, configuration, paths);
+        } catch (IOException e) {
+            Utils.closeQuietly(fis);
+            throw e;
+        } catch (RuntimeException e) {
+            Utils.closeQuietly(fis);
+            throw e;
+        }
+    }
+
 
     // --------------------------------------------------------
     //
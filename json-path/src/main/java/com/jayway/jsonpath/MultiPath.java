@@ -0,0 +1,115 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.path.PathSet;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.jayway.jsonpath.internal.Utils.notEmpty;
+import static com.jayway.jsonpath.internal.Utils.notNull;
+
+/**
+ * A set of paths that are read from a document together.
+ * <p>
+ * Reading the paths one by one walks the document from the root for every path. A MultiPath merges the paths
+ * into a prefix tree instead, so that the tokens the paths have in common, including scans and filters, are
+ * evaluated once for all of them:
+ * <pre>
+ * MultiPath fields = JsonPath.compileSet("$.payload.order.id", "$.payload.order.total", "$.payload.items[*].sku");
+ * Map&lt;String, Object&gt; values = fields.read(document);
+ * </pre>
+ * The value of each path is the one {@link JsonPath#read(Object, Configuration)} would return. Paths that can not
+ * be merged, such as paths ending with a function, are read on their own.
+ * <p>
+ * Instances are immutable and can be shared between threads.
+ */
+public class MultiPath {
+
+    private final List<String> paths;
+    private final JsonPath[] compiled;
+    private final PathSet pathSet;
+
+    MultiPath(String[] paths) {
+        this.paths = Collections.unmodifiableList(Arrays.asList(paths.clone()));
+        this.compiled = new JsonPath[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            notEmpty(paths[i], "path can not be null or empty");
+            compiled[i] = JsonPath.compile(paths[i]);
+        }
+        this.pathSet = PathSet.compile(paths);
+    }
+
+    /**
+     * Returns the paths of this set, in the order they were given
+     *
+     * @return the paths
+     */
+    public List<String> getPaths() {
+        return paths;
+    }
+
+    /**
+     * Reads all paths of this set from the provided json document
+     *
+     * @param jsonObject a container Object
+     * @return the value of every path that was found, keyed by path in the order the paths were given
+     */
+    public Map<String, Object> read(Object jsonObject) {
+        return read(jsonObject, Configuration.defaultConfiguration());
+    }
+
+    /**
+     * Reads all paths of this set from the provided json document.
+     * <p>
+     * Paths that are not found in the document, where {@link JsonPath#read(Object, Configuration)} would throw
+     * a {@link PathNotFoundException}, have no entry in the result. Any other exception is thrown.
+     *
+     * @param jsonObject    a container Object
+     * @param configuration configuration to use
+     * @return the value of every path that was found, keyed by path in the order the paths were given
+     */
+    public Map<String, Object> read(Object jsonObject, Configuration configuration) {
+        notNull(jsonObject, "json can not be null");
+        notNull(configuration, "configuration can not be null");
+
+        EvaluationContext[] evaluated = pathSet.evaluate(jsonObject, jsonObject, configuration);
+        Map<String, Object> results = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < compiled.length; i++) {
+            try {
+                Object result = compiled[i].read(jsonObject, configuration, evaluated[i]);
+                results.put(paths.get(i), result);
+            } catch (PathNotFoundException e) {
+                // not found, no entry
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Reads all paths of this set from the provided json string
+     *
+     * @param json a json string
+     * @return the value of every path that was found, keyed by path in the order the paths were given
+     */
+    public Map<String, Object> read(String json) {
+        return read(json, Configuration.defaultConfiguration());
+    }
+
+    /**
+     * Reads all paths of this set from the provided json string
+     *
+     * @param json          a json string
+     * @param configuration configuration to use
+     * @return the value of every path that was found, keyed by path in the order the paths were given
+     */
+    public Map<String, Object> read(String json, Configuration configuration) {
+        notEmpty(json, "json can not be null or empty");
+        notNull(configuration, "configuration can not be null");
+
+        return read(configuration.jsonProvider().parse(json), configuration);
+    }
+}
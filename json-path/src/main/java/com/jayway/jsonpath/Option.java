@@ -83,6 +83,23 @@ public enum Option {
      * If REQUIRE_PROPERTIES option is present PathNotFoundException is thrown.
      * If REQUIRE_PROPERTIES option is not present ["b-val"] is returned.
      */
-    REQUIRE_PROPERTIES
+    REQUIRE_PROPERTIES,
+
+    /**
+     * Reads files given to parse and read through memory mappings instead of read system calls.
+     * <br/>
+     * A mapped file can not be deleted on Windows until the mapping is garbage collected, and a file truncated
+     * while it is read makes the JVM fail with an InternalError or SIGBUS.
+     */
+    MAP_FILES,
+
+    /**
+     * Makes the document contexts returned by parse answer deep scans for a property from the root, like
+     * <code>$..author</code> or <code>$..book[0].title</code>, with an index of the property names of the document.
+     * <br/>
+     * The index is built in one walk of the document by the first such scan and serves all following ones. Writes
+     * through the context discard it, changes made to the document by other means are not seen by the index.
+     */
+    SCAN_INDEX
 
 }
@@ -108,8 +108,11 @@ public interface ReadContext {
     <T> T read(String path, TypeRef<T> typeRef);
 
     /**
-     * Stops evaluation when maxResults limit has been reached
-     * @param maxResults
+     * Stops evaluation when maxResults limit has been reached. The limit is part of the evaluation: slices are
+     * cut short and deep scans stop descending once the results have been found, paths evaluated by filters and
+     * functions are not limited.
+     *
+     * @param maxResults the maximum number of results of a read, greater than zero
      * @return the read context
      */
     ReadContext limit(int maxResults);
@@ -0,0 +1,19 @@
+package com.jayway.jsonpath;
+
+/**
+ * Receives the results of a read one at a time, as the path finds them, instead of them being collected in a
+ * result array.
+ *
+ * @see JsonPath#read(Object, Configuration, ResultHandler)
+ */
+public interface ResultHandler {
+
+    /**
+     * Callback invoked when a result is found. The found result is only valid during the call, its path is built
+     * when asked for.
+     *
+     * @param found the found result, its value unwrapped by the json provider
+     * @return continuation instruction, {@link EvaluationListener.EvaluationContinuation#ABORT} ends the read
+     */
+    EvaluationListener.EvaluationContinuation handle(EvaluationListener.FoundResult found);
+}
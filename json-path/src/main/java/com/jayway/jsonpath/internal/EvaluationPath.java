@@ -0,0 +1,124 @@
+package com.jayway.jsonpath.internal;
+
+import java.util.List;
+
+/**
+ * The location of a value visited while evaluating a path, e.g. <code>$['store']['book'][0]</code>.
+ * <p>
+ * Every step of an evaluation only links a new element to the location of its parent, the string
+ * representation is built the first time {@link #toString()} is called. Most evaluations never ask for
+ * result paths so most locations are never rendered.
+ * <p>
+ * Instances are immutable and may be shared between evaluations.
+ */
+public final class EvaluationPath {
+
+    private static final int ROOT = 0;
+    private static final int PROPERTY = 1;
+    private static final int PROPERTIES = 2;
+    private static final int INDEX = 3;
+    private static final int FUNCTION = 4;
+
+    private final EvaluationPath parent;
+    private final int kind;
+    private final String name;
+    private final List<String> names;
+    private final int index;
+    private final int depth;
+
+    private String rendered;
+
+    private EvaluationPath(EvaluationPath parent, int kind, String name, List<String> names, int index) {
+        this.parent = parent;
+        this.kind = kind;
+        this.name = name;
+        this.names = names;
+        this.index = index;
+        this.depth = parent == null ? 0 : parent.depth + 1;
+    }
+
+    /**
+     * @param rootToken the root of the path, <code>$</code> or <code>@</code>
+     * @return the location of the root document
+     */
+    public static EvaluationPath root(String rootToken) {
+        return new EvaluationPath(null, ROOT, rootToken, null, 0);
+    }
+
+    /**
+     * @param property property name
+     * @return the location of the given property of the object at this location, <code>['property']</code>
+     */
+    public EvaluationPath property(String property) {
+        return new EvaluationPath(this, PROPERTY, property, null, 0);
+    }
+
+    /**
+     * @param properties property names
+     * @return the location of the given properties merged from the object at this location, <code>['a', 'b']</code>
+     */
+    public EvaluationPath properties(List<String> properties) {
+        return new EvaluationPath(this, PROPERTIES, null, properties, 0);
+    }
+
+    /**
+     * @param index array index
+     * @return the location of the given element of the array at this location, <code>[index]</code>
+     */
+    public EvaluationPath index(int index) {
+        return new EvaluationPath(this, INDEX, null, null, index);
+    }
+
+    /**
+     * @param function function name
+     * @return the location of the result of the given function applied at this location, <code>.function</code>
+     */
+    public EvaluationPath function(String function) {
+        return new EvaluationPath(this, FUNCTION, function, null, 0);
+    }
+
+    /**
+     * @return the location this location was reached from, null for a root
+     */
+    public EvaluationPath parent() {
+        return parent;
+    }
+
+    @Override
+    public String toString() {
+        String result = rendered;
+        if (result == null) {
+            EvaluationPath[] elements = new EvaluationPath[depth + 1];
+            for (EvaluationPath current = this; current != null; current = current.parent) {
+                elements[current.depth] = current;
+            }
+            StringBuilder sb = new StringBuilder();
+            for (EvaluationPath element : elements) {
+                element.appendElement(sb);
+            }
+            result = sb.toString();
+            rendered = result;
+        }
+        return result;
+    }
+
+    private void appendElement(StringBuilder sb) {
+        switch (kind) {
+            case ROOT:
+                sb.append(name);
+                break;
+            case PROPERTY:
+                sb.append("['").append(name).append("']");
+                break;
+            case PROPERTIES:
+                sb.append('[').append(Utils.join(", ", "'", names)).append(']');
+                break;
+            case INDEX:
+                sb.append('[').append(index).append(']');
+                break;
+            case FUNCTION:
+                sb.append('.').append(name);
+                break;
+        }
+    }
+}
@@ -23,8 +23,9 @@ import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.Predicate;
 import com.jayway.jsonpath.ReadContext;
 import com.jayway.jsonpath.TypeRef;
+import com.jayway.jsonpath.internal.path.ScanIndex;
 import com.jayway.jsonpath.spi.cache.Cache;
-import com.jayway.jsonpath.spi.cache.CacheProvider;
+import com.jayway.jsonpath.spi.cache.ManagedCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,6 +33,7 @@ import java.util.LinkedList;
 import java.util.List;
 
 import static com.jayway.jsonpath.JsonPath.compile;
+import static com.jayway.jsonpath.internal.Utils.isTrue;
 import static com.jayway.jsonpath.internal.Utils.notEmpty;
 import static com.jayway.jsonpath.internal.Utils.notNull;
 import static java.util.Arrays.asList;
@@ -40,14 +42,25 @@ public class JsonContext implements DocumentContext {
 
     private static final Logger logger = LoggerFactory.getLogger(JsonContext.class);
 
+    private static final int NO_LIMIT = Integer.MAX_VALUE;
+    private static final Predicate[] NO_FILTERS = new Predicate[0];
+
     private final Configuration configuration;
     private final Object json;
+    private final ScanIndex scanIndex;
+    private final int maxResults;
 
     JsonContext(Object json, Configuration configuration) {
+        this(json, configuration, configuration.containsOption(Option.SCAN_INDEX) ? new ScanIndex(json) : null, NO_LIMIT);
+    }
+
+    private JsonContext(Object json, Configuration configuration, ScanIndex scanIndex, int maxResults) {
         notNull(json, "json can not be null");
         notNull(configuration, "configuration can not be null");
         this.configuration = configuration;
         this.json = json;
+        this.scanIndex = scanIndex;
+        this.maxResults = maxResults;
     }
 
 
@@ -72,23 +85,36 @@ public class JsonContext implements DocumentContext {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T read(String path, Predicate... filters) {
+        if (scanIndex != null && maxResults == NO_LIMIT) {
+            notEmpty(path, "path can not be null or empty");
+            Object indexed = scanIndex.read(path, filters, json, configuration);
+            if (indexed != null) {
+                return (T) indexed;
+            }
+        }
+        return read(pathFromCache(path, filters));
+    }
+
+    private JsonPath pathFromCache(String path, Predicate[] filters) {
         notEmpty(path, "path can not be null or empty");
-        Cache cache = CacheProvider.getCache();
+        Cache cache = configuration.cache();
 
         path = path.trim();
         LinkedList filterStack = new LinkedList<Predicate>(asList(filters));
         String cacheKey = Utils.concat(path, filterStack.toString());
 
         JsonPath jsonPath = cache.get(cacheKey);
-        if(jsonPath != null){
-        	return read(jsonPath);
-        } else {
-		jsonPath = compile(path, filters);
-		cache.put(cacheKey, jsonPath);
-        	return read(jsonPath);
+        if(jsonPath == null){
+            long start = System.nanoTime();
+            jsonPath = compile(path, filters);
+            if (cache instanceof ManagedCache) {
+                ((ManagedCache) cache).recordLoad(System.nanoTime() - start);
+            }
+            cache.put(cacheKey, jsonPath);
         }
-
+        return jsonPath;
     }
 
     @Override
@@ -97,8 +123,19 @@ public class JsonContext implements DocumentContext {
     }
 
     @Override
+    @SuppressWarnings("unchecked")
     public <T> T read(JsonPath path) {
         notNull(path, "path can not be null");
+        if (maxResults != NO_LIMIT) {
+            // the scan index answers with all results, a limited evaluation stops at the last one
+            return path.read(json, configuration, maxResults);
+        }
+        if (scanIndex != null) {
+            Object indexed = scanIndex.read(path.getPath(), NO_FILTERS, json, configuration);
+            if (indexed != null) {
+                return (T) indexed;
+            }
+        }
         return path.read(json, configuration);
     }
 
@@ -118,11 +155,18 @@ public class JsonContext implements DocumentContext {
     }
 
     public ReadContext limit(int maxResults){
-        return withListeners(new LimitingEvaluationListener(maxResults));
+        isTrue(maxResults > 0, "maxResults must be greater than zero");
+        return new JsonContext(json, configuration, scanIndex, maxResults);
     }
 
     public ReadContext withListeners(EvaluationListener... listener){
-        return new JsonContext(json, configuration.setEvaluationListeners(listener));
+        return new JsonContext(json, configuration.setEvaluationListeners(listener), scanIndex, maxResults);
+    }
+
+    private void invalidateScanIndex() {
+        if (scanIndex != null) {
+            scanIndex.invalidate();
+        }
     }
 
 
@@ -141,6 +185,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext set(JsonPath path, Object newValue){
+        invalidateScanIndex();
         List<String> modified = path.set(json, newValue, configuration.addOptions(Option.AS_PATH_LIST));
         if(logger.isDebugEnabled()){
             for (String p : modified) {
@@ -158,6 +203,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext map(JsonPath path, MapFunction mapFunction) {
+        invalidateScanIndex();
         path.map(json, mapFunction, configuration);
         return this;
     }
@@ -169,6 +215,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext delete(JsonPath path) {
+        invalidateScanIndex();
         List<String> modified = path.delete(json, configuration.addOptions(Option.AS_PATH_LIST));
         if(logger.isDebugEnabled()){
             for (String p : modified) {
@@ -185,6 +232,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext add(JsonPath path, Object value){
+        invalidateScanIndex();
         List<String> modified =  path.add(json, value, configuration.addOptions(Option.AS_PATH_LIST));
         if(logger.isDebugEnabled()){
             for (String p : modified) {
@@ -206,6 +254,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext renameKey(JsonPath path, String oldKeyName, String newKeyName) {
+        invalidateScanIndex();
         List<String> modified =  path.renameKey(json, oldKeyName, newKeyName, configuration.addOptions(Option.AS_PATH_LIST));
         if(logger.isDebugEnabled()){
             for (String p : modified) {
@@ -218,6 +267,7 @@ public class JsonContext implements DocumentContext {
 
     @Override
     public DocumentContext put(JsonPath path, String key, Object value){
+        invalidateScanIndex();
         List<String> modified = path.put(json, key, value, configuration.addOptions(Option.AS_PATH_LIST));
         if(logger.isDebugEnabled()){
             for (String p : modified) {
@@ -226,21 +276,4 @@ public class JsonContext implements DocumentContext {
         }
         return this;
     }
-
-    private final static class LimitingEvaluationListener implements EvaluationListener {
-        final int limit;
-
-        private LimitingEvaluationListener(int limit) {
-            this.limit = limit;
-        }
-
-        @Override
-        public EvaluationContinuation resultFound(FoundResult found) {
-            if(found.index() == limit - 1){
-                return EvaluationContinuation.ABORT;
-            } else {
-                return EvaluationContinuation.CONTINUE;
-            }
-        }
-    }
 }
@@ -0,0 +1,460 @@
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.InvalidJsonException;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * A pull tokenizer reading a json document one token at a time from a character stream.
+ * <p>
+ * The document is never held in memory as a whole: names are decoded as they are read, values are either skipped
+ * or copied verbatim so they can be parsed by a {@link com.jayway.jsonpath.spi.json.JsonProvider}. The structure
+ * of the document (brackets, commas and colons) is checked as it is read, skipped and copied values are only
+ * checked to be balanced, their content being left to the provider parsing them.
+ */
+public final class JsonTokenizer {
+
+    public static final int BEGIN_OBJECT = 1;
+    public static final int END_OBJECT = 2;
+    public static final int BEGIN_ARRAY = 3;
+    public static final int END_ARRAY = 4;
+    public static final int NAME = 5;
+    public static final int STRING = 6;
+    public static final int NUMBER = 7;
+    public static final int LITERAL = 8;
+    public static final int END_DOCUMENT = 9;
+
+    private static final int NONE = 0;
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int NONEMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    // null when the tokenizer reads a range of characters held in memory
+    private final Reader reader;
+    private final char[] buffer;
+    private int pos;
+    private int limit;
+    // characters read before the start of the buffer, for error messages
+    private long consumed;
+
+    private int[] scopes = new int[32];
+    private int depth = 1;
+    private int peeked = NONE;
+
+    private final StringBuilder name = new StringBuilder();
+
+    public JsonTokenizer(Reader reader) {
+        Utils.notNull(reader, "reader can not be null");
+        this.reader = reader;
+        this.buffer = new char[8192];
+        this.scopes[0] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Creates a tokenizer reading a range of characters in place, without copying them.
+     *
+     * @param chars the characters holding the document
+     * @param start the index of the first character of the document
+     * @param end the index following the last character of the document
+     */
+    public JsonTokenizer(char[] chars, int start, int end) {
+        Utils.notNull(chars, "chars can not be null");
+        Utils.isTrue(start >= 0 && start <= end && end <= chars.length, "invalid range");
+        this.reader = null;
+        this.buffer = chars;
+        this.pos = start;
+        this.limit = end;
+        this.consumed = -start;
+        this.scopes[0] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * @return the type of the next token, without consuming it
+     */
+    public int peek() {
+        if (peeked == NONE) {
+            peeked = doPeek();
+        }
+        return peeked;
+    }
+
+    public void beginObject() {
+        expect(BEGIN_OBJECT, "Expected an object");
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() {
+        expect(END_OBJECT, "Expected the end of an object");
+        depth--;
+    }
+
+    public void beginArray() {
+        expect(BEGIN_ARRAY, "Expected an array");
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() {
+        expect(END_ARRAY, "Expected the end of an array");
+        depth--;
+    }
+
+    /**
+     * @return true if the current object or array has another property or element
+     */
+    public boolean hasNext() {
+        int next = peek();
+        return next != END_OBJECT && next != END_ARRAY && next != END_DOCUMENT;
+    }
+
+    /**
+     * @return the name of the next property of the current object
+     */
+    public String nextName() {
+        expect(NAME, "Expected a property name");
+        name.setLength(0);
+        while (true) {
+            int c = read();
+            if (c == '"') {
+                return name.toString();
+            } else if (c == '\\') {
+                name.append(readEscape());
+            } else if (c == -1) {
+                throw syntaxError("Unterminated string");
+            } else {
+                name.append((char) c);
+            }
+        }
+    }
+
+    /**
+     * Skips the next value, with everything it contains.
+     */
+    public void skipValue() {
+        copyValue(null);
+    }
+
+    /**
+     * Copies the text of the next value, with everything it contains, and consumes it.
+     *
+     * @param out the builder to append the text to, or null to skip the value
+     */
+    public void copyValue(StringBuilder out) {
+        int type = peek();
+        peeked = NONE;
+        switch (type) {
+            case BEGIN_OBJECT:
+                append(out, '{');
+                copyContainer(out);
+                break;
+            case BEGIN_ARRAY:
+                append(out, '[');
+                copyContainer(out);
+                break;
+            case STRING:
+                append(out, '"');
+                copyString(out);
+                break;
+            case NUMBER:
+            case LITERAL:
+                copyLiteral(out);
+                break;
+            default:
+                peeked = type;
+                throw syntaxError("Expected a value");
+        }
+    }
+
+    /**
+     * Skips the rest of the document, closing the objects and arrays being read, and checks that nothing but
+     * whitespace follows it.
+     */
+    public void skipDocument() {
+        while (true) {
+            switch (peek()) {
+                case NAME:
+                    nextName();
+                    break;
+                case END_OBJECT:
+                    endObject();
+                    break;
+                case END_ARRAY:
+                    endArray();
+                    break;
+                case END_DOCUMENT:
+                    endDocument();
+                    return;
+                default:
+                    skipValue();
+            }
+        }
+    }
+
+    /**
+     * Checks that nothing but whitespace follows the document.
+     */
+    public void endDocument() {
+        expect(END_DOCUMENT, "Expected the end of the document");
+    }
+
+    private void expect(int type, String message) {
+        if (peek() != type) {
+            throw syntaxError(message);
+        }
+        peeked = NONE;
+    }
+
+    private void push(int scope) {
+        if (depth == scopes.length) {
+            int[] grown = new int[depth * 2];
+            System.arraycopy(scopes, 0, grown, 0, depth);
+            scopes = grown;
+        }
+        scopes[depth++] = scope;
+    }
+
+    private int doPeek() {
+        int scope = scopes[depth - 1];
+        if (scope == EMPTY_ARRAY) {
+            scopes[depth - 1] = NONEMPTY_ARRAY;
+            int c = nextNonWhitespace();
+            if (c == ']') {
+                return END_ARRAY;
+            }
+            unread(c);
+        } else if (scope == NONEMPTY_ARRAY) {
+            int c = nextNonWhitespace();
+            if (c == ']') {
+                return END_ARRAY;
+            } else if (c != ',') {
+                throw syntaxError("Expected ',' or ']'");
+            }
+        } else if (scope == EMPTY_OBJECT || scope == NONEMPTY_OBJECT) {
+            scopes[depth - 1] = DANGLING_NAME;
+            int c = nextNonWhitespace();
+            if (c == '}') {
+                return END_OBJECT;
+            } else if (scope == NONEMPTY_OBJECT) {
+                if (c != ',') {
+                    throw syntaxError("Expected ',' or '}'");
+                }
+                c = nextNonWhitespace();
+            }
+            if (c != '"') {
+                throw syntaxError("Expected a property name");
+            }
+            return NAME;
+        } else if (scope == DANGLING_NAME) {
+            scopes[depth - 1] = NONEMPTY_OBJECT;
+            if (nextNonWhitespace() != ':') {
+                throw syntaxError("Expected ':'");
+            }
+        } else if (scope == EMPTY_DOCUMENT) {
+            scopes[depth - 1] = NONEMPTY_DOCUMENT;
+        } else {
+            if (nextNonWhitespace() == -1) {
+                return END_DOCUMENT;
+            }
+            throw syntaxError("Expected the end of the document");
+        }
+
+        int c = nextNonWhitespace();
+        switch (c) {
+            case '{':
+                return BEGIN_OBJECT;
+            case '[':
+                return BEGIN_ARRAY;
+            case '"':
+                return STRING;
+            case 't':
+            case 'f':
+            case 'n':
+                unread(c);
+                return LITERAL;
+            case -1:
+                throw syntaxError("Unexpected end of input");
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    unread(c);
+                    return NUMBER;
+                }
+                throw syntaxError("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    private void copyContainer(StringBuilder out) {
+        int nesting = 1;
+        while (true) {
+            int start = pos;
+            while (pos < limit) {
+                char c = buffer[pos++];
+                if (c == '"') {
+                    flush(out, start);
+                    copyString(out);
+                    start = pos;
+                } else if (c == '{' || c == '[') {
+                    nesting++;
+                } else if (c == '}' || c == ']') {
+                    if (--nesting == 0) {
+                        flush(out, start);
+                        return;
+                    }
+                }
+            }
+            flush(out, start);
+            if (!fill()) {
+                throw syntaxError("Unterminated value");
+            }
+        }
+    }
+
+    /**
+     * Copies a string whose opening quote has been read, up to and including its closing quote.
+     */
+    private void copyString(StringBuilder out) {
+        boolean escaped = false;
+        while (true) {
+            int start = pos;
+            while (pos < limit) {
+                char c = buffer[pos++];
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    flush(out, start);
+                    return;
+                }
+            }
+            flush(out, start);
+            if (!fill()) {
+                throw syntaxError("Unterminated string");
+            }
+        }
+    }
+
+    private void copyLiteral(StringBuilder out) {
+        while (true) {
+            int start = pos;
+            while (pos < limit) {
+                char c = buffer[pos];
+                if (c == ',' || c == ']' || c == '}' || c == ':' || isWhitespace(c)) {
+                    flush(out, start);
+                    return;
+                }
+                pos++;
+            }
+            flush(out, start);
+            if (!fill()) {
+                return;
+            }
+        }
+    }
+
+    private char readEscape() {
+        int c = read();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return (char) c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(read(), 16);
+                    if (digit < 0) {
+                        throw syntaxError("Invalid unicode escape");
+                    }
+                    value = (value << 4) | digit;
+                }
+                return (char) value;
+            default:
+                throw syntaxError("Invalid escape sequence");
+        }
+    }
+
+    private void flush(StringBuilder out, int start) {
+        if (out != null) {
+            out.append(buffer, start, pos - start);
+        }
+    }
+
+    private static void append(StringBuilder out, char c) {
+        if (out != null) {
+            out.append(c);
+        }
+    }
+
+    private int nextNonWhitespace() {
+        while (true) {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            char c = buffer[pos++];
+            if (!isWhitespace(c)) {
+                return c;
+            }
+        }
+    }
+
+    private int read() {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos++];
+    }
+
+    /**
+     * Steps back over the character just read, it is always still in the buffer.
+     */
+    private void unread(int c) {
+        if (c != -1) {
+            pos--;
+        }
+    }
+
+    private boolean fill() {
+        if (reader == null) {
+            return false;
+        }
+        consumed += limit;
+        pos = 0;
+        limit = 0;
+        try {
+            int read;
+            do {
+                read = reader.read(buffer, 0, buffer.length);
+            } while (read == 0);
+            if (read > 0) {
+                limit = read;
+                return true;
+            }
+            return false;
+        } catch (IOException e) {
+            throw new InvalidJsonException(e);
+        }
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private InvalidJsonException syntaxError(String message) {
+        return new InvalidJsonException(message + " at character " + (consumed + pos));
+    }
+}
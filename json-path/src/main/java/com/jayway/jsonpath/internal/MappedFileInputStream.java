@@ -0,0 +1,125 @@
+package com.jayway.jsonpath.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * An input stream reading a file through memory mappings instead of read system calls.
+ * <p>
+ * The file is mapped one chunk of 64 MB at a time, so files of any size can be read without reserving their size
+ * in address space. A chunk is only unmapped once garbage collected, closing the stream closes the file. Used
+ * for files when the configuration has {@link com.jayway.jsonpath.Option#MAP_FILES}.
+ */
+public final class MappedFileInputStream extends InputStream {
+
+    static final long DEFAULT_CHUNK_SIZE = 64L << 20;
+
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long size;
+    private final long chunkSize;
+
+    // the file offset of the start of the current chunk
+    private long offset;
+    private MappedByteBuffer chunk;
+
+    public MappedFileInputStream(File file) throws IOException {
+        this(file, DEFAULT_CHUNK_SIZE);
+    }
+
+    MappedFileInputStream(File file, long chunkSize) throws IOException {
+        Utils.notNull(file, "file can not be null");
+        Utils.isTrue(chunkSize > 0 && chunkSize <= Integer.MAX_VALUE, "invalid chunk size");
+        this.file = new RandomAccessFile(file, "r");
+        try {
+            this.channel = this.file.getChannel();
+            this.size = channel.size();
+        } catch (IOException e) {
+            Utils.closeQuietly(this.file);
+            throw e;
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!hasRemaining()) {
+            return -1;
+        }
+        return chunk.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || len > bytes.length - off) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (len == 0) {
+            return 0;
+        }
+        if (!hasRemaining()) {
+            return -1;
+        }
+        int read = Math.min(len, chunk.remaining());
+        chunk.get(bytes, off, read);
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long remaining = size - position();
+        long skipped = n <= 0 ? 0 : Math.min(n, remaining);
+        if (skipped > 0) {
+            seek(position() + skipped);
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(Integer.MAX_VALUE, size - position());
+    }
+
+    @Override
+    public void close() throws IOException {
+        chunk = null;
+        file.close();
+    }
+
+    private long position() {
+        return chunk == null ? offset : offset + chunk.position();
+    }
+
+    /**
+     * Maps the next chunk when the current one is exhausted
+     *
+     * @return false at the end of the file
+     */
+    private boolean hasRemaining() throws IOException {
+        if (chunk != null && chunk.hasRemaining()) {
+            return true;
+        }
+        long position = position();
+        if (position >= size) {
+            return false;
+        }
+        seek(position);
+        return true;
+    }
+
+    private void seek(long position) throws IOException {
+        if (!channel.isOpen()) {
+            throw new IOException("Stream closed");
+        }
+        long start = position - position % chunkSize;
+        if (chunk == null || start != offset) {
+            offset = start;
+            chunk = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(chunkSize, size - start));
+        }
+        chunk.position((int) (position - start));
+    }
+}
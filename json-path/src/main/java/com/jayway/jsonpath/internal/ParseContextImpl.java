@@ -5,7 +5,6 @@ import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.ParseContext;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -58,9 +57,9 @@ public class ParseContextImpl implements ParseContext {
     @Override
     public DocumentContext parse(File json) throws IOException {
         notNull(json, "json file can not be null");
-        FileInputStream fis = null;
+        InputStream fis = null;
         try {
-            fis = new FileInputStream(json);
+            fis = Utils.openFile(json, configuration);
             return parse(fis);
         } finally {
             Utils.closeQuietly(fis);
@@ -16,6 +16,8 @@ package com.jayway.jsonpath.internal;
 
 import com.jayway.jsonpath.Configuration;
 
+import java.util.Iterator;
+
 /**
  *
  */
@@ -43,6 +45,71 @@ public interface Path {
      */
     EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, boolean forUpdate);
 
+    /**
+     * Evaluates this path, stopping as soon as the given number of results has been found. Slices and scans are
+     * not walked further than needed to find them, paths evaluated by filters and function parameters are not
+     * limited.
+     *
+     * @param document the json document to apply the path on
+     * @param rootDocument the root json document that started this evaluation
+     * @param configuration configuration to use
+     * @param maxResults the number of results to stop at
+     * @return EvaluationContext containing at most maxResults results
+     */
+    EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, int maxResults);
+
+    /**
+     * Evaluates this path, passing the results to a sink as they are found. Evaluation listeners are not notified,
+     * results are not collected and no exception is thrown when a definite path has no result.
+     *
+     * @param document the json document to apply the path on
+     * @param rootDocument the root json document that started this evaluation
+     * @param configuration configuration to use
+     * @param sink the sink to pass the results to
+     */
+    void evaluate(Object document, Object rootDocument, Configuration configuration, ResultSink sink);
+
+    /**
+     * Evaluates this path lazily, the evaluation advancing as values are pulled from the returned iterator and
+     * stopping when they no longer are. Evaluation listeners are not notified, results are unwrapped by the json
+     * provider and no exception is thrown when a definite path has no result.
+     *
+     * @param document the json document to apply the path on
+     * @param rootDocument the root json document that started this evaluation
+     * @param configuration configuration to use
+     * @return an iterator over the results, in document order
+     */
+    Iterator<Object> iterate(Object document, Object rootDocument, Configuration configuration);
+
+    /**
+     * Evaluates this path and returns the result, same as
+     * <code>evaluate(document, rootDocument, configuration).getValue(unwrap)</code>.
+     * Definite paths are resolved without collecting results in an {@link EvaluationContext} when possible.
+     *
+     * @param document the json document to apply the path on
+     * @param rootDocument the root json document that started this evaluation
+     * @param configuration configuration to use
+     * @param unwrap tells the underlying json provider if primitives should be unwrapped
+     * @param <T> expected return type
+     * @return evaluation result
+     */
+    <T> T read(Object document, Object rootDocument, Configuration configuration, boolean unwrap);
+
+    /**
+     * Evaluates this path and returns the result as {@link #read(Object, Object, Configuration, boolean)} does,
+     * except that {@link com.jayway.jsonpath.spi.json.JsonProvider#UNDEFINED} is returned instead of a
+     * {@link com.jayway.jsonpath.PathNotFoundException} being thrown when the path finds nothing. Used to read the
+     * paths of filters, missing data is then detected without exceptions for definite paths of properties and
+     * array indexes.
+     *
+     * @param document the json document to apply the path on
+     * @param rootDocument the root json document that started this evaluation
+     * @param configuration configuration to use
+     * @param unwrap tells the underlying json provider if primitives should be unwrapped
+     * @return evaluation result or {@link com.jayway.jsonpath.spi.json.JsonProvider#UNDEFINED}
+     */
+    Object readOrUndefined(Object document, Object rootDocument, Configuration configuration, boolean unwrap);
+
     /**
      *
      * @return true id this path is definite
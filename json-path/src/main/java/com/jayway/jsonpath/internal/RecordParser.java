@@ -0,0 +1,127 @@
+package com.jayway.jsonpath.internal;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.spi.json.GsonJsonProvider;
+import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import net.minidev.json.parser.JSONParser;
+import net.minidev.json.parser.ParseException;
+import net.minidev.json.writer.JsonReaderI;
+
+import java.io.CharArrayReader;
+import java.io.IOException;
+
+/**
+ * Parses a sequence of documents held in ranges of a character buffer, such as the records of newline delimited
+ * json, as {@link JsonProvider#parse(String)} would.
+ * <p>
+ * The json-smart parser is created once and reused for all the documents, the Jackson and Gson parsers read the
+ * buffer in place. Other providers, and subclasses overriding how documents are parsed, parse a copy of the range.
+ * <p>
+ * Instances are not thread safe.
+ */
+public abstract class RecordParser {
+
+    /**
+     * @return a parser of documents for the given provider
+     */
+    public static RecordParser create(JsonProvider jsonProvider) {
+        Class<?> declaring = parseDeclaringClass(jsonProvider);
+        if (declaring == JsonSmartJsonProvider.class) {
+            return new JsonSmartRecordParser((JsonSmartJsonProvider) jsonProvider);
+        }
+        if (declaring == JacksonJsonProvider.class) {
+            return new JacksonRecordParser((JacksonJsonProvider) jsonProvider);
+        }
+        if (declaring == GsonJsonProvider.class) {
+            return new GsonRecordParser();
+        }
+        return new ProviderRecordParser(jsonProvider);
+    }
+
+    private static Class<?> parseDeclaringClass(JsonProvider jsonProvider) {
+        try {
+            return jsonProvider.getClass().getMethod("parse", String.class).getDeclaringClass();
+        } catch (NoSuchMethodException e) {
+            return null;
+        } catch (SecurityException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses the document in chars[offset] to chars[offset + length - 1]
+     *
+     * @throws InvalidJsonException if the document is malformed
+     */
+    public final Object parse(char[] chars, int offset, int length) {
+        try {
+            return doParse(chars, offset, length);
+        } catch (InvalidJsonException e) {
+            throw e;
+        } catch (Exception e) {
+            // Gson reports malformed json with exceptions of its own
+            throw new InvalidJsonException(e, new String(chars, offset, length));
+        }
+    }
+
+    protected abstract Object doParse(char[] chars, int offset, int length) throws Exception;
+
+    private static class ProviderRecordParser extends RecordParser {
+        private final JsonProvider jsonProvider;
+
+        private ProviderRecordParser(JsonProvider jsonProvider) {
+            this.jsonProvider = jsonProvider;
+        }
+
+        @Override
+        protected Object doParse(char[] chars, int offset, int length) {
+            return jsonProvider.parse(new String(chars, offset, length));
+        }
+    }
+
+    private static class JsonSmartRecordParser extends RecordParser {
+        private final JSONParser parser;
+        private final JsonReaderI<?> mapper;
+
+        private JsonSmartRecordParser(JsonSmartJsonProvider jsonProvider) {
+            this.parser = new JSONParser(jsonProvider.getParseMode());
+            this.mapper = jsonProvider.getMapper();
+        }
+
+        @Override
+        protected Object doParse(char[] chars, int offset, int length) throws ParseException {
+            return parser.parse(new String(chars, offset, length), mapper);
+        }
+    }
+
+    private static class JacksonRecordParser extends RecordParser {
+        private final ObjectReader objectReader;
+
+        private JacksonRecordParser(JacksonJsonProvider jsonProvider) {
+            this.objectReader = jsonProvider.getObjectReader();
+        }
+
+        @Override
+        protected Object doParse(char[] chars, int offset, int length) throws IOException {
+            JsonParser parser = objectReader.getFactory().createParser(chars, offset, length);
+            try {
+                return objectReader.readValue(parser);
+            } finally {
+                parser.close();
+            }
+        }
+    }
+
+    private static class GsonRecordParser extends RecordParser {
+        private final com.google.gson.JsonParser parser = new com.google.gson.JsonParser();
+
+        @Override
+        protected Object doParse(char[] chars, int offset, int length) {
+            return parser.parse(new CharArrayReader(chars, offset, length));
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.Configuration;
+
+/**
+ * Receives the results of an evaluation as they are found, instead of them being collected in a result array.
+ *
+ * @see Path#evaluate(Object, Object, Configuration, ResultSink)
+ */
+public interface ResultSink {
+
+    /**
+     * Receives a result
+     *
+     * @param path the path of the result
+     * @param value the result, not unwrapped
+     * @return false to stop the evaluation, no further results are then passed
+     */
+    boolean add(EvaluationPath path, Object value);
+}
@@ -14,11 +14,17 @@
  */
 package com.jayway.jsonpath.internal;
 
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.Option;
 
 import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.StringWriter;
+import java.nio.charset.Charset;
 import java.util.Iterator;
 
 public final class Utils {
@@ -84,6 +90,27 @@ public final class Utils {
     //
     //---------------------------------------------------------
 
+    /**
+     * @return true if the charset is UTF-8, false if it is another or an unknown charset
+     */
+    public static boolean isUtf8(String charset) {
+        try {
+            return charset != null && "UTF-8".equals(Charset.forName(charset).name());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * @return a stream reading the file, memory mapped if the configuration has {@link Option#MAP_FILES}
+     */
+    public static InputStream openFile(File file, Configuration configuration) throws IOException {
+        if (configuration.containsOption(Option.MAP_FILES)) {
+            return new MappedFileInputStream(file);
+        }
+        return new FileInputStream(file);
+    }
+
     public static void closeQuietly(Closeable closeable) {
         try {
             if (closeable != null) {
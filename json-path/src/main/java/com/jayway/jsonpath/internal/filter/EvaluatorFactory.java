@@ -3,12 +3,12 @@ package com.jayway.jsonpath.internal.filter;
 import com.jayway.jsonpath.JsonPathException;
 import com.jayway.jsonpath.Predicate;
 
-import java.util.HashMap;
+import java.util.EnumMap;
 import java.util.Map;
 
 public class EvaluatorFactory {
 
-    private static final Map<RelationalOperator, Evaluator> evaluators = new HashMap<RelationalOperator, Evaluator>();
+    private static final Map<RelationalOperator, Evaluator> evaluators = new EnumMap<RelationalOperator, Evaluator>(RelationalOperator.class);
 
     static {
         evaluators.put(RelationalOperator.EXISTS, new ExistsEvaluator());
@@ -92,7 +92,7 @@ public class EvaluatorFactory {
         @Override
         public boolean evaluate(ValueNode left, ValueNode right, Predicate.PredicateContext ctx) {
             if(left.isNumberNode() && right.isNumberNode()){
-                return left.asNumberNode().getNumber().compareTo(right.asNumberNode().getNumber()) < 0;
+                return left.asNumberNode().compareTo(right.asNumberNode()) < 0;
             } if(left.isStringNode() && right.isStringNode()){
                 return left.asStringNode().getString().compareTo(right.asStringNode().getString()) < 0;
             }
@@ -104,7 +104,7 @@ public class EvaluatorFactory {
         @Override
         public boolean evaluate(ValueNode left, ValueNode right, Predicate.PredicateContext ctx) {
             if(left.isNumberNode() && right.isNumberNode()){
-                return left.asNumberNode().getNumber().compareTo(right.asNumberNode().getNumber()) <= 0;
+                return left.asNumberNode().compareTo(right.asNumberNode()) <= 0;
             } if(left.isStringNode() && right.isStringNode()){
                 return left.asStringNode().getString().compareTo(right.asStringNode().getString()) <= 0;
             }
@@ -116,7 +116,7 @@ public class EvaluatorFactory {
         @Override
         public boolean evaluate(ValueNode left, ValueNode right, Predicate.PredicateContext ctx) {
             if(left.isNumberNode() && right.isNumberNode()){
-                return left.asNumberNode().getNumber().compareTo(right.asNumberNode().getNumber()) > 0;
+                return left.asNumberNode().compareTo(right.asNumberNode()) > 0;
             } else if(left.isStringNode() && right.isStringNode()){
                 return left.asStringNode().getString().compareTo(right.asStringNode().getString()) > 0;
             }
@@ -128,7 +128,7 @@ public class EvaluatorFactory {
         @Override
         public boolean evaluate(ValueNode left, ValueNode right, Predicate.PredicateContext ctx) {
             if(left.isNumberNode() && right.isNumberNode()){
-                return left.asNumberNode().getNumber().compareTo(right.asNumberNode().getNumber()) >= 0;
+                return left.asNumberNode().compareTo(right.asNumberNode()) >= 0;
             } else if(left.isStringNode() && right.isStringNode()){
                 return left.asStringNode().getString().compareTo(right.asStringNode().getString()) >= 0;
             }
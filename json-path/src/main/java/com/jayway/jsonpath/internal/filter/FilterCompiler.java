@@ -49,8 +49,28 @@ public class FilterCompiler {
     private CharacterIndex filter;
 
     public static Filter compile(String filterString) {
-        FilterCompiler compiler = new FilterCompiler(filterString);
-        return new CompiledFilter(compiler.compile());
+        return new CompiledFilter(parse(filterString));
+    }
+
+    /**
+     * Reads a filter into its expression tree, before it is compiled to the predicate the filter applies.
+     *
+     * @param filterString the filter to read
+     * @return the expression of the filter
+     */
+    static ExpressionNode parse(String filterString) {
+        return new FilterCompiler(filterString).compile();
+    }
+
+    /**
+     * Tells whether a predicate may read the root document. Only inline filters are known not to, when nothing
+     * in them refers to <code>$</code>.
+     *
+     * @param predicate the predicate to check
+     * @return false if the predicate only depends on the item it is applied to
+     */
+    public static boolean mayReadRoot(Predicate predicate) {
+        return !(predicate instanceof CompiledFilter) || predicate.toString().indexOf(DOC_CONTEXT) >= 0;
     }
 
     private FilterCompiler(String filterString) {
@@ -72,7 +92,7 @@ public class FilterCompiler {
         }
     }
 
-    public Predicate compile() {
+    public ExpressionNode compile() {
         try {
              final ExpressionNode result = readLogicalOR();
              filter.skipBlanks();
@@ -404,10 +424,12 @@ public class FilterCompiler {
 
     private static final class CompiledFilter extends Filter {
 
+        private final ExpressionNode expression;
         private final Predicate predicate;
 
-        private CompiledFilter(Predicate predicate) {
-            this.predicate = predicate;
+        private CompiledFilter(ExpressionNode expression) {
+            this.expression = expression;
+            this.predicate = PredicateCompiler.compile(expression);
         }
 
         @Override
@@ -417,7 +439,7 @@ public class FilterCompiler {
 
         @Override
         public String toString() {
-            String predicateString = predicate.toString();
+            String predicateString = expression.toString();
             if(predicateString.startsWith("(")){
                 return "[?" + predicateString + "]";
             } else {
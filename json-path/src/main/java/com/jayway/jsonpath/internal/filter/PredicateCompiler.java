@@ -0,0 +1,320 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.Path;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles the expression trees read by {@link FilterCompiler} into the predicates a filter applies.
+ *
+ * Comparisons of two literals are folded to constants, and so are the logical expressions they decide.
+ * Comparisons of a relative path with a number or a string literal read the value and compare it directly when
+ * it is a plain number or string, other values are compared by the expression as before. Everything else is
+ * applied by the expression nodes themselves.
+ */
+final class PredicateCompiler {
+
+    private PredicateCompiler() {
+    }
+
+    /**
+     * @param expression the expression read from a filter
+     * @return a predicate applying the same as the expression
+     */
+    static Predicate compile(ExpressionNode expression) {
+        if (expression instanceof LogicalExpressionNode) {
+            return compileLogical((LogicalExpressionNode) expression);
+        } else if (expression instanceof RelationalExpressionNode) {
+            return compileRelational((RelationalExpressionNode) expression);
+        }
+        return expression;
+    }
+
+    private static Predicate compileLogical(LogicalExpressionNode expression) {
+        if (expression.getOperator() == LogicalOperator.NOT) {
+            Predicate operand = compile(expression.chain.get(0));
+            if (operand instanceof Constant) {
+                return new Constant(!((Constant) operand).value, expression);
+            }
+            return new Not(operand, expression);
+        }
+        boolean and = expression.getOperator() == LogicalOperator.AND;
+        List<Predicate> operands = new ArrayList<Predicate>(expression.chain.size());
+        for (ExpressionNode node : expression.chain) {
+            Predicate operand = compile(node);
+            if (operand instanceof Constant) {
+                if (((Constant) operand).value != and) {
+                    // false in a conjunction or true in a disjunction decides it
+                    return new Constant(!and, expression);
+                }
+                continue;
+            }
+            operands.add(operand);
+        }
+        if (operands.isEmpty()) {
+            return new Constant(and, expression);
+        } else if (operands.size() == 1) {
+            return operands.get(0);
+        }
+        Predicate[] array = operands.toArray(new Predicate[operands.size()]);
+        return and ? new And(array, expression) : new Or(array, expression);
+    }
+
+    private static Predicate compileRelational(RelationalExpressionNode expression) {
+        ValueNode left = expression.left();
+        ValueNode right = expression.right();
+        RelationalOperator operator = expression.operator();
+
+        if (isLiteral(left) && isLiteral(right)) {
+            try {
+                return new Constant(expression.evaluate(left, right, null), expression);
+            } catch (RuntimeException e) {
+                // left to fail when applied
+                return expression;
+            }
+        }
+        if (!isComparison(operator)) {
+            return expression;
+        }
+        if (isRelativePath(left)) {
+            return compileComparison(expression, left.asPathNode().getPath(), operator, right, true);
+        } else if (isRelativePath(right)) {
+            return compileComparison(expression, right.asPathNode().getPath(), flip(operator), left, false);
+        }
+        return expression;
+    }
+
+    private static Predicate compileComparison(RelationalExpressionNode expression, Path path, RelationalOperator operator,
+                                               ValueNode literal, boolean pathOnLeft) {
+        if (literal.isNumberNode()) {
+            BigDecimal number = literal.asNumberNode().getNumber();
+            if (number != null && ValueNode.NumberNode.isExactDouble(number)) {
+                return new NumberComparison(expression, path, operator, literal, pathOnLeft, number.doubleValue());
+            }
+        } else if (literal.isStringNode()) {
+            return new StringComparison(expression, path, operator, literal, pathOnLeft, literal.asStringNode().getString());
+        }
+        return expression;
+    }
+
+    private static boolean isLiteral(ValueNode node) {
+        return node.isNumberNode() || node.isStringNode() || node.isBooleanNode() || node.isNullNode() || node.isPatternNode();
+    }
+
+    private static boolean isRelativePath(ValueNode node) {
+        return node.isPathNode() && !node.asPathNode().isExistsCheck() && !node.asPathNode().getPath().isRootPath();
+    }
+
+    private static boolean isComparison(RelationalOperator operator) {
+        switch (operator) {
+            case EQ:
+            case NE:
+            case LT:
+            case LTE:
+            case GT:
+            case GTE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return the operator comparing the operands the other way around
+     */
+    private static RelationalOperator flip(RelationalOperator operator) {
+        switch (operator) {
+            case LT:
+                return RelationalOperator.GT;
+            case LTE:
+                return RelationalOperator.GTE;
+            case GT:
+                return RelationalOperator.LT;
+            case GTE:
+                return RelationalOperator.LTE;
+            default:
+                return operator;
+        }
+    }
+
+    private abstract static class CompiledPredicate implements Predicate {
+        private final ExpressionNode source;
+
+        CompiledPredicate(ExpressionNode source) {
+            this.source = source;
+        }
+
+        @Override
+        public String toString() {
+            return source.toString();
+        }
+    }
+
+    private static final class Constant extends CompiledPredicate {
+        private final boolean value;
+
+        Constant(boolean value, ExpressionNode source) {
+            super(source);
+            this.value = value;
+        }
+
+        @Override
+        public boolean apply(PredicateContext ctx) {
+            return value;
+        }
+    }
+
+    private static final class Not extends CompiledPredicate {
+        private final Predicate operand;
+
+        Not(Predicate operand, ExpressionNode source) {
+            super(source);
+            this.operand = operand;
+        }
+
+        @Override
+        public boolean apply(PredicateContext ctx) {
+            return !operand.apply(ctx);
+        }
+    }
+
+    private static final class And extends CompiledPredicate {
+        private final Predicate[] operands;
+
+        And(Predicate[] operands, ExpressionNode source) {
+            super(source);
+            this.operands = operands;
+        }
+
+        @Override
+        public boolean apply(PredicateContext ctx) {
+            for (Predicate operand : operands) {
+                if (!operand.apply(ctx)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class Or extends CompiledPredicate {
+        private final Predicate[] operands;
+
+        Or(Predicate[] operands, ExpressionNode source) {
+            super(source);
+            this.operands = operands;
+        }
+
+        @Override
+        public boolean apply(PredicateContext ctx) {
+            for (Predicate operand : operands) {
+                if (operand.apply(ctx)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A comparison of the value of a relative path with a literal. The operator is bound to the outcomes it
+     * accepts, with the path as left operand.
+     */
+    private abstract static class Comparison extends CompiledPredicate {
+        private final RelationalExpressionNode expression;
+        private final Path path;
+        private final ValueNode literal;
+        private final boolean pathOnLeft;
+        private final boolean less;
+        private final boolean equal;
+        private final boolean greater;
+
+        Comparison(RelationalExpressionNode expression, Path path, RelationalOperator operator, ValueNode literal, boolean pathOnLeft) {
+            super(expression);
+            this.expression = expression;
+            this.path = path;
+            this.literal = literal;
+            this.pathOnLeft = pathOnLeft;
+            this.less = operator == RelationalOperator.LT || operator == RelationalOperator.LTE || operator == RelationalOperator.NE;
+            this.equal = operator == RelationalOperator.EQ || operator == RelationalOperator.LTE || operator == RelationalOperator.GTE;
+            this.greater = operator == RelationalOperator.GT || operator == RelationalOperator.GTE || operator == RelationalOperator.NE;
+        }
+
+        @Override
+        public boolean apply(PredicateContext ctx) {
+            Object value = path.readOrUndefined(ctx.item(), ctx.root(), ctx.configuration(), true);
+            return compare(ctx.configuration().jsonProvider().unwrap(value), value, ctx);
+        }
+
+        /**
+         * @param value the unwrapped value of the path
+         * @param read the value as read
+         */
+        abstract boolean compare(Object value, Object read, PredicateContext ctx);
+
+        final boolean accepts(int comparison) {
+            return comparison < 0 ? less : comparison == 0 ? equal : greater;
+        }
+
+        /**
+         * Compares a value that is not specialized as the expression does.
+         */
+        final boolean compareAsNodes(Object read, PredicateContext ctx) {
+            ValueNode value = ValueNode.PathNode.valueOf(read, ctx);
+            return pathOnLeft ? expression.evaluate(value, literal, ctx) : expression.evaluate(literal, value, ctx);
+        }
+    }
+
+    private static final class NumberComparison extends Comparison {
+        private final double number;
+
+        NumberComparison(RelationalExpressionNode expression, Path path, RelationalOperator operator, ValueNode literal,
+                         boolean pathOnLeft, double number) {
+            super(expression, path, operator, literal, pathOnLeft);
+            this.number = number;
+        }
+
+        @Override
+        boolean compare(Object value, Object read, PredicateContext ctx) {
+            double d;
+            if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                d = ((Number) value).intValue();
+            } else if (value instanceof Long) {
+                long l = (Long) value;
+                if (l > ValueNode.NumberNode.MAX_EXACT_LONG || l < -ValueNode.NumberNode.MAX_EXACT_LONG) {
+                    return compareAsNodes(read, ctx);
+                }
+                d = l;
+            } else if (value instanceof Double) {
+                d = (Double) value;
+                if (Double.isNaN(d) || Double.isInfinite(d)) {
+                    return compareAsNodes(read, ctx);
+                }
+            } else {
+                return compareAsNodes(read, ctx);
+            }
+            return accepts(d < number ? -1 : d > number ? 1 : 0);
+        }
+    }
+
+    private static final class StringComparison extends Comparison {
+        private final String string;
+
+        StringComparison(RelationalExpressionNode expression, Path path, RelationalOperator operator, ValueNode literal,
+                         boolean pathOnLeft, String string) {
+            super(expression, path, operator, literal, pathOnLeft);
+            this.string = string;
+        }
+
+        @Override
+        boolean compare(Object value, Object read, PredicateContext ctx) {
+            if (value instanceof String) {
+                return accepts(((String) value).compareTo(string));
+            }
+            return compareAsNodes(read, ctx);
+        }
+    }
+}
@@ -10,15 +10,29 @@ public class RelationalExpressionNode extends ExpressionNode {
     private final ValueNode left;
     private final RelationalOperator relationalOperator;
     private final ValueNode right;
+    private final Evaluator evaluator;
 
     public RelationalExpressionNode(ValueNode left, RelationalOperator relationalOperator, ValueNode right) {
         this.left = left;
         this.relationalOperator = relationalOperator;
         this.right = right;
+        this.evaluator = EvaluatorFactory.createEvaluator(relationalOperator);
 
         logger.trace("ExpressionNode {}", toString());
     }
 
+    ValueNode left() {
+        return left;
+    }
+
+    RelationalOperator operator() {
+        return relationalOperator;
+    }
+
+    ValueNode right() {
+        return right;
+    }
+
     @Override
     public String toString() {
         if(relationalOperator == RelationalOperator.EXISTS){
@@ -39,7 +53,13 @@ public class RelationalExpressionNode extends ExpressionNode {
         if(right.isPathNode()){
             r = right.asPathNode().evaluate(ctx);
         }
-        Evaluator evaluator = EvaluatorFactory.createEvaluator(relationalOperator);
+        return evaluate(l, r, ctx);
+    }
+
+    /**
+     * Evaluates the operator of this expression over operands already read.
+     */
+    boolean evaluate(ValueNode l, ValueNode r, PredicateContext ctx) {
         if(evaluator != null){
             return evaluator.evaluate(l, r, ctx);
         }
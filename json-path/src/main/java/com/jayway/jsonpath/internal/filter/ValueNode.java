@@ -22,9 +22,11 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 public abstract class ValueNode {
@@ -181,7 +183,7 @@ public abstract class ValueNode {
         else if(isJson(o)) return createJsonNode(o.toString());
         else if(o instanceof String) return createStringNode(o.toString(), true);
         else if(o instanceof Character) return createStringNode(o.toString(), false);
-        else if(o instanceof Number) return createNumberNode(o.toString());
+        else if(o instanceof Number) return createNumberNode((Number) o);
         else if(o instanceof Boolean) return createBooleanNode(o.toString());
         else if(o instanceof Pattern) return createPatternNode((Pattern)o);
         else throw new JsonPathException("Could not determine value type");
@@ -199,6 +201,25 @@ public abstract class ValueNode {
         return new NumberNode(charSequence);
     }
 
+    /**
+     * Creates the node of a number read from a document. Integral numbers and finite doubles compare as
+     * primitives, other numbers as the decimal of their string representation.
+     *
+     * @param number the number
+     * @return a number node
+     */
+    public static NumberNode createNumberNode(Number number){
+        if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+            return new NumberNode(number.longValue());
+        } else if (number instanceof Double) {
+            double d = number.doubleValue();
+            if (!Double.isNaN(d) && !Double.isInfinite(d)) {
+                return new NumberNode(d);
+            }
+        }
+        return new NumberNode(new BigDecimal(number.toString()));
+    }
+
     public static BooleanNode createBooleanNode(CharSequence charSequence){
         return Boolean.parseBoolean(charSequence.toString()) ? TRUE : FALSE;
     }
@@ -305,6 +326,9 @@ public abstract class ValueNode {
     public static class JsonNode extends ValueNode {
         private final Object json;
         private final boolean parsed;
+        // the json literal parsed and the list node of the json, kept as filters apply the node to every item
+        private volatile Object parsedJson;
+        private volatile ValueNode valueListNode;
 
         private JsonNode(CharSequence charSequence) {
             json = charSequence.toString();
@@ -335,19 +359,32 @@ public abstract class ValueNode {
         }
 
         public ValueNode asValueListNode(Predicate.PredicateContext ctx){
-            if(!isArray(ctx)){
-                return UNDEFINED;
-            } else {
-                return new ValueListNode(Collections.unmodifiableList((List) parse(ctx)));
+            ValueNode node = valueListNode;
+            if (node == null) {
+                if(!isArray(ctx)){
+                    node = UNDEFINED;
+                } else {
+                    node = new ValueListNode(Collections.unmodifiableList((List) parse(ctx)));
+                }
+                valueListNode = node;
             }
+            return node;
         }
 
         public Object parse(Predicate.PredicateContext ctx){
-            try {
-              return parsed ? json : new JSONParser(JSONParser.MODE_PERMISSIVE).parse(json.toString());
-            } catch (ParseException e) {
-              throw new IllegalArgumentException(e);
+            if (parsed) {
+                return json;
+            }
+            Object result = parsedJson;
+            if (result == null) {
+                try {
+                    result = new JSONParser(JSONParser.MODE_PERMISSIVE).parse(json.toString());
+                } catch (ParseException e) {
+                    throw new IllegalArgumentException(e);
+                }
+                parsedJson = result;
             }
+            return result;
         }
 
         public boolean isParsed() {
@@ -478,22 +515,107 @@ public abstract class ValueNode {
 
         public static NumberNode NAN = new NumberNode((BigDecimal)null);
 
-        private final BigDecimal number;
+        // the largest magnitude below which every long is a double
+        static final long MAX_EXACT_LONG = 1L << 53;
+
+        // created on first use for numbers read as long or double
+        private BigDecimal number;
+        private final long longValue;
+        private final double doubleValue;
+        // whether the number is longValue
+        private final boolean isLong;
+        // whether doubles compare with doubleValue as they compare with the number
+        private final boolean isDouble;
 
         private NumberNode(BigDecimal number) {
             this.number = number;
+            this.longValue = 0;
+            this.doubleValue = 0;
+            this.isLong = false;
+            this.isDouble = false;
         }
         private NumberNode(CharSequence num) {
             number = new BigDecimal(num.toString());
+            isLong = number.scale() == 0 && number.unscaledValue().bitLength() < 64;
+            longValue = isLong ? number.longValue() : 0;
+            isDouble = isExactDouble(number);
+            doubleValue = isDouble ? number.doubleValue() : 0;
+        }
+        private NumberNode(long number) {
+            this.longValue = number;
+            this.doubleValue = number;
+            this.isLong = true;
+            this.isDouble = number <= MAX_EXACT_LONG && number >= -MAX_EXACT_LONG;
+        }
+        private NumberNode(double number) {
+            this.longValue = 0;
+            this.doubleValue = number;
+            this.isLong = false;
+            this.isDouble = true;
+        }
+
+        /**
+         * Tells whether comparing doubles with the number gives the same as comparing the decimal representation
+         * of the doubles with it. That is the case when the number is the decimal representation of its double.
+         */
+        static boolean isExactDouble(BigDecimal number) {
+            double d = number.doubleValue();
+            return !Double.isInfinite(d) && new BigDecimal(Double.toString(d)).compareTo(number) == 0;
         }
 
         @Override
         public StringNode asStringNode() {
-            return new StringNode(number.toString(), false);
+            return new StringNode(getNumber().toString(), false);
         }
 
         public BigDecimal getNumber() {
-            return number;
+            BigDecimal n = number;
+            if (n == null && (isLong || isDouble)) {
+                n = isLong ? BigDecimal.valueOf(longValue) : new BigDecimal(Double.toString(doubleValue));
+                number = n;
+            }
+            return n;
+        }
+
+        /**
+         * Compares the numbers without creating their decimals when both are integral or both compare as doubles.
+         */
+        int compareTo(NumberNode that) {
+            if (isLong && that.isLong) {
+                return longValue < that.longValue ? -1 : longValue == that.longValue ? 0 : 1;
+            } else if (isDouble && that.isDouble) {
+                return doubleValue < that.doubleValue ? -1 : doubleValue > that.doubleValue ? 1 : 0;
+            }
+            return getNumber().compareTo(that.getNumber());
+        }
+
+        /**
+         * @return a key equal to the keys of the numbers comparing equal to this one, to look numbers up by hash
+         */
+        Object key() {
+            if (isLong) {
+                return longValue;
+            } else if (isDouble) {
+                if (doubleValue != Math.rint(doubleValue)) {
+                    return doubleValue;
+                } else if (doubleValue <= MAX_EXACT_LONG && doubleValue >= -MAX_EXACT_LONG) {
+                    return (long) doubleValue;
+                }
+                // larger doubles print as decimals that may differ from their own value
+            }
+            BigDecimal n = getNumber();
+            BigDecimal stripped = n.signum() == 0 ? BigDecimal.ZERO : n.stripTrailingZeros();
+            if (stripped.scale() <= 0 && stripped.precision() - stripped.scale() <= 19) {
+                try {
+                    return stripped.longValueExact();
+                } catch (ArithmeticException e) {
+                    // beyond the range of a long
+                }
+            }
+            if (isExactDouble(n)) {
+                return n.doubleValue();
+            }
+            return stripped;
         }
 
         @Override
@@ -511,7 +633,7 @@ public abstract class ValueNode {
 
         @Override
         public String toString() {
-            return number.toString();
+            return getNumber().toString();
         }
 
         @Override
@@ -524,7 +646,7 @@ public abstract class ValueNode {
             if(that == NumberNode.NAN){
                 return false;
             } else {
-                return number.compareTo(that.number) == 0;
+                return compareTo(that) == 0;
             }
         }
     }
@@ -701,7 +823,13 @@ public abstract class ValueNode {
 
     public static class ValueListNode extends ValueNode implements Iterable<ValueNode> {
 
+        // lists this long are searched one by one
+        private static final int INDEX_THRESHOLD = 8;
+
         private List<ValueNode> nodes = new ArrayList<ValueNode>();
+        // built when the list is searched a second time
+        private volatile Index index;
+        private boolean searched;
 
         public ValueListNode(Collection<?> values) {
             for (Object value : values) {
@@ -710,12 +838,21 @@ public abstract class ValueNode {
         }
 
         public boolean contains(ValueNode node){
-            return nodes.contains(node);
+            Index idx = index;
+            if (idx == null) {
+                if (!searched || nodes.size() <= INDEX_THRESHOLD) {
+                    searched = true;
+                    return nodes.contains(node);
+                }
+                idx = new Index(nodes);
+                index = idx;
+            }
+            return idx.contains(node);
         }
 
         public boolean subsetof(ValueListNode right) {
             for (ValueNode leftNode : nodes) {
-                if (!right.nodes.contains(leftNode)) {
+                if (!right.contains(leftNode)) {
                     return false;
                 }
             }
@@ -758,6 +895,41 @@ public abstract class ValueNode {
         public Iterator<ValueNode> iterator() {
             return nodes.iterator();
         }
+
+        /**
+         * The nodes of a list hashed by what they equal. A number equals the numbers and the numeric strings
+         * comparing equal to it, a string equals the strings and the numbers printing as it, other nodes only
+         * equal nodes of their own kind.
+         */
+        private static final class Index {
+            private final Set<Object> numbers = new HashSet<Object>();
+            private final Set<String> strings = new HashSet<String>();
+            private final List<ValueNode> others = new ArrayList<ValueNode>();
+
+            private Index(List<ValueNode> nodes) {
+                for (ValueNode node : nodes) {
+                    if (node.isNumberNode() || node.isStringNode()) {
+                        NumberNode number = node.asNumberNode();
+                        if (number != NumberNode.NAN) {
+                            numbers.add(number.key());
+                        }
+                        strings.add(node.asStringNode().getString());
+                    } else {
+                        others.add(node);
+                    }
+                }
+            }
+
+            private boolean contains(ValueNode node) {
+                if (node.isNumberNode()) {
+                    NumberNode number = node.asNumberNode();
+                    return number == NumberNode.NAN ? false : numbers.contains(number.key());
+                } else if (node.isStringNode()) {
+                    return strings.contains(node.asStringNode().getString());
+                }
+                return others.contains(node);
+            }
+        }
     }
 
     public static class PathNode extends ValueNode {
@@ -767,6 +939,8 @@ public abstract class ValueNode {
         private final Path path;
         private final boolean existsCheck;
         private final boolean shouldExist;
+        // the configuration exists checks read with, kept for the provider it was last built for
+        private volatile Configuration existsConfiguration;
 
         PathNode(Path path) {
             this(path, false, false);
@@ -812,6 +986,15 @@ public abstract class ValueNode {
             return new PathNode(path, true, shouldExist);
         }
 
+        private Configuration existsConfiguration(JsonProvider jsonProvider) {
+            Configuration configuration = existsConfiguration;
+            if (configuration == null || configuration.jsonProvider() != jsonProvider) {
+                configuration = Configuration.builder().jsonProvider(jsonProvider).options(Option.REQUIRE_PROPERTIES).build();
+                existsConfiguration = configuration;
+            }
+            return configuration;
+        }
+
         @Override
         public String toString() {
             return existsCheck && ! shouldExist ? Utils.concat("!" , path.toString()) : path.toString();
@@ -819,40 +1002,58 @@ public abstract class ValueNode {
 
         public ValueNode evaluate(Predicate.PredicateContext ctx) {
             if (isExistsCheck()) {
-                try {
-                    Configuration c = Configuration.builder().jsonProvider(ctx.configuration().jsonProvider()).options(Option.REQUIRE_PROPERTIES).build();
-                    Object result = path.evaluate(ctx.item(), ctx.root(), c).getValue(false);
-                    return result == JsonProvider.UNDEFINED ? ValueNode.FALSE : ValueNode.TRUE;
-                } catch (PathNotFoundException e) {
-                    return ValueNode.FALSE;
-                }
+                Configuration c = existsConfiguration(ctx.configuration().jsonProvider());
+                Object result = path.readOrUndefined(ctx.item(), ctx.root(), c, false);
+                return result == JsonProvider.UNDEFINED ? ValueNode.FALSE : ValueNode.TRUE;
             } else {
                 try {
                     Object res;
                     if (ctx instanceof PredicateContextImpl) {
                         //This will use cache for document ($) queries
                         PredicateContextImpl ctxi = (PredicateContextImpl) ctx;
+                        if (path.isRootPath()) {
+                            // converted once per evaluation too, lists keep their index for the items that follow
+                            ValueNode value = (ValueNode) ctxi.documentValueCache().get(path);
+                            if (value == null) {
+                                value = valueOf(ctxi.evaluate(path), ctx);
+                                ctxi.documentValueCache().put(path, value);
+                            }
+                            return value;
+                        }
                         res = ctxi.evaluate(path);
                     } else {
                         Object doc = path.isRootPath() ? ctx.root() : ctx.item();
-                        res = path.evaluate(doc, ctx.root(), ctx.configuration()).getValue();
+                        res = path.readOrUndefined(doc, ctx.root(), ctx.configuration(), true);
                     }
-                    res = ctx.configuration().jsonProvider().unwrap(res);
-
-                    if (res instanceof Number) return ValueNode.createNumberNode(res.toString());
-                    else if (res instanceof BigDecimal) return ValueNode.createNumberNode(res.toString());
-                    else if (res instanceof String) return ValueNode.createStringNode(res.toString(), false);
-                    else if (res instanceof Boolean) return ValueNode.createBooleanNode(res.toString());
-                    else if (res == null) return ValueNode.NULL_NODE;
-                    else if (ctx.configuration().jsonProvider().isArray(res)) return ValueNode.createJsonNode(ctx.configuration().mappingProvider().map(res, List.class, ctx.configuration()));
-                    else if (ctx.configuration().jsonProvider().isMap(res)) return ValueNode.createJsonNode(ctx.configuration().mappingProvider().map(res, Map.class, ctx.configuration()));
-                    else throw new JsonPathException("Could not convert " + res.toString() + " to a ValueNode");
+                    return valueOf(res, ctx);
                 } catch (PathNotFoundException e) {
                     return ValueNode.UNDEFINED;
                 }
             }
         }
 
+        /**
+         * Converts a value read by a path to the node it is compared as.
+         *
+         * @param res the value read, or {@link JsonProvider#UNDEFINED} if nothing was found
+         * @param ctx the predicate context the value was read in
+         * @return the value node
+         */
+        static ValueNode valueOf(Object res, Predicate.PredicateContext ctx) {
+            if (res == JsonProvider.UNDEFINED) {
+                return ValueNode.UNDEFINED;
+            }
+            res = ctx.configuration().jsonProvider().unwrap(res);
+
+            if (res instanceof Number) return ValueNode.createNumberNode((Number) res);
+            else if (res instanceof String) return ValueNode.createStringNode(res.toString(), false);
+            else if (res instanceof Boolean) return ValueNode.createBooleanNode(res.toString());
+            else if (res == null) return ValueNode.NULL_NODE;
+            else if (ctx.configuration().jsonProvider().isArray(res)) return ValueNode.createJsonNode(ctx.configuration().mappingProvider().map(res, List.class, ctx.configuration()));
+            else if (ctx.configuration().jsonProvider().isMap(res)) return ValueNode.createJsonNode(ctx.configuration().mappingProvider().map(res, Map.class, ctx.configuration()));
+            else throw new JsonPathException("Could not convert " + res.toString() + " to a ValueNode");
+        }
+
 
     }
 }
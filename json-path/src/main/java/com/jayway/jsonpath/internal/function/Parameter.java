@@ -1,8 +1,14 @@
 package com.jayway.jsonpath.internal.function;
 
 import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.EvaluationPath;
 import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.ResultSink;
 import com.jayway.jsonpath.internal.function.latebinding.ILateBindingValue;
+import com.jayway.jsonpath.internal.function.latebinding.JsonLateBindingValue;
+import com.jayway.jsonpath.internal.function.latebinding.PathLateBindingValue;
+import com.jayway.jsonpath.internal.path.EvaluationContextImpl;
+import com.jayway.jsonpath.spi.json.JsonProvider;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -10,66 +16,74 @@ import java.util.List;
 
 /**
  * Defines a parameter as passed to a function with late binding support for lazy evaluation.
+ *
+ * Parameters are part of a compiled path that may be shared by many threads and documents, they are immutable
+ * and the value is bound to the document being evaluated by {@link #getValue(EvaluationContext)}.
  */
 public class Parameter {
-    private ParamType type;
-    private Path path;
-    private ILateBindingValue lateBinding;
-    private Boolean evaluated = false;
-    private String json;
-
-    public Parameter() {}
+    private final ParamType type;
+    private final Path path;
+    private final String json;
 
     public Parameter(String json) {
         this.json = json;
+        this.path = null;
         this.type = ParamType.JSON;
     }
 
     public Parameter(Path path) {
         this.path = path;
+        this.json = null;
         this.type = ParamType.PATH;
     }
 
-    public Object getValue() {
-        return lateBinding.get();
+    /**
+     * Evaluates the parameter against the document of the given evaluation. A path parameter is read once per
+     * evaluation, JSON parameters are parsed on every call as functions may add them to the document.
+     *
+     * @param ctx
+     *      The evaluation the function is invoked in
+     *
+     * @return
+     *      The value of the parameter
+     */
+    public Object getValue(EvaluationContext ctx) {
+        if (type == ParamType.PATH && ctx instanceof EvaluationContextImpl) {
+            return ((EvaluationContextImpl) ctx).parameterValue(this);
+        }
+        return lateBinding(ctx).get();
     }
 
-    public void setLateBinding(ILateBindingValue lateBinding) {
-        this.lateBinding = lateBinding;
+    /**
+     * Binds the parameter to the root document and configuration of the given evaluation
+     *
+     * @param ctx
+     *      The evaluation the function is invoked in
+     *
+     * @return
+     *      The late binding for this parameter in this evaluation
+     */
+    public ILateBindingValue lateBinding(EvaluationContext ctx) {
+        switch (type) {
+            case PATH:
+                return new PathLateBindingValue(path, ctx.rootDocument(), ctx.configuration());
+            default:
+                return new JsonLateBindingValue(ctx.configuration().jsonProvider(), this);
+        }
     }
 
     public Path getPath() {
         return path;
     }
 
-    public void setEvaluated(Boolean evaluated) {
-        this.evaluated = evaluated;
-    }
-
-    public boolean hasEvaluated() {
-        return evaluated;
-    }
-
     public ParamType getType() {
         return type;
     }
 
-    public void setType(ParamType type) {
-        this.type = type;
-    }
-
-    public void setPath(Path path) {
-        this.path = path;
-    }
-
     public String getJson() {
         return json;
     }
 
-    public void setJson(String json) {
-        this.json = json;
-    }
-
     /**
      * Translate the collection of parameters into a collection of values of type T.
      *
@@ -92,12 +106,69 @@ public class Parameter {
         List<T> values = new ArrayList();
         if (null != parameters) {
             for (Parameter param : parameters) {
-                consume(type, ctx, values, param.getValue());
+                consume(type, ctx, values, param.getValue(ctx));
             }
         }
         return values;
     }
 
+    /**
+     * Receives the values of parameters one at a time
+     *
+     * @param <T> the type of the values
+     */
+    public interface ValueConsumer<T> {
+
+        void accept(T value);
+    }
+
+    /**
+     * Passes the values {@link #toList(Class, EvaluationContext, List)} would list to a consumer, without collecting
+     * them first. The results of indefinite path parameters are passed as the path finds them, unless evaluation
+     * listeners are to be notified of them.
+     *
+     * @param type
+     *      The type of the values to consume, others are skipped
+     *
+     * @param ctx
+     *      Context.
+     *
+     * @param parameters
+     *      Collection of parameters.
+     *
+     * @param consumer
+     *      The consumer of the values
+     */
+    public static <T> void forEach(final Class<T> type, final EvaluationContext ctx, final List<Parameter> parameters, final ValueConsumer<? super T> consumer) {
+        if (null == parameters) {
+            return;
+        }
+        final JsonProvider jsonProvider = ctx.configuration().jsonProvider();
+        for (Parameter param : parameters) {
+            if (param.type == ParamType.PATH && !param.path.isDefinite() && ctx.configuration().getEvaluationListeners().isEmpty()) {
+                param.path.evaluate(ctx.rootDocument(), ctx.rootDocument(), ctx.configuration(), new ResultSink() {
+                    @Override
+                    @SuppressWarnings("unchecked")
+                    public boolean add(EvaluationPath path, Object value) {
+                        value = jsonProvider.unwrap(value);
+                        if (value != null && type.isAssignableFrom(value.getClass())) {
+                            consumer.accept((T) value);
+                        } else if (value != null && type == String.class) {
+                            consumer.accept((T) value.toString());
+                        }
+                        return true;
+                    }
+                });
+            } else {
+                List<T> values = new ArrayList<T>();
+                consume(type, ctx, values, param.getValue(ctx));
+                for (T value : values) {
+                    consumer.accept(value);
+                }
+            }
+        }
+    }
+
     /**
      * Either consume the object as an array and add each element to the collection, or alternatively add each element
      *
@@ -114,8 +185,10 @@ public class Parameter {
      *      The value to evaluate.
      */
     public static void consume(Class expectedType, EvaluationContext ctx, Collection collection, Object value) {
-        if (ctx.configuration().jsonProvider().isArray(value)) {
-            for (Object o : ctx.configuration().jsonProvider().toIterable(value)) {
+        JsonProvider jsonProvider = ctx.configuration().jsonProvider();
+        if (jsonProvider.isArray(value)) {
+            for (Object o : jsonProvider.toIterable(value)) {
+                o = jsonProvider.unwrap(o);
                 if (o != null && expectedType.isAssignableFrom(o.getClass())) {
                     collection.add(o);
                 } else if (o != null && expectedType == String.class) {
@@ -123,6 +196,7 @@ public class Parameter {
                 }
             }
         } else {
+            value = jsonProvider.unwrap(value);
             if (value != null && expectedType.isAssignableFrom(value.getClass())) {
                 collection.add(value);
             }
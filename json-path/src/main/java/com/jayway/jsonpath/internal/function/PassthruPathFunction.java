@@ -1,6 +1,7 @@
 package com.jayway.jsonpath.internal.function;
 
 import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.EvaluationPath;
 import com.jayway.jsonpath.internal.PathRef;
 
 import java.util.List;
@@ -13,7 +14,7 @@ import java.util.List;
 public class PassthruPathFunction implements PathFunction {
 
     @Override
-    public Object invoke(String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
+    public Object invoke(EvaluationPath currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
         return model;
     }
 }
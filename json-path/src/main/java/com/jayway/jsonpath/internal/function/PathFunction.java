@@ -1,6 +1,7 @@
 package com.jayway.jsonpath.internal.function;
 
 import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.EvaluationPath;
 import com.jayway.jsonpath.internal.PathRef;
 
 import java.util.List;
@@ -11,6 +12,8 @@ import java.util.List;
  * is defined via the functions behavior.  Thus transformations in types can take place.  Additionally, functions
  * can accept multiple selectors in order to produce their output.
  *
+ * A single instance of a function is shared by all paths and threads, implementations must be stateless.
+ *
  * Created by matt@mjgreenwood.net on 6/26/15.
  */
 public interface PathFunction {
@@ -32,5 +35,5 @@ public interface PathFunction {
      * @param parameters
      * @return
      */
-    Object invoke(String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters);
+    Object invoke(EvaluationPath currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters);
 }
@@ -49,8 +49,24 @@ public class PathFunctionFactory {
         FUNCTIONS = Collections.unmodifiableMap(map);
     }
 
+    private static final Map<String, PathFunction> INSTANCES;
+
+    static {
+        // Functions are stateless, a single instance of each serves all paths and threads
+        Map<String, PathFunction> instances = new HashMap<String, PathFunction>();
+        for (Map.Entry<String, Class> function : FUNCTIONS.entrySet()) {
+            try {
+                instances.put(function.getKey(), (PathFunction) function.getValue().newInstance());
+            } catch (Exception e) {
+                throw new IllegalStateException("Function of name: " + function.getKey() + " cannot be created", e);
+            }
+        }
+        INSTANCES = Collections.unmodifiableMap(instances);
+    }
+
     /**
-     * Returns the function by name or throws InvalidPathException if function not found.
+     * Returns the function by name or throws InvalidPathException if function not found. The returned function is
+     * shared, functions must not keep state between invocations.
      *
      * @see #FUNCTIONS
      * @see PathFunction
@@ -64,15 +80,10 @@ public class PathFunctionFactory {
      * @throws InvalidPathException
      */
     public static PathFunction newFunction(String name) throws InvalidPathException {
-        Class functionClazz = FUNCTIONS.get(name);
-        if(functionClazz == null){
+        PathFunction function = INSTANCES.get(name);
+        if(function == null){
             throw new InvalidPathException("Function with name: " + name + " does not exist.");
-        } else {
-            try {
-                return (PathFunction)functionClazz.newInstance();
-            } catch (Exception e) {
-                throw new InvalidPathException("Function of name: " + name + " cannot be created", e);
-            }
         }
+        return function;
     }
 }
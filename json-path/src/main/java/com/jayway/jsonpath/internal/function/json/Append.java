@@ -1,6 +1,7 @@
 package com.jayway.jsonpath.internal.function.json;
 
 import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.EvaluationPath;
 import com.jayway.jsonpath.internal.PathRef;
 import com.jayway.jsonpath.internal.function.Parameter;
 import com.jayway.jsonpath.internal.function.PathFunction;
@@ -16,13 +17,13 @@ import java.util.List;
  */
 public class Append implements PathFunction {
     @Override
-    public Object invoke(String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
+    public Object invoke(EvaluationPath currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
         JsonProvider jsonProvider = ctx.configuration().jsonProvider();
         if (parameters != null && parameters.size() > 0) {
             for (Parameter param : parameters) {
                 if (jsonProvider.isArray(model)) {
                     int len = jsonProvider.length(model);
-                    jsonProvider.setArrayIndex(model, len, param.getValue());
+                    jsonProvider.setArrayIndex(model, len, param.getValue(ctx));
                 }
             }
         }
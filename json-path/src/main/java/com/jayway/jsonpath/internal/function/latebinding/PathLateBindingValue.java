@@ -42,6 +42,6 @@ public class PathLateBindingValue implements ILateBindingValue {
      * @return
      */
     public Object get() {
-        return path.evaluate(rootDocument, rootDocument, configuration).getValue();
+        return path.read(rootDocument, rootDocument, configuration, true);
     }
 }
@@ -2,6 +2,7 @@ package com.jayway.jsonpath.internal.function.numeric;
 
 import com.jayway.jsonpath.JsonPathException;
 import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.EvaluationPath;
 import com.jayway.jsonpath.internal.PathRef;
 import com.jayway.jsonpath.internal.function.Parameter;
 import com.jayway.jsonpath.internal.function.PathFunction;
@@ -18,43 +19,61 @@ import java.util.List;
 public abstract class AbstractAggregation implements PathFunction {
 
     /**
-     * Defines the next value in the array to the mathmatical function
-     *
-     * @param value
-     *      The numerical value to process next
+     * Holds the state of a single invocation of the aggregation. Functions are shared between threads and
+     * evaluations so all state must live here.
      */
-    protected abstract void next(Number value);
+    protected interface Accumulator {
+
+        /**
+         * Defines the next value in the array to the mathmatical function
+         *
+         * @param value
+         *      The numerical value to process next
+         */
+        void next(Number value);
+
+        /**
+         * Obtains the value generated via the series of next value calls
+         *
+         * @return
+         *      A numerical answer based on the input value provided
+         */
+        Number getValue();
+    }
 
     /**
-     * Obtains the value generated via the series of next value calls
+     * Creates the state for one invocation of this function
      *
      * @return
-     *      A numerical answer based on the input value provided
+     *      A new accumulator
      */
-    protected abstract Number getValue();
+    protected abstract Accumulator newAccumulator();
 
     @Override
-    public Object invoke(String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
-        int count = 0;
+    public Object invoke(EvaluationPath currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
+        final Accumulator accumulator = newAccumulator();
+        final int[] count = {0};
         if(ctx.configuration().jsonProvider().isArray(model)){
 
             Iterable<?> objects = ctx.configuration().jsonProvider().toIterable(model);
             for (Object obj : objects) {
                 if (obj instanceof Number) {
                     Number value = (Number) obj;
-                    count++;
-                    next(value);
+                    count[0]++;
+                    accumulator.next(value);
                 }
             }
         }
-        if (parameters != null) {
-            for (Number value : Parameter.toList(Number.class, ctx, parameters)) {
-                count++;
-                next(value);
+        // the results of scans such as $..price.sum() are accumulated as they are found
+        Parameter.forEach(Number.class, ctx, parameters, new Parameter.ValueConsumer<Number>() {
+            @Override
+            public void accept(Number value) {
+                count[0]++;
+                accumulator.next(value);
             }
-        }
-        if (count != 0) {
-            return getValue();
+        });
+        if (count[0] != 0) {
+            return accumulator.getValue();
         }
         throw new JsonPathException("Aggregation function attempted to calculate value using empty array");
     }
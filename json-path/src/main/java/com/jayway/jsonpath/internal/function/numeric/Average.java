@@ -7,20 +7,25 @@ package com.jayway.jsonpath.internal.function.numeric;
  */
 public class Average extends AbstractAggregation {
 
-    private Double summation = 0d;
-    private Double count = 0d;
-
     @Override
-    protected void next(Number value) {
-        count++;
-        summation += value.doubleValue();
-    }
+    protected Accumulator newAccumulator() {
+        return new Accumulator() {
+            private final Summation summation = new Summation();
+            private long count = 0;
 
-    @Override
-    protected Number getValue() {
-        if (count != 0d) {
-            return summation / count;
-        }
-        return 0d;
+            @Override
+            public void next(Number value) {
+                count++;
+                summation.add(value);
+            }
+
+            @Override
+            public Number getValue() {
+                if (count != 0) {
+                    return summation.doubleValue() / count;
+                }
+                return 0d;
+            }
+        };
     }
 }
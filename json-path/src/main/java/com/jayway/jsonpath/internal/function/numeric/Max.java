@@ -6,17 +6,24 @@ package com.jayway.jsonpath.internal.function.numeric;
  * Created by mattg on 6/26/15.
  */
 public class Max extends AbstractAggregation {
-    private Double max = Double.MIN_VALUE;
 
     @Override
-    protected void next(Number value) {
-        if (max < value.doubleValue()) {
-            max = value.doubleValue();
-        }
-    }
+    protected Accumulator newAccumulator() {
+        return new Accumulator() {
+            private double max = Double.NEGATIVE_INFINITY;
 
-    @Override
-    protected Number getValue() {
-        return max;
+            @Override
+            public void next(Number value) {
+                double v = value.doubleValue();
+                if (max < v) {
+                    max = v;
+                }
+            }
+
+            @Override
+            public Number getValue() {
+                return max;
+            }
+        };
     }
 }
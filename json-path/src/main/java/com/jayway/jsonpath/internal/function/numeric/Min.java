@@ -6,17 +6,24 @@ package com.jayway.jsonpath.internal.function.numeric;
  * Created by mattg on 6/26/15.
  */
 public class Min extends AbstractAggregation {
-    private Double min = Double.MAX_VALUE;
 
     @Override
-    protected void next(Number value) {
-        if (min > value.doubleValue()) {
-            min = value.doubleValue();
-        }
-    }
+    protected Accumulator newAccumulator() {
+        return new Accumulator() {
+            private double min = Double.POSITIVE_INFINITY;
 
-    @Override
-    protected Number getValue() {
-        return min;
+            @Override
+            public void next(Number value) {
+                double v = value.doubleValue();
+                if (min > v) {
+                    min = v;
+                }
+            }
+
+            @Override
+            public Number getValue() {
+                return min;
+            }
+        };
     }
 }
@@ -6,19 +6,28 @@ package com.jayway.jsonpath.internal.function.numeric;
  * Created by mattg on 6/27/15.
  */
 public class StandardDeviation extends AbstractAggregation {
-    private Double sumSq = 0d;
-    private Double sum = 0d;
-    private Double count = 0d;
 
     @Override
-    protected void next(Number value) {
-        sum += value.doubleValue();
-        sumSq += value.doubleValue() * value.doubleValue();
-        count++;
-    }
+    protected Accumulator newAccumulator() {
+        // Welford's online algorithm, stable where the sum of squares cancels out
+        return new Accumulator() {
+            private double mean = 0d;
+            private double sumSqDiff = 0d;
+            private long count = 0;
 
-    @Override
-    protected Number getValue() {
-        return Math.sqrt(sumSq/count - sum*sum/count/count);
+            @Override
+            public void next(Number value) {
+                double x = value.doubleValue();
+                count++;
+                double delta = x - mean;
+                mean += delta / count;
+                sumSqDiff += delta * (x - mean);
+            }
+
+            @Override
+            public Number getValue() {
+                return Math.sqrt(sumSqDiff / count);
+            }
+        };
     }
 }
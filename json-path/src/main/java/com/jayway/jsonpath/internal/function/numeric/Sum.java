@@ -6,15 +6,21 @@ package com.jayway.jsonpath.internal.function.numeric;
  * Created by mattg on 6/26/15.
  */
 public class Sum extends AbstractAggregation {
-    private Double summation = 0d;
 
     @Override
-    protected void next(Number value) {
-        summation += value.doubleValue();
-    }
+    protected Accumulator newAccumulator() {
+        return new Accumulator() {
+            private final Summation summation = new Summation();
 
-    @Override
-    protected Number getValue() {
-        return summation;
+            @Override
+            public void next(Number value) {
+                summation.add(value);
+            }
+
+            @Override
+            public Number getValue() {
+                return summation.doubleValue();
+            }
+        };
     }
 }
@@ -0,0 +1,62 @@
+package com.jayway.jsonpath.internal.function.numeric;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * A sum of numbers, kept as precise as its inputs. Integers are summed exactly in a long, other numbers with
+ * compensated (Neumaier) summation, and BigDecimal and BigInteger values, or integers overflowing the long, in a
+ * BigDecimal the other parts are added to at the end.
+ */
+final class Summation {
+
+    private long integers;
+    private double sum;
+    private double compensation;
+    private BigDecimal big;
+
+    void add(Number value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            long v = value.longValue();
+            long result = integers + v;
+            if (((integers ^ result) & (v ^ result)) < 0) {
+                // overflow
+                big = big().add(BigDecimal.valueOf(integers)).add(BigDecimal.valueOf(v));
+                integers = 0;
+            } else {
+                integers = result;
+            }
+        } else if (value instanceof BigDecimal) {
+            big = big().add((BigDecimal) value);
+        } else if (value instanceof BigInteger) {
+            big = big().add(new BigDecimal((BigInteger) value));
+        } else {
+            add(value.doubleValue());
+        }
+    }
+
+    private void add(double value) {
+        double t = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - t) + value;
+        } else {
+            compensation += (value - t) + sum;
+        }
+        sum = t;
+    }
+
+    private BigDecimal big() {
+        return big == null ? BigDecimal.ZERO : big;
+    }
+
+    double doubleValue() {
+        if (Double.isNaN(sum) || Double.isInfinite(sum)) {
+            return sum;
+        }
+        if (big == null) {
+            // integers beyond 2^53 are rounded, as they are when converted to a double result anyway
+            return integers + (sum + compensation);
+        }
+        return big.add(BigDecimal.valueOf(integers)).add(new BigDecimal(sum)).add(new BigDecimal(compensation)).doubleValue();
+    }
+}
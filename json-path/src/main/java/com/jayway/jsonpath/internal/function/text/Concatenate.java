@@ -1,6 +1,7 @@
 package com.jayway.jsonpath.internal.function.text;
 
 import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.EvaluationPath;
 import com.jayway.jsonpath.internal.PathRef;
 import com.jayway.jsonpath.internal.function.Parameter;
 import com.jayway.jsonpath.internal.function.PathFunction;
@@ -14,7 +15,7 @@ import java.util.List;
  */
 public class Concatenate implements PathFunction {
     @Override
-    public Object invoke(String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
+    public Object invoke(EvaluationPath currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
         StringBuffer result = new StringBuffer();
         if(ctx.configuration().jsonProvider().isArray(model)){
             Iterable<?> objects = ctx.configuration().jsonProvider().toIterable(model);
@@ -1,6 +1,7 @@
 package com.jayway.jsonpath.internal.function.text;
 
 import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.EvaluationPath;
 import com.jayway.jsonpath.internal.PathRef;
 import com.jayway.jsonpath.internal.function.Parameter;
 import com.jayway.jsonpath.internal.function.PathFunction;
@@ -15,7 +16,18 @@ import java.util.List;
 public class Length implements PathFunction {
 
     @Override
-    public Object invoke(String currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
+    public Object invoke(EvaluationPath currentPath, PathRef parent, Object model, EvaluationContext ctx, List<Parameter> parameters) {
+        if (parameters != null && !parameters.isEmpty()) {
+            // $..book.length() is evaluated as length($..book), the number of values found, counted as they are found
+            final int[] count = {0};
+            Parameter.forEach(Object.class, ctx, parameters, new Parameter.ValueConsumer<Object>() {
+                @Override
+                public void accept(Object value) {
+                    count[0]++;
+                }
+            });
+            return count[0];
+        }
         if(ctx.configuration().jsonProvider().isArray(model)){
             return ctx.configuration().jsonProvider().length(model);
         } else if(ctx.configuration().jsonProvider().isMap(model)){
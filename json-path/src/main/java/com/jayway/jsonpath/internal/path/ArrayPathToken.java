@@ -16,6 +16,7 @@ package com.jayway.jsonpath.internal.path;
 
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.internal.EvaluationPath;
 import com.jayway.jsonpath.internal.PathRef;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -43,7 +44,7 @@ public class ArrayPathToken extends PathToken {
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
         if (! checkArrayModel(currentPath, model, ctx))
             return;
         if(arraySliceOperation != null){
@@ -54,7 +55,7 @@ public class ArrayPathToken extends PathToken {
 
     }
 
-    public void evaluateIndexOperation(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluateIndexOperation(EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
 
         if (! checkArrayModel(currentPath, model, ctx))
             return;
@@ -63,12 +64,15 @@ public class ArrayPathToken extends PathToken {
             handleArrayIndex(arrayIndexOperation.indexes().get(0), currentPath, model, ctx);
         } else {
             for (Integer index : arrayIndexOperation.indexes()) {
+                if (ctx.isStopped()) {
+                    return;
+                }
                 handleArrayIndex(index, currentPath,  model, ctx);
             }
         }
     }
 
-    public void evaluateSliceOperation(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluateSliceOperation(EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
 
         if (! checkArrayModel(currentPath, model, ctx))
             return;
@@ -86,7 +90,7 @@ public class ArrayPathToken extends PathToken {
         }
     }
 
-    public void sliceFrom(ArraySliceOperation operation, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void sliceFrom(ArraySliceOperation operation, EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
         int length = ctx.jsonProvider().length(model);
         int from = operation.from();
         if (from < 0) {
@@ -100,12 +104,13 @@ public class ArrayPathToken extends PathToken {
         if (length == 0 || from >= length) {
             return;
         }
-        for (int i = from; i < length; i++) {
+        int to = isLeaf() ? ctx.clamp(from, length) : length;
+        for (int i = from; i < to && !ctx.isStopped(); i++) {
             handleArrayIndex(i, currentPath, model, ctx);
         }
     }
 
-    public void sliceBetween(ArraySliceOperation operation, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void sliceBetween(ArraySliceOperation operation, EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
         int length = ctx.jsonProvider().length(model);
         int from = operation.from();
         int to = operation.to();
@@ -118,12 +123,15 @@ public class ArrayPathToken extends PathToken {
 
         logger.debug("Slice between indexes on array with length: {}. From index: {} to: {}. Input: {}", length, from, to, toString());
 
-        for (int i = from; i < to; i++) {
+        if (isLeaf()) {
+            to = ctx.clamp(from, to);
+        }
+        for (int i = from; i < to && !ctx.isStopped(); i++) {
             handleArrayIndex(i, currentPath, model, ctx);
         }
     }
 
-    public void sliceTo(ArraySliceOperation operation, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void sliceTo(ArraySliceOperation operation, EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
         int length = ctx.jsonProvider().length(model);
         if (length == 0) {
             return;
@@ -137,11 +145,22 @@ public class ArrayPathToken extends PathToken {
 
         logger.debug("Slice to index on array with length: {}. From index: 0 to: {}. Input: {}", length, to, toString());
 
-        for (int i = 0; i < to; i++) {
+        if (isLeaf()) {
+            to = ctx.clamp(0, to);
+        }
+        for (int i = 0; i < to && !ctx.isStopped(); i++) {
             handleArrayIndex(i, currentPath, model, ctx);
         }
     }
 
+    ArrayIndexOperation indexOperation() {
+        return arrayIndexOperation;
+    }
+
+    ArraySliceOperation sliceOperation() {
+        return arraySliceOperation;
+    }
+
     @Override
     public String getPathFragment() {
         if(arrayIndexOperation != null){
@@ -169,7 +188,7 @@ public class ArrayPathToken extends PathToken {
      * @throws PathNotFoundException if model is null and evaluation must be interrupted
      * @throws InvalidPathException if model is not an array and evaluation must be interrupted
      */
-    protected boolean checkArrayModel(String currentPath, Object model, EvaluationContextImpl ctx) {
+    protected boolean checkArrayModel(EvaluationPath currentPath, Object model, EvaluationContextImpl ctx) {
         if (model == null){
             if (! isUpstreamDefinite()) {
                 return false;
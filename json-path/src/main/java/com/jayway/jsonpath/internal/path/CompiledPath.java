@@ -15,16 +15,19 @@
 package com.jayway.jsonpath.internal.path;
 
 import com.jayway.jsonpath.Configuration;
-import com.jayway.jsonpath.internal.EvaluationAbortException;
+import com.jayway.jsonpath.EvaluationEngine;
+import com.jayway.jsonpath.PathNotFoundException;
 import com.jayway.jsonpath.internal.EvaluationContext;
 import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.internal.PathRef;
-import com.jayway.jsonpath.internal.function.ParamType;
+import com.jayway.jsonpath.internal.ResultSink;
 import com.jayway.jsonpath.internal.function.Parameter;
+import com.jayway.jsonpath.spi.json.JsonProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
+import java.util.Iterator;
 
 public class CompiledPath implements Path {
 
@@ -34,10 +37,15 @@ public class CompiledPath implements Path {
 
     private final boolean isRootPath;
 
+    private final DefinitePath definitePath;
+
+    // built on first use, racy initialization is fine as the interpreter is immutable
+    private PathInterpreter interpreter;
 
     public CompiledPath(RootPathToken root, boolean isRootPath) {
         this.root = invertScannerFunctionRelationship(root);
         this.isRootPath = isRootPath;
+        this.definitePath = this.root.isPathDefinite() ? DefinitePath.create(this.root) : null;
     }
 
     @Override
@@ -72,9 +80,7 @@ public class CompiledPath implements Path {
                 path.setTail(prior);
 
                 // Now generate a new parameter from our path
-                Parameter parameter = new Parameter();
-                parameter.setPath(new CompiledPath(path, true));
-                parameter.setType(ParamType.PATH);
+                Parameter parameter = new Parameter(new CompiledPath(path, true));
                 ((FunctionPathToken)token).setParameters(Arrays.asList(parameter));
                 RootPathToken functionRoot = new RootPathToken('$');
                 functionRoot.setTail(token);
@@ -94,19 +100,100 @@ public class CompiledPath implements Path {
         }
 
         EvaluationContextImpl ctx = new EvaluationContextImpl(this, rootDocument, configuration, forUpdate);
-        try {
-            PathRef op = ctx.forUpdate() ?  PathRef.createRoot(rootDocument) : PathRef.NO_OP;
-            root.evaluate("", op, document, ctx);
-        } catch (EvaluationAbortException abort){};
+        execute(document, rootDocument, configuration, ctx);
+        return ctx;
+    }
+
+    @Override
+    public EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration, int maxResults) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Evaluating path: {} for {} results", toString(), maxResults);
+        }
 
+        EvaluationContextImpl ctx = EvaluationContextImpl.limited(this, rootDocument, configuration, maxResults);
+        execute(document, rootDocument, configuration, ctx);
         return ctx;
     }
 
+    @Override
+    public void evaluate(Object document, Object rootDocument, Configuration configuration, ResultSink sink) {
+        execute(document, rootDocument, configuration, EvaluationContextImpl.sinking(this, rootDocument, configuration, sink));
+    }
+
+    @Override
+    public Iterator<Object> iterate(Object document, Object rootDocument, Configuration configuration) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("Iterating path: {}", toString());
+        }
+        // whatever the engine, only the interpreter can suspend an evaluation
+        return interpreter().iterate(this, document, rootDocument, configuration);
+    }
+
+    private void execute(Object document, Object rootDocument, Configuration configuration, EvaluationContextImpl ctx) {
+        PathRef op = ctx.forUpdate() ?  PathRef.createRoot(rootDocument) : PathRef.NO_OP;
+        // the tokens split large containers among the threads of an executor, the interpreter does not
+        if (configuration.engine() != EvaluationEngine.RECURSIVE && configuration.executor() == null) {
+            interpreter().execute(op, document, ctx);
+        } else {
+            // the root token starts the evaluation path
+            root.evaluate(null, op, document, ctx);
+        }
+    }
+
     @Override
     public EvaluationContext evaluate(Object document, Object rootDocument, Configuration configuration){
         return evaluate(document, rootDocument, configuration, false);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T read(Object document, Object rootDocument, Configuration configuration, boolean unwrap) {
+        if (definitePath != null) {
+            Object value = definitePath.evaluate(this, document, rootDocument, configuration);
+            if (value != DefinitePath.MISS) {
+                if (value != null && unwrap) {
+                    value = configuration.jsonProvider().unwrap(value);
+                }
+                return (T) value;
+            }
+        }
+        return evaluate(document, rootDocument, configuration).getValue(unwrap);
+    }
+
+    @Override
+    public Object readOrUndefined(Object document, Object rootDocument, Configuration configuration, boolean unwrap) {
+        if (definitePath != null) {
+            Object value = definitePath.evaluate(this, document, rootDocument, configuration);
+            if (value != DefinitePath.MISS) {
+                return value != null && unwrap ? configuration.jsonProvider().unwrap(value) : value;
+            } else if (DefinitePath.missIsNotFound(configuration)) {
+                return JsonProvider.UNDEFINED;
+            }
+        }
+        try {
+            return read(document, rootDocument, configuration, unwrap);
+        } catch (PathNotFoundException e) {
+            return JsonProvider.UNDEFINED;
+        }
+    }
+
+    private PathInterpreter interpreter() {
+        PathInterpreter result = interpreter;
+        if (result == null) {
+            result = new PathInterpreter(root);
+            interpreter = result;
+        }
+        return result;
+    }
+
+    RootPathToken root() {
+        return root;
+    }
+
+    DefinitePath definitePath() {
+        return definitePath;
+    }
+
     @Override
     public boolean isDefinite() {
         return root.isPathDefinite();
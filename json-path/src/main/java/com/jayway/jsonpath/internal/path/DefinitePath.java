@@ -0,0 +1,200 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.EvaluationEngine;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.internal.EvaluationPath;
+import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+/**
+ * Evaluates definite paths made of single properties and single array indexes, optionally ending with a function,
+ * by walking the document directly. No evaluation context or result containers are created, a function tail gets
+ * a context but no results are collected in it.
+ * <p>
+ * Only the case where every step finds a value is handled here. Whenever a step misses (missing property, index
+ * out of bounds, unexpected type) {@link #MISS} is returned and the path must be evaluated by the general engine,
+ * which knows how to apply the configured options and report errors.
+ * <p>
+ * With {@link EvaluationEngine#BYTECODE} paths without function are compiled into a {@link PathAccessor} once they
+ * have been read {@link #COMPILE_THRESHOLD} times from documents of a supported provider, so that paths read only a
+ * few times do not pay for generating a class.
+ */
+final class DefinitePath {
+
+    /**
+     * Returned when the fast path could not resolve the path
+     */
+    static final Object MISS = new Object();
+
+    static final int COMPILE_THRESHOLD = 1000;
+
+    private final String[] properties;
+    private final int[] indexes;
+    private final FunctionPathToken function;
+    private final EvaluationPath targetPath;
+
+    private volatile PathAccessor accessor;
+    private volatile boolean compileFailed;
+    // not synchronized, only needs to get close to the threshold
+    private int reads;
+
+    private DefinitePath(String[] properties, int[] indexes, FunctionPathToken function, EvaluationPath targetPath) {
+        this.properties = properties;
+        this.indexes = indexes;
+        this.function = function;
+        this.targetPath = targetPath;
+    }
+
+    /**
+     * @param root the path to evaluate
+     * @return a definite path evaluator or null if the path contains tokens that are not supported
+     */
+    static DefinitePath create(RootPathToken root) {
+        int steps = PathInterpreter.steps(root);
+        FunctionPathToken function = null;
+        EvaluationPath evaluationPath = EvaluationPath.root(root.getPathFragment());
+
+        String[] properties = new String[steps];
+        int[] indexes = new int[steps];
+        PathToken token = root;
+        int step = 0;
+        while (!token.isLeaf()) {
+            token = token.next();
+            if (token instanceof PropertyPathToken && ((PropertyPathToken) token).singlePropertyCase()) {
+                properties[step] = ((PropertyPathToken) token).getProperties().get(0);
+                evaluationPath = evaluationPath.property(properties[step]);
+            } else if (token instanceof ArrayPathToken
+                    && ((ArrayPathToken) token).indexOperation() != null
+                    && ((ArrayPathToken) token).indexOperation().isSingleIndexOperation()) {
+                indexes[step] = ((ArrayPathToken) token).indexOperation().indexes().get(0);
+                evaluationPath = evaluationPath.index(indexes[step]);
+            } else if (token instanceof FunctionPathToken && token.isLeaf()) {
+                function = (FunctionPathToken) token;
+                steps--;
+                break;
+            } else {
+                return null;
+            }
+            step++;
+        }
+        if (steps != properties.length) {
+            String[] p = new String[steps];
+            int[] i = new int[steps];
+            System.arraycopy(properties, 0, p, 0, steps);
+            System.arraycopy(indexes, 0, i, 0, steps);
+            properties = p;
+            indexes = i;
+        }
+        return new DefinitePath(properties, indexes, function, evaluationPath);
+    }
+
+    String[] properties() {
+        return properties;
+    }
+
+    int[] indexes() {
+        return indexes;
+    }
+
+    boolean hasFunction() {
+        return function != null;
+    }
+
+    EvaluationPath targetPath() {
+        return targetPath;
+    }
+
+    /**
+     * @return the value of the path, not unwrapped, or {@link #MISS}
+     */
+    Object evaluate(CompiledPath path, Object document, Object rootDocument, Configuration configuration) {
+        if (!configuration.getEvaluationListeners().isEmpty()) {
+            return MISS;
+        }
+        JsonProvider jsonProvider = configuration.jsonProvider();
+        if (configuration.engine() == EvaluationEngine.BYTECODE && function == null && properties.length > 0
+                && PathAccessorCompiler.supports(jsonProvider)) {
+            PathAccessor compiled = accessor;
+            if (compiled != null) {
+                return compiled.read(document);
+            }
+            if (!compileFailed && ++reads >= COMPILE_THRESHOLD) {
+                compile();
+                compiled = accessor;
+                if (compiled != null) {
+                    return compiled.read(document);
+                }
+            }
+        }
+        Object model = document;
+        for (int i = 0; i < properties.length; i++) {
+            String property = properties[i];
+            if (property != null) {
+                if (!jsonProvider.isMap(model)) {
+                    return MISS;
+                }
+                model = jsonProvider.getMapValue(model, property);
+                if (model == JsonProvider.UNDEFINED) {
+                    return MISS;
+                }
+            } else {
+                if (!jsonProvider.isArray(model)) {
+                    return MISS;
+                }
+                int length = jsonProvider.length(model);
+                int index = indexes[i] < 0 ? length + indexes[i] : indexes[i];
+                if (index < 0 || index >= length) {
+                    return MISS;
+                }
+                model = jsonProvider.getArrayIndex(model, index);
+            }
+        }
+        if (function != null) {
+            EvaluationContextImpl ctx = new EvaluationContextImpl(path, rootDocument, configuration, false);
+            model = function.pathFunction().invoke(targetPath, PathRef.NO_OP, model, ctx, function.functionParams());
+        }
+        return asResult(jsonProvider, model);
+    }
+
+    /**
+     * Tells whether {@link #MISS} means that the general engine finds nothing with the given configuration, either
+     * throwing a {@link com.jayway.jsonpath.PathNotFoundException} or collecting no result. This is the case unless
+     * listeners kept the fast path from being tried or missing leafs default to null.
+     */
+    static boolean missIsNotFound(Configuration configuration) {
+        return configuration.getEvaluationListeners().isEmpty() && !configuration.containsOption(Option.DEFAULT_PATH_LEAF_TO_NULL);
+    }
+
+    private synchronized void compile() {
+        if (accessor == null && !compileFailed) {
+            PathAccessor compiled = PathAccessorCompiler.compile(properties, indexes);
+            if (compiled != null) {
+                accessor = compiled;
+            } else {
+                compileFailed = true;
+            }
+        }
+    }
+
+    /**
+     * @return the generated accessor, null if the path has not been compiled
+     */
+    PathAccessor accessor() {
+        return accessor;
+    }
+
+    /**
+     * The general engine hands out results after storing them in a provider array, which some providers
+     * wrap and unwrap on the way (e.g. Gson and Jackson JsonNode). Values are passed through an array as well
+     * unless the provider is known to store them as they are, see {@link PlainProviders}.
+     */
+    static Object asResult(JsonProvider jsonProvider, Object value) {
+        if (PlainProviders.isPlain(jsonProvider)) {
+            return value;
+        }
+        Object array = jsonProvider.createArray();
+        jsonProvider.setArrayIndex(array, 0, value);
+        return jsonProvider.getArrayIndex(array, 0);
+    }
+}
@@ -16,12 +16,15 @@ package com.jayway.jsonpath.internal.path;
 
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.EvaluationListener;
+import com.jayway.jsonpath.JsonPathException;
 import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.PathNotFoundException;
-import com.jayway.jsonpath.internal.EvaluationAbortException;
 import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.EvaluationPath;
 import com.jayway.jsonpath.internal.Path;
 import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.ResultSink;
+import com.jayway.jsonpath.internal.function.Parameter;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 
 import java.util.ArrayList;
@@ -30,7 +33,12 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import static com.jayway.jsonpath.internal.Utils.isTrue;
 import static com.jayway.jsonpath.internal.Utils.notNull;
 
 /**
@@ -38,17 +46,33 @@ import static com.jayway.jsonpath.internal.Utils.notNull;
  */
 public class EvaluationContextImpl implements EvaluationContext {
 
-    private static final EvaluationAbortException ABORT_EVALUATION = new EvaluationAbortException();
+    // chunks a large container is split into, enough for the executor to balance uneven chunks
+    private static final int PARALLELISM = 4 * Runtime.getRuntime().availableProcessors();
+
+    private static final int NO_LIMIT = Integer.MAX_VALUE;
 
     private final Configuration configuration;
-    private final Object valueResult;
-    private final Object pathResult;
     private final Path path;
     private final Object rootDocument;
-    private final List<PathRef> updateOperations;
-    private final HashMap<Path, Object> documentEvalCache = new HashMap<Path, Object>();
     private final boolean forUpdate;
+    // result containers are created on first use, many contexts never collect results
+    private Object valueResult;
+    private List<EvaluationPath> resultPaths;
+    private Object pathResult;
+    private List<PathRef> updateOperations;
+    private HashMap<Path, Object> documentEvalCache;
+    private HashMap<Path, Object> documentValueCache;
+    private HashMap<Parameter, Object> parameterValues;
     private int resultIndex = 0;
+    // set when a listener aborts or the limit is reached, evaluation loops check it and further results are ignored
+    private boolean stopped;
+    private final int limit;
+    // set on the contexts collecting plain values, such as those evaluating the chunks of a container, they never fork
+    private final boolean forked;
+    // set on the contexts passing their results to a sink rather than collecting them
+    private final ResultSink sink;
+    private List<Object> chunkResults;
+    private RuntimeException chunkFailure;
 
 
     public EvaluationContextImpl(Path path, Object rootDocument, Configuration configuration, boolean forUpdate) {
@@ -59,39 +83,291 @@ public class EvaluationContextImpl implements EvaluationContext {
         this.path = path;
         this.rootDocument = rootDocument;
         this.configuration = configuration;
-        this.valueResult = configuration.jsonProvider().createArray();
-        this.pathResult = configuration.jsonProvider().createArray();
-        this.updateOperations = new ArrayList<PathRef>();
+        this.forked = false;
+        this.sink = null;
+        this.limit = NO_LIMIT;
+    }
+
+    private EvaluationContextImpl(Path path, Object rootDocument, Configuration configuration, boolean forked, ResultSink sink, int limit) {
+        this.forUpdate = false;
+        this.path = path;
+        this.rootDocument = rootDocument;
+        this.configuration = configuration;
+        this.forked = forked;
+        this.sink = sink;
+        this.limit = limit;
+    }
+
+    /**
+     * Creates a context collecting plain results, read back with {@link #resultCount()},
+     * {@link #resultPath(int)} and {@link #resultValue(int)}. It never notifies listeners nor forks.
+     */
+    static EvaluationContextImpl collecting(Path path, Object rootDocument, Configuration configuration) {
+        return new EvaluationContextImpl(path, rootDocument, configuration, true, null, NO_LIMIT);
+    }
+
+    /**
+     * Creates a context passing its results to a sink as they are found. It never notifies listeners, results
+     * found in parallel are passed in document order from the evaluating thread.
+     */
+    static EvaluationContextImpl sinking(Path path, Object rootDocument, Configuration configuration, ResultSink sink) {
+        notNull(sink, "sink can not be null");
+        return new EvaluationContextImpl(path, rootDocument, configuration, false, sink, NO_LIMIT);
+    }
+
+    /**
+     * Creates a context that stops the evaluation once it has collected the given number of results. Containers
+     * are never evaluated in parallel, so that the evaluation ends where the last result is found.
+     */
+    static EvaluationContextImpl limited(Path path, Object rootDocument, Configuration configuration, int limit) {
+        isTrue(limit > 0, "maxResults must be greater than zero");
+        notNull(rootDocument, "root can not be null");
+        notNull(configuration, "configuration can not be null");
+        return new EvaluationContextImpl(path, rootDocument, configuration, false, null, limit);
+    }
+
+    int resultCount() {
+        return resultIndex;
+    }
+
+    EvaluationPath resultPath(int index) {
+        return resultPaths.get(index);
+    }
+
+    Object resultValue(int index) {
+        return chunkResults.get(index);
     }
 
     public HashMap<Path, Object> documentEvalCache() {
+        if (documentEvalCache == null) {
+            documentEvalCache = new HashMap<Path, Object>();
+        }
         return documentEvalCache;
     }
 
+    public HashMap<Path, Object> documentValueCache() {
+        if (documentValueCache == null) {
+            documentValueCache = new HashMap<Path, Object>();
+        }
+        return documentValueCache;
+    }
+
+    /**
+     * Returns the value of a path parameter of a function. Path parameters are read from the root document, the
+     * value is the same for all invocations of the function and is only read the first time.
+     */
+    public Object parameterValue(Parameter parameter) {
+        if (parameterValues == null) {
+            parameterValues = new HashMap<Parameter, Object>();
+        } else if (parameterValues.containsKey(parameter)) {
+            return parameterValues.get(parameter);
+        }
+        Object value = parameter.lateBinding(this).get();
+        parameterValues.put(parameter, value);
+        return value;
+    }
+
     public boolean forUpdate(){
         return forUpdate;
     }
 
-    public void addResult(String path, PathRef operation, Object model) {
+    public void addResult(EvaluationPath path, PathRef operation, Object model) {
+        if (stopped) {
+            return;
+        }
+        if (sink != null) {
+            resultIndex++;
+            stopped = !sink.add(path, model);
+            return;
+        }
 
         if(forUpdate) {
+            if (updateOperations == null) {
+                updateOperations = new ArrayList<PathRef>();
+            }
             updateOperations.add(operation);
         }
+        if (resultPaths == null) {
+            resultPaths = new ArrayList<EvaluationPath>();
+        }
+        if (forked) {
+            if (chunkResults == null) {
+                chunkResults = new ArrayList<Object>();
+            }
+            chunkResults.add(model);
+            resultPaths.add(path);
+            resultIndex++;
+            return;
+        }
 
-        configuration.jsonProvider().setArrayIndex(valueResult, resultIndex, model);
-        configuration.jsonProvider().setArrayIndex(pathResult, resultIndex, path);
+        configuration.jsonProvider().setArrayIndex(valueResult(), resultIndex, model);
+        resultPaths.add(path);
         resultIndex++;
         if(!configuration().getEvaluationListeners().isEmpty()){
             int idx = resultIndex - 1;
             for (EvaluationListener listener : configuration().getEvaluationListeners()) {
                 EvaluationListener.EvaluationContinuation continuation = listener.resultFound(new FoundResultImpl(idx, path, model));
                 if(EvaluationListener.EvaluationContinuation.ABORT == continuation){
-                    throw ABORT_EVALUATION;
+                    stopped = true;
+                    return;
                 }
             }
         }
+        stopped = resultIndex == limit;
+    }
+
+
+    /**
+     * @return true once a listener has aborted the evaluation or the limit has been reached, no further results
+     * are collected
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    /**
+     * Bounds a range of values that are all results, such as a slice ending the path, to the results still
+     * collected before the limit is reached.
+     *
+     * @param from the first index of the range
+     * @param to the index following the range
+     * @return the index following the values of the range that are collected
+     */
+    int clamp(int from, int to) {
+        if (limit == NO_LIMIT || from >= to) {
+            return to;
+        }
+        return (int) Math.min(to, (long) from + limit - resultIndex);
+    }
+
+    /**
+     * Tells whether the children of a container are to be evaluated by {@link #evaluateInParallel(int, Chunk)}.
+     * <p>
+     * This is only done on an executor, for reads without listeners nor limit, of containers holding at least
+     * {@link Configuration#parallelThreshold()} children, and never from a chunk.
+     *
+     * @param size the number of children of the container
+     * @return true if the children should be evaluated in parallel
+     */
+    boolean isParallel(int size) {
+        return configuration.executor() != null && !forked && !forUpdate && limit == NO_LIMIT
+                && size >= configuration.parallelThreshold() && configuration.getEvaluationListeners().isEmpty();
+    }
+
+    /**
+     * Evaluates the children of a container in chunks on the executor of the configuration. The chunks are
+     * evaluated with contexts of their own, their results are then added to this context chunk by chunk. Results
+     * and exceptions are therefore those of evaluating the children one after the other, in document order.
+     * <p>
+     * The calling thread evaluates every chunk no thread of the executor has started, and only waits for chunks
+     * that are being evaluated. Reads therefore complete when the executor has no free thread, as when a read is
+     * made from a task of the executor itself.
+     *
+     * @param size the number of children of the container
+     * @param chunk evaluates a range of the children
+     */
+    void evaluateInParallel(int size, Chunk chunk) {
+        ExecutorService executor = configuration.executor();
+        int chunks = Math.min(size, PARALLELISM);
+        ChunkTask[] tasks = new ChunkTask[chunks];
+        for (int i = 0; i < chunks; i++) {
+            tasks[i] = new ChunkTask(chunk, (int) ((long) size * i / chunks), (int) ((long) size * (i + 1) / chunks));
+        }
+        for (int i = 0; i < chunks - 1; i++) {
+            try {
+                executor.execute(tasks[i]);
+            } catch (RejectedExecutionException e) {
+                // evaluated by the calling thread below
+            }
+        }
+        // from the last chunk back, the threads of the executor take the chunks from the first one on
+        for (int i = chunks - 1; i >= 0; i--) {
+            tasks[i].run();
+        }
+        for (ChunkTask task : tasks) {
+            merge(task.await());
+        }
+    }
+
+    private EvaluationContextImpl evaluateChunk(Chunk chunk, int from, int to) {
+        EvaluationContextImpl fork = collecting(path, rootDocument, configuration);
+        try {
+            chunk.evaluate(from, to, fork);
+        } catch (RuntimeException e) {
+            // the results found before the exception are kept, as they would be without chunks
+            fork.chunkFailure = e;
+        }
+        return fork;
+    }
+
+    /**
+     * A chunk evaluated by the first thread to claim it, either a thread of the executor or the calling thread.
+     */
+    private final class ChunkTask implements Runnable {
+        private final Chunk chunk;
+        private final int from;
+        private final int to;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+        private final CountDownLatch done = new CountDownLatch(1);
+        // published by the latch
+        private EvaluationContextImpl result;
+        private Error error;
+
+        private ChunkTask(Chunk chunk, int from, int to) {
+            this.chunk = chunk;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public void run() {
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                result = evaluateChunk(chunk, from, to);
+            } catch (Error e) {
+                error = e;
+            } finally {
+                done.countDown();
+            }
+        }
+
+        private EvaluationContextImpl await() {
+            try {
+                done.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new JsonPathException("Interrupted while evaluating in parallel", e);
+            }
+            if (error != null) {
+                throw error;
+            }
+            return result;
+        }
     }
 
+    private void merge(EvaluationContextImpl fork) {
+        for (int i = 0; i < fork.resultCount(); i++) {
+            addResult(fork.resultPath(i), PathRef.NO_OP, fork.resultValue(i));
+        }
+        if (fork.chunkFailure != null) {
+            throw fork.chunkFailure;
+        }
+    }
+
+    /**
+     * A range of the children of a container, evaluated by {@link #evaluateInParallel(int, Chunk)}.
+     */
+    interface Chunk {
+
+        /**
+         * Evaluates the children from index <code>from</code>, inclusive, to index <code>to</code>, exclusive.
+         *
+         * @param ctx the context to evaluate the children with
+         */
+        void evaluate(int from, int to, EvaluationContextImpl ctx);
+    }
 
     public JsonProvider jsonProvider() {
         return configuration.jsonProvider();
@@ -111,7 +387,17 @@ public class EvaluationContextImpl implements EvaluationContext {
         return rootDocument;
     }
 
+    private Object valueResult() {
+        if (valueResult == null) {
+            valueResult = configuration.jsonProvider().createArray();
+        }
+        return valueResult;
+    }
+
     public Collection<PathRef> updateOperations(){
+        if (updateOperations == null) {
+            return Collections.emptyList();
+        }
 
         Collections.sort(updateOperations);
 
@@ -132,14 +418,14 @@ public class EvaluationContextImpl implements EvaluationContext {
             if(resultIndex == 0){
                 throw new PathNotFoundException("No results for path: " + path.toString());
             }
-            int len = jsonProvider().length(valueResult);
-            Object value = (len > 0) ? jsonProvider().getArrayIndex(valueResult, len-1) : null;
+            int len = jsonProvider().length(valueResult());
+            Object value = (len > 0) ? jsonProvider().getArrayIndex(valueResult(), len-1) : null;
             if (value != null && unwrap){
               value = jsonProvider().unwrap(value);
             }
             return (T) value;
         }
-        return (T)valueResult;
+        return (T)valueResult();
     }
 
     @SuppressWarnings("unchecked")
@@ -148,17 +434,20 @@ public class EvaluationContextImpl implements EvaluationContext {
         if(resultIndex == 0){
             throw new PathNotFoundException("No results for path: " + path.toString());
         }
+        if(pathResult == null){
+            pathResult = configuration.jsonProvider().createArray();
+            for (int i = 0; i < resultIndex; i++) {
+                configuration.jsonProvider().setArrayIndex(pathResult, i, resultPaths.get(i).toString());
+            }
+        }
         return (T)pathResult;
     }
 
     @Override
     public List<String> getPathList() {
-        List<String> res = new ArrayList<String>();
-        if(resultIndex > 0){
-            Iterable<?> objects = configuration.jsonProvider().toIterable(pathResult);
-            for (Object o : objects) {
-                res.add((String)o);
-            }
+        List<String> res = new ArrayList<String>(resultIndex);
+        for (int i = 0; i < resultIndex; i++) {
+            res.add(resultPaths.get(i).toString());
         }
         return res;
     }
@@ -166,10 +455,10 @@ public class EvaluationContextImpl implements EvaluationContext {
     private static class FoundResultImpl implements EvaluationListener.FoundResult {
 
         private final int index;
-        private final String path;
+        private final EvaluationPath path;
         private final Object result;
 
-        private FoundResultImpl(int index, String path, Object result) {
+        private FoundResultImpl(int index, EvaluationPath path, Object result) {
             this.index = index;
             this.path = path;
             this.result = result;
@@ -182,7 +471,7 @@ public class EvaluationContextImpl implements EvaluationContext {
 
         @Override
         public String path() {
-            return path;
+            return path.toString();
         }
 
         @Override
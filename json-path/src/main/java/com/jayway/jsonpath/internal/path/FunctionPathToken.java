@@ -1,11 +1,10 @@
 package com.jayway.jsonpath.internal.path;
 
+import com.jayway.jsonpath.internal.EvaluationPath;
 import com.jayway.jsonpath.internal.PathRef;
 import com.jayway.jsonpath.internal.function.Parameter;
 import com.jayway.jsonpath.internal.function.PathFunction;
 import com.jayway.jsonpath.internal.function.PathFunctionFactory;
-import com.jayway.jsonpath.internal.function.latebinding.JsonLateBindingValue;
-import com.jayway.jsonpath.internal.function.latebinding.PathLateBindingValue;
 
 import java.util.List;
 
@@ -20,6 +19,7 @@ public class FunctionPathToken extends PathToken {
 
     private final String functionName;
     private final String pathFragment;
+    private final PathFunction pathFunction;
     private List<Parameter> functionParams;
 
     public FunctionPathToken(String pathFragment, List<Parameter> parameters) {
@@ -27,41 +27,33 @@ public class FunctionPathToken extends PathToken {
         if(null != pathFragment){
             functionName = pathFragment;
             functionParams = parameters;
+            pathFunction = PathFunctionFactory.newFunction(functionName);
         } else {
             functionName = null;
             functionParams = null;
+            pathFunction = null;
         }
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
-        PathFunction pathFunction = PathFunctionFactory.newFunction(functionName);
-        evaluateParameters(currentPath, parent, model, ctx);
+    public void evaluate(EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
         Object result = pathFunction.invoke(currentPath, parent, model, ctx, functionParams);
-        ctx.addResult(currentPath + "." + functionName, parent, result);
+        ctx.addResult(currentPath.function(functionName), parent, result);
         if (!isLeaf()) {
             next().evaluate(currentPath, parent, result, ctx);
         }
     }
 
-    private void evaluateParameters(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    String functionName() {
+        return functionName;
+    }
 
-        if (null != functionParams) {
-            for (Parameter param : functionParams) {
-                if (!param.hasEvaluated()) {
-                    switch (param.getType()) {
-                        case PATH:
-                            param.setLateBinding(new PathLateBindingValue(param.getPath(), ctx.rootDocument(), ctx.configuration()));
-                            param.setEvaluated(true);
-                            break;
-                        case JSON:
-                            param.setLateBinding(new JsonLateBindingValue(ctx.configuration().jsonProvider(), param));
-                            param.setEvaluated(true);
-                            break;
-                    }
-                }
-            }
-        }
+    PathFunction pathFunction() {
+        return pathFunction;
+    }
+
+    List<Parameter> functionParams() {
+        return functionParams;
     }
 
     /**
@@ -0,0 +1,24 @@
+package com.jayway.jsonpath.internal.path;
+
+/**
+ * Reads the value of a definite path from a document made of {@link java.util.Map}s and {@link java.util.List}s.
+ * <p>
+ * Implementations are generated at runtime by {@link PathAccessorCompiler}, every one of them is defined by its own
+ * class loader. This class is public so that they can extend it.
+ */
+public abstract class PathAccessor {
+
+    /**
+     * Returned when a step of the path misses, the path must then be evaluated by the general engine
+     */
+    protected static final Object MISS = DefinitePath.MISS;
+
+    protected PathAccessor() {
+    }
+
+    /**
+     * @param document the document to read from
+     * @return the value of the path or {@link #MISS}
+     */
+    public abstract Object read(Object document);
+}
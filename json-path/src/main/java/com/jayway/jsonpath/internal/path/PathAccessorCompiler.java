@@ -0,0 +1,379 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Generates a {@link PathAccessor} class for a definite path of properties and array indexes. The generated
+ * <code>read</code> method has the property names and indexes of the path as constants and works on
+ * {@link java.util.Map} and {@link java.util.List} directly, for a path like <code>$.store.book[0]</code>:
+ * <pre>
+ * if (!(o instanceof Map)) return MISS;
+ * Object v = ((Map) o).get("store");
+ * if (v == null &amp;&amp; !((Map) o).containsKey("store")) return MISS;
+ * o = v;
+ * ...
+ * if (!(o instanceof List)) return MISS;
+ * if (((List) o).size() &lt;= 0) return MISS;
+ * o = ((List) o).get(0);
+ * return o;
+ * </pre>
+ * This is what {@link DefinitePath} does through the provider for providers that store documents as maps and
+ * lists, so the two can be used interchangeably.
+ * <p>
+ * Classes are written in class file version 49, which needs no stack map frames, and every class is defined by
+ * its own class loader so it can be unloaded together with its path.
+ */
+final class PathAccessorCompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PathAccessorCompiler.class);
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private static final String ACCESSOR = "com/jayway/jsonpath/internal/path/PathAccessor";
+    private static final String OBJECT = "java/lang/Object";
+    private static final String MAP = "java/util/Map";
+    private static final String LIST = "java/util/List";
+
+    private static final int ALOAD_0 = 0x2a;
+    private static final int ALOAD_1 = 0x2b;
+    private static final int ALOAD_2 = 0x2c;
+    private static final int ASTORE_1 = 0x4c;
+    private static final int ASTORE_2 = 0x4d;
+    private static final int ILOAD_3 = 0x1d;
+    private static final int ISTORE_3 = 0x3e;
+    private static final int LDC_W = 0x13;
+    private static final int IADD = 0x60;
+    private static final int IFEQ = 0x99;
+    private static final int IFLT = 0x9b;
+    private static final int IF_ICMPLE = 0xa4;
+    private static final int IFNONNULL = 0xc7;
+    private static final int ARETURN = 0xb0;
+    private static final int RETURN = 0xb1;
+    private static final int GETSTATIC = 0xb2;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int INVOKEINTERFACE = 0xb9;
+    private static final int CHECKCAST = 0xc0;
+    private static final int INSTANCEOF = 0xc1;
+
+    private PathAccessorCompiler() {
+    }
+
+    /**
+     * @return true if documents of the given provider are plain maps and lists read without conversion
+     */
+    static boolean supports(JsonProvider jsonProvider) {
+        return PlainProviders.isPlain(jsonProvider);
+    }
+
+    /**
+     * @param properties the property of every step, null for array index steps
+     * @param indexes the array index of every step
+     * @return an accessor for the path or null if no class could be generated
+     */
+    static PathAccessor compile(String[] properties, int[] indexes) {
+        String className = ACCESSOR + "$Generated" + COUNTER.incrementAndGet();
+        try {
+            byte[] bytes = generate(className, properties, indexes);
+            Class<?> type = new AccessorLoader(PathAccessor.class.getClassLoader()).define(className.replace('/', '.'), bytes);
+            return (PathAccessor) type.newInstance();
+        } catch (Throwable e) {
+            // e.g. a security manager that does not allow class loaders, or a property name too long for a class file
+            logger.debug("Could not generate path accessor, the path will not be compiled", e);
+            return null;
+        }
+    }
+
+    static byte[] generate(String className, String[] properties, int[] indexes) throws IOException {
+        ConstantPool pool = new ConstantPool();
+        int thisClass = pool.classRef(className);
+        int superClass = pool.classRef(ACCESSOR);
+
+        Code init = new Code();
+        init.op(ALOAD_0);
+        init.op(INVOKESPECIAL).u2(pool.methodRef(ACCESSOR, "<init>", "()V"));
+        init.op(RETURN);
+
+        Code read = new Code();
+        int miss = read.newLabel();
+        for (int i = 0; i < properties.length; i++) {
+            if (properties[i] != null) {
+                property(read, pool, properties[i], miss);
+            } else {
+                index(read, pool, indexes[i], miss);
+            }
+        }
+        read.op(ALOAD_1);
+        read.op(ARETURN);
+        read.mark(miss);
+        read.op(GETSTATIC).u2(pool.fieldRef(ACCESSOR, "MISS", "L" + OBJECT + ";"));
+        read.op(ARETURN);
+
+        int initName = pool.utf8("<init>");
+        int initDescriptor = pool.utf8("()V");
+        int readName = pool.utf8("read");
+        int readDescriptor = pool.utf8("(L" + OBJECT + ";)L" + OBJECT + ";");
+        int codeName = pool.utf8("Code");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0);
+        out.writeShort(49);
+        pool.writeTo(out);
+        out.writeShort(0x0001 | 0x0010 | 0x0020); // public final super
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        out.writeShort(0); // interfaces
+        out.writeShort(0); // fields
+        out.writeShort(2); // methods
+        method(out, initName, initDescriptor, codeName, init, 1, 1);
+        method(out, readName, readDescriptor, codeName, read, 2, 4);
+        out.writeShort(0); // attributes
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void property(Code code, ConstantPool pool, String property, int miss) {
+        int map = pool.classRef(MAP);
+        int name = pool.string(property);
+        int found = code.newLabel();
+        code.op(ALOAD_1);
+        code.op(INSTANCEOF).u2(map);
+        code.jump(IFEQ, miss);
+        code.op(ALOAD_1);
+        code.op(CHECKCAST).u2(map);
+        code.op(LDC_W).u2(name);
+        code.op(INVOKEINTERFACE).u2(pool.interfaceMethodRef(MAP, "get", "(L" + OBJECT + ";)L" + OBJECT + ";")).u1(2).u1(0);
+        code.op(ASTORE_2);
+        code.op(ALOAD_2);
+        code.jump(IFNONNULL, found);
+        code.op(ALOAD_1);
+        code.op(CHECKCAST).u2(map);
+        code.op(LDC_W).u2(name);
+        code.op(INVOKEINTERFACE).u2(pool.interfaceMethodRef(MAP, "containsKey", "(L" + OBJECT + ";)Z")).u1(2).u1(0);
+        code.jump(IFEQ, miss);
+        code.mark(found);
+        code.op(ALOAD_2);
+        code.op(ASTORE_1);
+    }
+
+    private static void index(Code code, ConstantPool pool, int index, int miss) {
+        int list = pool.classRef(LIST);
+        code.op(ALOAD_1);
+        code.op(INSTANCEOF).u2(list);
+        code.jump(IFEQ, miss);
+        code.op(ALOAD_1);
+        code.op(CHECKCAST).u2(list);
+        code.op(INVOKEINTERFACE).u2(pool.interfaceMethodRef(LIST, "size", "()I")).u1(1).u1(0);
+        code.op(ISTORE_3);
+        if (index >= 0) {
+            code.op(ILOAD_3);
+            code.op(LDC_W).u2(pool.integer(index));
+            code.jump(IF_ICMPLE, miss);
+            code.op(ALOAD_1);
+            code.op(CHECKCAST).u2(list);
+            code.op(LDC_W).u2(pool.integer(index));
+        } else {
+            code.op(ILOAD_3);
+            code.op(LDC_W).u2(pool.integer(index));
+            code.op(IADD);
+            code.op(ISTORE_3);
+            code.op(ILOAD_3);
+            code.jump(IFLT, miss);
+            code.op(ALOAD_1);
+            code.op(CHECKCAST).u2(list);
+            code.op(ILOAD_3);
+        }
+        code.op(INVOKEINTERFACE).u2(pool.interfaceMethodRef(LIST, "get", "(I)L" + OBJECT + ";")).u1(2).u1(0);
+        code.op(ASTORE_1);
+    }
+
+    private static void method(DataOutputStream out, int name, int descriptor, int codeName, Code code, int maxStack, int maxLocals) throws IOException {
+        byte[] bytes = code.toByteArray();
+        out.writeShort(0x0001); // public
+        out.writeShort(name);
+        out.writeShort(descriptor);
+        out.writeShort(1); // attributes
+        out.writeShort(codeName);
+        out.writeInt(12 + bytes.length);
+        out.writeShort(maxStack);
+        out.writeShort(maxLocals);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+        out.writeShort(0); // exception table
+        out.writeShort(0); // attributes
+    }
+
+    private static final class AccessorLoader extends ClassLoader {
+
+        private AccessorLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        private Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+
+    private static final class ConstantPool {
+
+        private final Map<String, Integer> entries = new HashMap<String, Integer>();
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final DataOutputStream out = new DataOutputStream(bytes);
+        private int count = 1;
+
+        int utf8(String value) {
+            Integer index = entries.get("U" + value);
+            if (index == null) {
+                index = add("U" + value);
+                write(1);
+                try {
+                    out.writeUTF(value);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException(e);
+                }
+            }
+            return index;
+        }
+
+        int classRef(String internalName) {
+            return reference(7, "C" + internalName, utf8(internalName));
+        }
+
+        int string(String value) {
+            return reference(8, "S" + value, utf8(value));
+        }
+
+        int integer(int value) {
+            Integer index = entries.get("I" + value);
+            if (index == null) {
+                index = add("I" + value);
+                write(3);
+                writeInt(value);
+            }
+            return index;
+        }
+
+        int fieldRef(String owner, String name, String descriptor) {
+            return reference(9, "F" + owner + "." + name + descriptor, classRef(owner), nameAndType(name, descriptor));
+        }
+
+        int methodRef(String owner, String name, String descriptor) {
+            return reference(10, "M" + owner + "." + name + descriptor, classRef(owner), nameAndType(name, descriptor));
+        }
+
+        int interfaceMethodRef(String owner, String name, String descriptor) {
+            return reference(11, "N" + owner + "." + name + descriptor, classRef(owner), nameAndType(name, descriptor));
+        }
+
+        private int nameAndType(String name, String descriptor) {
+            return reference(12, "T" + name + descriptor, utf8(name), utf8(descriptor));
+        }
+
+        private int reference(int tag, String key, int... references) {
+            Integer index = entries.get(key);
+            if (index == null) {
+                index = add(key);
+                write(tag);
+                for (int reference : references) {
+                    writeShort(reference);
+                }
+            }
+            return index;
+        }
+
+        private int add(String key) {
+            int index = count++;
+            entries.put(key, index);
+            return index;
+        }
+
+        private void write(int b) {
+            bytes.write(b);
+        }
+
+        private void writeShort(int s) {
+            bytes.write(s >>> 8);
+            bytes.write(s);
+        }
+
+        private void writeInt(int i) {
+            writeShort(i >>> 16);
+            writeShort(i);
+        }
+
+        void writeTo(DataOutputStream target) throws IOException {
+            if (count > 0xFFFF) {
+                throw new IllegalStateException("Too many constants");
+            }
+            target.writeShort(count);
+            bytes.writeTo(target);
+        }
+    }
+
+    private static final class Code {
+
+        private byte[] code = new byte[64];
+        private int length;
+        private final List<int[]> jumps = new ArrayList<int[]>();
+        private int[] labels = new int[4];
+        private int labelCount;
+
+        Code op(int opcode) {
+            return u1(opcode);
+        }
+
+        Code u1(int b) {
+            if (length == code.length) {
+                code = Arrays.copyOf(code, length * 2);
+            }
+            code[length++] = (byte) b;
+            return this;
+        }
+
+        Code u2(int s) {
+            return u1(s >>> 8).u1(s);
+        }
+
+        int newLabel() {
+            if (labelCount == labels.length) {
+                labels = Arrays.copyOf(labels, labelCount * 2);
+            }
+            labels[labelCount] = -1;
+            return labelCount++;
+        }
+
+        void mark(int label) {
+            labels[label] = length;
+        }
+
+        void jump(int opcode, int label) {
+            jumps.add(new int[]{length, label});
+            op(opcode).u2(0);
+        }
+
+        byte[] toByteArray() {
+            for (int[] jump : jumps) {
+                int offset = labels[jump[1]] - jump[0];
+                if (offset < Short.MIN_VALUE || offset > Short.MAX_VALUE) {
+                    throw new IllegalStateException("Path too long to compile");
+                }
+                code[jump[0] + 1] = (byte) (offset >>> 8);
+                code[jump[0] + 2] = (byte) offset;
+            }
+            return Arrays.copyOf(code, length);
+        }
+    }
+}
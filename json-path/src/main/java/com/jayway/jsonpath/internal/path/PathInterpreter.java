@@ -0,0 +1,865 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.internal.EvaluationPath;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.ResultSink;
+import com.jayway.jsonpath.internal.function.Parameter;
+import com.jayway.jsonpath.internal.function.PathFunction;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static java.lang.String.format;
+
+/**
+ * Evaluates a path with a single loop over a flat instruction array instead of letting every {@link PathToken}
+ * evaluate the next one.
+ * <p>
+ * The token chain is lowered once into opcodes, their operands and the flags the tokens otherwise compute on
+ * every call (leaf, definiteness). Instructions that select more than one value (wildcards, filters, slices,
+ * index lists, deep scans) keep their iteration state in a frame on an explicit work stack. Instructions that
+ * select a single value reuse the frame of their input. Evaluation never recurses, however long the path or
+ * deep the document. As all of its state is on that stack, an evaluation can also be suspended between two
+ * steps and resumed later, see {@link #iterate(Path, Object, Object, Configuration)}.
+ * <p>
+ * Frames are visited depth first in document order, so results, paths and exceptions are exactly those of the
+ * recursive evaluation. Where a token catches exceptions raised further down the path, the frame it pushes is
+ * marked with the exceptions to catch and the stack is unwound to that frame.
+ * <p>
+ * Instances are immutable and shared by all evaluations of a path.
+ */
+final class PathInterpreter {
+
+    private static final int PROPERTY = 0;
+    private static final int PROPERTY_MERGE = 1;
+    private static final int PROPERTY_EACH = 2;
+    private static final int INDEX = 3;
+    private static final int INDEXES = 4;
+    private static final int SLICE_FROM = 5;
+    private static final int SLICE_BETWEEN = 6;
+    private static final int SLICE_TO = 7;
+    private static final int WILDCARD = 8;
+    private static final int FILTER = 9;
+    private static final int SCAN = 10;
+    private static final int FUNCTION = 11;
+
+    private static final Object SKIP = new Object();
+
+    private static final int CATCH_INDEX_OUT_OF_BOUNDS = 1;
+    private static final int CATCH_PATH_NOT_FOUND = 2;
+
+    private final EvaluationPath rootPath;
+    private final int length;
+    private final int[] opcodes;
+    private final int[] args;
+    private final Object[] operands;
+    private final PathToken[] tokens;
+    private final boolean[] upstreamDefinite;
+    private final boolean[] tokenDefinite;
+
+    PathInterpreter(RootPathToken root) {
+        this.rootPath = EvaluationPath.root(root.getPathFragment());
+        this.length = steps(root);
+        this.opcodes = new int[length];
+        this.args = new int[length];
+        this.operands = new Object[length];
+        this.tokens = new PathToken[length];
+        this.upstreamDefinite = new boolean[length];
+        this.tokenDefinite = new boolean[length];
+
+        PathToken token = root;
+        for (int pc = 0; pc < length; pc++) {
+            token = token.next();
+            tokens[pc] = token;
+            upstreamDefinite[pc] = token.isUpstreamDefinite();
+            tokenDefinite[pc] = token.isTokenDefinite();
+            lower(pc, token);
+        }
+    }
+
+    /**
+     * @return the number of tokens following the root. Not the token count of the root, which is not maintained
+     * when a scan ending in a function is turned into a function taking the scan as parameter.
+     */
+    static int steps(RootPathToken root) {
+        int steps = 0;
+        for (PathToken token = root; !token.isLeaf(); token = token.next()) {
+            steps++;
+        }
+        return steps;
+    }
+
+    private void lower(int pc, PathToken token) {
+        if (token instanceof PropertyPathToken) {
+            PropertyPathToken propertyToken = (PropertyPathToken) token;
+            if (propertyToken.singlePropertyCase()) {
+                opcodes[pc] = PROPERTY;
+                operands[pc] = propertyToken.getProperties().get(0);
+            } else {
+                opcodes[pc] = propertyToken.isLeaf() ? PROPERTY_MERGE : PROPERTY_EACH;
+                operands[pc] = propertyToken.getProperties();
+            }
+        } else if (token instanceof ArrayPathToken) {
+            ArrayPathToken arrayToken = (ArrayPathToken) token;
+            ArrayIndexOperation indexOperation = arrayToken.indexOperation();
+            if (indexOperation != null) {
+                if (indexOperation.isSingleIndexOperation()) {
+                    opcodes[pc] = INDEX;
+                    args[pc] = indexOperation.indexes().get(0);
+                } else {
+                    opcodes[pc] = INDEXES;
+                    operands[pc] = indexOperation.indexes();
+                }
+            } else {
+                ArraySliceOperation sliceOperation = arrayToken.sliceOperation();
+                operands[pc] = sliceOperation;
+                switch (sliceOperation.operation()) {
+                    case SLICE_FROM:
+                        opcodes[pc] = SLICE_FROM;
+                        break;
+                    case SLICE_BETWEEN:
+                        opcodes[pc] = SLICE_BETWEEN;
+                        break;
+                    default:
+                        opcodes[pc] = SLICE_TO;
+                        break;
+                }
+            }
+        } else if (token instanceof WildcardPathToken) {
+            opcodes[pc] = WILDCARD;
+        } else if (token instanceof PredicatePathToken) {
+            opcodes[pc] = FILTER;
+            operands[pc] = token;
+        } else if (token instanceof ScanPathToken) {
+            opcodes[pc] = SCAN;
+        } else if (token instanceof FunctionPathToken) {
+            opcodes[pc] = FUNCTION;
+            operands[pc] = token;
+        } else {
+            throw new IllegalStateException("Unsupported path token " + token.getClass().getName());
+        }
+    }
+
+    /**
+     * Evaluates the path against the given document, reporting every result to the context.
+     *
+     * @param ref the reference to the document used for updates
+     * @param model the document
+     * @param ctx the evaluation context
+     */
+    void execute(PathRef ref, Object model, EvaluationContextImpl ctx) {
+        if (length == 0) {
+            ctx.addResult(rootPath, ctx.forUpdate() ? ref : PathRef.NO_OP, model);
+        } else {
+            new Execution(ctx).run(ref, model);
+        }
+    }
+
+    /**
+     * Evaluates the path lazily, the evaluation advancing as the values are pulled from the returned iterator.
+     * The iterator holds the stack of the suspended evaluation and the results of a single step, never all
+     * results. Values are unwrapped by the json provider.
+     *
+     * @param path the path evaluated, for the evaluation context
+     * @param model the document
+     * @param rootDocument the root document
+     * @param configuration the configuration, its listeners are not notified
+     * @return the results of the evaluation, in document order
+     */
+    Iterator<Object> iterate(Path path, Object model, Object rootDocument, Configuration configuration) {
+        return new ResultIterator(path, model, rootDocument, configuration);
+    }
+
+    private final class ResultIterator implements Iterator<Object>, ResultSink {
+
+        private final JsonProvider jsonProvider;
+        private final Execution execution;
+        // the results of the last step, most steps find one or none
+        private final List<Object> pending = new ArrayList<Object>(4);
+        private int next;
+
+        private ResultIterator(Path path, Object model, Object rootDocument, Configuration configuration) {
+            this.jsonProvider = configuration.jsonProvider();
+            if (length == 0) {
+                this.execution = null;
+                pending.add(model);
+            } else {
+                this.execution = new Execution(EvaluationContextImpl.sinking(path, rootDocument, configuration, this));
+                execution.start(PathRef.NO_OP, model);
+            }
+        }
+
+        @Override
+        public boolean add(EvaluationPath path, Object value) {
+            pending.add(value);
+            return true;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == pending.size()) {
+                pending.clear();
+                next = 0;
+                if (execution == null || !execution.advance()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object value = pending.set(next++, null);
+            return value == null ? null : jsonProvider.unwrap(value);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    private static final class Frame {
+        private int pc;
+        private Object model;
+        private EvaluationPath path;
+        private PathRef ref;
+        private int catches;
+
+        private int state;
+        private int cursor;
+        private int end;
+        private Iterator<?> iterator;
+    }
+
+    private final class Execution {
+
+        private final EvaluationContextImpl ctx;
+        private final JsonProvider jsonProvider;
+        private final boolean forUpdate;
+        private final boolean leafToNull;
+        private final boolean requireProperties;
+        private final boolean suppressExceptions;
+        private final int maxScanDepth;
+
+        private Frame[] frames = new Frame[8];
+        private int size;
+
+        private Execution(EvaluationContextImpl ctx) {
+            this.ctx = ctx;
+            this.jsonProvider = ctx.jsonProvider();
+            this.forUpdate = ctx.forUpdate();
+            this.leafToNull = ctx.options().contains(Option.DEFAULT_PATH_LEAF_TO_NULL);
+            this.requireProperties = ctx.options().contains(Option.REQUIRE_PROPERTIES);
+            this.suppressExceptions = ctx.options().contains(Option.SUPPRESS_EXCEPTIONS);
+            this.maxScanDepth = ctx.configuration().maxScanDepth();
+        }
+
+        private void run(PathRef ref, Object model) {
+            start(ref, model);
+            while (size > 0 && !ctx.isStopped()) {
+                try {
+                    while (size > 0 && !ctx.isStopped()) {
+                        step(frames[size - 1]);
+                    }
+                } catch (IndexOutOfBoundsException e) {
+                    unwind(e, CATCH_INDEX_OUT_OF_BOUNDS);
+                } catch (PathNotFoundException e) {
+                    unwind(e, CATCH_PATH_NOT_FOUND);
+                }
+            }
+        }
+
+        private void start(PathRef ref, Object model) {
+            push(0, rootPath, ref, model, 0);
+        }
+
+        /**
+         * Carries out a single instruction step, for evaluations suspended between steps.
+         *
+         * @return false if the evaluation is complete or stopped, no step was carried out
+         */
+        private boolean advance() {
+            if (size == 0 || ctx.isStopped()) {
+                return false;
+            }
+            try {
+                step(frames[size - 1]);
+            } catch (IndexOutOfBoundsException e) {
+                unwind(e, CATCH_INDEX_OUT_OF_BOUNDS);
+            } catch (PathNotFoundException e) {
+                unwind(e, CATCH_PATH_NOT_FOUND);
+            }
+            return true;
+        }
+
+        /**
+         * Discards frames up to and including the first one that catches the given exception, the equivalent of
+         * the exception propagating through the recursive evaluation up to the token that catches it.
+         */
+        private void unwind(RuntimeException e, int exception) {
+            while (size > 0) {
+                if ((frames[--size].catches & exception) != 0) {
+                    return;
+                }
+            }
+            throw e;
+        }
+
+        private void step(Frame frame) {
+            int pc = frame.pc;
+            switch (opcodes[pc]) {
+                case PROPERTY:
+                    if (isMap(pc, frame.model, frame.path)) {
+                        property(frame, (String) operands[pc], true, 0);
+                    } else {
+                        pop();
+                    }
+                    break;
+                case PROPERTY_MERGE:
+                    if (isMap(pc, frame.model, frame.path)) {
+                        mergeProperties(frame);
+                    }
+                    pop();
+                    break;
+                case PROPERTY_EACH:
+                    if (frame.state == 0) {
+                        if (!isMap(pc, frame.model, frame.path)) {
+                            pop();
+                            break;
+                        }
+                        frame.state = 1;
+                    }
+                    List<?> properties = (List<?>) operands[pc];
+                    if (frame.cursor < properties.size()) {
+                        property(frame, (String) properties.get(frame.cursor++), false, 0);
+                    } else {
+                        pop();
+                    }
+                    break;
+                case INDEX:
+                    if (isArray(frame)) {
+                        index(frame, args[pc], true, 0);
+                    } else {
+                        pop();
+                    }
+                    break;
+                case INDEXES:
+                    if (frame.state == 0) {
+                        if (!isArray(frame)) {
+                            pop();
+                            break;
+                        }
+                        frame.state = 1;
+                    }
+                    List<?> indexes = (List<?>) operands[pc];
+                    if (frame.cursor < indexes.size()) {
+                        index(frame, (Integer) indexes.get(frame.cursor++), false, 0);
+                    } else {
+                        pop();
+                    }
+                    break;
+                case SLICE_FROM:
+                case SLICE_BETWEEN:
+                case SLICE_TO:
+                    if (frame.state == 0) {
+                        if (!isArray(frame)) {
+                            pop();
+                            break;
+                        }
+                        slice(frame);
+                        frame.state = 1;
+                    }
+                    if (frame.cursor < frame.end) {
+                        index(frame, frame.cursor++, false, 0);
+                    } else {
+                        pop();
+                    }
+                    break;
+                case WILDCARD:
+                    wildcard(frame);
+                    break;
+                case FILTER:
+                    filter(frame);
+                    break;
+                case SCAN:
+                    scan(frame);
+                    break;
+                case FUNCTION:
+                    function(frame);
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown opcode " + opcodes[pc]);
+            }
+        }
+
+        private boolean isMap(int pc, Object model, EvaluationPath path) {
+            if (jsonProvider.isMap(model)) {
+                return true;
+            }
+            if (upstreamDefinite[pc]) {
+                String m = model == null ? "null" : model.getClass().getName();
+                throw new PathNotFoundException(format(
+                        "Expected to find an object with property %s in path %s but found '%s'. " +
+                        "This is not a json object according to the JsonProvider: '%s'.",
+                        tokens[pc].getPathFragment(), path, m, jsonProvider.getClass().getName()));
+            }
+            return false;
+        }
+
+        private boolean isArray(Frame frame) {
+            if (frame.model == null) {
+                if (upstreamDefinite[frame.pc]) {
+                    throw new PathNotFoundException("The path " + frame.path + " is null");
+                }
+                return false;
+            }
+            if (!jsonProvider.isArray(frame.model)) {
+                if (upstreamDefinite[frame.pc]) {
+                    throw new PathNotFoundException(format("Filter: %s can only be applied to arrays. Current context is: %s", tokens[frame.pc], frame.model));
+                }
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Selects a single property of the object in the frame.
+         *
+         * @param last true if the frame has no more work and can be reused for the selected value
+         */
+        private void property(Frame frame, String property, boolean last, int catches) {
+            Object model = frame.model;
+            EvaluationPath path = frame.path.property(property);
+            Object value = propertyValue(frame.pc, model, path, property);
+            if (value == SKIP) {
+                if (last) {
+                    pop();
+                }
+                return;
+            }
+            PathRef ref = forUpdate ? PathRef.create(model, property) : PathRef.NO_OP;
+            select(frame, path, ref, value, last, catches);
+        }
+
+        /**
+         * Evaluates a leaf property selection without a frame.
+         */
+        private void leafProperty(int pc, EvaluationPath parentPath, Object model) {
+            if (isMap(pc, model, parentPath)) {
+                String property = (String) operands[pc];
+                EvaluationPath path = parentPath.property(property);
+                Object value = propertyValue(pc, model, path, property);
+                if (value != SKIP) {
+                    ctx.addResult(path, forUpdate ? PathRef.create(model, property) : PathRef.NO_OP, value);
+                }
+            }
+        }
+
+        /**
+         * @return the value of the property, null for a missing leaf if missing leafs default to null or
+         * {@link #SKIP} if a missing property ends this branch of the evaluation
+         * @throws PathNotFoundException if the property is required
+         */
+        private Object propertyValue(int pc, Object model, EvaluationPath path, String property) {
+            Object value = jsonProvider.getMapValue(model, property);
+            if (value != JsonProvider.UNDEFINED) {
+                return value;
+            }
+            if (pc + 1 == length) {
+                if (leafToNull) {
+                    return null;
+                }
+                if (suppressExceptions || !requireProperties) {
+                    return SKIP;
+                }
+                throw new PathNotFoundException("No results for path: " + path);
+            }
+            if (!(upstreamDefinite[pc] && tokenDefinite[pc]) && !requireProperties || suppressExceptions) {
+                return SKIP;
+            }
+            throw new PathNotFoundException("Missing property in path " + path);
+        }
+
+        private void mergeProperties(Frame frame) {
+            Object model = frame.model;
+            @SuppressWarnings("unchecked")
+            List<String> properties = (List<String>) operands[frame.pc];
+            EvaluationPath path = frame.path.properties(properties);
+
+            Object merged = jsonProvider.createMap();
+            for (String property : properties) {
+                Object value;
+                if (jsonProvider.getPropertyKeys(model).contains(property)) {
+                    value = jsonProvider.getMapValue(model, property);
+                    if (value == JsonProvider.UNDEFINED) {
+                        if (leafToNull) {
+                            value = null;
+                        } else {
+                            continue;
+                        }
+                    }
+                } else {
+                    if (leafToNull) {
+                        value = null;
+                    } else if (requireProperties) {
+                        throw new PathNotFoundException("Missing property in path " + path);
+                    } else {
+                        continue;
+                    }
+                }
+                jsonProvider.setProperty(merged, property, value);
+            }
+            PathRef ref = forUpdate ? PathRef.create(model, properties) : PathRef.NO_OP;
+            ctx.addResult(path, ref, merged);
+        }
+
+        /**
+         * Selects a single element of the array in the frame, index out of bounds selects nothing.
+         *
+         * @param last true if the frame has no more work and can be reused for the selected value
+         */
+        private void index(Frame frame, int index, boolean last, int catches) {
+            Object model = frame.model;
+            EvaluationPath path = frame.path.index(index);
+            PathRef ref = forUpdate ? PathRef.create(model, index) : PathRef.NO_OP;
+            int effectiveIndex = index < 0 ? jsonProvider.length(model) + index : index;
+            try {
+                Object value = jsonProvider.getArrayIndex(model, effectiveIndex);
+                if (frame.pc + 1 == length) {
+                    ctx.addResult(path, ref, value);
+                    if (last) {
+                        pop();
+                    }
+                    return;
+                }
+                select(frame, path, ref, value, last, catches | CATCH_INDEX_OUT_OF_BOUNDS);
+            } catch (IndexOutOfBoundsException e) {
+                if (last) {
+                    pop();
+                }
+            }
+        }
+
+        private void slice(Frame frame) {
+            ArraySliceOperation operation = (ArraySliceOperation) operands[frame.pc];
+            int length = jsonProvider.length(frame.model);
+            int from;
+            int to;
+            switch (opcodes[frame.pc]) {
+                case SLICE_FROM:
+                    from = operation.from();
+                    if (from < 0) {
+                        from = length + from;
+                    }
+                    from = Math.max(0, from);
+                    to = length;
+                    break;
+                case SLICE_BETWEEN:
+                    from = operation.from();
+                    to = Math.min(length, operation.to());
+                    break;
+                default:
+                    from = 0;
+                    to = operation.to();
+                    if (to < 0) {
+                        to = length + to;
+                    }
+                    to = Math.min(length, to);
+                    break;
+            }
+            frame.cursor = from;
+            frame.end = length == 0 ? from : to;
+            if (frame.pc + 1 == PathInterpreter.this.length) {
+                // every element of a slice ending the path is a result, none past the limit is visited
+                frame.end = ctx.clamp(frame.cursor, frame.end);
+            }
+        }
+
+        private void wildcard(Frame frame) {
+            if (frame.state == 0) {
+                if (jsonProvider.isMap(frame.model)) {
+                    frame.iterator = jsonProvider.getPropertyKeys(frame.model).iterator();
+                    frame.state = 1;
+                } else if (jsonProvider.isArray(frame.model)) {
+                    frame.end = jsonProvider.length(frame.model);
+                    frame.state = 2;
+                } else {
+                    pop();
+                    return;
+                }
+            }
+            if (frame.state == 1) {
+                if (frame.iterator.hasNext()) {
+                    property(frame, (String) frame.iterator.next(), false, 0);
+                } else {
+                    pop();
+                }
+            } else if (frame.cursor < frame.end) {
+                // a missing property below an element does not end the wildcard unless properties are required
+                index(frame, frame.cursor++, false, requireProperties ? 0 : CATCH_PATH_NOT_FOUND);
+            } else {
+                pop();
+            }
+        }
+
+        private void filter(Frame frame) {
+            PredicatePathToken token = (PredicatePathToken) operands[frame.pc];
+            if (frame.state == 0) {
+                if (jsonProvider.isMap(frame.model)) {
+                    if (token.accept(frame.model, ctx.rootDocument(), ctx.configuration(), ctx)) {
+                        select(frame, frame.path, forUpdate ? frame.ref : PathRef.NO_OP, frame.model, true, 0);
+                    } else {
+                        pop();
+                    }
+                    return;
+                } else if (jsonProvider.isArray(frame.model)) {
+                    frame.iterator = jsonProvider.toIterable(frame.model).iterator();
+                    frame.state = 1;
+                } else {
+                    if (upstreamDefinite[frame.pc]) {
+                        throw new InvalidPathException(format("Filter: %s can not be applied to primitives. Current context is: %s", token, frame.model));
+                    }
+                    pop();
+                    return;
+                }
+            }
+            while (frame.iterator.hasNext()) {
+                Object element = frame.iterator.next();
+                int idx = frame.cursor++;
+                if (token.accept(element, ctx.rootDocument(), ctx.configuration(), ctx)) {
+                    index(frame, idx, false, 0);
+                    return;
+                }
+            }
+            pop();
+        }
+
+        /**
+         * Walks the document below the frame. The instruction following the scan is applied to every visited
+         * value it matches, arrays matched by a non leaf instruction have the rest of the path applied to each
+         * of their elements.
+         */
+        private void scan(Frame frame) {
+            int pc = frame.pc;
+            switch (frame.state) {
+                case 0:
+                    if (jsonProvider.isMap(frame.model)) {
+                        frame.iterator = jsonProvider.getPropertyKeys(frame.model).iterator();
+                        frame.state = 1;
+                        if (matches(pc + 1, frame.model)) {
+                            child(pc + 1, frame.path, frame.ref, frame.model, 0);
+                        }
+                    } else if (jsonProvider.isArray(frame.model)) {
+                        if (matches(pc + 1, frame.model)) {
+                            if (pc + 2 == length) {
+                                child(pc + 1, frame.path, frame.ref, frame.model, 0);
+                            } else {
+                                frame.iterator = jsonProvider.toIterable(frame.model).iterator();
+                                frame.state = 2;
+                                return;
+                            }
+                        }
+                        frame.iterator = jsonProvider.toIterable(frame.model).iterator();
+                        frame.state = 3;
+                    } else {
+                        pop();
+                    }
+                    break;
+                case 1:
+                    while (frame.iterator.hasNext()) {
+                        String property = (String) frame.iterator.next();
+                        Object value = jsonProvider.getMapValue(frame.model, property);
+                        if (isContainer(value)) {
+                            scanChild(frame, frame.path.property(property), PathRef.create(frame.model, property), value);
+                            return;
+                        }
+                    }
+                    pop();
+                    break;
+                case 2:
+                    if (frame.iterator.hasNext()) {
+                        Object element = frame.iterator.next();
+                        child(pc + 2, frame.path.index(frame.cursor++), frame.ref, element, 0);
+                    } else {
+                        frame.iterator = jsonProvider.toIterable(frame.model).iterator();
+                        frame.cursor = 0;
+                        frame.state = 3;
+                    }
+                    break;
+                default:
+                    while (frame.iterator.hasNext()) {
+                        Object element = frame.iterator.next();
+                        int idx = frame.cursor++;
+                        if (isContainer(element)) {
+                            scanChild(frame, frame.path.index(idx), PathRef.create(frame.model, idx), element);
+                            return;
+                        }
+                    }
+                    pop();
+                    break;
+            }
+        }
+
+        /**
+         * Pushes the frame scanning a container below a scanned container. Scan frames keep their depth below
+         * the scanned value in {@link Frame#end}.
+         */
+        private void scanChild(Frame frame, EvaluationPath path, PathRef ref, Object model) {
+            int depth = frame.end + 1;
+            if (depth > maxScanDepth) {
+                throw ScanPathToken.depthExceeded(maxScanDepth, path);
+            }
+            push(frame.pc, path, ref, model, 0);
+            frames[size - 1].end = depth;
+        }
+
+        /**
+         * Scalars have nothing to scan, they are skipped without a frame.
+         */
+        private boolean isContainer(Object model) {
+            return jsonProvider.isMap(model) || jsonProvider.isArray(model);
+        }
+
+        /**
+         * @return true if a deep scan should apply the instruction at the given position to the model
+         */
+        private boolean matches(int pc, Object model) {
+            switch (opcodes[pc]) {
+                case PROPERTY:
+                case PROPERTY_MERGE:
+                case PROPERTY_EACH:
+                    if (!jsonProvider.isMap(model)) {
+                        return false;
+                    }
+                    if (!tokenDefinite[pc]) {
+                        return true;
+                    }
+                    if (pc + 1 == length && leafToNull) {
+                        return true;
+                    }
+                    return jsonProvider.getPropertyKeys(model).containsAll(((PropertyPathToken) tokens[pc]).getProperties());
+                case INDEX:
+                case INDEXES:
+                case SLICE_FROM:
+                case SLICE_BETWEEN:
+                case SLICE_TO:
+                    return jsonProvider.isArray(model);
+                case WILDCARD:
+                    return true;
+                case FILTER:
+                    return ((PredicatePathToken) operands[pc]).accept(model, ctx.rootDocument(), ctx.configuration(), ctx);
+                default:
+                    return false;
+            }
+        }
+
+        private void function(Frame frame) {
+            FunctionPathToken token = (FunctionPathToken) operands[frame.pc];
+            PathFunction pathFunction = token.pathFunction();
+            List<Parameter> parameters = token.functionParams();
+            Object result = pathFunction.invoke(frame.path, frame.ref, frame.model, ctx, parameters);
+            ctx.addResult(frame.path.function(token.functionName()), frame.ref, result);
+            if (frame.pc + 1 == length) {
+                pop();
+            } else {
+                frame.pc++;
+                frame.model = result;
+            }
+        }
+
+        /**
+         * Continues evaluation with a value selected from the frame, either by reporting it as a result or by
+         * handing it to the next instruction.
+         *
+         * @param last true if the frame has no more work and can be reused for the selected value
+         * @param catches the exceptions that end evaluation of the selected value instead of the whole path
+         */
+        private void select(Frame frame, EvaluationPath path, PathRef ref, Object value, boolean last, int catches) {
+            int next = frame.pc + 1;
+            if (next == length) {
+                ctx.addResult(path, ref, value);
+                if (last) {
+                    pop();
+                }
+            } else if (last) {
+                frame.pc = next;
+                frame.model = value;
+                frame.path = path;
+                frame.ref = ref;
+                frame.catches |= catches;
+                frame.state = 0;
+                frame.cursor = 0;
+            } else {
+                child(next, path, ref, value, catches);
+            }
+        }
+
+        /**
+         * Hands a value to the instruction at the given position. Leaf property selections, the most common
+         * instruction to end a path, are evaluated right away, everything else gets a frame.
+         *
+         * @param catches the exceptions that end evaluation of the value instead of the whole path
+         */
+        private void child(int pc, EvaluationPath path, PathRef ref, Object model, int catches) {
+            if (opcodes[pc] != PROPERTY || pc + 1 != length) {
+                push(pc, path, ref, model, catches);
+            } else if (catches == 0) {
+                leafProperty(pc, path, model);
+            } else {
+                try {
+                    leafProperty(pc, path, model);
+                } catch (IndexOutOfBoundsException e) {
+                    if ((catches & CATCH_INDEX_OUT_OF_BOUNDS) == 0) {
+                        throw e;
+                    }
+                } catch (PathNotFoundException e) {
+                    if ((catches & CATCH_PATH_NOT_FOUND) == 0) {
+                        throw e;
+                    }
+                }
+            }
+        }
+
+        private void push(int pc, EvaluationPath path, PathRef ref, Object model, int catches) {
+            if (size == frames.length) {
+                Frame[] grown = new Frame[size * 2];
+                System.arraycopy(frames, 0, grown, 0, size);
+                frames = grown;
+            }
+            Frame frame = frames[size];
+            if (frame == null) {
+                frame = new Frame();
+                frames[size] = frame;
+            }
+            size++;
+            frame.pc = pc;
+            frame.model = model;
+            frame.path = path;
+            frame.ref = ref;
+            frame.catches = catches;
+            frame.state = 0;
+            frame.cursor = 0;
+            frame.end = 0;
+        }
+
+        /**
+         * Discards the frame on top of the stack. Its references are left for the next push to overwrite, they
+         * only reach into the evaluated document.
+         */
+        private void pop() {
+            size--;
+        }
+    }
+}
@@ -0,0 +1,473 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.EvaluationPath;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Evaluates a set of paths in a single traversal of the document.
+ * <p>
+ * The token chains of the paths are merged into a prefix tree. Tokens shared by several paths are evaluated once,
+ * where the paths diverge a {@link BranchPathToken} hands every value selected so far to each of the continuations.
+ * Scans and filters on a shared prefix are shared as well, a scan is kept together with the token it scans for.
+ * The last token of a path is never shared, so that leaf semantics (missing properties, merged properties) are
+ * those of the path on its own. The tokens following the point where only one path is left are evaluated with
+ * the evaluation context of that path.
+ * <p>
+ * Definite paths of properties and array indexes are merged into a separate tree of steps that is walked like
+ * {@link DefinitePath} walks a single path, without evaluation contexts.
+ * <p>
+ * Exceptions raised below a branch are not propagated: the paths of that branch are reported as failed and must
+ * be evaluated on their own, as must paths that can not be merged (functions, paths not starting at the document
+ * root). This keeps results, paths and exceptions exactly those of reading each path separately.
+ * <p>
+ * Instances are immutable once built and can be shared by all evaluations.
+ */
+public class PathSet {
+
+    private static final EvaluationPath ROOT = EvaluationPath.root("$");
+
+    private final CompiledPath[] paths;
+    private final BranchPathToken root;
+    private final Step definiteRoot;
+
+    private PathSet(CompiledPath[] paths, BranchPathToken root, Step definiteRoot) {
+        this.paths = paths;
+        this.root = root;
+        this.definiteRoot = definiteRoot;
+    }
+
+    /**
+     * Compiles the given paths into a set. The paths are compiled again, and the paths the results are reported for
+     * are compiled apart from the tokens merged into the tree, which are relinked: the token chains of the set are
+     * not shared with any other path.
+     *
+     * @param paths the paths to merge
+     * @return the merged set
+     */
+    public static PathSet compile(String... paths) {
+        CompiledPath[] compiled = new CompiledPath[paths.length];
+        Node tree = new Node(null, -1);
+        Step definiteTree = new Step(null, 0);
+        for (int i = 0; i < paths.length; i++) {
+            Path path = PathCompiler.compile(paths[i]);
+            if (path instanceof CompiledPath && mergeable((CompiledPath) path)) {
+                compiled[i] = (CompiledPath) path;
+                DefinitePath definitePath = compiled[i].definitePath();
+                if (definitePath != null && !definitePath.hasFunction()) {
+                    definiteTree.add(definitePath, 0, i);
+                } else {
+                    // merging relinks the tokens, they are copied so that the compiled path is left as it is
+                    tree.add(units(((CompiledPath) PathCompiler.compile(paths[i])).root()), 0, i);
+                }
+            }
+        }
+        return new PathSet(compiled,
+                tree.children.isEmpty() ? null : tree.branch(),
+                definiteTree.children.isEmpty() ? null : definiteTree);
+    }
+
+    private static boolean mergeable(CompiledPath path) {
+        return !path.isFunctionPath()
+                && path.isRootPath()
+                && !path.root().isLeaf();
+    }
+
+    /**
+     * Splits the chain following the root into the units that can be shared: single tokens, or a scan together
+     * with the token it scans for.
+     */
+    private static List<PathToken[]> units(RootPathToken root) {
+        List<PathToken[]> units = new ArrayList<PathToken[]>();
+        PathToken token = root.next();
+        while (token != null) {
+            if (token instanceof ScanPathToken) {
+                PathToken target = token.next();
+                units.add(new PathToken[]{token, target});
+                token = target.isLeaf() ? null : target.next();
+            } else {
+                units.add(new PathToken[]{token});
+                token = token.isLeaf() ? null : token.next();
+            }
+        }
+        return units;
+    }
+
+    /**
+     * @return the path at the given index as compiled on its own, or {@code null} if it is not merged
+     */
+    CompiledPath path(int index) {
+        return paths[index];
+    }
+
+    /**
+     * Evaluates all paths of the set against the given document.
+     *
+     * @param document the document
+     * @param rootDocument the root document, referenced by filters
+     * @param configuration the configuration to use
+     * @return for every path, in the order the set was compiled from, the evaluation context holding its results,
+     * or {@code null} if the path was not evaluated and must be read on its own
+     */
+    public EvaluationContext[] evaluate(Object document, Object rootDocument, Configuration configuration) {
+        EvaluationContext[] contexts = new EvaluationContext[paths.length];
+        if (!configuration.getEvaluationListeners().isEmpty()) {
+            // listeners see the results of a single path, merged evaluation would interleave them
+            return contexts;
+        }
+        if (definiteRoot != null) {
+            definiteRoot.walk(document, rootDocument, configuration, contexts);
+        }
+        if (root != null) {
+            SetContext ctx = new SetContext(paths, rootDocument, configuration);
+            root.evaluate(ROOT, PathRef.NO_OP, document, ctx);
+            for (int i = 0; i < contexts.length; i++) {
+                if (!ctx.failed[i] && ctx.contexts[i] != null) {
+                    contexts[i] = ctx.contexts[i];
+                }
+            }
+        }
+        return contexts;
+    }
+
+    /**
+     * A step of the tree of definite paths: a property or an array index, and the paths ending with it.
+     */
+    private static final class Step {
+        private final String property;
+        private final int index;
+        private final List<Step> children = new ArrayList<Step>();
+        private final List<DefinitePath> ends = new ArrayList<DefinitePath>();
+        private final List<Integer> endPaths = new ArrayList<Integer>();
+
+        private Step(String property, int index) {
+            this.property = property;
+            this.index = index;
+        }
+
+        private void add(DefinitePath path, int position, int pathIndex) {
+            if (position == path.properties().length) {
+                ends.add(path);
+                endPaths.add(pathIndex);
+                return;
+            }
+            String childProperty = path.properties()[position];
+            int childIndex = path.indexes()[position];
+            for (Step child : children) {
+                if (childProperty == null ? child.property == null && child.index == childIndex : childProperty.equals(child.property)) {
+                    child.add(path, position + 1, pathIndex);
+                    return;
+                }
+            }
+            Step child = new Step(childProperty, childIndex);
+            children.add(child);
+            child.add(path, position + 1, pathIndex);
+        }
+
+        /**
+         * Reports the paths ending here and continues with the children. A step that misses leaves the contexts
+         * of its paths empty, the paths are then read on their own.
+         */
+        private void walk(Object model, Object rootDocument, Configuration configuration, EvaluationContext[] contexts) {
+            JsonProvider jsonProvider = configuration.jsonProvider();
+            for (int i = 0; i < ends.size(); i++) {
+                DefinitePath path = ends.get(i);
+                Object value;
+                try {
+                    value = DefinitePath.asResult(jsonProvider, model);
+                } catch (RuntimeException e) {
+                    // the path is read on its own, failing like it does there, not the whole set
+                    continue;
+                }
+                contexts[endPaths.get(i)] = new DefiniteResult(path.targetPath(), value, rootDocument, configuration);
+            }
+            for (Step child : children) {
+                Object childModel;
+                if (child.property != null) {
+                    if (!jsonProvider.isMap(model)) {
+                        continue;
+                    }
+                    childModel = jsonProvider.getMapValue(model, child.property);
+                    if (childModel == JsonProvider.UNDEFINED) {
+                        continue;
+                    }
+                } else {
+                    if (!jsonProvider.isArray(model)) {
+                        continue;
+                    }
+                    int length = jsonProvider.length(model);
+                    int index = child.index < 0 ? length + child.index : child.index;
+                    if (index < 0 || index >= length) {
+                        continue;
+                    }
+                    childModel = jsonProvider.getArrayIndex(model, index);
+                }
+                child.walk(childModel, rootDocument, configuration, contexts);
+            }
+        }
+    }
+
+    /**
+     * The result of a definite path found by walking the tree of steps.
+     */
+    private static final class DefiniteResult implements EvaluationContext {
+        private final EvaluationPath path;
+        private final Object value;
+        private final Object rootDocument;
+        private final Configuration configuration;
+
+        private DefiniteResult(EvaluationPath path, Object value, Object rootDocument, Configuration configuration) {
+            this.path = path;
+            this.value = value;
+            this.rootDocument = rootDocument;
+            this.configuration = configuration;
+        }
+
+        @Override
+        public Configuration configuration() {
+            return configuration;
+        }
+
+        @Override
+        public Object rootDocument() {
+            return rootDocument;
+        }
+
+        @Override
+        public <T> T getValue() {
+            return getValue(true);
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T getValue(boolean unwrap) {
+            if (value != null && unwrap) {
+                return (T) configuration.jsonProvider().unwrap(value);
+            }
+            return (T) value;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public <T> T getPath() {
+            Object pathResult = configuration.jsonProvider().createArray();
+            configuration.jsonProvider().setArrayIndex(pathResult, 0, path.toString());
+            return (T) pathResult;
+        }
+
+        @Override
+        public List<String> getPathList() {
+            return Collections.singletonList(path.toString());
+        }
+
+        @Override
+        public Collection<PathRef> updateOperations() {
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * A node of the prefix tree. The unit of a leaf node ends a path and is owned by that path alone.
+     */
+    private static final class Node {
+        private final PathToken[] unit;
+        private final String key;
+        private final int leaf;
+        private final List<Node> children = new ArrayList<Node>();
+        private final List<Integer> paths = new ArrayList<Integer>();
+
+        private Node(PathToken[] unit, int leaf) {
+            this.unit = unit;
+            this.leaf = leaf;
+            this.key = unit == null ? null : key(unit);
+            if (leaf >= 0) {
+                paths.add(leaf);
+            }
+        }
+
+        private static String key(PathToken[] unit) {
+            StringBuilder sb = new StringBuilder();
+            for (PathToken token : unit) {
+                if (token instanceof PredicatePathToken) {
+                    // the fragment of a filter is a placeholder, filters are told apart by their expression
+                    sb.append(((PredicatePathToken) token).predicates());
+                } else {
+                    sb.append(token.getPathFragment());
+                }
+            }
+            return sb.toString();
+        }
+
+        private void add(List<PathToken[]> units, int position, int path) {
+            paths.add(path);
+            PathToken[] unit = units.get(position);
+            if (position == units.size() - 1) {
+                children.add(new Node(unit, path));
+                return;
+            }
+            String unitKey = key(unit);
+            for (Node child : children) {
+                if (child.leaf < 0 && child.key.equals(unitKey)) {
+                    child.add(units, position + 1, path);
+                    return;
+                }
+            }
+            Node child = new Node(unit, -1);
+            children.add(child);
+            child.add(units, position + 1, path);
+        }
+
+        /**
+         * Links the tokens of this node to those of its children, sharing only what is used by several paths.
+         *
+         * @return the first token of this node
+         */
+        private PathToken link() {
+            PathToken head = unit[0];
+            PathToken tail = unit[unit.length - 1];
+            if (leaf >= 0) {
+                return head;
+            }
+            if (children.size() == 1) {
+                tail.appendTailToken(children.get(0).link());
+            } else {
+                tail.appendTailToken(branch());
+            }
+            return head;
+        }
+
+        private BranchPathToken branch() {
+            int size = children.size();
+            PathToken[] heads = new PathToken[size];
+            int[][] branchPaths = new int[size][];
+            for (int i = 0; i < size; i++) {
+                Node child = children.get(i);
+                heads[i] = child.link();
+                branchPaths[i] = toArray(child.paths);
+            }
+            return new BranchPathToken(heads, branchPaths);
+        }
+
+        private static int[] toArray(List<Integer> list) {
+            int[] array = new int[list.size()];
+            for (int i = 0; i < array.length; i++) {
+                array[i] = list.get(i);
+            }
+            return array;
+        }
+    }
+
+    /**
+     * The context shared tokens are evaluated with, it holds the contexts of the paths of the set.
+     */
+    private static final class SetContext extends EvaluationContextImpl {
+        private final CompiledPath[] paths;
+        private final EvaluationContextImpl[] contexts;
+        private final boolean[] failed;
+
+        private SetContext(CompiledPath[] paths, Object rootDocument, Configuration configuration) {
+            super(firstPath(paths), rootDocument, configuration, false);
+            this.paths = paths;
+            this.contexts = new EvaluationContextImpl[paths.length];
+            this.failed = new boolean[paths.length];
+        }
+
+        private static Path firstPath(CompiledPath[] paths) {
+            for (CompiledPath path : paths) {
+                if (path != null) {
+                    return path;
+                }
+            }
+            throw new IllegalStateException("No path to evaluate");
+        }
+
+        private EvaluationContextImpl context(int path) {
+            EvaluationContextImpl ctx = contexts[path];
+            if (ctx == null) {
+                ctx = new EvaluationContextImpl(paths[path], rootDocument(), configuration(), false);
+                contexts[path] = ctx;
+            }
+            return ctx;
+        }
+
+        @Override
+        boolean isParallel(int size) {
+            // branches hand values to the contexts held here, a chunk evaluated with a context of its own can not
+            return false;
+        }
+    }
+
+    /**
+     * Hands the values selected by a shared prefix to each of the paths diverging at this point.
+     */
+    private static final class BranchPathToken extends PathToken {
+        private final PathToken[] heads;
+        private final int[][] paths;
+
+        private BranchPathToken(PathToken[] heads, int[][] paths) {
+            this.heads = heads;
+            this.paths = paths;
+            for (PathToken head : heads) {
+                appendTailToken(head);
+            }
+        }
+
+        @Override
+        public void evaluate(EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+            SetContext set = (SetContext) ctx;
+            for (int i = 0; i < heads.length; i++) {
+                int[] branchPaths = paths[i];
+                if (allFailed(set, branchPaths)) {
+                    continue;
+                }
+                EvaluationContextImpl target = branchPaths.length == 1 ? set.context(branchPaths[0]) : set;
+                try {
+                    heads[i].evaluate(currentPath, parent, model, target);
+                } catch (RuntimeException e) {
+                    for (int path : branchPaths) {
+                        set.failed[path] = true;
+                    }
+                }
+            }
+        }
+
+        private static boolean allFailed(SetContext set, int[] branchPaths) {
+            for (int path : branchPaths) {
+                if (!set.failed[path]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean isTokenDefinite() {
+            return true;
+        }
+
+        @Override
+        protected String getPathFragment() {
+            return "";
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("{");
+            for (int i = 0; i < heads.length; i++) {
+                if (i > 0) {
+                    sb.append(", ");
+                }
+                sb.append(heads[i]);
+            }
+            return sb.append("}").toString();
+        }
+    }
+}
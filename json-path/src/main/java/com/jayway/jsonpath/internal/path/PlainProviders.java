@@ -0,0 +1,83 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.spi.json.AbstractJsonProvider;
+import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Tells which providers hold documents as plain {@link java.util.Map}s and {@link java.util.List}s, read and
+ * stored as they are, so that the fast paths may access them without going through the provider.
+ * <p>
+ * These are the json-smart and Jackson providers, and their subclasses that do not override how values are read
+ * from documents or passed through arrays. A subclass overriding one of these methods is accessed through the
+ * provider like any other.
+ */
+final class PlainProviders {
+
+    private static final Class<?>[] PLAIN = {JsonSmartJsonProvider.class, JacksonJsonProvider.class};
+
+    // the methods the fast paths bypass, with their parameter types
+    private static final String[] ACCESSORS = {
+            "isMap", "getMapValue", "isArray", "length", "getArrayIndex", "setArrayIndex", "createArray", "unwrap"
+    };
+    private static final Class<?>[][] PARAMETERS = {
+            {Object.class}, {Object.class, String.class}, {Object.class}, {Object.class}, {Object.class, int.class},
+            {Object.class, int.class, Object.class}, {}, {Object.class}
+    };
+
+    // the subclasses inspected so far, held weakly so that the class loader of a subclass can be unloaded
+    private static final Map<Class<?>, Boolean> SUBCLASSES = new WeakHashMap<Class<?>, Boolean>();
+
+    private PlainProviders() {
+    }
+
+    /**
+     * @return true if documents of the given provider are plain maps and lists read without conversion
+     */
+    static boolean isPlain(JsonProvider jsonProvider) {
+        Class<?> type = jsonProvider.getClass();
+        if (type == JsonSmartJsonProvider.class || type == JacksonJsonProvider.class) {
+            return true;
+        }
+        if (!(jsonProvider instanceof JsonSmartJsonProvider || jsonProvider instanceof JacksonJsonProvider)) {
+            return false;
+        }
+        synchronized (SUBCLASSES) {
+            Boolean plain = SUBCLASSES.get(type);
+            if (plain == null) {
+                plain = inspect(type);
+                SUBCLASSES.put(type, plain);
+            }
+            return plain;
+        }
+    }
+
+    private static boolean inspect(Class<?> type) {
+        Class<?> base = null;
+        for (Class<?> candidate : PLAIN) {
+            if (candidate.isAssignableFrom(type)) {
+                base = candidate;
+            }
+        }
+        if (base == null) {
+            return false;
+        }
+        try {
+            for (int i = 0; i < ACCESSORS.length; i++) {
+                Class<?> declaring = type.getMethod(ACCESSORS[i], PARAMETERS[i]).getDeclaringClass();
+                if (declaring != base && declaring != AbstractJsonProvider.class) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        } catch (SecurityException e) {
+            return false;
+        }
+    }
+}
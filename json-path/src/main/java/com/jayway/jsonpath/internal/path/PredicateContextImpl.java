@@ -17,6 +17,7 @@ package com.jayway.jsonpath.internal.path;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.Predicate;
 import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.spi.json.JsonProvider;
 import com.jayway.jsonpath.spi.mapper.MappingException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,26 +32,39 @@ public class PredicateContextImpl implements Predicate.PredicateContext {
     private final Object rootDocument;
     private final Configuration configuration;
     private final HashMap<Path, Object> documentPathCache;
+    private final HashMap<Path, Object> documentValueCache;
 
     public PredicateContextImpl(Object contextDocument, Object rootDocument, Configuration configuration, HashMap<Path, Object> documentPathCache) {
+        this(contextDocument, rootDocument, configuration, documentPathCache, new HashMap<Path, Object>());
+    }
+
+    public PredicateContextImpl(Object contextDocument, Object rootDocument, Configuration configuration, HashMap<Path, Object> documentPathCache,
+                                HashMap<Path, Object> documentValueCache) {
         this.contextDocument = contextDocument;
         this.rootDocument = rootDocument;
         this.configuration = configuration;
         this.documentPathCache = documentPathCache;
+        this.documentValueCache = documentValueCache;
     }
 
+    /**
+     * Reads a path of a filter, root paths are read once per evaluation
+     *
+     * @param path the path to read
+     * @return the unwrapped value of the path, or {@link JsonProvider#UNDEFINED} if it finds nothing
+     */
     public Object evaluate(Path path){
         Object result;
         if(path.isRootPath()){
             if(documentPathCache.containsKey(path)){
-                logger.debug("Using cached result for root path: " + path.toString());
+                logger.debug("Using cached result for root path: {}", path);
                 result = documentPathCache.get(path);
             } else {
-                result = path.evaluate(rootDocument, rootDocument, configuration).getValue();
+                result = path.readOrUndefined(rootDocument, rootDocument, configuration, true);
                 documentPathCache.put(path, result);
             }
         } else {
-            result = path.evaluate(contextDocument, rootDocument, configuration).getValue();
+            result = path.readOrUndefined(contextDocument, rootDocument, configuration, true);
         }
         return result;
     }
@@ -59,6 +73,13 @@ public class PredicateContextImpl implements Predicate.PredicateContext {
         return documentPathCache;
     }
 
+    /**
+     * @return what filters converted the values of root paths to, kept for the evaluation like the values read
+     */
+    public HashMap<Path, Object> documentValueCache() {
+        return documentValueCache;
+    }
+
     @Override
     public Object item() {
         return contextDocument;
@@ -17,9 +17,12 @@ package com.jayway.jsonpath.internal.path;
 import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.EvaluationPath;
 import com.jayway.jsonpath.internal.PathRef;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import static java.lang.String.format;
 import static java.util.Arrays.asList;
@@ -41,7 +44,7 @@ public class PredicatePathToken extends PathToken {
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef ref, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(EvaluationPath currentPath, PathRef ref, Object model, EvaluationContextImpl ctx) {
         if (ctx.jsonProvider().isMap(model)) {
             if (accept(model, ctx.rootDocument(), ctx.configuration(), ctx)) {
                 PathRef op = ctx.forUpdate() ? ref : PathRef.NO_OP;
@@ -55,7 +58,14 @@ public class PredicatePathToken extends PathToken {
             int idx = 0;
             Iterable<?> objects = ctx.jsonProvider().toIterable(model);
 
+            if (ctx.isParallel(ctx.jsonProvider().length(model))) {
+                filterInParallel(currentPath, model, objects, ctx);
+                return;
+            }
             for (Object idxModel : objects) {
+                if (ctx.isStopped()) {
+                    return;
+                }
                 if (accept(idxModel, ctx.rootDocument(),  ctx.configuration(), ctx)) {
                     handleArrayIndex(idx, currentPath, model, ctx);
                 }
@@ -68,8 +78,25 @@ public class PredicatePathToken extends PathToken {
         }
     }
 
+    private void filterInParallel(final EvaluationPath currentPath, final Object model, Iterable<?> objects, EvaluationContextImpl ctx) {
+        final List<Object> elements = new ArrayList<Object>();
+        for (Object element : objects) {
+            elements.add(element);
+        }
+        ctx.evaluateInParallel(elements.size(), new EvaluationContextImpl.Chunk() {
+            @Override
+            public void evaluate(int from, int to, EvaluationContextImpl ctx) {
+                for (int idx = from; idx < to; idx++) {
+                    if (accept(elements.get(idx), ctx.rootDocument(), ctx.configuration(), ctx)) {
+                        handleArrayIndex(idx, currentPath, model, ctx);
+                    }
+                }
+            }
+        });
+    }
+
     public boolean accept(final Object obj, final Object root, final Configuration configuration, EvaluationContextImpl evaluationContext) {
-        Predicate.PredicateContext ctx = new PredicateContextImpl(obj, root, configuration, evaluationContext.documentEvalCache());
+        Predicate.PredicateContext ctx = new PredicateContextImpl(obj, root, configuration, evaluationContext.documentEvalCache(), evaluationContext.documentValueCache());
 
         for (Predicate predicate : predicates) {
             try {
@@ -83,6 +110,10 @@ public class PredicatePathToken extends PathToken {
         return true;
     }
 
+    Collection<Predicate> predicates() {
+        return predicates;
+    }
+
     @Override
     public String getPathFragment() {
         StringBuilder sb = new StringBuilder();
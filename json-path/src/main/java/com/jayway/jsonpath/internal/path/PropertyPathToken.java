@@ -16,6 +16,7 @@ package com.jayway.jsonpath.internal.path;
 
 import com.jayway.jsonpath.InvalidPathException;
 import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.internal.EvaluationPath;
 import com.jayway.jsonpath.internal.PathRef;
 import com.jayway.jsonpath.internal.Utils;
 
@@ -58,7 +59,7 @@ class PropertyPathToken extends PathToken {
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
         // Can't assert it in ctor because isLeaf() could be changed later on.
         assert onlyOneIsTrueNonThrow(singlePropertyCase(), multiPropertyMergeCase(), multiPropertyIterationCase());
 
@@ -84,6 +85,9 @@ class PropertyPathToken extends PathToken {
         final List<String> currentlyHandledProperty = new ArrayList<String>(1);
         currentlyHandledProperty.add(null);
         for (final String property : properties) {
+            if (ctx.isStopped()) {
+                return;
+            }
             currentlyHandledProperty.set(0, property);
             handleObjectProperty(currentPath, model, ctx, currentlyHandledProperty);
         }
@@ -14,6 +14,7 @@
  */
 package com.jayway.jsonpath.internal.path;
 
+import com.jayway.jsonpath.internal.EvaluationPath;
 import com.jayway.jsonpath.internal.PathRef;
 
 /**
@@ -24,10 +25,12 @@ public class RootPathToken extends PathToken {
     private PathToken tail;
     private int tokenCount;
     private final String rootToken;
+    private final EvaluationPath rootPath;
 
 
     RootPathToken(char rootToken) {
-        this.rootToken = Character.toString(rootToken);;
+        this.rootToken = Character.toString(rootToken);
+        this.rootPath = EvaluationPath.root(this.rootToken);
         this.tail = this;
         this.tokenCount = 1;
     }
@@ -54,12 +57,12 @@ public class RootPathToken extends PathToken {
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef pathRef, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(EvaluationPath currentPath, PathRef pathRef, Object model, EvaluationContextImpl ctx) {
         if (isLeaf()) {
             PathRef op = ctx.forUpdate() ?  pathRef : PathRef.NO_OP;
-            ctx.addResult(rootToken, op, model);
+            ctx.addResult(rootPath, op, model);
         } else {
-            next().evaluate(rootToken, pathRef, model, ctx);
+            next().evaluate(rootPath, pathRef, model, ctx);
         }
     }
 
@@ -0,0 +1,245 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.InvalidPathException;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.EvaluationPath;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.Utils;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * An inverted index of the property names of a document, used to answer deep scans for a property from the root
+ * ({@code $..key} and {@code $..key.rest}) without walking the whole document.
+ * <p>
+ * The index maps every property name to the objects holding it, with their location, in the order a deep scan
+ * visits them. It is built in a single walk on first use, the walk visits the document exactly like
+ * {@link ScanPathToken} does. Evaluating the token following the scan on each indexed object then yields the
+ * same results, in the same order, as the scan.
+ * <p>
+ * The index is a snapshot of the document. It must be {@link #invalidate() invalidated} whenever the document
+ * is modified, it is then rebuilt by the next scan.
+ */
+public final class ScanIndex {
+
+    // the root path stands for the paths the index can not answer
+    private static final Path NOT_INDEXED = PathCompiler.compile("$");
+
+    private final Object document;
+    private final ConcurrentMap<String, Path> paths = new ConcurrentHashMap<String, Path>();
+
+    private volatile Entries entries;
+
+    public ScanIndex(Object document) {
+        this.document = document;
+    }
+
+    /**
+     * Discards the index, the next scan rebuilds it
+     */
+    public void invalidate() {
+        entries = null;
+    }
+
+    /**
+     * Reads a path using the index.
+     *
+     * @param path the path to read
+     * @param filters the filters of the path
+     * @param document the document to read the path from
+     * @param configuration the configuration to use
+     * @return the result {@link com.jayway.jsonpath.JsonPath#read(Object, Configuration)} returns, or {@code null}
+     * if the index can not answer the path, which must then be read as usual
+     */
+    public Object read(String path, Predicate[] filters, Object document, Configuration configuration) {
+        if (!path.trim().startsWith("$..")) {
+            return null;
+        }
+        Path compiled = compile(path, filters);
+        if (compiled == NOT_INDEXED || compiled.isFunctionPath()) {
+            return null;
+        }
+        try {
+            EvaluationContext evaluated = evaluate(compiled, document, configuration);
+            if (evaluated == null) {
+                return null;
+            }
+            // the paths the index answers are indefinite
+            return configuration.containsOption(Option.AS_PATH_LIST) ? evaluated.getPath() : evaluated.getValue(false);
+        } catch (RuntimeException e) {
+            if (!configuration.containsOption(Option.SUPPRESS_EXCEPTIONS)) {
+                throw e;
+            }
+            return configuration.jsonProvider().createArray();
+        }
+    }
+
+    private Path compile(String path, Predicate[] filters) {
+        String key = Utils.concat(path, Arrays.asList(filters).toString());
+        Path compiled = paths.get(key);
+        if (compiled == null) {
+            try {
+                compiled = PathCompiler.compile(path, filters);
+            } catch (InvalidPathException e) {
+                // the filters of a compiled path are not part of its string
+                compiled = NOT_INDEXED;
+            }
+            paths.put(key, compiled);
+        }
+        return compiled;
+    }
+
+    /**
+     * Evaluates a path using the index.
+     *
+     * @param path the path to evaluate
+     * @param document the document to evaluate the path against
+     * @param configuration the configuration to use
+     * @return the evaluation, or {@code null} if the index can not answer the path, which must then be evaluated
+     * as usual
+     */
+    public EvaluationContext evaluate(Path path, Object document, Configuration configuration) {
+        PropertyPathToken target = scanTarget(path, configuration);
+        if (target == null || document != this.document) {
+            return null;
+        }
+        Entries entries = entries(configuration.jsonProvider());
+        if (entries.depth > configuration.maxScanDepth()) {
+            throw ScanPathToken.depthExceeded(configuration.maxScanDepth(), entries.deepest);
+        }
+        List<Hit> hits = entries.hits(target.getProperties().get(0));
+
+        EvaluationContextImpl ctx = new EvaluationContextImpl(path, document, configuration, false);
+        for (int i = 0; i < hits.size() && !ctx.isStopped(); i++) {
+            Hit hit = hits.get(i);
+            target.evaluate(hit.path, PathRef.NO_OP, hit.model, ctx);
+        }
+        return ctx;
+    }
+
+    /**
+     * @return the property token following a scan from the root, if the index can answer the path
+     */
+    private static PropertyPathToken scanTarget(Path path, Configuration configuration) {
+        if (!(path instanceof CompiledPath) || !path.isRootPath()) {
+            return null;
+        }
+        RootPathToken root = ((CompiledPath) path).root();
+        if (root.isLeaf() || !(root.next() instanceof ScanPathToken)) {
+            return null;
+        }
+        PathToken target = root.next().next();
+        if (!(target instanceof PropertyPathToken) || !((PropertyPathToken) target).singlePropertyCase()) {
+            return null;
+        }
+        if (target.isLeaf() && configuration.containsOption(Option.DEFAULT_PATH_LEAF_TO_NULL)) {
+            // the scan then visits objects that do not have the property
+            return null;
+        }
+        return (PropertyPathToken) target;
+    }
+
+    private Entries entries(JsonProvider jsonProvider) {
+        Entries current = entries;
+        if (current == null || current.jsonProvider != jsonProvider) {
+            current = new Entries(jsonProvider);
+            current.walk(EvaluationPath.root("$"), document);
+            entries = current;
+        }
+        return current;
+    }
+
+    private static final class Hit {
+        private final EvaluationPath path;
+        private final Object model;
+
+        private Hit(EvaluationPath path, Object model) {
+            this.path = path;
+            this.model = model;
+        }
+    }
+
+    private static final class Entries {
+        private final JsonProvider jsonProvider;
+        private final Map<String, List<Hit>> hits = new HashMap<String, List<Hit>>();
+        private int depth;
+        private EvaluationPath deepest;
+
+        private Entries(JsonProvider jsonProvider) {
+            this.jsonProvider = jsonProvider;
+        }
+
+        private List<Hit> hits(String property) {
+            List<Hit> result = hits.get(property);
+            return result == null ? Collections.<Hit>emptyList() : result;
+        }
+
+        /**
+         * Walks the containers of the document in deep scan order, with an explicit stack so the depth of the
+         * document is not bound by the call stack.
+         */
+        private void walk(EvaluationPath path, Object model) {
+            List<Pending> stack = new ArrayList<Pending>();
+            push(stack, path, model, 0);
+            while (!stack.isEmpty()) {
+                Pending pending = stack.remove(stack.size() - 1);
+                Object current = pending.model;
+                if (pending.depth > depth) {
+                    depth = pending.depth;
+                    deepest = pending.path;
+                }
+                // children are pushed in reverse so they are popped in document order
+                if (jsonProvider.isMap(current)) {
+                    Hit hit = new Hit(pending.path, current);
+                    List<String> properties = new ArrayList<String>(jsonProvider.getPropertyKeys(current));
+                    for (String property : properties) {
+                        List<Hit> list = hits.get(property);
+                        if (list == null) {
+                            list = new ArrayList<Hit>();
+                            hits.put(property, list);
+                        }
+                        list.add(hit);
+                    }
+                    for (int i = properties.size() - 1; i >= 0; i--) {
+                        String property = properties.get(i);
+                        push(stack, pending.path.property(property), jsonProvider.getMapValue(current, property), pending.depth + 1);
+                    }
+                } else {
+                    for (int idx = jsonProvider.length(current) - 1; idx >= 0; idx--) {
+                        push(stack, pending.path.index(idx), jsonProvider.getArrayIndex(current, idx), pending.depth + 1);
+                    }
+                }
+            }
+        }
+
+        private void push(List<Pending> stack, EvaluationPath path, Object model, int depth) {
+            if (jsonProvider.isMap(model) || jsonProvider.isArray(model)) {
+                stack.add(new Pending(path, model, depth));
+            }
+        }
+    }
+
+    private static final class Pending {
+        private final EvaluationPath path;
+        private final Object model;
+        private final int depth;
+
+        private Pending(EvaluationPath path, Object model, int depth) {
+            this.path = path;
+            this.model = model;
+            this.depth = depth;
+        }
+    }
+}
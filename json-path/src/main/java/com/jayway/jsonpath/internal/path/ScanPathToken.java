@@ -14,11 +14,16 @@
  */
 package com.jayway.jsonpath.internal.path;
 
+import com.jayway.jsonpath.JsonPathException;
 import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.internal.EvaluationPath;
 import com.jayway.jsonpath.internal.PathRef;
 import com.jayway.jsonpath.spi.json.JsonProvider;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  *
@@ -29,61 +34,130 @@ public class ScanPathToken extends PathToken {
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(EvaluationPath currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
 
         PathToken pt = next();
+        Predicate predicate = createScanPredicate(pt, ctx);
 
-        walk(pt, currentPath, parent,  model, ctx, createScanPredicate(pt, ctx));
+        Level level = visit(pt, currentPath, parent, model, 0, ctx, predicate);
+        if (level != null) {
+            walk(pt, level, ctx, predicate);
+        }
     }
 
-    public static void walk(PathToken pt, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
-        if (ctx.jsonProvider().isMap(model)) {
-            walkObject(pt, currentPath, parent, model, ctx, predicate);
-        } else if (ctx.jsonProvider().isArray(model)) {
-            walkArray(pt, currentPath, parent, model, ctx, predicate);
+    /**
+     * Walks the children of a visited container and everything below them.
+     * <p>
+     * Containers are walked with an explicit stack rather than by recursion, the depth of the document is only
+     * bound by the configured maximum. Each level is visited before its children, as a deep scan always did, and
+     * reads its children lazily so the scan stops as soon as the evaluation is stopped.
+     */
+    private static void walk(PathToken pt, Level level, EvaluationContextImpl ctx, Predicate predicate) {
+        JsonProvider jsonProvider = ctx.jsonProvider();
+        int maxDepth = ctx.configuration().maxScanDepth();
+
+        List<Level> levels = new ArrayList<Level>();
+        levels.add(level);
+        while (!levels.isEmpty() && !ctx.isStopped()) {
+            Level top = levels.get(levels.size() - 1);
+            if (!top.children.hasNext()) {
+                levels.remove(levels.size() - 1);
+                continue;
+            }
+            Object child;
+            EvaluationPath childPath;
+            PathRef childRef;
+            if (top.object) {
+                String property = (String) top.children.next();
+                child = jsonProvider.getMapValue(top.model, property);
+                if (!isContainer(child, jsonProvider)) {
+                    continue;
+                }
+                childPath = top.path.property(property);
+                childRef = PathRef.create(top.model, property);
+            } else {
+                int idx = top.index++;
+                child = top.children.next();
+                if (!isContainer(child, jsonProvider)) {
+                    continue;
+                }
+                childPath = top.path.index(idx);
+                childRef = PathRef.create(top.model, idx);
+            }
+            if (top.depth == maxDepth) {
+                throw depthExceeded(maxDepth, childPath);
+            }
+            levels.add(visit(pt, childPath, childRef, child, top.depth + 1, ctx, predicate));
         }
     }
 
-    public static void walkArray(PathToken pt, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
-
-        if (predicate.matches(model)) {
-            if (pt.isLeaf()) {
+    /**
+     * Applies the scan target to a container if it matches.
+     *
+     * @return the level iterating the children of the container, or null if the model is not a container
+     */
+    private static Level visit(PathToken pt, EvaluationPath currentPath, PathRef parent, Object model, int depth, EvaluationContextImpl ctx, Predicate predicate) {
+        JsonProvider jsonProvider = ctx.jsonProvider();
+        if (jsonProvider.isMap(model)) {
+            if (predicate.matches(model)) {
                 pt.evaluate(currentPath, parent, model, ctx);
-            } else {
-                PathToken next = pt.next();
-                Iterable<?> models = ctx.jsonProvider().toIterable(model);
-                int idx = 0;
-                for (Object evalModel : models) {
-                    String evalPath = currentPath + "[" + idx + "]";
-                    next.evaluate(evalPath, parent, evalModel, ctx);
-                    idx++;
+            }
+            Collection<String> properties = jsonProvider.getPropertyKeys(model);
+            return children(pt, new Level(model, currentPath, depth, true, properties.iterator()), properties.size(), ctx);
+        } else if (jsonProvider.isArray(model)) {
+            if (predicate.matches(model)) {
+                if (pt.isLeaf()) {
+                    pt.evaluate(currentPath, parent, model, ctx);
+                } else {
+                    PathToken next = pt.next();
+                    int idx = 0;
+                    for (Object evalModel : jsonProvider.toIterable(model)) {
+                        if (ctx.isStopped()) {
+                            break;
+                        }
+                        next.evaluate(currentPath.index(idx), parent, evalModel, ctx);
+                        idx++;
+                    }
                 }
             }
+            Iterator<?> elements = jsonProvider.toIterable(model).iterator();
+            return children(pt, new Level(model, currentPath, depth, false, elements), jsonProvider.length(model), ctx);
         }
+        return null;
+    }
 
-        Iterable<?> models = ctx.jsonProvider().toIterable(model);
-        int idx = 0;
-        for (Object evalModel : models) {
-            String evalPath = currentPath + "[" + idx + "]";
-            walk(pt, evalPath, PathRef.create(model, idx), evalModel, ctx, predicate);
-            idx++;
+    /**
+     * Walks the children of a large container in parallel, each chunk of children being walked like the children
+     * of a container of its own.
+     *
+     * @return the level to walk the children of the container with, it has no children left if they have been
+     * walked in parallel
+     */
+    private static Level children(final PathToken pt, final Level level, int size, EvaluationContextImpl ctx) {
+        if (!ctx.isParallel(size)) {
+            return level;
         }
+        final List<Object> children = new ArrayList<Object>(size);
+        while (level.children.hasNext()) {
+            children.add(level.children.next());
+        }
+        ctx.evaluateInParallel(children.size(), new EvaluationContextImpl.Chunk() {
+            @Override
+            public void evaluate(int from, int to, EvaluationContextImpl ctx) {
+                Level chunk = new Level(level.model, level.path, level.depth, level.object, children.subList(from, to).iterator());
+                chunk.index = from;
+                walk(pt, chunk, ctx, createScanPredicate(pt, ctx));
+            }
+        });
+        return level;
     }
 
-    public static void walkObject(PathToken pt, String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx, Predicate predicate) {
-
-        if (predicate.matches(model)) {
-            pt.evaluate(currentPath, parent, model, ctx);
-        }
-        Collection<String> properties = ctx.jsonProvider().getPropertyKeys(model);
+    private static boolean isContainer(Object model, JsonProvider jsonProvider) {
+        return jsonProvider.isMap(model) || jsonProvider.isArray(model);
+    }
 
-        for (String property : properties) {
-            String evalPath = currentPath + "['" + property + "']";
-            Object propertyModel = ctx.jsonProvider().getMapValue(model, property);
-            if (propertyModel != JsonProvider.UNDEFINED) {
-                walk(pt, evalPath, PathRef.create(model, property), propertyModel, ctx, predicate);
-            }
-        }
+    static JsonPathException depthExceeded(int maxDepth, Object path) {
+        return new JsonPathException(String.format("Deep scan exceeded the maximum depth of %d at %s", maxDepth, path));
     }
 
     private static Predicate createScanPredicate(final PathToken target, final EvaluationContextImpl ctx) {
@@ -111,6 +185,23 @@ public class ScanPathToken extends PathToken {
         return "..";
     }
 
+    private static final class Level {
+        private final Object model;
+        private final EvaluationPath path;
+        private final int depth;
+        private final boolean object;
+        private final Iterator<?> children;
+        private int index;
+
+        private Level(Object model, EvaluationPath path, int depth, boolean object, Iterator<?> children) {
+            this.model = model;
+            this.path = path;
+            this.depth = depth;
+            this.object = object;
+            this.children = children;
+        }
+    }
+
     private interface Predicate {
         boolean matches(Object model);
     }
@@ -0,0 +1,677 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.EvaluationPath;
+import com.jayway.jsonpath.internal.JsonTokenizer;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.PathRef;
+import com.jayway.jsonpath.internal.filter.FilterCompiler;
+import com.jayway.jsonpath.spi.json.GsonJsonProvider;
+import com.jayway.jsonpath.spi.json.JacksonJsonNodeJsonProvider;
+import com.jayway.jsonpath.spi.json.JacksonJsonProvider;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Evaluates a path while the document is read by a {@link JsonTokenizer}, without building the document.
+ * <p>
+ * Every value of the document is read with the states of the path that apply to it: the token to evaluate next,
+ * or the fact that the value is a result. Containers that only property names, indexes, wildcards, filters on
+ * their elements and deep scans apply to are streamed, their children being read with the states derived from
+ * these tokens, and children no state applies to are skipped without being parsed. Any other value the path
+ * reaches, results included, is parsed on its own by the json provider and the remaining tokens are evaluated
+ * on it as they would be on the whole document.
+ * <p>
+ * Each state carries the position of its branch in the evaluation of the whole document, results are sorted by
+ * it so results, paths and exceptions are those of evaluating the parsed document. Only paths whose filters do
+ * not read the root document can be streamed, see {@link #supports(Path, Configuration)}.
+ * <p>
+ * Streamed containers are read recursively, the depth of the document is therefore bound by the call stack
+ * along the branches the path follows.
+ */
+public final class StreamingEvaluator {
+
+    // the value is a result
+    private static final int RESULT = 0;
+    // the token applies to the value
+    private static final int TOKEN = 1;
+    // the value is an element of an array the filter token applies to
+    private static final int CANDIDATE = 2;
+    // the token applies to every element of the value, as a deep scan does with array targets
+    private static final int EACH = 3;
+
+    // how a value is reached, it is read back from its parsed text the same way the document would read it
+    private static final int ROOT = 0;
+    private static final int PROPERTY = 1;
+    private static final int ELEMENT = 2;
+
+    private static final int[] NO_KEY = new int[0];
+
+    private static final Comparator<Result> BY_KEY = new Comparator<Result>() {
+        @Override
+        public int compare(Result a, Result b) {
+            return compareKeys(a.key, b.key);
+        }
+    };
+
+    private final CompiledPath path;
+    private final Configuration configuration;
+    private final JsonProvider jsonProvider;
+    private final JsonTokenizer tokenizer;
+    private final boolean leafToNull;
+    private final boolean definite;
+    private final Object root = JsonProvider.UNDEFINED;
+
+    private final StringBuilder text = new StringBuilder();
+    private final List<Result> results = new ArrayList<Result>();
+    // the exception of the first branch that failed, and the position it failed at
+    private RuntimeException failure;
+    private int[] failureKey;
+    // set once the outcome of a definite path is known, the rest of the document is not read
+    private boolean done;
+
+    private StreamingEvaluator(CompiledPath path, JsonTokenizer tokenizer, Configuration configuration) {
+        this.path = path;
+        this.configuration = configuration;
+        this.jsonProvider = configuration.jsonProvider();
+        this.tokenizer = tokenizer;
+        this.leafToNull = configuration.containsOption(Option.DEFAULT_PATH_LEAF_TO_NULL);
+        this.definite = path.isDefinite();
+    }
+
+    /**
+     * Tells whether a path can be evaluated while reading a document with a configuration. This requires:
+     * <ul>
+     * <li>a provider whose parsed documents are read like the values it parses on their own: json-smart,
+     * Jackson and Gson</li>
+     * <li>a path from the root without functions, whose filters do not read the root document</li>
+     * <li>no {@link Option#REQUIRE_PROPERTIES}, and no maximum depth when the path has deep scans</li>
+     * </ul>
+     *
+     * @param path the path to evaluate
+     * @param configuration the configuration to evaluate it with
+     * @return true if {@link #evaluate(Path, Reader, Configuration)} supports the path
+     */
+    public static boolean supports(Path path, Configuration configuration) {
+        if (!(path instanceof CompiledPath) || !path.isRootPath() || path.isFunctionPath()) {
+            return false;
+        }
+        Class<?> provider = configuration.jsonProvider().getClass();
+        if (provider != JsonSmartJsonProvider.class && provider != JacksonJsonProvider.class
+                && provider != JacksonJsonNodeJsonProvider.class && provider != GsonJsonProvider.class) {
+            return false;
+        }
+        if (configuration.containsOption(Option.REQUIRE_PROPERTIES)) {
+            return false;
+        }
+        boolean scans = false;
+        PathToken token = ((CompiledPath) path).root();
+        while (true) {
+            if (token instanceof ScanPathToken) {
+                scans = true;
+            } else if (token instanceof PredicatePathToken) {
+                for (Predicate predicate : ((PredicatePathToken) token).predicates()) {
+                    if (FilterCompiler.mayReadRoot(predicate)) {
+                        return false;
+                    }
+                }
+            } else if (!(token instanceof RootPathToken || token instanceof PropertyPathToken
+                    || token instanceof ArrayPathToken || token instanceof WildcardPathToken)) {
+                return false;
+            }
+            if (token.isLeaf()) {
+                break;
+            }
+            token = token.next();
+        }
+        return !scans || configuration.maxScanDepth() == Integer.MAX_VALUE;
+    }
+
+    /**
+     * Evaluates a path while reading a document.
+     *
+     * @param path the path to evaluate, it must be {@link #supports(Path, Configuration) supported}
+     * @param json the document to read, it is not closed. It is read to its end, or for a definite path until
+     * the value of the path, or the missing property or index it fails on, has been read
+     * @param configuration the configuration to use
+     * @return the evaluation, its root document is a placeholder. If the evaluation failed, reading its value
+     * or paths throws the exception evaluating the parsed document would have thrown.
+     * @throws InvalidJsonException if the part of the document read is not valid json
+     */
+    public static EvaluationContext evaluate(Path path, Reader json, Configuration configuration) {
+        return evaluate(path, new JsonTokenizer(json), configuration);
+    }
+
+    /**
+     * Evaluates a path while reading a document from a tokenizer.
+     *
+     * @see #evaluate(Path, Reader, Configuration)
+     */
+    public static EvaluationContext evaluate(Path path, JsonTokenizer json, Configuration configuration) {
+        return new StreamingEvaluator((CompiledPath) path, json, configuration).run();
+    }
+
+    /**
+     * @return true if the document read by the tokenizer is an object or an array, that paths are evaluated on
+     * while it is read. Other documents are single values, read them with {@link #parse(JsonTokenizer, Configuration)}.
+     */
+    public static boolean streams(JsonTokenizer json) {
+        int type = json.peek();
+        return type == JsonTokenizer.BEGIN_OBJECT || type == JsonTokenizer.BEGIN_ARRAY;
+    }
+
+    /**
+     * Parses the document read by a tokenizer with the json provider.
+     *
+     * @throws InvalidJsonException if the document is not valid json
+     */
+    public static Object parse(JsonTokenizer json, Configuration configuration) {
+        StringBuilder text = new StringBuilder();
+        json.copyValue(text);
+        json.endDocument();
+        return parse(configuration.jsonProvider(), text.toString());
+    }
+
+    private EvaluationContext run() {
+        RootPathToken rootToken = path.root();
+        List<State> states = new ArrayList<State>(1);
+        if (rootToken.isLeaf()) {
+            states.add(new State(RESULT, null, NO_KEY, false));
+        } else {
+            states.add(new State(TOKEN, rootToken.next(), NO_KEY, false));
+        }
+        value(states, EvaluationPath.root(rootToken.getPathFragment()), ROOT);
+        if (!done) {
+            tokenizer.endDocument();
+        }
+
+        Collections.sort(results, BY_KEY);
+        EvaluationContextImpl ctx = new EvaluationContextImpl(path, root, configuration, false);
+        for (int i = 0; i < results.size() && !ctx.isStopped(); i++) {
+            Result result = results.get(i);
+            if (failure != null && compareKeys(result.key, failureKey) > 0) {
+                break;
+            }
+            ctx.addResult(result.path, PathRef.NO_OP, result.value);
+        }
+        // a listener aborting before the failure stops the evaluation of the document before it fails
+        if (failure != null && !ctx.isStopped()) {
+            return new Failure(failure, configuration);
+        }
+        return ctx;
+    }
+
+    private void value(List<State> states, EvaluationPath currentPath, int reached) {
+        int type = tokenizer.peek();
+        if (states.isEmpty()) {
+            tokenizer.skipValue();
+            return;
+        }
+        if (type == JsonTokenizer.BEGIN_OBJECT || type == JsonTokenizer.BEGIN_ARRAY) {
+            boolean object = type == JsonTokenizer.BEGIN_OBJECT;
+            List<State> plan = plan(states, object);
+            if (plan != null) {
+                if (object) {
+                    streamObject(plan, currentPath);
+                } else {
+                    streamArray(plan, currentPath);
+                }
+                return;
+            }
+        } else if (inert(states)) {
+            tokenizer.skipValue();
+            return;
+        }
+        Object parsed = parse(reached);
+        for (State state : states) {
+            evaluate(state, currentPath, reached, parsed);
+        }
+    }
+
+    /**
+     * @return the states to stream a container with, or null if the container must be parsed
+     */
+    private static List<State> plan(List<State> states, boolean object) {
+        List<State> plan = new ArrayList<State>(states.size() + 1);
+        for (State state : states) {
+            if (state.kind != TOKEN) {
+                return null;
+            }
+            PathToken token = state.token;
+            if (token instanceof ScanPathToken) {
+                // the scan target applies to the container itself before the scan goes on with the children
+                PathToken target = token.next();
+                if (target instanceof PredicatePathToken) {
+                    return null;
+                }
+                if (object && target instanceof PropertyPathToken) {
+                    if (((PropertyPathToken) target).multiPropertyMergeCase()) {
+                        return null;
+                    }
+                    plan.add(state.derive(TOKEN, target, 0, false));
+                } else if (object && target instanceof WildcardPathToken) {
+                    plan.add(state.derive(TOKEN, target, 0, false));
+                } else if (!object && (target instanceof ArrayPathToken || target instanceof WildcardPathToken)) {
+                    if (!target.isLeaf()) {
+                        plan.add(state.derive(EACH, target.next(), 0, true));
+                    } else if (streams(target, false)) {
+                        plan.add(state.derive(TOKEN, target, 0, false));
+                    } else {
+                        return null;
+                    }
+                }
+                plan.add(state);
+            } else if (streams(token, object)) {
+                plan.add(state);
+            } else if (token.isUpstreamDefinite()
+                    || !(object ? token instanceof ArrayPathToken : token instanceof PropertyPathToken)) {
+                return null;
+            }
+            // otherwise an index of an object or a property of an array, ignored on indefinite paths
+        }
+        return plan;
+    }
+
+    private static boolean streams(PathToken token, boolean object) {
+        if (token instanceof WildcardPathToken) {
+            return true;
+        } else if (object) {
+            return token instanceof PropertyPathToken && !((PropertyPathToken) token).multiPropertyMergeCase();
+        } else if (token instanceof PredicatePathToken) {
+            return true;
+        } else if (token instanceof ArrayPathToken) {
+            // negative indexes count from the end of the array, which is not known until it has been read
+            ArrayIndexOperation indexes = ((ArrayPathToken) token).indexOperation();
+            if (indexes != null) {
+                for (Integer index : indexes.indexes()) {
+                    if (index < 0) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+            ArraySliceOperation slice = ((ArrayPathToken) token).sliceOperation();
+            return (slice.from() == null || slice.from() >= 0) && (slice.to() == null || slice.to() >= 0);
+        }
+        return false;
+    }
+
+    /**
+     * @return true if none of the states selects anything from a primitive value
+     */
+    private static boolean inert(List<State> states) {
+        for (State state : states) {
+            PathToken token = state.token;
+            if (state.kind != TOKEN) {
+                return false;
+            }
+            if (token instanceof ScanPathToken || token instanceof WildcardPathToken) {
+                continue;
+            }
+            if (token.isUpstreamDefinite()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void streamObject(List<State> plan, EvaluationPath currentPath) {
+        tokenizer.beginObject();
+        boolean[] found = new boolean[plan.size()];
+        int n = 0;
+        while (!done && tokenizer.hasNext()) {
+            String property = tokenizer.nextName();
+            List<State> next = new ArrayList<State>(2);
+            for (int i = 0; i < plan.size(); i++) {
+                State state = plan.get(i);
+                PathToken token = state.token;
+                if (token instanceof PropertyPathToken) {
+                    List<String> properties = ((PropertyPathToken) token).getProperties();
+                    for (int p = 0; p < properties.size(); p++) {
+                        if (properties.get(p).equals(property)) {
+                            next.add(state.step(p, false));
+                            found[i] = true;
+                        }
+                    }
+                } else if (token instanceof WildcardPathToken) {
+                    next.add(state.step(n, false));
+                } else {
+                    next.add(state.derive(TOKEN, token, 1 + n, false));
+                }
+            }
+            if (next.isEmpty()) {
+                tokenizer.skipValue();
+            } else {
+                value(next, currentPath.property(property), PROPERTY);
+            }
+            n++;
+        }
+        if (done) {
+            return;
+        }
+        tokenizer.endObject();
+
+        for (int i = 0; i < plan.size(); i++) {
+            State state = plan.get(i);
+            if (!found[i] && state.token instanceof PropertyPathToken && ((PropertyPathToken) state.token).singlePropertyCase()) {
+                missing(state, currentPath);
+            }
+        }
+    }
+
+    private void streamArray(List<State> plan, EvaluationPath currentPath) {
+        tokenizer.beginArray();
+        int length = 0;
+        while (!done && tokenizer.hasNext()) {
+            int idx = length++;
+            List<State> next = new ArrayList<State>(2);
+            for (State state : plan) {
+                PathToken token = state.token;
+                if (state.kind == EACH) {
+                    next.add(state.derive(TOKEN, token, idx, true));
+                } else if (token instanceof WildcardPathToken) {
+                    next.add(state.step(idx, false));
+                } else if (token instanceof PredicatePathToken) {
+                    next.add(state.derive(CANDIDATE, token, idx, false));
+                } else if (token instanceof ScanPathToken) {
+                    next.add(state.derive(TOKEN, token, 1 + idx, false));
+                } else {
+                    ArrayPathToken array = (ArrayPathToken) token;
+                    if (array.indexOperation() != null) {
+                        List<Integer> indexes = array.indexOperation().indexes();
+                        for (int i = 0; i < indexes.size(); i++) {
+                            if (indexes.get(i) == idx) {
+                                next.add(state.step(i, false));
+                            }
+                        }
+                    } else if (inSlice(array.sliceOperation(), idx)) {
+                        next.add(state.step(idx, false));
+                    }
+                }
+            }
+            if (next.isEmpty()) {
+                tokenizer.skipValue();
+            } else {
+                value(next, currentPath.index(idx), ELEMENT);
+            }
+        }
+        if (done) {
+            return;
+        }
+        tokenizer.endArray();
+
+        for (State state : plan) {
+            if (state.kind == TOKEN && state.token instanceof ArrayPathToken) {
+                ArrayIndexOperation operation = ((ArrayPathToken) state.token).indexOperation();
+                if (operation != null) {
+                    List<Integer> indexes = operation.indexes();
+                    for (int i = 0; i < indexes.size(); i++) {
+                        if (indexes.get(i) >= length) {
+                            outOfBounds(state, i, indexes.get(i), currentPath);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean inSlice(ArraySliceOperation slice, int idx) {
+        switch (slice.operation()) {
+            case SLICE_FROM:
+                return idx >= slice.from();
+            case SLICE_TO:
+                return idx < slice.to();
+            default:
+                return idx >= slice.from() && idx < slice.to();
+        }
+    }
+
+    /**
+     * Evaluates a single property token on an object that does not have the property, as the document does.
+     */
+    private void missing(State state, EvaluationPath currentPath) {
+        if (!state.token.isUpstreamDefinite() && !(state.token.isLeaf() && leafToNull)) {
+            // the token ignores missing properties
+            return;
+        }
+        EvaluationContextImpl ctx = EvaluationContextImpl.collecting(path, root, configuration);
+        try {
+            state.token.evaluate(currentPath, PathRef.NO_OP, jsonProvider.createMap(), ctx);
+        } catch (RuntimeException e) {
+            fail(e, state.key, ctx);
+        }
+        collect(state.key, ctx);
+    }
+
+    /**
+     * Evaluates the index at position <code>i</code> of an index token past the end of an array, as the
+     * document does. Most providers fail to read it and the index is ignored.
+     */
+    private void outOfBounds(State state, int i, int index, EvaluationPath currentPath) {
+        int[] key = append(state.key, i);
+        EvaluationContextImpl ctx = EvaluationContextImpl.collecting(path, root, configuration);
+        try {
+            Object hit;
+            try {
+                hit = jsonProvider.getArrayIndex(jsonProvider.createArray(), 0);
+            } catch (IndexOutOfBoundsException e) {
+                done = definite;
+                return;
+            }
+            if (state.token.isLeaf()) {
+                ctx.addResult(currentPath.index(index), PathRef.NO_OP, hit);
+            } else {
+                state.token.next().evaluate(currentPath.index(index), PathRef.NO_OP, hit, ctx);
+            }
+        } catch (RuntimeException e) {
+            fail(e, key, ctx);
+        }
+        collect(key, ctx);
+    }
+
+    /**
+     * Evaluates a state on a value that has been parsed.
+     */
+    private void evaluate(State state, EvaluationPath currentPath, int reached, Object parsed) {
+        EvaluationContextImpl ctx = EvaluationContextImpl.collecting(path, root, configuration);
+        try {
+            Object model = reached == ELEMENT ? element(parsed, state.iterated) : parsed;
+            if (state.kind == RESULT) {
+                ctx.addResult(currentPath, PathRef.NO_OP, model);
+            } else if (state.kind == TOKEN) {
+                state.token.evaluate(currentPath, PathRef.NO_OP, model, ctx);
+            } else {
+                PredicatePathToken filter = (PredicatePathToken) state.token;
+                if (filter.accept(element(parsed, true), root, configuration, ctx)) {
+                    if (filter.isLeaf()) {
+                        ctx.addResult(currentPath, PathRef.NO_OP, model);
+                    } else {
+                        filter.next().evaluate(currentPath, PathRef.NO_OP, model, ctx);
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            fail(e, state.key, ctx);
+        }
+        collect(state.key, ctx);
+    }
+
+    /**
+     * Records the exception of a branch, the document fails with the exception of the first branch that fails.
+     */
+    private void fail(RuntimeException e, int[] key, EvaluationContextImpl ctx) {
+        // the results the branch found before failing come first
+        int[] at = append(key, ctx.resultCount());
+        if (failure == null || compareKeys(at, failureKey) < 0) {
+            failure = e;
+            failureKey = at;
+        }
+    }
+
+    private void collect(int[] key, EvaluationContextImpl ctx) {
+        for (int i = 0; i < ctx.resultCount(); i++) {
+            results.add(new Result(append(key, i), ctx.resultPath(i), ctx.resultValue(i)));
+        }
+        // a definite path has a single branch, the first one evaluated is the outcome of the evaluation
+        done = definite;
+    }
+
+    /**
+     * Parses the next value. Properties and elements are parsed within an object or an array of their own and
+     * read back from it, so providers that wrap or unwrap values do so as with the whole document.
+     *
+     * @return the value, or for an element the array holding it
+     */
+    private Object parse(int reached) {
+        text.setLength(0);
+        if (reached == ROOT) {
+            tokenizer.copyValue(text);
+            return parse(jsonProvider, text.toString());
+        } else if (reached == PROPERTY) {
+            text.append("{\"\":");
+            tokenizer.copyValue(text);
+            return jsonProvider.getMapValue(parse(jsonProvider, text.append('}').toString()), "");
+        } else {
+            text.append('[');
+            tokenizer.copyValue(text);
+            return parse(jsonProvider, text.append(']').toString());
+        }
+    }
+
+    private static Object parse(JsonProvider jsonProvider, String json) {
+        try {
+            return jsonProvider.parse(json);
+        } catch (JsonPathException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            // Gson reports malformed json with exceptions of its own
+            throw new InvalidJsonException(e, json);
+        }
+    }
+
+    /**
+     * @param iterated true for the element as iterating the array reads it, false for the element as reading
+     * its index does
+     */
+    private Object element(Object array, boolean iterated) {
+        return iterated ? jsonProvider.toIterable(array).iterator().next() : jsonProvider.getArrayIndex(array, 0);
+    }
+
+    private static int compareKeys(int[] a, int[] b) {
+        int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; i++) {
+            if (a[i] != b[i]) {
+                return a[i] < b[i] ? -1 : 1;
+            }
+        }
+        return a.length - b.length;
+    }
+
+    private static int[] append(int[] key, int branch) {
+        int[] appended = new int[key.length + 1];
+        System.arraycopy(key, 0, appended, 0, key.length);
+        appended[key.length] = branch;
+        return appended;
+    }
+
+    private static final class State {
+        private final int kind;
+        private final PathToken token;
+        // the position of the branch of the state among all branches of the evaluation
+        private final int[] key;
+        // whether the value of the state is an element read by iterating its array
+        private final boolean iterated;
+
+        private State(int kind, PathToken token, int[] key, boolean iterated) {
+            this.kind = kind;
+            this.token = token;
+            this.key = key;
+            this.iterated = iterated;
+        }
+
+        private State derive(int kind, PathToken token, int branch, boolean iterated) {
+            return new State(kind, token, append(key, branch), iterated);
+        }
+
+        /**
+         * @return the state following the token of this state on one of the values it selects
+         */
+        private State step(int branch, boolean iterated) {
+            return token.isLeaf()
+                    ? derive(RESULT, null, branch, iterated)
+                    : derive(TOKEN, token.next(), branch, iterated);
+        }
+    }
+
+    private static final class Result {
+        private final int[] key;
+        private final EvaluationPath path;
+        private final Object value;
+
+        private Result(int[] key, EvaluationPath path, Object value) {
+            this.key = key;
+            this.path = path;
+            this.value = value;
+        }
+    }
+
+    /**
+     * The outcome of an evaluation that failed, the exception is thrown when the outcome is read.
+     */
+    private static final class Failure implements EvaluationContext {
+        private final RuntimeException exception;
+        private final Configuration configuration;
+
+        private Failure(RuntimeException exception, Configuration configuration) {
+            this.exception = exception;
+            this.configuration = configuration;
+        }
+
+        @Override
+        public Configuration configuration() {
+            return configuration;
+        }
+
+        @Override
+        public Object rootDocument() {
+            return JsonProvider.UNDEFINED;
+        }
+
+        @Override
+        public <T> T getValue() {
+            throw exception;
+        }
+
+        @Override
+        public <T> T getValue(boolean unwrap) {
+            throw exception;
+        }
+
+        @Override
+        public <T> T getPath() {
+            throw exception;
+        }
+
+        @Override
+        public List<String> getPathList() {
+            throw exception;
+        }
+
+        @Override
+        public Collection<PathRef> updateOperations() {
+            throw exception;
+        }
+    }
+}
@@ -16,8 +16,13 @@ package com.jayway.jsonpath.internal.path;
 
 import com.jayway.jsonpath.Option;
 import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.internal.EvaluationPath;
 import com.jayway.jsonpath.internal.PathRef;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 import static java.util.Arrays.asList;
 
 /**
@@ -29,20 +34,52 @@ public class WildcardPathToken extends PathToken {
     }
 
     @Override
-    public void evaluate(String currentPath, PathRef parent, Object model, EvaluationContextImpl ctx) {
+    public void evaluate(final EvaluationPath currentPath, PathRef parent, final Object model, EvaluationContextImpl ctx) {
         if (ctx.jsonProvider().isMap(model)) {
-            for (String property : ctx.jsonProvider().getPropertyKeys(model)) {
+            Collection<String> properties = ctx.jsonProvider().getPropertyKeys(model);
+            if (ctx.isParallel(properties.size())) {
+                final List<String> keys = new ArrayList<String>(properties);
+                ctx.evaluateInParallel(keys.size(), new EvaluationContextImpl.Chunk() {
+                    @Override
+                    public void evaluate(int from, int to, EvaluationContextImpl ctx) {
+                        for (int i = from; i < to; i++) {
+                            handleObjectProperty(currentPath, model, ctx, asList(keys.get(i)));
+                        }
+                    }
+                });
+                return;
+            }
+            for (String property : properties) {
+                if (ctx.isStopped()) {
+                    return;
+                }
                 handleObjectProperty(currentPath, model, ctx, asList(property));
             }
         } else if (ctx.jsonProvider().isArray(model)) {
-            for (int idx = 0; idx < ctx.jsonProvider().length(model); idx++) {
-                try {
-                    handleArrayIndex(idx, currentPath, model, ctx);
-                } catch (PathNotFoundException p){
-                    if(ctx.options().contains(Option.REQUIRE_PROPERTIES)){
-                        throw p;
+            int length = ctx.jsonProvider().length(model);
+            if (ctx.isParallel(length)) {
+                ctx.evaluateInParallel(length, new EvaluationContextImpl.Chunk() {
+                    @Override
+                    public void evaluate(int from, int to, EvaluationContextImpl ctx) {
+                        for (int idx = from; idx < to; idx++) {
+                            handleArrayElement(idx, currentPath, model, ctx);
+                        }
                     }
-                }
+                });
+                return;
+            }
+            for (int idx = 0; idx < length && !ctx.isStopped(); idx++) {
+                handleArrayElement(idx, currentPath, model, ctx);
+            }
+        }
+    }
+
+    private void handleArrayElement(int idx, EvaluationPath currentPath, Object model, EvaluationContextImpl ctx) {
+        try {
+            handleArrayIndex(idx, currentPath, model, ctx);
+        } catch (PathNotFoundException p){
+            if(ctx.options().contains(Option.REQUIRE_PROPERTIES)){
+                throw p;
             }
         }
     }
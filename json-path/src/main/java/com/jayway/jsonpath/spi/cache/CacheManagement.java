@@ -0,0 +1,121 @@
+package com.jayway.jsonpath.spi.cache;
+
+import com.jayway.jsonpath.JsonPathException;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Exposes the path cache configured in {@link CacheProvider} as a {@link PathCacheMXBean}. Registration is opt in:
+ *
+ * <pre>
+ * CacheManagement.register();
+ * </pre>
+ *
+ * The cache must implement {@link ManagedCache}, which the default cache does.
+ */
+public class CacheManagement implements PathCacheMXBean {
+
+    public static final String OBJECT_NAME = "com.jayway.jsonpath:type=PathCache";
+
+    private final ManagedCache cache;
+
+    public CacheManagement(ManagedCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Registers the cache returned by {@link CacheProvider#getCache()} with the platform MBean server under
+     * {@link #OBJECT_NAME}, replacing any earlier registration.
+     */
+    public static void register() {
+        Cache cache = CacheProvider.getCache();
+        if (!(cache instanceof ManagedCache)) {
+            throw new JsonPathException("Cache " + cache.getClass().getName() + " does not implement " + ManagedCache.class.getName());
+        }
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            try {
+                server.registerMBean(new CacheManagement((ManagedCache) cache), name);
+            } catch (InstanceAlreadyExistsException e) {
+                server.unregisterMBean(name);
+                server.registerMBean(new CacheManagement((ManagedCache) cache), name);
+            }
+        } catch (Exception e) {
+            throw new JsonPathException("Failed to register path cache MBean", e);
+        }
+    }
+
+    /**
+     * Removes the registration made by {@link #register()}, if any.
+     */
+    public static void unregister() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.unregisterMBean(new ObjectName(OBJECT_NAME));
+        } catch (InstanceNotFoundException e) {
+            // not registered
+        } catch (Exception e) {
+            throw new JsonPathException("Failed to unregister path cache MBean", e);
+        }
+    }
+
+    @Override
+    public long getHitCount() {
+        return cache.stats().hitCount();
+    }
+
+    @Override
+    public long getMissCount() {
+        return cache.stats().missCount();
+    }
+
+    @Override
+    public double getHitRate() {
+        return cache.stats().hitRate();
+    }
+
+    @Override
+    public long getEvictionCount() {
+        return cache.stats().evictionCount();
+    }
+
+    @Override
+    public long getLoadCount() {
+        return cache.stats().loadCount();
+    }
+
+    @Override
+    public long getTotalLoadTime() {
+        return cache.stats().totalLoadTime();
+    }
+
+    @Override
+    public double getAverageLoadPenalty() {
+        return cache.stats().averageLoadPenalty();
+    }
+
+    @Override
+    public int getSize() {
+        return cache.size();
+    }
+
+    @Override
+    public int getLimit() {
+        return cache.limit();
+    }
+
+    @Override
+    public void setLimit(int limit) {
+        cache.resize(limit);
+    }
+
+    @Override
+    public void clear() {
+        cache.clear();
+    }
+}
@@ -4,8 +4,11 @@ import com.jayway.jsonpath.JsonPathException;
 
 import static com.jayway.jsonpath.internal.Utils.notNull;
 
+/**
+ * Holds the global path cache, used by every {@link com.jayway.jsonpath.Configuration} that has no cache of its own.
+ */
 public class CacheProvider {
-    private static Cache cache;
+    private static volatile Cache cache;
     private static boolean cachingEnabled;
 
     public static void setCache(Cache cache){
@@ -21,19 +24,21 @@ public class CacheProvider {
     }
 
     public static Cache getCache() {
-        if(CacheProvider.cache == null){
-            synchronized (CacheProvider.class){
-                if(CacheProvider.cache == null){
-                    CacheProvider.cache = getDefaultCache();
-                }
+        Cache current = CacheProvider.cache;
+        if(current != null){
+            return current;
+        }
+        synchronized (CacheProvider.class){
+            if(CacheProvider.cache == null){
+                CacheProvider.cache = getDefaultCache();
             }
+            return CacheProvider.cache;
         }
-        return CacheProvider.cache;
     }
 
 
     private static Cache getDefaultCache(){
-        return new LRUCache(400);
+        return new ConcurrentLRUCache(400);
         //return new NOOPCache();
     }
 }
\ No newline at end of file
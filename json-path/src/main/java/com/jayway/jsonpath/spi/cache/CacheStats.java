@@ -0,0 +1,124 @@
+package com.jayway.jsonpath.spi.cache;
+
+/**
+ * Immutable snapshot of the statistics of a {@link ManagedCache}.
+ */
+public final class CacheStats {
+
+    private final long hitCount;
+    private final long missCount;
+    private final long evictionCount;
+    private final long loadCount;
+    private final long totalLoadTime;
+
+    public CacheStats(long hitCount, long missCount, long evictionCount, long loadCount, long totalLoadTime) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.loadCount = loadCount;
+        this.totalLoadTime = totalLoadTime;
+    }
+
+    /**
+     * @return number of lookups that found a cached path
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * @return number of lookups that did not find a cached path
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * @return number of lookups
+     */
+    public long requestCount() {
+        return hitCount + missCount;
+    }
+
+    /**
+     * @return ratio of lookups that found a cached path, 1.0 if there have been no lookups
+     */
+    public double hitRate() {
+        long requests = requestCount();
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+
+    /**
+     * @return number of entries evicted to make room for new ones
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * @return number of paths compiled because of a cache miss
+     */
+    public long loadCount() {
+        return loadCount;
+    }
+
+    /**
+     * @return total time in nanoseconds spent compiling paths because of a cache miss
+     */
+    public long totalLoadTime() {
+        return totalLoadTime;
+    }
+
+    /**
+     * @return average time in nanoseconds spent compiling a path because of a cache miss
+     */
+    public double averageLoadPenalty() {
+        return loadCount == 0 ? 0.0 : (double) totalLoadTime / loadCount;
+    }
+
+    /**
+     * @param other stats to subtract
+     * @return the difference between this snapshot and an earlier one
+     */
+    public CacheStats minus(CacheStats other) {
+        return new CacheStats(
+                Math.max(0, hitCount - other.hitCount),
+                Math.max(0, missCount - other.missCount),
+                Math.max(0, evictionCount - other.evictionCount),
+                Math.max(0, loadCount - other.loadCount),
+                Math.max(0, totalLoadTime - other.totalLoadTime));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof CacheStats)) return false;
+        CacheStats that = (CacheStats) o;
+        return hitCount == that.hitCount
+                && missCount == that.missCount
+                && evictionCount == that.evictionCount
+                && loadCount == that.loadCount
+                && totalLoadTime == that.totalLoadTime;
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (hitCount ^ (hitCount >>> 32));
+        result = 31 * result + (int) (missCount ^ (missCount >>> 32));
+        result = 31 * result + (int) (evictionCount ^ (evictionCount >>> 32));
+        result = 31 * result + (int) (loadCount ^ (loadCount >>> 32));
+        result = 31 * result + (int) (totalLoadTime ^ (totalLoadTime >>> 32));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", loadCount=" + loadCount +
+                ", totalLoadTime=" + totalLoadTime +
+                '}';
+    }
+}
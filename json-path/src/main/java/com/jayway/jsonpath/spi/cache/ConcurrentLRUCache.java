@@ -0,0 +1,237 @@
+package com.jayway.jsonpath.spi.cache;
+
+import com.jayway.jsonpath.JsonPath;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static com.jayway.jsonpath.internal.Utils.notNull;
+
+/**
+ * A bounded cache with approximated LRU eviction that does not lock on cache hits.
+ * <p>
+ * A hit is a {@link ConcurrentHashMap} lookup followed by stamping the entry with the current tick of a clock
+ * advanced by every insert. The stamp is only written when the clock has moved since the entry was last hit, so
+ * threads hitting the same entries between inserts only read it and do not contend for its cache line. Eviction
+ * does not maintain a recency list, instead a handful of entries are sampled when the cache is full and the
+ * least recently used of the sample is evicted. Inserts and removals are serialized by a lock, all other
+ * operations are lock free and O(1).
+ * <p>
+ * As long as the cache holds no more entries than the sample size eviction is exact LRU.
+ * <p>
+ * Hits, misses, evictions and load times are recorded by a {@link StatsCounter}, by default a
+ * {@link StripedStatsCounter}.
+ */
+public class ConcurrentLRUCache implements ManagedCache {
+
+    private static final int SAMPLE_SIZE = 8;
+
+    private final ConcurrentMap<String, Entry> map;
+    private final StatsCounter statsCounter;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // advanced by two on every insert, under the lock: inserts stamp even ticks, hits the odd tick after the last
+    // insert so they rank after it
+    private volatile long clock;
+    // guarded by lock
+    private Entry[] slots;
+    private int count;
+    private int seed;
+
+    public ConcurrentLRUCache(int limit) {
+        this(limit, new StripedStatsCounter());
+    }
+
+    public ConcurrentLRUCache(int limit, StatsCounter statsCounter) {
+        checkLimit(limit);
+        notNull(statsCounter, "statsCounter can not be null");
+        this.map = new ConcurrentHashMap<String, Entry>(limit + (limit / 3) + 1);
+        this.statsCounter = statsCounter;
+        this.slots = new Entry[limit];
+        this.seed = System.identityHashCode(this) | 1;
+    }
+
+    @Override
+    public JsonPath get(String key) {
+        Entry entry = map.get(key);
+        if (entry == null) {
+            statsCounter.recordMiss();
+            return null;
+        }
+        long now = clock + 1;
+        if (entry.accessed != now) {
+            entry.accessed = now;
+        }
+        statsCounter.recordHit();
+        return entry.value;
+    }
+
+    @Override
+    public void put(String key, JsonPath value) {
+        lock.lock();
+        try {
+            clock += 2;
+            Entry entry = new Entry(key, value, clock);
+            Entry existing = map.get(key);
+            if (existing != null) {
+                entry.slot = existing.slot;
+            } else if (count < slots.length) {
+                entry.slot = count++;
+            } else {
+                Entry victim = sample();
+                map.remove(victim.key);
+                statsCounter.recordEviction();
+                entry.slot = victim.slot;
+            }
+            slots[entry.slot] = entry;
+            map.put(key, entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public JsonPath getSilent(String key) {
+        Entry entry = map.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    public void remove(String key) {
+        lock.lock();
+        try {
+            Entry entry = map.remove(key);
+            if (entry != null) {
+                Entry last = slots[--count];
+                last.slot = entry.slot;
+                slots[last.slot] = last;
+                slots[count] = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return statsCounter.snapshot();
+    }
+
+    @Override
+    public void recordLoad(long loadTime) {
+        statsCounter.recordLoad(loadTime);
+    }
+
+    @Override
+    public int limit() {
+        lock.lock();
+        try {
+            return slots.length;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void resize(int limit) {
+        checkLimit(limit);
+        lock.lock();
+        try {
+            while (count > limit) {
+                Entry victim = sample();
+                remove(victim.key);
+                statsCounter.recordEviction();
+            }
+            Entry[] resized = new Entry[limit];
+            System.arraycopy(slots, 0, resized, 0, count);
+            slots = resized;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear() {
+        lock.lock();
+        try {
+            map.clear();
+            Arrays.fill(slots, null);
+            count = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void checkLimit(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("Cache limit must be greater than zero");
+        }
+    }
+
+    /**
+     * Picks the least recently used entry among {@link #SAMPLE_SIZE} randomly chosen slots,
+     * or among all slots if there are no more than that.
+     */
+    private Entry sample() {
+        Entry victim = null;
+        if (count <= SAMPLE_SIZE) {
+            for (int i = 0; i < count; i++) {
+                victim = olderOf(victim, slots[i]);
+            }
+        } else {
+            for (int i = 0; i < SAMPLE_SIZE; i++) {
+                victim = olderOf(victim, slots[nextSlot()]);
+            }
+        }
+        return victim;
+    }
+
+    private static Entry olderOf(Entry current, Entry candidate) {
+        if (current == null || candidate.accessed - current.accessed < 0) {
+            return candidate;
+        }
+        return current;
+    }
+
+    private int nextSlot() {
+        // xorshift, good enough for sampling and cheap to compute under the lock
+        int x = seed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        seed = x;
+        return (x & Integer.MAX_VALUE) % count;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        boolean first = true;
+        for (Entry entry : map.values()) {
+            if (!first) {
+                sb.append(", ");
+            }
+            sb.append(entry.key).append('=').append(entry.value);
+            first = false;
+        }
+        return sb.append('}').toString();
+    }
+
+    private static final class Entry {
+        private final String key;
+        private final JsonPath value;
+        private volatile long accessed;
+        // guarded by lock
+        private int slot;
+
+        private Entry(String key, JsonPath value, long accessed) {
+            this.key = key;
+            this.value = value;
+            this.accessed = accessed;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.jayway.jsonpath.spi.cache;
+
+/**
+ * A {@link Cache} that keeps statistics and can be inspected and managed at runtime.
+ *
+ * @see CacheManagement
+ */
+public interface ManagedCache extends Cache {
+
+    /**
+     * @return a snapshot of the statistics of this cache
+     */
+    CacheStats stats();
+
+    /**
+     * Records the time it took to compile a path after a cache miss
+     * @param loadTime time in nanoseconds
+     */
+    void recordLoad(long loadTime);
+
+    /**
+     * @return number of entries currently in the cache
+     */
+    int size();
+
+    /**
+     * @return maximum number of entries in the cache
+     */
+    int limit();
+
+    /**
+     * Changes the maximum number of entries, evicting entries if the cache holds more than the new limit
+     * @param limit new limit, must be greater than zero
+     */
+    void resize(int limit);
+
+    /**
+     * Removes all entries from the cache. Statistics are not reset.
+     */
+    void clear();
+}
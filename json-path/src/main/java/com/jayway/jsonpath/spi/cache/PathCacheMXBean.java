@@ -0,0 +1,31 @@
+package com.jayway.jsonpath.spi.cache;
+
+/**
+ * JMX view of the path cache configured in {@link CacheProvider}.
+ *
+ * @see CacheManagement#register()
+ */
+public interface PathCacheMXBean {
+
+    long getHitCount();
+
+    long getMissCount();
+
+    double getHitRate();
+
+    long getEvictionCount();
+
+    long getLoadCount();
+
+    long getTotalLoadTime();
+
+    double getAverageLoadPenalty();
+
+    int getSize();
+
+    int getLimit();
+
+    void setLimit(int limit);
+
+    void clear();
+}
@@ -0,0 +1,36 @@
+package com.jayway.jsonpath.spi.cache;
+
+/**
+ * Records the statistics of a {@link ManagedCache}.
+ * <p>
+ * Provide your own implementation to a cache to push cache events into a metrics registry. Implementations
+ * are called from every thread reading through the cache and must be thread safe and cheap.
+ */
+public interface StatsCounter {
+
+    /**
+     * Records a lookup that found a cached path
+     */
+    void recordHit();
+
+    /**
+     * Records a lookup that did not find a cached path
+     */
+    void recordMiss();
+
+    /**
+     * Records the eviction of an entry to make room for a new one
+     */
+    void recordEviction();
+
+    /**
+     * Records the compilation of a path after a cache miss
+     * @param loadTime time in nanoseconds it took to compile the path
+     */
+    void recordLoad(long loadTime);
+
+    /**
+     * @return a snapshot of the statistics recorded so far
+     */
+    CacheStats snapshot();
+}
@@ -0,0 +1,78 @@
+package com.jayway.jsonpath.spi.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Default {@link StatsCounter}. Every statistic is kept in a number of stripes selected by thread so that
+ * threads hitting the cache concurrently do not contend on the same counter.
+ */
+public class StripedStatsCounter implements StatsCounter {
+
+    private static final int HITS = 0;
+    private static final int MISSES = 1;
+    private static final int EVICTIONS = 2;
+    private static final int LOADS = 3;
+    private static final int LOAD_TIME = 4;
+
+    // one stripe is a cache line of 8 longs, the first five hold the counters
+    private static final int STRIPE_WIDTH = 8;
+
+    private final AtomicLongArray counters;
+    private final int mask;
+
+    public StripedStatsCounter() {
+        int stripes = 1;
+        int target = Math.min(64, Runtime.getRuntime().availableProcessors() * 2);
+        while (stripes < target) {
+            stripes <<= 1;
+        }
+        this.mask = stripes - 1;
+        // one extra stripe to keep the first one off the array header
+        this.counters = new AtomicLongArray((stripes + 1) * STRIPE_WIDTH);
+    }
+
+    @Override
+    public void recordHit() {
+        counters.incrementAndGet(index(HITS));
+    }
+
+    @Override
+    public void recordMiss() {
+        counters.incrementAndGet(index(MISSES));
+    }
+
+    @Override
+    public void recordEviction() {
+        counters.incrementAndGet(index(EVICTIONS));
+    }
+
+    @Override
+    public void recordLoad(long loadTime) {
+        int stripe = stripe();
+        counters.incrementAndGet(stripe + LOADS);
+        counters.addAndGet(stripe + LOAD_TIME, loadTime);
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return new CacheStats(sum(HITS), sum(MISSES), sum(EVICTIONS), sum(LOADS), sum(LOAD_TIME));
+    }
+
+    private long sum(int counter) {
+        long sum = 0;
+        for (int stripe = 0; stripe <= mask; stripe++) {
+            sum += counters.get((stripe + 1) * STRIPE_WIDTH + counter);
+        }
+        return sum;
+    }
+
+    private int index(int counter) {
+        return stripe() + counter;
+    }
+
+    private int stripe() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+        return (((hash >>> 16) & mask) + 1) * STRIPE_WIDTH;
+    }
+}
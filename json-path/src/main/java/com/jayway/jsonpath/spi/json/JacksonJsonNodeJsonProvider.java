@@ -8,6 +8,7 @@ import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
 import com.jayway.jsonpath.InvalidJsonException;
 import com.jayway.jsonpath.JsonPathException;
+import com.jayway.jsonpath.internal.Utils;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -56,6 +57,10 @@ public class JacksonJsonNodeJsonProvider extends AbstractJsonProvider {
     @Override
     public Object parse(InputStream jsonStream, String charset) throws InvalidJsonException {
         try {
+            if (Utils.isUtf8(charset)) {
+                // decoded by the parser itself, without an InputStreamReader buffering the characters
+                return objectMapper.readTree(jsonStream);
+            }
             return objectMapper.readTree(new InputStreamReader(jsonStream, charset));
         } catch (IOException e) {
             throw new InvalidJsonException(e);
@@ -18,6 +18,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
 import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.internal.Utils;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -39,6 +40,10 @@ public class JacksonJsonProvider extends AbstractJsonProvider {
         return objectMapper;
     }
 
+    public ObjectReader getObjectReader() {
+        return objectReader;
+    }
+
     /**
      * Initialize the JacksonProvider with the default ObjectMapper and ObjectReader
      */
@@ -76,6 +81,10 @@ public class JacksonJsonProvider extends AbstractJsonProvider {
     @Override
     public Object parse(InputStream jsonStream, String charset) throws InvalidJsonException {
         try {
+            if (Utils.isUtf8(charset)) {
+                // decoded by the parser itself, without an InputStreamReader buffering the characters
+                return objectReader.readValue(jsonStream);
+            }
             return objectReader.readValue(new InputStreamReader(jsonStream, charset));
         } catch (IOException e) {
             throw new InvalidJsonException(e);
@@ -151,9 +151,14 @@ public class JsonOrgJsonProvider extends AbstractJsonProvider {
     public Collection<String> getPropertyKeys(Object obj) {
         JSONObject jsonObject = toJsonObject(obj);
         List<String> keys = new ArrayList<String>();
+        // names are null for an empty object
+        JSONArray names = jsonObject.names();
+        if (names == null) {
+            return keys;
+        }
         try {
-            for (int i = 0; i < jsonObject.names().length(); i++) {
-                String key = (String) jsonObject.names().get(i);
+            for (int i = 0; i < names.length(); i++) {
+                String key = (String) names.get(i);
                 keys.add(key);
 
             }
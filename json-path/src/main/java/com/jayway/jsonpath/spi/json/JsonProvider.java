@@ -19,6 +19,20 @@ import com.jayway.jsonpath.InvalidJsonException;
 import java.io.InputStream;
 import java.util.Collection;
 
+/**
+ * Reads, creates and modifies the documents paths are evaluated against.
+ * <p>
+ * <b>Concurrent reads.</b> When paths are evaluated in parallel (see
+ * {@link com.jayway.jsonpath.Configuration#executor()}), a provider is called from several threads at once for the
+ * same document. The methods reading a document ({@link #isArray(Object)}, {@link #isMap(Object)},
+ * {@link #length(Object)}, {@link #toIterable(Object)}, {@link #getArrayIndex(Object, int)},
+ * {@link #getMapValue(Object, String)}, {@link #getPropertyKeys(Object)} and {@link #unwrap(Object)}) must then
+ * support concurrent calls as long as the document is not modified, and {@link #createArray()} and
+ * {@link #setArrayIndex(Object, int, Object)} must support concurrent calls on different arrays. All providers
+ * in this package do, their documents are plain maps and lists or trees of the underlying library that can be
+ * read concurrently. A provider that materializes a document lazily, or caches while reading, must synchronize
+ * itself or not be used with an executor.
+ */
 public interface JsonProvider {
 
     static final Object UNDEFINED = new Object();
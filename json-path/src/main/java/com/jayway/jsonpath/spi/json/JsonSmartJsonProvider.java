@@ -49,6 +49,20 @@ public class JsonSmartJsonProvider extends AbstractJsonProvider {
         this.mapper = mapper;
     }
 
+    /**
+     * @return the mode of the parsers documents are parsed with
+     */
+    public int getParseMode() {
+        return parseMode;
+    }
+
+    /**
+     * @return the mapper creating the maps and arrays of parsed documents
+     */
+    public JsonReaderI<?> getMapper() {
+        return mapper;
+    }
+
     public Object createArray() {
         return mapper.createArray();
     }
@@ -0,0 +1,406 @@
+package com.jayway.jsonpath.spi.json;
+
+import com.jayway.jsonpath.InvalidJsonException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * The structural index of a json document, built in a single validating pass over its text.
+ * <p>
+ * Every value and every property name of the document is a node of two ints: the offset of its first character
+ * in the text, and the index of the node following it and everything it contains. The children of an object or
+ * array are the nodes between its own node and the node following it, for objects alternating property names and
+ * values. Values are decoded from the text when they are read, {@link TapeObject} and {@link TapeArray} decode the
+ * values of a container one at a time.
+ */
+final class Tape {
+
+    private static final int OBJECT = 0;
+    private static final int ARRAY = 1;
+
+    final char[] json;
+    private final int length;
+    private int[] nodes;
+
+    // parsing state
+    private int pos;
+    private int size;
+
+    Tape(char[] json, int length) {
+        this.json = json;
+        this.length = length;
+        this.nodes = new int[Math.max(16, length / 4)];
+        scan();
+        if (nodes.length - size > 1024) {
+            int[] trimmed = new int[size];
+            System.arraycopy(nodes, 0, trimmed, 0, size);
+            nodes = trimmed;
+        }
+    }
+
+    /**
+     * @return the root value of the document
+     */
+    Object root() {
+        return value(0);
+    }
+
+    /**
+     * @return the index of the node following the node and its children
+     */
+    int next(int node) {
+        return nodes[node + 1];
+    }
+
+    boolean isContainer(int node) {
+        char c = json[nodes[node]];
+        return c == '{' || c == '[';
+    }
+
+    /**
+     * @return the value of a node, objects and arrays being decoded lazily
+     */
+    Object value(int node) {
+        int offset = nodes[node];
+        switch (json[offset]) {
+            case '{':
+                return new TapeObject(this, node);
+            case '[':
+                return new TapeArray(this, node);
+            case '"':
+                return string(node);
+            case 't':
+                return Boolean.TRUE;
+            case 'f':
+                return Boolean.FALSE;
+            case 'n':
+                return null;
+            default:
+                return number(offset);
+        }
+    }
+
+    String string(int node) {
+        int start = nodes[node] + 1;
+        int i = start;
+        while (json[i] != '"') {
+            if (json[i] == '\\') {
+                return unescape(start);
+            }
+            i++;
+        }
+        return new String(json, start, i - start);
+    }
+
+    /**
+     * @return true if the string of a node is the given text, compared without decoding the string
+     */
+    boolean matches(int node, String text) {
+        int start = nodes[node] + 1;
+        int length = text.length();
+        if (start + length >= this.length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = json[start + i];
+            if (c == '\\') {
+                return string(node).equals(text);
+            } else if (c != text.charAt(i)) {
+                return false;
+            }
+        }
+        char end = json[start + length];
+        return end == '"' || (end == '\\' && string(node).equals(text));
+    }
+
+    private String unescape(int start) {
+        StringBuilder sb = new StringBuilder();
+        int i = start;
+        while (true) {
+            char c = json[i++];
+            if (c == '"') {
+                return sb.toString();
+            } else if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            c = json[i++];
+            switch (c) {
+                case 'b':
+                    sb.append('\b');
+                    break;
+                case 'f':
+                    sb.append('\f');
+                    break;
+                case 'n':
+                    sb.append('\n');
+                    break;
+                case 'r':
+                    sb.append('\r');
+                    break;
+                case 't':
+                    sb.append('\t');
+                    break;
+                case 'u':
+                    sb.append((char) Integer.parseInt(new String(json, i, 4), 16));
+                    i += 4;
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+    }
+
+    /**
+     * Decodes a number with the types json-smart uses: Integer, Long or BigInteger for integers, Double or
+     * BigDecimal, for more than 18 characters, for decimals.
+     */
+    private Number number(int offset) {
+        int end = offset;
+        boolean decimal = false;
+        while (end < length && isNumberChar(json[end])) {
+            char c = json[end++];
+            decimal |= c == '.' || c == 'e' || c == 'E';
+        }
+        int count = end - offset;
+        if (decimal) {
+            String text = new String(json, offset, count);
+            return count > 18 ? new BigDecimal(text) : Double.valueOf(text);
+        }
+        if (count <= 18) {
+            boolean negative = json[offset] == '-';
+            long value = 0;
+            for (int i = negative ? offset + 1 : offset; i < end; i++) {
+                value = value * 10 + (json[i] - '0');
+            }
+            value = negative ? -value : value;
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+            return value;
+        }
+        BigInteger value = new BigInteger(new String(json, offset, count));
+        return value.bitLength() < 64 ? (Number) value.longValue() : value;
+    }
+
+    private static boolean isNumberChar(char c) {
+        return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+    }
+
+    // ------------------------------------------------------------------------------------------------------------
+    // Validating scan
+
+    private void scan() {
+        int[] stack = new int[32];
+        int depth = 0;
+        skipWhitespace();
+        while (true) {
+            // a value is expected at pos
+            if (pos == length) {
+                throw error("Unexpected end of input");
+            }
+            int node = node();
+            char c = json[pos];
+            boolean closed = true;
+            if (c == '{' || c == '[') {
+                pos++;
+                skipWhitespace();
+                if (pos < length && json[pos] == (c == '{' ? '}' : ']')) {
+                    pos++;
+                    nodes[node + 1] = size;
+                } else {
+                    if (depth == stack.length) {
+                        int[] grown = new int[depth * 2];
+                        System.arraycopy(stack, 0, grown, 0, depth);
+                        stack = grown;
+                    }
+                    stack[depth++] = node;
+                    closed = false;
+                    if (c == '{') {
+                        name();
+                    }
+                }
+            } else {
+                scalar();
+            }
+            if (!closed) {
+                continue;
+            }
+            // a value has been read, close the containers it ends
+            while (true) {
+                skipWhitespace();
+                if (depth == 0) {
+                    if (pos != length) {
+                        throw error("Expected the end of the document");
+                    }
+                    return;
+                }
+                int container = stack[depth - 1];
+                int type = json[nodes[container]] == '{' ? OBJECT : ARRAY;
+                if (pos == length) {
+                    throw error("Unexpected end of input");
+                }
+                c = json[pos++];
+                if (c == ',') {
+                    skipWhitespace();
+                    if (type == OBJECT) {
+                        name();
+                    }
+                    break;
+                } else if (c == (type == OBJECT ? '}' : ']')) {
+                    nodes[container + 1] = size;
+                    depth--;
+                } else {
+                    pos--;
+                    throw error(type == OBJECT ? "Expected ',' or '}'" : "Expected ',' or ']'");
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a property name and its colon, leaving pos at the value
+     */
+    private void name() {
+        if (pos == length || json[pos] != '"') {
+            throw error("Expected a property name");
+        }
+        node();
+        string();
+        skipWhitespace();
+        if (pos == length || json[pos] != ':') {
+            throw error("Expected ':'");
+        }
+        pos++;
+        skipWhitespace();
+    }
+
+    private int node() {
+        if (size + 2 > nodes.length) {
+            int[] grown = new int[nodes.length * 2];
+            System.arraycopy(nodes, 0, grown, 0, size);
+            nodes = grown;
+        }
+        int node = size;
+        nodes[node] = pos;
+        nodes[node + 1] = node + 2;
+        size = node + 2;
+        return node;
+    }
+
+    private void scalar() {
+        char c = json[pos];
+        if (c == '"') {
+            string();
+        } else if (c == 't') {
+            literal("true");
+        } else if (c == 'f') {
+            literal("false");
+        } else if (c == 'n') {
+            literal("null");
+        } else if (c == '-' || (c >= '0' && c <= '9')) {
+            number();
+        } else {
+            throw error("Unexpected character '" + c + "'");
+        }
+    }
+
+    private void string() {
+        pos++;
+        while (pos < length) {
+            char c = json[pos++];
+            if (c == '"') {
+                return;
+            } else if (c == '\\') {
+                if (pos == length) {
+                    break;
+                }
+                c = json[pos++];
+                if (c == 'u') {
+                    for (int i = 0; i < 4; i++) {
+                        if (pos == length || Character.digit(json[pos++], 16) < 0) {
+                            throw error("Invalid unicode escape");
+                        }
+                    }
+                } else if ("\"\\/bfnrt'".indexOf(c) < 0) {
+                    throw error("Invalid escape sequence");
+                }
+            } else if (c < 0x20) {
+                throw error("Unescaped control character");
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private void literal(String literal) {
+        if (length - pos < literal.length()) {
+            throw error("Unexpected end of input");
+        }
+        for (int i = 0; i < literal.length(); i++) {
+            if (json[pos++] != literal.charAt(i)) {
+                pos--;
+                throw error("Invalid literal");
+            }
+        }
+        checkDelimited();
+    }
+
+    private void number() {
+        if (json[pos] == '-') {
+            pos++;
+        }
+        if (pos < length && json[pos] == '0') {
+            pos++;
+        } else if (digits() == 0) {
+            throw error("Invalid number");
+        }
+        if (pos < length && json[pos] == '.') {
+            pos++;
+            if (digits() == 0) {
+                throw error("Invalid number");
+            }
+        }
+        if (pos < length && (json[pos] == 'e' || json[pos] == 'E')) {
+            pos++;
+            if (pos < length && (json[pos] == '+' || json[pos] == '-')) {
+                pos++;
+            }
+            if (digits() == 0) {
+                throw error("Invalid number");
+            }
+        }
+        checkDelimited();
+    }
+
+    private int digits() {
+        int start = pos;
+        while (pos < length && json[pos] >= '0' && json[pos] <= '9') {
+            pos++;
+        }
+        return pos - start;
+    }
+
+    private void checkDelimited() {
+        if (pos < length) {
+            char c = json[pos];
+            if (c != ',' && c != '}' && c != ']' && !isWhitespace(c)) {
+                throw error("Unexpected character '" + c + "'");
+            }
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < length && isWhitespace(json[pos])) {
+            pos++;
+        }
+    }
+
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private InvalidJsonException error(String message) {
+        return new InvalidJsonException(message + " at character " + pos);
+    }
+}
@@ -0,0 +1,137 @@
+package com.jayway.jsonpath.spi.json;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * A json array of a {@link Tape}, locating its elements when first read and decoding them when read.
+ * <p>
+ * Nested objects and arrays are created once and kept, so modifying them modifies the document. The first
+ * modification of the array itself copies its elements to an {@link ArrayList} the array then delegates to.
+ */
+final class TapeArray extends AbstractList<Object> implements RandomAccess {
+
+    private final Tape tape;
+    private final int node;
+
+    private volatile Elements elements;
+    private List<Object> list;
+
+    TapeArray(Tape tape, int node) {
+        this.tape = tape;
+        this.node = node;
+    }
+
+    private static final class Elements {
+        final int[] nodes;
+        final Object[] containers;
+
+        Elements(int[] nodes) {
+            this.nodes = nodes;
+            this.containers = new Object[nodes.length];
+        }
+    }
+
+    private Elements elements() {
+        Elements elements = this.elements;
+        if (elements == null) {
+            synchronized (this) {
+                elements = this.elements;
+                if (elements == null) {
+                    elements = index();
+                    this.elements = elements;
+                }
+            }
+        }
+        return elements;
+    }
+
+    private Elements index() {
+        int end = tape.next(node);
+        int count = 0;
+        for (int child = node + 2; child < end; child = tape.next(child)) {
+            count++;
+        }
+        int[] nodes = new int[count];
+        int i = 0;
+        for (int child = node + 2; child < end; child = tape.next(child)) {
+            nodes[i++] = child;
+        }
+        return new Elements(nodes);
+    }
+
+    private List<Object> list() {
+        if (list == null) {
+            Elements elements = elements();
+            List<Object> copy = new ArrayList<Object>(elements.nodes.length);
+            for (int i = 0; i < elements.nodes.length; i++) {
+                copy.add(value(elements, i));
+            }
+            list = copy;
+        }
+        return list;
+    }
+
+    private Object value(Elements elements, int i) {
+        int child = elements.nodes[i];
+        if (!tape.isContainer(child)) {
+            return tape.value(child);
+        }
+        Object container = elements.containers[i];
+        if (container == null) {
+            synchronized (elements) {
+                container = elements.containers[i];
+                if (container == null) {
+                    container = tape.value(child);
+                    elements.containers[i] = container;
+                }
+            }
+        }
+        return container;
+    }
+
+    @Override
+    public Object get(int index) {
+        if (list != null) {
+            return list.get(index);
+        }
+        Elements elements = elements();
+        if (index < 0 || index >= elements.nodes.length) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.nodes.length);
+        }
+        return value(elements, index);
+    }
+
+    @Override
+    public int size() {
+        return list != null ? list.size() : elements().nodes.length;
+    }
+
+    @Override
+    public Object set(int index, Object element) {
+        return list().set(index, element);
+    }
+
+    @Override
+    public void add(int index, Object element) {
+        list().add(index, element);
+        modCount++;
+    }
+
+    @Override
+    public Object remove(int index) {
+        Object removed = list().remove(index);
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * @return the array as json, as {@link TapeJsonProvider#toJson(Object)} writes it
+     */
+    @Override
+    public String toString() {
+        return TapeJsonProvider.json(this);
+    }
+}
@@ -0,0 +1,89 @@
+package com.jayway.jsonpath.spi.json;
+
+import com.jayway.jsonpath.InvalidJsonException;
+import com.jayway.jsonpath.JsonPathException;
+import net.minidev.json.JSONStyle;
+import net.minidev.json.JSONValue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+
+/**
+ * A provider parsing documents in two stages, for documents of which paths read a small part.
+ * <p>
+ * Parsing validates the text and builds a compact structural index of it, an <code>int[]</code> holding the offset
+ * of every value and property name. Objects and arrays are {@link java.util.Map}s and {@link java.util.List}s
+ * reading that index, property names, strings and numbers being decoded only when a path reads them. Values are
+ * decoded to the types {@link JsonSmartJsonProvider} parses them to, and the
+ * {@link com.jayway.jsonpath.spi.mapper.JsonSmartMappingProvider} maps them.
+ * <p>
+ * The text of the document is kept as long as a part of it is. Objects and arrays can be modified, the first
+ * modification of one copies its values to a {@link LinkedHashMap} or an {@link ArrayList}. Unlike json-smart in its
+ * default permissive mode, only strict json is accepted, with the single quote escape as only extension.
+ */
+public class TapeJsonProvider extends AbstractJsonProvider {
+
+    @Override
+    public Object parse(String json) throws InvalidJsonException {
+        char[] chars = json.toCharArray();
+        return new Tape(chars, chars.length).root();
+    }
+
+    @Override
+    public Object parse(InputStream jsonStream, String charset) throws InvalidJsonException {
+        try {
+            Reader reader = new InputStreamReader(jsonStream, charset);
+            char[] chars = new char[8192];
+            int length = 0;
+            int read;
+            while ((read = reader.read(chars, length, chars.length - length)) != -1) {
+                length += read;
+                if (length == chars.length) {
+                    char[] grown = new char[chars.length * 2];
+                    System.arraycopy(chars, 0, grown, 0, length);
+                    chars = grown;
+                }
+            }
+            return new Tape(chars, length).root();
+        } catch (UnsupportedEncodingException e) {
+            throw new JsonPathException(e);
+        } catch (IOException e) {
+            throw new InvalidJsonException(e);
+        }
+    }
+
+    @Override
+    public String toJson(Object obj) {
+        return json(obj);
+    }
+
+    /**
+     * @return the compact json text of a value, objects and arrays of tapes included
+     */
+    static String json(Object obj) {
+        return JSONValue.toJSONString(obj, JSONStyle.LT_COMPRESS);
+    }
+
+    @Override
+    public Object createArray() {
+        return new ArrayList<Object>();
+    }
+
+    @Override
+    public Object createMap() {
+        return new LinkedHashMap<String, Object>();
+    }
+
+    @Override
+    public Object getMapValue(Object obj, String key) {
+        if (obj instanceof TapeObject) {
+            return ((TapeObject) obj).getOrUndefined(key);
+        }
+        return super.getMapValue(obj, key);
+    }
+}
@@ -0,0 +1,326 @@
+package com.jayway.jsonpath.spi.json;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A json object of a {@link Tape}, decoding its property names when first read and its values when read.
+ * <p>
+ * Nested objects and arrays are created once and kept, so modifying them modifies the document. The first
+ * modification of the object itself copies its properties to a {@link LinkedHashMap} the object then delegates to.
+ */
+final class TapeObject extends AbstractMap<String, Object> {
+
+    private static final int HASHED = 8;
+    // lookups of scalar values made without indexing the properties
+    private static final int UNINDEXED_LOOKUPS = 4;
+
+    private final Tape tape;
+    private final int node;
+
+    private volatile Properties properties;
+    private Map<String, Object> map;
+    private int lookups;
+
+    TapeObject(Tape tape, int node) {
+        this.tape = tape;
+        this.node = node;
+    }
+
+    /**
+     * The property names of the object with the nodes of their values, the last value of a property given more than
+     * once replacing the first.
+     */
+    private static final class Properties {
+        final String[] names;
+        final int[] nodes;
+        final Object[] containers;
+        final Map<String, Integer> index;
+
+        Properties(String[] names, int[] nodes, Map<String, Integer> index) {
+            this.names = names;
+            this.nodes = nodes;
+            this.containers = new Object[names.length];
+            this.index = index;
+        }
+
+        int indexOf(String name) {
+            if (index != null) {
+                Integer i = index.get(name);
+                return i == null ? -1 : i;
+            }
+            for (int i = 0; i < names.length; i++) {
+                if (names[i].equals(name)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private Properties properties() {
+        Properties properties = this.properties;
+        if (properties == null) {
+            synchronized (this) {
+                properties = this.properties;
+                if (properties == null) {
+                    properties = index();
+                    this.properties = properties;
+                }
+            }
+        }
+        return properties;
+    }
+
+    private Properties index() {
+        int end = tape.next(node);
+        int count = 0;
+        for (int child = node + 2; child < end; child = tape.next(tape.next(child))) {
+            count++;
+        }
+        String[] names = new String[count];
+        int[] nodes = new int[count];
+        Map<String, Integer> index = count > HASHED ? new HashMap<String, Integer>(count * 2) : null;
+        int size = 0;
+        for (int child = node + 2; child < end; child = tape.next(tape.next(child))) {
+            String name = tape.string(child);
+            int existing = -1;
+            if (index != null) {
+                Integer i = index.get(name);
+                existing = i == null ? -1 : i;
+            } else {
+                for (int i = 0; i < size; i++) {
+                    if (names[i].equals(name)) {
+                        existing = i;
+                        break;
+                    }
+                }
+            }
+            if (existing >= 0) {
+                nodes[existing] = tape.next(child);
+                continue;
+            }
+            if (index != null) {
+                index.put(name, size);
+            }
+            names[size] = name;
+            nodes[size] = tape.next(child);
+            size++;
+        }
+        if (size < count) {
+            String[] trimmedNames = new String[size];
+            int[] trimmedNodes = new int[size];
+            System.arraycopy(names, 0, trimmedNames, 0, size);
+            System.arraycopy(nodes, 0, trimmedNodes, 0, size);
+            names = trimmedNames;
+            nodes = trimmedNodes;
+        }
+        return new Properties(names, nodes, index);
+    }
+
+    private Object value(Properties properties, int i) {
+        int child = properties.nodes[i];
+        if (!tape.isContainer(child)) {
+            return tape.value(child);
+        }
+        Object container = properties.containers[i];
+        if (container == null) {
+            synchronized (properties) {
+                container = properties.containers[i];
+                if (container == null) {
+                    container = tape.value(child);
+                    properties.containers[i] = container;
+                }
+            }
+        }
+        return container;
+    }
+
+    /**
+     * @return the value of a property, or {@link JsonProvider#UNDEFINED} if the object has no such property
+     */
+    Object getOrUndefined(String name) {
+        Map<String, Object> map = this.map;
+        if (map != null) {
+            return map.containsKey(name) ? map.get(name) : JsonProvider.UNDEFINED;
+        }
+        Properties properties = this.properties;
+        if (properties == null && lookups < UNINDEXED_LOOKUPS) {
+            lookups++;
+            int child = find(name);
+            if (child < 0) {
+                return JsonProvider.UNDEFINED;
+            } else if (!tape.isContainer(child)) {
+                return tape.value(child);
+            }
+        }
+        properties = properties();
+        int i = properties.indexOf(name);
+        return i < 0 ? JsonProvider.UNDEFINED : value(properties, i);
+    }
+
+    /**
+     * Finds a property by comparing its name to the text of the property names, so objects read only a few times
+     * are not indexed. Objects and arrays are still read through the index, to be created only once.
+     *
+     * @return the node of the last value of the property, or -1 if the object has no such property
+     */
+    private int find(String name) {
+        int end = tape.next(node);
+        int found = -1;
+        for (int child = node + 2; child < end; child = tape.next(tape.next(child))) {
+            if (tape.matches(child, name)) {
+                found = tape.next(child);
+            }
+        }
+        return found;
+    }
+
+    private Map<String, Object> map() {
+        if (map == null) {
+            Properties properties = properties();
+            Map<String, Object> copy = new LinkedHashMap<String, Object>(properties.names.length * 2);
+            for (int i = 0; i < properties.names.length; i++) {
+                copy.put(properties.names[i], value(properties, i));
+            }
+            map = copy;
+        }
+        return map;
+    }
+
+    @Override
+    public Object get(Object key) {
+        Object value = key instanceof String ? getOrUndefined((String) key) : JsonProvider.UNDEFINED;
+        return value == JsonProvider.UNDEFINED ? null : value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof String && getOrUndefined((String) key) != JsonProvider.UNDEFINED;
+    }
+
+    @Override
+    public int size() {
+        return map != null ? map.size() : properties().names.length;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return map().put(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return map().remove(key);
+    }
+
+    @Override
+    public void clear() {
+        map().clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+        if (map != null) {
+            return map.keySet();
+        }
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                if (map != null) {
+                    return map.keySet().iterator();
+                }
+                final String[] names = properties().names;
+                return new Iterator<String>() {
+                    private int i;
+
+                    @Override
+                    public boolean hasNext() {
+                        return i < names.length;
+                    }
+
+                    @Override
+                    public String next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return names[i++];
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public int size() {
+                return TapeObject.this.size();
+            }
+        };
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        if (map != null) {
+            return map.entrySet();
+        }
+        return new AbstractSet<Entry<String, Object>>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                if (map != null) {
+                    return map.entrySet().iterator();
+                }
+                final Properties properties = properties();
+                return new Iterator<Entry<String, Object>>() {
+                    private int i;
+
+                    @Override
+                    public boolean hasNext() {
+                        return i < properties.names.length;
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        Entry<String, Object> entry = new SimpleImmutableEntry<String, Object>(properties.names[i], value(properties, i));
+                        i++;
+                        return entry;
+                    }
+
+                    @Override
+                    public void remove() {
+                        throw new UnsupportedOperationException();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return TapeObject.this.size();
+            }
+        };
+    }
+
+    /**
+     * @return the object as json, as {@link TapeJsonProvider#toJson(Object)} writes it
+     */
+    @Override
+    public String toString() {
+        return TapeJsonProvider.json(this);
+    }
+}
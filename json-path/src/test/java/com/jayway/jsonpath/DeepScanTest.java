@@ -12,6 +12,7 @@ import static com.jayway.jsonpath.JsonPath.using;
 import static com.jayway.jsonpath.TestUtils.assertEvaluationThrows;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
 
 /**
  * Deep scan is indefinite, so certain "illegal" actions become a no-op instead of a path evaluation exception.
@@ -314,6 +315,78 @@ public class DeepScanTest extends BaseTest {
         executeScanPath(Option.REQUIRE_PROPERTIES);
     }
 
+    @Test
+    public void deep_scans_are_not_bound_by_the_call_stack() {
+        Map<String, Object> document = nested(100000);
+
+        for (EvaluationEngine engine : EvaluationEngine.values()) {
+            Configuration conf = Configuration.defaultConfiguration().engine(engine);
+            List<Object> result = using(conf).parse(document).read("$..x");
+            assertThat(result).describedAs(engine.name()).containsExactly(100000);
+        }
+    }
+
+    @Test
+    public void deep_scans_fail_below_the_maximum_scan_depth() {
+        Map<String, Object> document = nested(10);
+
+        for (EvaluationEngine engine : EvaluationEngine.values()) {
+            Configuration conf = Configuration.defaultConfiguration().engine(engine);
+            assertThat(using(conf.maxScanDepth(10)).parse(document).<List<Object>>read("$..x")).containsExactly(10);
+            try {
+                using(conf.maxScanDepth(9)).parse(document).read("$..x");
+                fail("Should throw " + JsonPathException.class.getName());
+            } catch (JsonPathException expected) {
+                assertThat(expected).hasMessage("Deep scan exceeded the maximum depth of 9 at $['a']['a']['a']['a']['a']['a']['a']['a']['a']['a']");
+            }
+        }
+    }
+
+    @Test(expected = JsonPathException.class)
+    public void indexed_deep_scans_fail_below_the_maximum_scan_depth() {
+        using(Configuration.defaultConfiguration().maxScanDepth(9).addOptions(Option.SCAN_INDEX)).parse(nested(10)).read("$..x");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void the_maximum_scan_depth_can_not_be_negative() {
+        Configuration.defaultConfiguration().maxScanDepth(-1);
+    }
+
+    @Test
+    public void an_aborted_deep_scan_stops_walking_the_document() {
+        final List<String> visited = new ArrayList<String>();
+        for (EvaluationEngine engine : EvaluationEngine.values()) {
+            visited.clear();
+            Configuration conf = Configuration.defaultConfiguration().engine(engine).addEvaluationListeners(new EvaluationListener() {
+                @Override
+                public EvaluationContinuation resultFound(FoundResult found) {
+                    visited.add(found.path());
+                    return found.index() == 1 ? EvaluationContinuation.ABORT : EvaluationContinuation.CONTINUE;
+                }
+            });
+
+            List<String> result = using(conf).parse(JSON_DOCUMENT).read("$..author");
+
+            assertThat(result).describedAs(engine.name()).containsExactly("Nigel Rees", "Evelyn Waugh");
+            assertThat(visited).containsExactly("$['store']['book'][0]['author']", "$['store']['book'][1]['author']");
+        }
+    }
+
+    /**
+     * @return objects nested to the given depth below the returned one, {"a":{"a":...{"x":depth}}}
+     */
+    private static Map<String, Object> nested(int depth) {
+        Map<String, Object> root = new HashMap<String, Object>();
+        Map<String, Object> current = root;
+        for (int i = 0; i < depth; i++) {
+            Map<String, Object> child = new HashMap<String, Object>();
+            current.put("a", child);
+            current = child;
+        }
+        current.put("x", depth);
+        return root;
+    }
+
     private void executeScanPath(Option... options) {
         String json = "{'index': 'index', 'data': {'array': [{ 'object1': { 'name': 'robert'} }]}}";
         Map<String, Object> expected = new HashMap<String, Object>() {{
@@ -0,0 +1,220 @@
+package com.jayway.jsonpath;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Differential testing of the ways paths are evaluated: an evaluator must read the {@link #PATHS} from the
+ * {@link #DOCUMENT} like the {@link EvaluationEngine#RECURSIVE} engine, with every json provider and all the
+ * {@link #OPTIONS}. Results, paths and exceptions are compared.
+ */
+public final class Differential {
+    private Differential() {}
+
+    public static final String DOCUMENT = "{" +
+            "\"limit\": 10, \"max-price\": 10, \"foo\": \"bar\", \"@id\": \"ID\", " +
+            "\"n\": null, \"s\": \"string\", \"empty\": {}, \"none\": [], " +
+            "\"store\": {" +
+            "\"book\": [" +
+            "{\"category\": \"reference\", \"author\": \"Nigel Rees\", \"title\": \"Sayings of the Century\", \"display-price\": 8.95}, " +
+            "{\"category\": \"fiction\", \"author\": \"Evelyn Waugh\", \"title\": \"Sword of Honour\", \"display-price\": 12.99, \"tags\": []}, " +
+            "{\"category\": \"fiction\", \"author\": \"Herman Melville\", \"title\": \"Moby Dick\", \"isbn\": \"0-553-21311-3\", \"display-price\": 8.99, \"tags\": [\"x\"]}, " +
+            "{\"category\": \"fiction\", \"author\": \"J. R. R. Tolkien\", \"title\": \"The Lord of the Rings\", \"isbn\": \"0-395-19395-8\", \"display-price\": 22.99, \"tags\": [\"a\", \"b\"]}" +
+            "], " +
+            "\"bicycle\": {\"color\": \"red\", \"display-price\": 19.95}" +
+            "}, " +
+            "\"items\": [" +
+            "{\"id\": 1, \"price\": 8.95, \"tags\": [\"x\"], \"owner\": {\"id\": 10, \"name\": \"ann\"}}, " +
+            "{\"id\": 2, \"price\": 12.5, \"tags\": [], \"owner\": null}, " +
+            "{\"id\": 3, \"tags\": [\"y\", \"z\"], \"owner\": {\"id\": 30}}, " +
+            "{\"id\": 4, \"price\": 22, \"owner\": {\"name\": \"bob\", \"id\": 40, \"items\": [{\"id\": 41}]}}" +
+            "], " +
+            "\"matrix\": [[1, 2, 3], [4, 5], [], [6, [7, 8]]], " +
+            "\"mixed\": [1, \"two\", {\"id\": 3, \"tags\": [\"a\", \"b\"]}, [4, {\"id\": 5}], null, true, 6.5], " +
+            "\"es\\\"caped\": {\"na\\\\me\": \"va\\\"lue\", \"uni\\u00e9\": \"\\u00e9\"}, " +
+            "\"weird key\": {\"'\": true}" +
+            "}";
+
+    public static final String[] PATHS = {
+            "$",
+            "$.limit",
+            "$['@id']",
+            "$.store.book",
+            "$.store.book[0]",
+            "$.store.book[0].title",
+            "$.store.book[1].author",
+            "$.store.book[0].isbn",
+            "$.store.book[-1].isbn",
+            "$.store.book[9].title",
+            "$.store.book[-5].title",
+            "$['store']['book'][0]['title']",
+            "$.store.book[*].author",
+            "$.store.book[*].isbn",
+            "$.store.book[*].tags[0]",
+            "$.store.book[*].tags[*]",
+            "$.store.book[*].missing",
+            "$.store.book[*].missing.x",
+            "$.store.book[1:3].title",
+            "$.store.book[-2:].title",
+            "$.store.book[:2].title",
+            "$.store.book[:-1]['display-price']",
+            "$.store.book[2:10]",
+            "$.store.book[0,2,9].title",
+            "$.store.book[*]['author','isbn']",
+            "$.store.book[0]['author','isbn']",
+            "$.store['book','bicycle']",
+            "$.store['book','bicycle']['display-price']",
+            "$.store.book[?(@['display-price'] < 10)].title",
+            "$.store.book[?(@.isbn)]",
+            "$.store.book[?(@.category == 'fiction')].author",
+            "$.store.book[?(@['display-price'] > $['max-price'])].title",
+            "$.store.bicycle[?(@.color == 'red')]['display-price']",
+            "$.store.bicycle.color",
+            "$.store.bicycle.missing",
+            "$.store.bicycle.missing.deeper",
+            "$.store.missing.color",
+            "$.store.bicycle[0]",
+            "$.store[*].color",
+            "$.store.*",
+            "$.*",
+            "$.*.*",
+            "$.items[0].owner.name",
+            "$.items[1].owner.name",
+            "$.items[*].id",
+            "$.items[*].price",
+            "$.items[*].owner.id",
+            "$.items[*]['id','price']",
+            "$.items[?(@.price > 10)].id",
+            "$.items[?(@.price)].owner",
+            "$.items[?(@.owner.name == 'bob')].owner.items[0].id",
+            "$.items[?(@.price > $.limit)].id",
+            "$.items.id",
+            "$.n",
+            "$.n.x",
+            "$.n[0]",
+            "$.s.x",
+            "$.s[0]",
+            "$.s[1:2]",
+            "$.s[?(@.x)]",
+            "$.limit[*]",
+            "$.limit[?(@.id)]",
+            "$.empty.id",
+            "$.empty[0]",
+            "$.none[0]",
+            "$.none[-1]",
+            "$.none[*]",
+            "$.missing",
+            "$.missing.id",
+            "$.matrix[*][1]",
+            "$.matrix[*][*]",
+            "$.matrix[3][1][0]",
+            "$.matrix[0][-1]",
+            "$.mixed[*].id",
+            "$.mixed[*][0]",
+            "$.mixed[?(@.id)].tags",
+            "$['es\"caped']['na\\\\me']",
+            "$['es\"caped'].*",
+            "$['weird key']['\\'']",
+            "$..author",
+            "$..book",
+            "$..book[0].title",
+            "$..book[0,1].title",
+            "$..book[1:].title",
+            "$..book[*].isbn",
+            "$..book[?(@['display-price'] > 10)].title",
+            "$..bicycle.color",
+            "$..bicycle.missing",
+            "$..['display-price']",
+            "$..['author','title']",
+            "$..owner.id",
+            "$..owner['id','name']",
+            "$..items[0].id",
+            "$..items[*].id",
+            "$..items[-1]",
+            "$..[0]",
+            "$..[0].title",
+            "$..[1:]",
+            "$..*",
+            "$..tags[*]",
+            "$..[?(@.id > 2)].id",
+            "$..missing",
+            "$.store..title",
+            "$.store..bicycle.color",
+            "$.store.book.length()",
+            "$..book.length()",
+            "$..['display-price'].max()",
+            "$.store.book[*]['display-price'].sum()",
+            "$.sum($.matrix[0][0], $.matrix[0][1])",
+            "$.none.avg()",
+            "$.missing.avg()"
+    };
+
+    public static final Option[][] OPTIONS = {
+            {},
+            {Option.DEFAULT_PATH_LEAF_TO_NULL},
+            {Option.REQUIRE_PROPERTIES},
+            {Option.SUPPRESS_EXCEPTIONS},
+            {Option.ALWAYS_RETURN_LIST},
+            {Option.AS_PATH_LIST},
+            {Option.REQUIRE_PROPERTIES, Option.SUPPRESS_EXCEPTIONS},
+            {Option.AS_PATH_LIST, Option.SUPPRESS_EXCEPTIONS}
+    };
+
+    /**
+     * A way of reading a path from a json document
+     */
+    public interface Evaluator {
+        Object read(String path, String json, Configuration configuration);
+    }
+
+    /**
+     * Reads a path like {@link JsonPath#read(Object, Configuration)} with the recursive engine
+     */
+    public static final Evaluator RECURSIVE = new Evaluator() {
+        @Override
+        public Object read(String path, String json, Configuration configuration) {
+            Configuration conf = configuration.engine(EvaluationEngine.RECURSIVE);
+            return JsonPath.compile(path).read(conf.jsonProvider().parse(json), conf);
+        }
+    };
+
+    /**
+     * @return the configurations of every json provider with every set of options
+     */
+    public static List<Configuration> configurations() {
+        List<Configuration> configurations = new ArrayList<Configuration>();
+        for (Configuration configuration : Configurations.configurations()) {
+            for (Option[] options : OPTIONS) {
+                configurations.add(configuration.setOptions(options));
+            }
+        }
+        return configurations;
+    }
+
+    public static void assertReadsLikeTheRecursiveEngine(Evaluator evaluator) {
+        assertReadsLike(evaluator, RECURSIVE, DOCUMENT, PATHS);
+    }
+
+    public static void assertReadsLike(Evaluator evaluator, Evaluator reference, String json, String... paths) {
+        for (Configuration conf : configurations()) {
+            for (String path : paths) {
+                assertThat(outcome(evaluator, path, json, conf))
+                        .describedAs(path + " " + conf.jsonProvider().getClass().getSimpleName() + " " + conf.getOptions())
+                        .isEqualTo(outcome(reference, path, json, conf));
+            }
+        }
+    }
+
+    /**
+     * @return the result of the read, or its exception
+     */
+    public static String outcome(Evaluator evaluator, String path, String json, Configuration conf) {
+        try {
+            return String.valueOf(evaluator.read(path, json, conf));
+        } catch (RuntimeException e) {
+            return e.getClass().getName() + ": " + e.getMessage();
+        }
+    }
+}
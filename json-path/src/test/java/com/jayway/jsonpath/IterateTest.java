@@ -0,0 +1,138 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static com.jayway.jsonpath.JsonPath.using;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class IterateTest extends BaseTest {
+
+    private static final String[] PATHS = {
+            "$..author",
+            "$.store.book[*].title",
+            "$.store.book[1:3]",
+            "$.store.book[?(@['display-price'] > 10)].category",
+            "$..book[0,2].isbn",
+            "$.store.*",
+            "$..*",
+            "$.store.bicycle['color','foo']",
+            "$..['display-price'].max()"
+    };
+
+    @Test
+    public void iterated_values_are_the_values_read() {
+        DocumentContext context = JsonPath.parse(JSON_DOCUMENT);
+        for (String path : PATHS) {
+            Object read = context.read(path);
+            List<Object> expected = read instanceof List ? (List<Object>) read : Collections.singletonList(read);
+
+            assertThat(toList(iterate(context, path))).describedAs(path).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void iterated_values_are_unwrapped_with_every_provider() {
+        for (Configuration configuration : Configurations.configurations()) {
+            DocumentContext context = using(configuration).parse(JSON_DOCUMENT);
+
+            assertThat(toList(iterate(context, "$..author"))).containsExactly("Nigel Rees", "Evelyn Waugh", "Herman Melville", "J. R. R. Tolkien");
+            assertThat(toList(iterate(context, "$.store.book[?(@.isbn)].isbn"))).containsExactly("0-553-21311-3", "0-395-19395-8");
+        }
+    }
+
+    @Test
+    public void values_are_evaluated_as_they_are_pulled() {
+        List<Object> items = new ArrayList<Object>();
+        for (int i = 0; i < 10000; i++) {
+            Map<String, Object> item = new HashMap<String, Object>();
+            item.put("id", i);
+            items.add(item);
+        }
+        CountingJsonProvider provider = new CountingJsonProvider();
+        Iterator<Integer> ids = JsonPath.compile("$..id").iterate(items, Configuration.builder().jsonProvider(provider).build());
+        assertThat(provider.reads).isZero();
+        assertThat(ids.next()).isEqualTo(0);
+        assertThat(ids.next()).isEqualTo(1);
+        assertThat(provider.reads).isLessThan(10);
+
+        int count = 2;
+        while (ids.hasNext()) {
+            assertThat(ids.next()).isEqualTo(count++);
+        }
+        assertThat(count).isEqualTo(10000);
+    }
+
+    @Test
+    public void the_root_path_iterates_the_document() {
+        Object document = Configuration.defaultConfiguration().jsonProvider().parse("[1, 2]");
+
+        assertThat(toList(JsonPath.compile("$").iterate(document, Configuration.defaultConfiguration()))).containsExactly(document);
+    }
+
+    @Test
+    public void a_missing_definite_path_iterates_nothing() {
+        Iterator<Object> iterator = iterate(JsonPath.parse(JSON_DOCUMENT), "$.store.bicycle.missing");
+
+        assertThat(iterator.hasNext()).isFalse();
+        try {
+            iterator.next();
+            fail("Should throw " + NoSuchElementException.class.getName());
+        } catch (NoSuchElementException expected) {
+        }
+    }
+
+    @Test
+    public void null_values_are_iterated() {
+        assertThat(toList(iterate(JsonPath.parse("[1, null, {\"a\": null}]"), "$..*"))).containsExactly(1, null, new HashMap<String, Object>() {{
+            put("a", null);
+        }}, null);
+    }
+
+    @Test(expected = JsonPathException.class)
+    public void paths_can_not_be_iterated_as_path_lists() {
+        Configuration configuration = Configuration.defaultConfiguration().addOptions(Option.AS_PATH_LIST);
+
+        JsonPath.compile("$..author").iterate(configuration.jsonProvider().parse(JSON_DOCUMENT), configuration);
+    }
+
+    private static Iterator<Object> iterate(DocumentContext context, String path) {
+        return JsonPath.compile(path).iterate(context.json(), context.configuration());
+    }
+
+    private static <T> List<T> toList(Iterator<T> iterator) {
+        List<T> list = new ArrayList<T>();
+        while (iterator.hasNext()) {
+            list.add(iterator.next());
+        }
+        return list;
+    }
+
+    /**
+     * Counts the values read from arrays and objects
+     */
+    private static class CountingJsonProvider extends JsonSmartJsonProvider {
+        private int reads;
+
+        @Override
+        public Object getArrayIndex(Object obj, int idx) {
+            reads++;
+            return super.getArrayIndex(obj, idx);
+        }
+
+        @Override
+        public Object getMapValue(Object obj, String key) {
+            reads++;
+            return super.getMapValue(obj, key);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JsonLinesTest extends BaseTest {
+
+    private static final JsonPath ID = JsonPath.compile("$.id");
+    private static final JsonPath TAGS = JsonPath.compile("$.tags[*]");
+    private static final JsonPath NAME = JsonPath.compile("$.user.name");
+
+    private static final String LINES = "{\"id\": 1, \"tags\": [\"a\"], \"user\": {\"name\": \"ann\"}}\n" +
+            "\n" +
+            "{\"id\": 2, \"tags\": [], \"user\": {}}\r\n" +
+            "{\"id\": 3, \"tags\": [\"b\", \"c\"\n" +
+            "   \n" +
+            "{\"id\": 4, \"user\": {\"name\": \"bob\"}}";
+
+    @Test
+    public void records_are_read_line_by_line() throws Exception {
+        for (Configuration configuration : Configurations.configurations()) {
+            for (EvaluationEngine engine : EvaluationEngine.values()) {
+                Configuration conf = configuration.engine(engine);
+                String name = configuration.jsonProvider().getClass().getSimpleName() + " " + engine;
+
+                List<String> records = records(JsonPath.readLines(stream(LINES.getBytes("UTF-8")), conf, ID, TAGS, NAME), 3);
+
+                assertThat(records).describedAs(name).hasSize(4);
+                assertThat(records.get(0)).describedAs(name).isEqualTo("1: 1 [a] ann");
+                assertThat(records.get(1)).describedAs(name).isEqualTo("3: 2 [] PathNotFoundException");
+                assertThat(records.get(2)).describedAs(name).startsWith("4: InvalidJsonException");
+                assertThat(records.get(3)).describedAs(name).isEqualTo("6: 4 PathNotFoundException bob");
+            }
+        }
+    }
+
+    @Test
+    public void gzip_compressed_lines_are_decompressed() throws Exception {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        GZIPOutputStream gzip = new GZIPOutputStream(compressed);
+        gzip.write(LINES.getBytes("UTF-8"));
+        gzip.close();
+
+        List<String> records = records(JsonPath.readLines(stream(compressed.toByteArray()), ID), 1);
+
+        assertThat(records).hasSize(4);
+        assertThat(records.get(3)).isEqualTo("6: 4");
+    }
+
+    @Test
+    public void lines_longer_than_the_buffer_are_read() throws Exception {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            StringBuilder tags = new StringBuilder();
+            for (int t = 0; t < i * 100; t++) {
+                tags.append(t == 0 ? "" : ",").append('"').append(t).append('"');
+            }
+            lines.append("{\"id\": ").append(i).append(", \"tags\": [").append(tags).append("]}\n");
+        }
+
+        assertThat(lines.length()).isGreaterThan(JsonLines.STREAMING_THRESHOLD);
+
+        for (EvaluationEngine engine : EvaluationEngine.values()) {
+            Configuration conf = Configuration.defaultConfiguration().engine(engine);
+            JsonLines records = JsonPath.readLines(stream(lines.toString().getBytes("UTF-8")), conf, ID, TAGS);
+            int count = 0;
+            while (records.hasNext()) {
+                JsonLines.Record record = records.next();
+                assertThat(record.<Integer>read(0)).describedAs(engine.name()).isEqualTo(count);
+                assertThat(record.<List<String>>read(1)).describedAs(engine.name()).hasSize(count * 100);
+                count++;
+            }
+            records.close();
+
+            assertThat(count).describedAs(engine.name()).isEqualTo(50);
+        }
+    }
+
+    @Test
+    public void streamed_records_with_a_malformed_tail_are_not_valid() throws Exception {
+        StringBuilder tags = new StringBuilder();
+        for (int t = 0; t < 5000; t++) {
+            tags.append(t == 0 ? "" : ",").append('"').append(t).append('"');
+        }
+        String record = "{\"id\": 1, \"tags\": [" + tags + "]";
+        String lines = record + ", \"x\": [}\n" + record + "}}\n" + record + "}\n";
+
+        assertThat(record.length()).isGreaterThan(JsonLines.STREAMING_THRESHOLD);
+
+        Configuration conf = Configuration.defaultConfiguration().engine(EvaluationEngine.STREAMING);
+        List<String> records = records(JsonPath.readLines(stream(lines.getBytes("UTF-8")), conf, ID, ID), 2);
+
+        assertThat(records).containsExactly("1: InvalidJsonException", "2: InvalidJsonException", "3: 1 1");
+    }
+
+    @Test
+    public void files_are_read() throws Exception {
+        File file = File.createTempFile("lines", ".ndjson");
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        out.write(LINES.getBytes("UTF-8"));
+        out.close();
+
+        List<String> records = records(JsonPath.readLines(file, Configuration.defaultConfiguration(), NAME), 1);
+
+        assertThat(records).containsExactly("1: ann", "3: PathNotFoundException", "4: InvalidJsonException", "6: bob");
+    }
+
+    @Test
+    public void records_are_parsed_by_providers_overriding_parse() throws Exception {
+        Configuration conf = Configuration.builder().jsonProvider(new JsonSmartJsonProvider() {
+            @Override
+            public Object parse(String json) {
+                return super.parse(json.replace("ann", "eve"));
+            }
+        }).build();
+
+        List<String> records = records(JsonPath.readLines(stream(LINES.getBytes("UTF-8")), conf, NAME), 1);
+
+        assertThat(records).containsExactly("1: eve", "3: PathNotFoundException", "4: InvalidJsonException", "6: bob");
+    }
+
+    @Test
+    public void empty_input_has_no_records() throws Exception {
+        assertThat(JsonPath.readLines(stream(new byte[0]), ID).hasNext()).isFalse();
+    }
+
+    private static InputStream stream(byte[] bytes) {
+        return new ByteArrayInputStream(bytes);
+    }
+
+    /**
+     * @return every record as its line number and the value or exception of each path
+     */
+    private static List<String> records(JsonLines lines, int paths) {
+        List<String> records = new ArrayList<String>();
+        try {
+            while (lines.hasNext()) {
+                JsonLines.Record record = lines.next();
+                StringBuilder text = new StringBuilder().append(record.lineNumber()).append(':');
+                if (!record.isValid()) {
+                    text.append(' ').append(record.error().getClass().getSimpleName());
+                } else {
+                    for (int i = 0; i < paths; i++) {
+                        String value;
+                        try {
+                            value = String.valueOf(record.<Object>read(i)).replace(" ", "").replace("\"", "");
+                        } catch (JsonPathException e) {
+                            value = e.getClass().getSimpleName();
+                        }
+                        text.append(' ').append(value);
+                    }
+                }
+                records.add(text.toString());
+            }
+        } finally {
+            lines.close();
+        }
+        return records;
+    }
+}
@@ -52,4 +52,15 @@ public class JsonOrgJsonProviderTest extends BaseTest {
 
         assertThat(books.length()).isEqualTo(2);
     }
+
+    @Test
+    public void empty_objects_can_be_scanned() {
+        String json = "{\"a\": {}, \"b\": {\"c\": 1}}";
+
+        JSONArray values = using(JSON_ORG_CONFIGURATION).parse(json).read("$..c");
+        JSONArray indexed = using(JSON_ORG_CONFIGURATION.addOptions(Option.SCAN_INDEX)).parse(json).read("$..c");
+
+        assertThat(values.toString()).isEqualTo("[1]");
+        assertThat(indexed.toString()).isEqualTo("[1]");
+    }
 }
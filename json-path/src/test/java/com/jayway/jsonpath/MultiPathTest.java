@@ -0,0 +1,110 @@
+package com.jayway.jsonpath;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MultiPathTest extends BaseTest {
+
+    @Test
+    public void paths_are_read_as_if_they_were_read_one_by_one() {
+        for (Configuration conf : Differential.configurations()) {
+            Object document = conf.jsonProvider().parse(Differential.DOCUMENT);
+
+            // the paths failing on their own fail the whole set, they are left out
+            List<String> paths = new ArrayList<String>();
+            Map<String, Object> expected = new LinkedHashMap<String, Object>();
+            for (String path : Differential.PATHS) {
+                try {
+                    expected.put(path, String.valueOf(JsonPath.compile(path).<Object>read(document, conf)));
+                    paths.add(path);
+                } catch (PathNotFoundException e) {
+                    paths.add(path);
+                } catch (RuntimeException e) {
+                    // left out
+                }
+            }
+            String description = conf.jsonProvider().getClass().getSimpleName() + " " + conf.getOptions();
+
+            Map<String, Object> results = JsonPath.compileSet(paths.toArray(new String[paths.size()])).read(document, conf);
+
+            assertThat(results.keySet()).describedAs(description).containsExactlyElementsOf(expected.keySet());
+            for (Map.Entry<String, Object> entry : results.entrySet()) {
+                assertThat(String.valueOf(entry.getValue())).describedAs(entry.getKey() + " " + description)
+                        .isEqualTo(expected.get(entry.getKey()));
+            }
+        }
+    }
+
+    @Test(expected = JsonPathException.class)
+    public void a_failing_path_fails_the_set() {
+        Configuration conf = Configuration.defaultConfiguration().addOptions(Option.AS_PATH_LIST);
+
+        JsonPath.compileSet("$.store.bicycle.color", "$.store.book.length()").read(JSON_DOCUMENT, conf);
+    }
+
+    @Test
+    public void results_are_keyed_by_path_in_order() {
+        Map<String, Object> results = JsonPath.compileSet("$.store.bicycle.color", "$.foo", "$.missing", "$.store.book[*].author")
+                .read(JSON_DOCUMENT, Configurations.JSON_SMART_CONFIGURATION);
+
+        assertThat(results.keySet()).containsExactly("$.store.bicycle.color", "$.foo", "$.store.book[*].author");
+        assertThat(results.get("$.store.bicycle.color")).isEqualTo("red");
+        assertThat(results.get("$.foo")).isEqualTo("bar");
+        assertThat((Iterable<?>) results.get("$.store.book[*].author"))
+                .containsExactly("Nigel Rees", "Evelyn Waugh", "Herman Melville", "J. R. R. Tolkien");
+    }
+
+    @Test
+    public void a_path_set_can_be_read_from_a_parsed_document() {
+        MultiPath multiPath = JsonPath.compileSet("$.store.book[0].title", "$.store.book[1].title", "$.store.book.length()");
+        DocumentContext context = JsonPath.parse(JSON_DOCUMENT);
+
+        Map<String, Object> results = multiPath.read(context.json(), context.configuration());
+
+        assertThat(results).containsEntry("$.store.book[0].title", "Sayings of the Century")
+                .containsEntry("$.store.book[1].title", "Sword of Honour")
+                .containsEntry("$.store.book.length()", 4);
+    }
+
+    @Test
+    public void listeners_see_every_path_on_its_own() {
+        final StringBuilder found = new StringBuilder();
+        Configuration conf = Configurations.JSON_SMART_CONFIGURATION.addEvaluationListeners(new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult result) {
+                found.append(result.index()).append(result.path());
+                return EvaluationContinuation.ABORT;
+            }
+        });
+
+        Map<String, Object> results = JsonPath.compileSet("$.store.book[*].title", "$.store.book[*].author").read(JSON_DOCUMENT, conf);
+
+        assertThat((Iterable<?>) results.get("$.store.book[*].title")).containsExactly("Sayings of the Century");
+        assertThat((Iterable<?>) results.get("$.store.book[*].author")).containsExactly("Nigel Rees");
+        assertThat(found.toString()).isEqualTo("0$['store']['book'][0]['title']0$['store']['book'][0]['author']");
+    }
+
+    @Test
+    public void paths_are_kept_as_given() {
+        MultiPath multiPath = JsonPath.compileSet("store.bicycle.color", "$.foo");
+
+        assertThat(multiPath.getPaths()).containsExactly("store.bicycle.color", "$.foo");
+        assertThat(multiPath.read(JSON_DOCUMENT, Configurations.JSON_SMART_CONFIGURATION)).containsEntry("store.bicycle.color", "red");
+    }
+
+    @Test
+    public void a_path_failing_on_its_own_does_not_fail_the_set() {
+        // json-org can not hand out null values
+        Configuration conf = Configurations.JSON_ORG_CONFIGURATION.addOptions(Option.SUPPRESS_EXCEPTIONS);
+
+        Map<String, Object> results = JsonPath.compileSet("$.null-property", "$.foo").read(JSON_DOCUMENT, conf);
+
+        assertThat(results).containsEntry("$.null-property", null).containsEntry("$.foo", "bar");
+    }
+}
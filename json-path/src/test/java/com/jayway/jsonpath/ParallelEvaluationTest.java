@@ -0,0 +1,153 @@
+package com.jayway.jsonpath;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParallelEvaluationTest extends BaseTest {
+
+    private static ExecutorService executor;
+
+    @BeforeClass
+    public static void start() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterClass
+    public static void stop() {
+        executor.shutdown();
+    }
+
+    private static final Differential.Evaluator PARALLEL = new Differential.Evaluator() {
+        @Override
+        public Object read(String path, String json, Configuration configuration) {
+            return JsonPath.using(configuration.executor(executor).parallelThreshold(2)).parse(json).read(path);
+        }
+    };
+
+    @Test
+    public void parallel_reads_read_like_sequential_reads() {
+        Differential.assertReadsLikeTheRecursiveEngine(PARALLEL);
+    }
+
+    @Test
+    public void parallel_reads_find_the_results_of_every_chunk() {
+        Configuration conf = Configuration.defaultConfiguration().executor(executor).parallelThreshold(10);
+        DocumentContext ctx = JsonPath.using(conf).parse(document(300));
+
+        assertThat(ctx.<List<Integer>>read("$.items[?(@.id in [294, 7, 14])].id")).containsExactly(7, 14, 294);
+        assertThat(ctx.<List<Integer>>read("$.index.*.id")).hasSize(300).startsWith(0, 1, 2).endsWith(299);
+        assertThat(ctx.<List<Integer>>read("$..[?(@.id == 42)].id")).containsExactly(42, 42);
+        assertThat(ctx.<List<String>>read("$.items[?(@.id > $.limit)].tags[0]")).hasSize(149).startsWith("t151");
+    }
+
+    @Test
+    public void large_containers_are_split_among_the_threads_of_the_executor() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(2, 2, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+        try {
+            Configuration conf = Configuration.defaultConfiguration().executor(pool).parallelThreshold(10);
+
+            List<Integer> ids = JsonPath.using(conf).parse(document(100)).read("$.items[*].id");
+
+            assertThat(ids).hasSize(100);
+            assertThat(ids.get(99)).isEqualTo(99);
+            assertThat(pool.getTaskCount()).isGreaterThan(0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void reads_from_a_task_of_a_single_thread_executor_complete() throws Exception {
+        final ExecutorService single = Executors.newFixedThreadPool(1);
+        try {
+            final Configuration conf = Configuration.defaultConfiguration().executor(single).parallelThreshold(10);
+            final String json = document(100);
+
+            Future<List<Integer>> nested = single.submit(new Callable<List<Integer>>() {
+                @Override
+                public List<Integer> call() {
+                    return JsonPath.using(conf).parse(json).read("$.items[*].children[*].id");
+                }
+            });
+
+            assertThat(nested.get(10, TimeUnit.SECONDS)).hasSize(200).startsWith(1000, 2000, 1001);
+        } finally {
+            single.shutdownNow();
+        }
+    }
+
+    @Test
+    public void reads_complete_when_the_executor_rejects_tasks() {
+        ExecutorService shutDown = Executors.newFixedThreadPool(1);
+        shutDown.shutdown();
+        Configuration conf = Configuration.defaultConfiguration().executor(shutDown).parallelThreshold(10);
+
+        assertThat(JsonPath.using(conf).parse(document(100)).<List<Integer>>read("$.items[*].id")).hasSize(100);
+    }
+
+    @Test
+    public void small_containers_are_not_split() {
+        Configuration conf = Configuration.defaultConfiguration().executor(executor);
+
+        assertThat(conf.parallelThreshold()).isEqualTo(1000);
+        assertThat(JsonPath.using(conf).parse(document(10)).<List<Integer>>read("$.items[*].id")).hasSize(10);
+    }
+
+    @Test
+    public void evaluation_with_listeners_is_not_split() {
+        Configuration conf = Configuration.defaultConfiguration().executor(executor).parallelThreshold(10)
+                .addEvaluationListeners(new EvaluationListener() {
+                    @Override
+                    public EvaluationContinuation resultFound(FoundResult found) {
+                        return found.index() == 2 ? EvaluationContinuation.ABORT : EvaluationContinuation.CONTINUE;
+                    }
+                });
+
+        assertThat(JsonPath.using(conf).parse(document(100)).<List<Integer>>read("$.items[*].id")).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    public void updates_are_not_split() {
+        Configuration conf = Configuration.defaultConfiguration().executor(executor).parallelThreshold(10);
+        DocumentContext ctx = JsonPath.using(conf).parse(document(100));
+
+        ctx.set("$.items[*].id", 0);
+
+        assertThat(ctx.<List<Integer>>read("$.items[?(@.id != 0)]")).isEmpty();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void the_threshold_must_be_positive() {
+        Configuration.defaultConfiguration().parallelThreshold(0);
+    }
+
+    /**
+     * @return a document with the given number of items, each with children, and an index of the items by key
+     */
+    private static String document(int items) {
+        StringBuilder json = new StringBuilder("{\"limit\": " + (items / 2) + ", \"items\": [");
+        StringBuilder index = new StringBuilder();
+        for (int i = 0; i < items; i++) {
+            if (i > 0) {
+                json.append(',');
+                index.append(',');
+            }
+            String item = "{\"id\": " + i + ", \"tags\": [\"t" + i + "\"], \"children\": [{\"id\": " + (1000 + i) + "}, {\"id\": " + (2000 + i) + ", \"tags\": []}]}";
+            json.append(item);
+            index.append("\"k").append(i).append("\": ").append(item);
+        }
+        return json.append("], \"index\": {").append(index).append("}}").toString();
+    }
+}
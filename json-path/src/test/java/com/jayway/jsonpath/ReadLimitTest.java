@@ -0,0 +1,140 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.jayway.jsonpath.JsonPath.using;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class ReadLimitTest extends BaseTest {
+
+    @Test
+    public void a_limited_slice_reads_only_the_limited_elements() {
+        List<Integer> numbers = new ArrayList<Integer>();
+        for (int i = 0; i < 10000; i++) {
+            numbers.add(i);
+        }
+        for (EvaluationEngine engine : EvaluationEngine.values()) {
+            CountingJsonProvider provider = new CountingJsonProvider();
+            ReadContext context = using(configuration(provider, engine)).parse(numbers);
+
+            assertThat(context.limit(3).<List<Integer>>read("$[10:]")).describedAs(engine.name()).containsExactly(10, 11, 12);
+            assertThat(context.limit(3).<List<Integer>>read("$[-5:]")).containsExactly(9995, 9996, 9997);
+            assertThat(context.limit(2).<List<Integer>>read("$[:5000]")).containsExactly(0, 1);
+            assertThat(context.limit(20).<List<Integer>>read("$[1:4]")).containsExactly(1, 2, 3);
+            assertThat(provider.reads).describedAs(engine.name()).isEqualTo(3 + 3 + 2 + 3);
+        }
+    }
+
+    @Test
+    public void a_limited_deep_scan_stops_descending() {
+        List<Object> items = new ArrayList<Object>();
+        for (int i = 0; i < 10000; i++) {
+            Map<String, Object> item = new HashMap<String, Object>();
+            item.put("id", i);
+            items.add(item);
+        }
+        for (EvaluationEngine engine : EvaluationEngine.values()) {
+            CountingJsonProvider provider = new CountingJsonProvider();
+            ReadContext context = using(configuration(provider, engine)).parse(items);
+
+            assertThat(context.limit(2).<List<Integer>>read("$..id")).describedAs(engine.name()).containsExactly(0, 1);
+            assertThat(provider.reads).describedAs(engine.name()).isLessThan(10);
+        }
+    }
+
+    @Test
+    public void limits_apply_to_the_read_path_only() {
+        ReadContext context = JsonPath.parse(JSON_DOCUMENT).limit(1);
+
+        List<String> cheap = context.read("$.store.book[?(@['display-price'] < $..['display-price'].avg())].title");
+        assertThat(cheap).containsExactly("Sayings of the Century");
+        assertThat(context.<Double>read("$..['display-price'].max()")).isEqualTo(22.99);
+    }
+
+    @Test
+    public void limits_are_kept_with_listeners() {
+        final List<String> found = new ArrayList<String>();
+        EvaluationListener listener = new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult result) {
+                found.add(result.path());
+                return EvaluationContinuation.CONTINUE;
+            }
+        };
+
+        List<String> authors = JsonPath.parse(JSON_DOCUMENT).limit(2).withListeners(listener).read("$..author");
+
+        assertThat(authors).containsExactly("Nigel Rees", "Evelyn Waugh");
+        assertThat(found).containsExactly("$['store']['book'][0]['author']", "$['store']['book'][1]['author']");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void a_limit_must_be_positive() {
+        JsonPath.parse(JSON_DOCUMENT).limit(0);
+    }
+
+    @Test
+    public void the_first_result_can_be_read() {
+        Configuration configuration = Configuration.defaultConfiguration();
+
+        assertThat(readFirst("$..author", configuration)).isEqualTo("Nigel Rees");
+        assertThat(readFirst("$.store.book[?(@['display-price'] > 10)].title", configuration)).isEqualTo("Sword of Honour");
+        assertThat(readFirst("$..['display-price']", configuration)).isEqualTo(8.95);
+        assertThat(readFirst("$.store.bicycle.color", configuration)).isEqualTo("red");
+        assertThat(readFirst("$.store.book.length()", configuration)).isEqualTo(4);
+        assertThat(readFirst("$.store.book[*].isbn", configuration)).isEqualTo("0-553-21311-3");
+    }
+
+    @Test
+    public void the_first_path_can_be_read() {
+        Configuration configuration = Configuration.defaultConfiguration().addOptions(Option.AS_PATH_LIST);
+
+        assertThat(readFirst("$..book[*].isbn", configuration)).isEqualTo("$['store']['book'][2]['isbn']");
+    }
+
+    @Test
+    public void reading_the_first_of_no_result_fails() {
+        try {
+            readFirst("$..missing", Configuration.defaultConfiguration());
+            fail("Should throw " + PathNotFoundException.class.getName());
+        } catch (PathNotFoundException expected) {
+        }
+
+        Configuration suppressing = Configuration.defaultConfiguration().addOptions(Option.SUPPRESS_EXCEPTIONS);
+        assertThat(readFirst("$..missing", suppressing)).isNull();
+    }
+
+    private static Object readFirst(String path, Configuration configuration) {
+        return JsonPath.compile(path).readFirst(configuration.jsonProvider().parse(JSON_DOCUMENT), configuration);
+    }
+
+    private static Configuration configuration(CountingJsonProvider provider, EvaluationEngine engine) {
+        return Configuration.builder().jsonProvider(provider).engine(engine).build();
+    }
+
+    /**
+     * Counts the values read from arrays and objects
+     */
+    private static class CountingJsonProvider extends JsonSmartJsonProvider {
+        private int reads;
+
+        @Override
+        public Object getArrayIndex(Object obj, int idx) {
+            reads++;
+            return super.getArrayIndex(obj, idx);
+        }
+
+        @Override
+        public Object getMapValue(Object obj, String key) {
+            reads++;
+            return super.getMapValue(obj, key);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.jayway.jsonpath;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResultHandlerTest extends BaseTest {
+
+    @Test
+    public void results_are_passed_to_the_handler_in_document_order() {
+        Collecting handler = new Collecting(EvaluationListener.EvaluationContinuation.CONTINUE);
+
+        read("$..book[?(@.isbn)].title", Configuration.defaultConfiguration(), handler);
+
+        assertThat(handler.values).containsExactly("Moby Dick", "The Lord of the Rings");
+        assertThat(handler.paths).containsExactly("$['store']['book'][2]['title']", "$['store']['book'][3]['title']");
+        assertThat(handler.indexes).containsExactly(0, 1);
+    }
+
+    @Test
+    public void results_are_unwrapped_with_every_provider() {
+        for (Configuration configuration : Configurations.configurations()) {
+            Collecting handler = new Collecting(EvaluationListener.EvaluationContinuation.CONTINUE);
+
+            read("$.store.book[*].author", configuration, handler);
+
+            assertThat(handler.values).containsExactly("Nigel Rees", "Evelyn Waugh", "Herman Melville", "J. R. R. Tolkien");
+        }
+    }
+
+    @Test
+    public void the_handler_can_abort_the_read() {
+        Collecting handler = new Collecting(EvaluationListener.EvaluationContinuation.ABORT);
+
+        read("$..author", Configuration.defaultConfiguration(), handler);
+
+        assertThat(handler.values).containsExactly("Nigel Rees");
+    }
+
+    @Test
+    public void listeners_are_not_notified() {
+        final List<String> notified = new ArrayList<String>();
+        EvaluationListener listener = new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult found) {
+                notified.add(found.path());
+                return EvaluationContinuation.CONTINUE;
+            }
+        };
+        Collecting handler = new Collecting(EvaluationListener.EvaluationContinuation.CONTINUE);
+
+        read("$..author", Configuration.defaultConfiguration().setEvaluationListeners(listener), handler);
+
+        assertThat(handler.values).hasSize(4);
+        assertThat(notified).isEmpty();
+    }
+
+    @Test
+    public void functions_and_missing_paths_are_handled() {
+        Collecting handler = new Collecting(EvaluationListener.EvaluationContinuation.CONTINUE);
+        read("$..['display-price'].max()", Configuration.defaultConfiguration(), handler);
+        read("$.store.bicycle.missing", Configuration.defaultConfiguration(), handler);
+
+        assertThat(handler.values).containsExactly(22.99);
+    }
+
+    private static void read(String path, Configuration configuration, ResultHandler handler) {
+        JsonPath.compile(path).read(configuration.jsonProvider().parse(JSON_DOCUMENT), configuration, handler);
+    }
+
+    private static class Collecting implements ResultHandler {
+        private final EvaluationListener.EvaluationContinuation continuation;
+        private final List<Object> values = new ArrayList<Object>();
+        private final List<String> paths = new ArrayList<String>();
+        private final List<Integer> indexes = new ArrayList<Integer>();
+
+        private Collecting(EvaluationListener.EvaluationContinuation continuation) {
+            this.continuation = continuation;
+        }
+
+        @Override
+        public EvaluationListener.EvaluationContinuation handle(EvaluationListener.FoundResult found) {
+            values.add(found.result());
+            paths.add(found.path());
+            indexes.add(found.index());
+            return continuation;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.jayway.jsonpath;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ScanIndexTest extends BaseTest {
+
+    private static final Differential.Evaluator INDEXED = new Differential.Evaluator() {
+        @Override
+        public Object read(String path, String json, Configuration configuration) {
+            return JsonPath.using(configuration.addOptions(Option.SCAN_INDEX)).parse(json).read(path);
+        }
+    };
+
+    @Test
+    public void indexed_scans_read_like_scans() {
+        Differential.assertReadsLikeTheRecursiveEngine(INDEXED);
+    }
+
+    @Test
+    public void indexed_scans_find_the_properties_in_document_order() {
+        DocumentContext ctx = indexed(Configuration.defaultConfiguration());
+
+        assertThat(ctx.<List<String>>read("$..author")).containsExactly("Nigel Rees", "Evelyn Waugh", "Herman Melville", "J. R. R. Tolkien");
+        assertThat(ctx.<List<String>>read("$..book[?(@.isbn)].title")).containsExactly("Moby Dick", "The Lord of the Rings");
+        assertThat(ctx.<List<String>>read("$..bicycle.color")).containsExactly("red");
+        assertThat(ctx.<List<Object>>read("$..missing")).isEmpty();
+    }
+
+    @Test
+    public void compiled_paths_read_like_scans() {
+        DocumentContext plain = JsonPath.parse(JSON_DOCUMENT);
+        DocumentContext indexed = indexed(Configuration.defaultConfiguration());
+        JsonPath[] paths = {
+                JsonPath.compile("$..author"),
+                JsonPath.compile("$..book[?(@.price > 10)].title"),
+                JsonPath.compile("$..book[?].title", Filter.filter(Criteria.where("price").gt(10)))
+        };
+
+        for (JsonPath path : paths) {
+            assertThat(indexed.<Object>read(path)).describedAs(path.getPath()).isEqualTo(plain.<Object>read(path));
+        }
+    }
+
+    @Test
+    public void writes_invalidate_the_index() {
+        DocumentContext ctx = indexed(Configurations.JSON_SMART_CONFIGURATION);
+        assertThat(ctx.<List<String>>read("$..color")).containsExactly("red");
+
+        ctx.put("$.store.book[0]", "color", "blue");
+        assertThat(ctx.<List<String>>read("$..color")).containsExactly("blue", "red");
+
+        ctx.set("$.store.bicycle.color", "green");
+        assertThat(ctx.<List<String>>read("$..color")).containsExactly("blue", "green");
+
+        ctx.renameKey("$.store.bicycle", "color", "colour");
+        assertThat(ctx.<List<String>>read("$..color")).containsExactly("blue");
+
+        ctx.delete("$.store.book[0].color");
+        assertThat(ctx.<List<String>>read("$..color")).isEmpty();
+
+        ctx.add("$.store.book", Configurations.JSON_SMART_CONFIGURATION.jsonProvider().parse("{\"color\":\"black\"}"));
+        assertThat(ctx.<List<String>>read("$..color")).containsExactly("black");
+    }
+
+    @Test
+    public void limits_apply_to_indexed_scans() {
+        DocumentContext ctx = indexed(Configurations.JSON_SMART_CONFIGURATION);
+
+        assertThat(ctx.limit(2).<List<String>>read("$..author")).containsExactly("Nigel Rees", "Evelyn Waugh");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void changes_made_around_the_context_are_not_seen() {
+        DocumentContext ctx = indexed(Configurations.JSON_SMART_CONFIGURATION);
+        assertThat(ctx.<List<String>>read("$..color")).containsExactly("red");
+
+        ((Map<String, Object>) ctx.read("$.store.book[0]")).put("color", "blue");
+
+        assertThat(ctx.<List<String>>read("$..color")).containsExactly("red");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void contexts_are_not_indexed_without_the_option() {
+        DocumentContext ctx = JsonPath.using(Configurations.JSON_SMART_CONFIGURATION).parse(JSON_DOCUMENT);
+        assertThat(ctx.<List<String>>read("$..color")).containsExactly("red");
+
+        ((Map<String, Object>) ctx.read("$.store.book[0]")).put("color", "blue");
+
+        assertThat(ctx.<List<String>>read("$..color")).containsExactly("blue", "red");
+    }
+
+    private static DocumentContext indexed(Configuration conf) {
+        return JsonPath.using(conf.addOptions(Option.SCAN_INDEX)).parse(JSON_DOCUMENT);
+    }
+}
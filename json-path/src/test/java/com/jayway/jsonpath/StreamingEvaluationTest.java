@@ -0,0 +1,162 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.internal.path.PathCompiler;
+import com.jayway.jsonpath.internal.path.StreamingEvaluator;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+
+import static com.jayway.jsonpath.Criteria.where;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StreamingEvaluationTest extends BaseTest {
+
+    private static final String DOCUMENT = "{" +
+            "\"limit\": 10, " +
+            "\"empty\": {}, \"none\": [], \"nothing\": null, " +
+            "\"matrix\": [[1, 2, 3], [4, 5], [], [6, [7, 8]]], " +
+            "\"mixed\": [1, \"two\", {\"id\": 3, \"tags\": [\"a\", \"b\"]}, [4, {\"id\": 5}], null, true, 6.5], " +
+            "\"es\\\"caped\": {\"na\\\\me\": \"va\\\"lue\", \"uni\\u00e9\": \"\\u00e9\"}, " +
+            "\"items\": [" +
+            "{\"id\": 1, \"price\": 8.95, \"tags\": [\"x\"], \"owner\": {\"id\": 10, \"name\": \"ann\"}}, " +
+            "{\"id\": 2, \"price\": 12.5, \"tags\": [], \"owner\": null}, " +
+            "{\"id\": 3, \"tags\": [\"y\", \"z\"], \"owner\": {\"id\": 30}}, " +
+            "{\"id\": 4, \"price\": 22, \"owner\": {\"name\": \"bob\", \"id\": 40, \"items\": [{\"id\": 41}]}}" +
+            "]}";
+
+    private static final Differential.Evaluator STREAMING = new Differential.Evaluator() {
+        @Override
+        public Object read(String path, String json, Configuration configuration) {
+            return JsonPath.compile(path).read(json, configuration.engine(EvaluationEngine.STREAMING));
+        }
+    };
+
+    /**
+     * Reads the json text with the engine of the configuration
+     */
+    private static final Differential.Evaluator CONFIGURED = new Differential.Evaluator() {
+        @Override
+        public Object read(String path, String json, Configuration configuration) {
+            return JsonPath.compile(path).read(json, configuration);
+        }
+    };
+
+    @Test
+    public void streaming_reads_read_like_parsed_documents() {
+        Differential.assertReadsLikeTheRecursiveEngine(STREAMING);
+    }
+
+    @Test
+    public void documents_are_read_while_they_are_streamed() {
+        Configuration conf = Configuration.defaultConfiguration().engine(EvaluationEngine.STREAMING);
+
+        assertThat(JsonPath.compile("$.items[*].owner.name").<List<String>>read(DOCUMENT, conf)).containsExactly("ann", "bob");
+        assertThat(JsonPath.compile("$.items[1:3].id").<List<Integer>>read(DOCUMENT, conf)).containsExactly(2, 3);
+        assertThat(JsonPath.compile("$.matrix[3][1][0]").<Integer>read(DOCUMENT, conf)).isEqualTo(7);
+        assertThat(JsonPath.compile("$['es\"caped']['na\\\\me']").<String>read(DOCUMENT, conf)).isEqualTo("va\"lue");
+        assertThat(JsonPath.compile("$..owner.id").<List<Integer>>read(DOCUMENT, conf)).containsExactly(10, 30, 40);
+        assertThat(JsonPath.compile("$.items[?(@.price > 10)].id").<List<Integer>>read(DOCUMENT, conf)).containsExactly(2, 4);
+        assertThat(JsonPath.compile("$.store.book[?(@.isbn)].title").<List<String>>read(JSON_DOCUMENT, conf))
+                .containsExactly("Moby Dick", "The Lord of the Rings");
+    }
+
+    @Test
+    public void streams_are_read_while_they_are_tokenized() throws Exception {
+        Configuration conf = Configuration.defaultConfiguration().engine(EvaluationEngine.STREAMING);
+
+        List<Object> ids = JsonPath.compile("$.items[*].owner.id").read(new ByteArrayInputStream(DOCUMENT.getBytes("UTF-8")), conf);
+
+        assertThat(ids).containsExactly(10, 30, 40);
+    }
+
+    @Test
+    public void supported_paths() {
+        Configuration conf = Configuration.defaultConfiguration();
+
+        assertThat(supports("$.items[*].owner['id','name']", conf)).isTrue();
+        assertThat(supports("$..items[?(@.price > 10)]", conf)).isTrue();
+        assertThat(supports("$.items[?(@.price > $.limit)]", conf)).isFalse();
+        assertThat(supports("$.items.length()", conf)).isFalse();
+        assertThat(supports("$.items[*]", conf.addOptions(Option.REQUIRE_PROPERTIES))).isFalse();
+        assertThat(supports("$..id", conf.maxScanDepth(10))).isFalse();
+        assertThat(supports("$.items[*]", Configurations.JSON_ORG_CONFIGURATION)).isFalse();
+    }
+
+    @Test
+    public void other_predicates_are_evaluated_on_the_parsed_document() {
+        Configuration conf = Configuration.defaultConfiguration().engine(EvaluationEngine.STREAMING);
+
+        List<Object> ids = JsonPath.compile("$.items[?].id", Filter.filter(where("price").gt(10))).read(DOCUMENT, conf);
+
+        assertThat(ids).containsExactly(2, 4);
+    }
+
+    @Test
+    public void listeners_see_the_results_in_document_order() {
+        Configuration conf = Configuration.defaultConfiguration().engine(EvaluationEngine.STREAMING)
+                .addEvaluationListeners(new EvaluationListener() {
+                    @Override
+                    public EvaluationContinuation resultFound(FoundResult found) {
+                        return found.index() == 1 ? EvaluationContinuation.ABORT : EvaluationContinuation.CONTINUE;
+                    }
+                });
+
+        List<Object> ids = JsonPath.compile("$..id").read(DOCUMENT, conf);
+
+        assertThat(ids).containsExactly(3, 5);
+    }
+
+    @Test
+    public void invalid_json_is_rejected() {
+        Configuration conf = Configuration.defaultConfiguration().engine(EvaluationEngine.STREAMING);
+
+        for (String json : new String[]{"{\"a\": 1", "{\"a\" 1}", "{\"a\": 1,}", "[1 2]", "{\"a\": 1} x", "{\"a\": \"b}", "{'a': 1}"}) {
+            try {
+                JsonPath.compile("$.*").read(json, conf);
+                org.junit.Assert.fail(json);
+            } catch (InvalidJsonException e) {
+                assertThat(e.getMessage()).contains("at character");
+            }
+        }
+    }
+
+    @Test
+    public void null_documents_are_rejected_by_all_engines() {
+        for (EvaluationEngine engine : EvaluationEngine.values()) {
+            Configuration conf = Configuration.defaultConfiguration().engine(engine);
+            for (String path : new String[]{"$.a", "$..a", "$[0]"}) {
+                assertThat(outcome(conf, "null", path)).describedAs(path + " " + engine)
+                        .isEqualTo(IllegalArgumentException.class.getName() + ": root can not be null");
+            }
+        }
+    }
+
+    @Test
+    public void single_value_documents_read_like_parsed_documents() {
+        for (String json : new String[]{"null", "1", "\"a\"", "true"}) {
+            Differential.assertReadsLike(STREAMING, CONFIGURED, json, "$", "$.a", "$..a", "$[0]");
+        }
+    }
+
+    @Test
+    public void definite_paths_stop_reading_once_evaluated() {
+        Configuration conf = Configuration.defaultConfiguration().engine(EvaluationEngine.STREAMING);
+        // the document is cut short after the object the paths read
+        String json = "{\"a\": {\"b\": 1, \"c\": [2, 3]}, \"d\": [";
+
+        assertThat(JsonPath.compile("$.a.b").<Integer>read(json, conf)).isEqualTo(1);
+        assertThat(JsonPath.compile("$.a.c[1]").<Integer>read(json, conf)).isEqualTo(3);
+        assertThat(outcome(conf, json, "$.a.x")).startsWith(PathNotFoundException.class.getName());
+        assertThat(outcome(conf, json, "$.d[0]")).startsWith(InvalidJsonException.class.getName());
+        assertThat(outcome(conf, json, "$.a.c[*]")).startsWith(InvalidJsonException.class.getName());
+    }
+
+    private static boolean supports(String path, Configuration conf) {
+        return StreamingEvaluator.supports(PathCompiler.compile(path), conf);
+    }
+
+    private static String outcome(Configuration conf, String json, String path) {
+        return Differential.outcome(CONFIGURED, path, json, conf);
+    }
+}
@@ -0,0 +1,122 @@
+package com.jayway.jsonpath;
+
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import com.jayway.jsonpath.spi.json.TapeJsonProvider;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+
+import static com.jayway.jsonpath.Configurations.TAPE_CONFIGURATION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+public class TapeJsonProviderTest extends BaseTest {
+
+    private static final TapeJsonProvider PROVIDER = new TapeJsonProvider();
+
+    @Test
+    public void values_are_decoded_as_json_smart_decodes_them() {
+        String json = "{\"s\": \"a\\\"b\\u0041\\n\", \"empty\": {}, \"none\": [], \"t\": true, \"f\": false, \"n\": null, " +
+                "\"numbers\": [1, -0, 12345678901, 123456789012345678901, 1.5, -1e2, 3.0, 1.2345678901234567890123, 2147483648]}";
+
+        Object tape = PROVIDER.parse(json);
+        Object smart = new JsonSmartJsonProvider().parse(json);
+
+        assertThat(tape).isEqualTo(smart);
+        List<Object> tapeNumbers = JsonPath.read(tape, "$.numbers");
+        List<Object> smartNumbers = JsonPath.read(smart, "$.numbers");
+        for (int i = 0; i < smartNumbers.size(); i++) {
+            assertThat(tapeNumbers.get(i)).isEqualTo(smartNumbers.get(i));
+            assertThat(tapeNumbers.get(i).getClass()).isEqualTo(smartNumbers.get(i).getClass());
+        }
+        assertThat(PROVIDER.toJson(tape)).isEqualTo(new JsonSmartJsonProvider().toJson(smart));
+    }
+
+    @Test
+    public void objects_and_arrays_are_printed_as_json() {
+        String json = "{\"a\":[1,\"x\\\"y\",{\"b\":null}],\"c\":{}}";
+        Map<String, Object> document = (Map<String, Object>) PROVIDER.parse(json);
+
+        assertThat(document.toString()).isEqualTo(json);
+        assertThat(document.get("a").toString()).isEqualTo("[1,\"x\\\"y\",{\"b\":null}]");
+
+        document.put("d", 2);
+        assertThat(document.toString()).isEqualTo("{\"a\":[1,\"x\\\"y\",{\"b\":null}],\"c\":{},\"d\":2}");
+    }
+
+    @Test
+    public void root_values_can_be_scalars() throws Exception {
+        assertThat(PROVIDER.parse(" 42 ")).isEqualTo(42);
+        assertThat(PROVIDER.parse("\"text\"")).isEqualTo("text");
+        assertThat(PROVIDER.parse("null")).isNull();
+        assertThat(PROVIDER.parse(new ByteArrayInputStream("[1, 2]".getBytes("UTF-8")), "UTF-8")).isEqualTo(PROVIDER.parse("[1,2]"));
+    }
+
+    @Test
+    public void the_last_value_of_a_repeated_property_is_read() {
+        Map<String, Object> map = (Map<String, Object>) PROVIDER.parse("{\"a\": 1, \"b\": 2, \"a\": 3}");
+
+        assertThat(map).hasSize(2);
+        assertThat(map.keySet()).containsExactly("a", "b");
+        assertThat(map.get("a")).isEqualTo(3);
+    }
+
+    @Test
+    public void missing_properties_are_undefined() {
+        StringBuilder json = new StringBuilder("{");
+        for (int i = 0; i < 20; i++) {
+            json.append(i == 0 ? "" : ",").append("\"p").append(i).append("\": ").append(i);
+        }
+        Object document = PROVIDER.parse(json.append("}").toString());
+
+        assertThat(PROVIDER.getMapValue(document, "p19")).isEqualTo(19);
+        assertThat(PROVIDER.getMapValue(document, "p20")).isSameAs(JsonProvider.UNDEFINED);
+        assertThat(PROVIDER.getPropertyKeys(document)).hasSize(20);
+    }
+
+    @Test
+    public void nested_values_can_be_modified() {
+        DocumentContext context = JsonPath.using(TAPE_CONFIGURATION).parse(JSON_DOCUMENT);
+
+        context.set("$.store.book[0].title", "changed");
+        context.put("$.store.bicycle", "gears", 21);
+        context.add("$.store.book", "new book");
+        context.delete("$.store.book[1]");
+
+        assertThat(context.read("$.store.book[0].title", String.class)).isEqualTo("changed");
+        assertThat(context.read("$.store.bicycle.gears", Integer.class)).isEqualTo(21);
+        assertThat(context.read("$.store.book[*]", List.class)).hasSize(4).contains("new book");
+        assertThat(context.jsonString()).contains("\"gears\":21").doesNotContain("Evelyn Waugh");
+    }
+
+    @Test
+    public void deeply_nested_documents_are_parsed() {
+        StringBuilder json = new StringBuilder();
+        for (int i = 0; i < 10000; i++) {
+            json.append("{\"a\":");
+        }
+        json.append(1);
+        for (int i = 0; i < 10000; i++) {
+            json.append('}');
+        }
+
+        assertThat(JsonPath.using(TAPE_CONFIGURATION).parse(json.toString()).read("$..a", List.class)).hasSize(10000);
+    }
+
+    @Test
+    public void invalid_json_is_rejected_when_parsed() {
+        String[] invalid = {"", "{", "[1,]", "{\"a\" 1}", "{\"a\": 1,}", "{a: 1}", "[01]", "[1.]", "[tru]", "[\"a]",
+                "[\"\\x\"]", "[1] 2", "{\"a\": [1}", "[-]", "['a']", "[1e]"};
+        for (String json : invalid) {
+            try {
+                PROVIDER.parse(json);
+                fail("Expected " + json + " to be invalid");
+            } catch (InvalidJsonException e) {
+                assertThat(e.getMessage()).contains("at character");
+            }
+        }
+    }
+}
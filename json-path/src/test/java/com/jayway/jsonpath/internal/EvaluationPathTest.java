@@ -0,0 +1,40 @@
+package com.jayway.jsonpath.internal;
+
+import org.junit.Test;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class EvaluationPathTest {
+
+    @Test
+    public void path_is_rendered_in_bracket_notation() {
+        EvaluationPath path = EvaluationPath.root("$").property("store").property("book").index(1).properties(asList("a", "b"));
+
+        assertThat(path.toString()).isEqualTo("$['store']['book'][1]['a', 'b']");
+    }
+
+    @Test
+    public void function_is_rendered_with_dot_notation() {
+        assertThat(EvaluationPath.root("$").property("numbers").function("sum").toString()).isEqualTo("$['numbers'].sum");
+    }
+
+    @Test
+    public void parent_paths_are_not_changed_by_children() {
+        EvaluationPath parent = EvaluationPath.root("$").property("a");
+        EvaluationPath first = parent.index(0);
+        EvaluationPath second = parent.index(1);
+
+        assertThat(first.toString()).isEqualTo("$['a'][0]");
+        assertThat(second.toString()).isEqualTo("$['a'][1]");
+        assertThat(parent.toString()).isEqualTo("$['a']");
+        assertThat(second.parent()).isSameAs(parent);
+    }
+
+    @Test
+    public void rendering_is_cached() {
+        EvaluationPath path = EvaluationPath.root("$").property("a");
+
+        assertThat(path.toString()).isSameAs(path.toString());
+    }
+}
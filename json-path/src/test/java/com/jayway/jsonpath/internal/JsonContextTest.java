@@ -1,10 +1,14 @@
 package com.jayway.jsonpath.internal;
 
 import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
 import com.jayway.jsonpath.Criteria;
 import com.jayway.jsonpath.DocumentContext;
 import com.jayway.jsonpath.Filter;
 import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.spi.cache.CacheProvider;
+import com.jayway.jsonpath.spi.cache.ConcurrentLRUCache;
 import org.assertj.core.api.Assertions;
 import org.junit.Test;
 
@@ -27,4 +31,38 @@ public class JsonContextTest extends BaseTest {
         Assertions.assertThat(ne).doesNotContain("reference");
     }
 
+    @Test
+    public void configuration_scoped_cache_is_used() {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(10);
+        Configuration configuration = Configuration.builder().cache(cache).build();
+
+        String path = "$.store.book[0].author";
+        JsonPath.using(configuration).parse(JSON_DOCUMENT).read(path);
+
+        Assertions.assertThat(cache.size()).isEqualTo(1);
+        Assertions.assertThat(cache.stats().missCount()).isEqualTo(1);
+
+        JsonPath.using(configuration).parse(JSON_DOCUMENT).read(path);
+        Assertions.assertThat(cache.stats().hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void configuration_cache_is_kept_by_copy_methods() {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(10);
+        Configuration configuration = Configuration.builder().cache(cache).build()
+                .addOptions(Option.ALWAYS_RETURN_LIST)
+                .setOptions(Option.SUPPRESS_EXCEPTIONS)
+                .jsonProvider(Configuration.defaultConfiguration().jsonProvider())
+                .mappingProvider(Configuration.defaultConfiguration().mappingProvider())
+                .setEvaluationListeners();
+
+        Assertions.assertThat(configuration.cache()).isSameAs(cache);
+    }
+
+    @Test
+    public void global_cache_is_used_when_configuration_has_no_cache() {
+        Assertions.assertThat(Configuration.defaultConfiguration().cache()).isSameAs(CacheProvider.getCache());
+        Assertions.assertThat(Configuration.builder().cache(new ConcurrentLRUCache(10)).build().cache(null).cache()).isSameAs(CacheProvider.getCache());
+    }
+
 }
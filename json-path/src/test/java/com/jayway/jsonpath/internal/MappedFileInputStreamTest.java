@@ -0,0 +1,117 @@
+package com.jayway.jsonpath.internal;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MappedFileInputStreamTest extends BaseTest {
+
+    @Test
+    public void reads_across_chunks() throws Exception {
+        byte[] bytes = new byte[1000];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        MappedFileInputStream in = new MappedFileInputStream(file(bytes), 64);
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            assertThat(in.read()).isEqualTo(0);
+            out.write(0);
+            byte[] buffer = new byte[100];
+            int read;
+            while ((read = in.read(buffer, 0, buffer.length)) != -1) {
+                assertThat(read).isPositive();
+                out.write(buffer, 0, read);
+            }
+            assertThat(out.toByteArray()).isEqualTo(bytes);
+            assertThat(in.read()).isEqualTo(-1);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void skips_across_chunks() throws Exception {
+        byte[] bytes = new byte[200];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        MappedFileInputStream in = new MappedFileInputStream(file(bytes), 64);
+        try {
+            assertThat(in.skip(130)).isEqualTo(130);
+            assertThat(in.read()).isEqualTo(130);
+            assertThat(in.available()).isEqualTo(69);
+            assertThat(in.skip(100)).isEqualTo(69);
+            assertThat(in.read()).isEqualTo(-1);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void empty_file_has_no_bytes() throws Exception {
+        MappedFileInputStream in = new MappedFileInputStream(file(new byte[0]));
+        try {
+            assertThat(in.read()).isEqualTo(-1);
+            assertThat(in.read(new byte[10], 0, 10)).isEqualTo(-1);
+        } finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void files_are_parsed_by_all_providers() throws Exception {
+        File file = file(JSON_DOCUMENT.getBytes("UTF-8"));
+        for (Configuration configuration : Configurations.configurations()) {
+            configuration = configuration.addOptions(Option.MAP_FILES);
+            List<String> authors = JsonPath.using(configuration).parse(file).read("$.store.book[*].author", List.class);
+            assertThat(authors).hasSize(4);
+            assertThat(authors.toString()).contains("Nigel Rees");
+        }
+
+        String title = JsonPath.compile("$.store.book[0].title").read(file, Configuration.defaultConfiguration().addOptions(Option.MAP_FILES));
+        assertThat(title).isEqualTo("Sayings of the Century");
+    }
+
+    @Test
+    public void files_are_only_mapped_with_the_option() throws Exception {
+        File file = file(new byte[0]);
+        InputStream in = Utils.openFile(file, Configuration.defaultConfiguration());
+        try {
+            assertThat(in).isInstanceOf(FileInputStream.class);
+        } finally {
+            in.close();
+        }
+        in = Utils.openFile(file, Configuration.defaultConfiguration().addOptions(Option.MAP_FILES));
+        try {
+            assertThat(in).isInstanceOf(MappedFileInputStream.class);
+        } finally {
+            in.close();
+        }
+    }
+
+    private static File file(byte[] bytes) throws IOException {
+        File file = File.createTempFile("mapped", ".json");
+        file.deleteOnExit();
+        FileOutputStream out = new FileOutputStream(file);
+        try {
+            out.write(bytes);
+        } finally {
+            out.close();
+        }
+        return file;
+    }
+}
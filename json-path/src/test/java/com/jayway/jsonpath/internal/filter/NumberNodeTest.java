@@ -0,0 +1,61 @@
+package com.jayway.jsonpath.internal.filter;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+import static com.jayway.jsonpath.internal.filter.ValueNode.createNumberNode;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NumberNodeTest {
+
+    private static final Number[] NUMBERS = {
+            0, -0.0, 0.0, 1, -1, 10, 10L, 10.0, 10.5, 0.1, 0.2, 0.30000000000000004, 1e-7, 1.0e10, 123456789.125,
+            Integer.MAX_VALUE, Integer.MIN_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE - 1,
+            (1L << 53), (1L << 53) + 1, -(1L << 53) - 1, 9.007199254740992E15, 1.0E300, -1.0E300, Double.MIN_VALUE,
+            (short) 7, (byte) -7, 7.0f, 0.1f, new BigDecimal("0.1"), new BigDecimal("10.000"),
+            new BigDecimal("0.10000000000000000001"), new BigInteger("123456789012345678901234567890")
+    };
+
+    private static final String[] LITERALS = {
+            "0", "-0", "10", "10.0", "-10", "0.1", "0.10000000000000000001", "9007199254740993", "1E+3", "1.0E300",
+            "123456789012345678901234567890", "123456789.125"
+    };
+
+    @Test
+    public void numbers_compare_as_their_decimals() {
+        for (Number left : NUMBERS) {
+            for (Number right : NUMBERS) {
+                assertComparesAsDecimals(createNumberNode(left), createNumberNode(right));
+            }
+            for (String literal : LITERALS) {
+                assertComparesAsDecimals(createNumberNode(left), createNumberNode(literal));
+                assertComparesAsDecimals(createNumberNode(literal), createNumberNode(left));
+            }
+        }
+    }
+
+    @Test
+    public void numbers_print_as_their_decimals() {
+        for (Number number : NUMBERS) {
+            assertThat(createNumberNode(number).toString()).isEqualTo(new BigDecimal(number.toString()).toString());
+            assertThat(createNumberNode(number).getNumber()).isEqualTo(new BigDecimal(number.toString()));
+        }
+    }
+
+    @Test
+    public void numbers_equal_strings_of_their_decimals() {
+        assertThat(createNumberNode(10)).isEqualTo(ValueNode.createStringNode("10", false));
+        assertThat(createNumberNode(10.5)).isEqualTo(ValueNode.createStringNode("10.50", false));
+        assertThat(createNumberNode(10.5)).isNotEqualTo(ValueNode.createStringNode("x", false));
+        assertThat(ValueNode.createStringNode("10", false)).isEqualTo(createNumberNode(10));
+    }
+
+    private static void assertComparesAsDecimals(ValueNode.NumberNode left, ValueNode.NumberNode right) {
+        int expected = Integer.signum(left.getNumber().compareTo(right.getNumber()));
+
+        assertThat(Integer.signum(left.compareTo(right))).describedAs(left + " compared to " + right).isEqualTo(expected);
+        assertThat(left.equals(right)).describedAs(left + " equals " + right).isEqualTo(expected == 0);
+    }
+}
@@ -0,0 +1,102 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.Predicate;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.internal.path.PredicateContextImpl;
+import org.junit.Test;
+
+import java.util.HashMap;
+
+import static com.jayway.jsonpath.internal.filter.FilterCompiler.parse;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PredicateCompilerTest {
+
+    private static final String ITEMS = "[" +
+            "{\"a\":5},{\"a\":10},{\"a\":10.0},{\"a\":10.5},{\"a\":-0.0},{\"a\":0.1},{\"a\":-3}," +
+            "{\"a\":9007199254740993},{\"a\":12345678901234567890}," +
+            "{\"a\":\"10\"},{\"a\":\"x\"},{\"a\":\"abc\"},{\"a\":\"\"},{\"a\":true},{\"a\":null},{}," +
+            "{\"a\":[1,2]},{\"a\":{\"b\":1}},{\"a\":5,\"b\":5},{\"a\":{\"b\":20}}" +
+            "]";
+
+    private static final String[] FILTERS = {
+            "[?(@.a < 10)]",
+            "[?(@.a <= 10)]",
+            "[?(@.a > 10)]",
+            "[?(@.a >= 10)]",
+            "[?(@.a == 10)]",
+            "[?(@.a != 10)]",
+            "[?(10 > @.a)]",
+            "[?(10 <= @.a)]",
+            "[?(10 == @.a)]",
+            "[?(@.a == 0.1)]",
+            "[?(@.a < 0.1)]",
+            "[?(@.a == 0)]",
+            "[?(@.a > -1)]",
+            "[?(@.a == 9007199254740993)]",
+            "[?(@.a < 0.10000000000000000001)]",
+            "[?(@.a == '10')]",
+            "[?(@.a == 'x')]",
+            "[?(@.a != 'x')]",
+            "[?(@.a < 'm')]",
+            "[?('m' < @.a)]",
+            "[?(@.a >= '')]",
+            "[?(@.a == true)]",
+            "[?(@.a == null)]",
+            "[?(@.a === 10)]",
+            "[?(@.a.b > 10)]",
+            "[?(@.a == @.b)]",
+            "[?(@.a in [5, 'x'])]",
+            "[?(@.a)]",
+            "[?(!@.a)]",
+            "[?(!(@.a < 10))]",
+            "[?(@.a > 1 && @.a < 10)]",
+            "[?(@.a < 1 || @.a == 'x')]",
+            "[?(1 == 2 || @.a > 1)]",
+            "[?(1 == 1 && @.a > 1)]",
+            "[?(!(1 == 2) && @.a)]",
+            "[?(@.a =~ /1.*/)]",
+            "[?($[0].a < @.a)]"
+    };
+
+    @Test
+    public void compiled_predicates_apply_as_their_expressions() {
+        for (Configuration configuration : Configurations.configurations()) {
+            Object items = configuration.jsonProvider().parse(ITEMS);
+            int length = configuration.jsonProvider().length(items);
+            for (String filter : FILTERS) {
+                ExpressionNode expression = parse(filter);
+                Predicate predicate = PredicateCompiler.compile(expression);
+                for (int i = 0; i < length; i++) {
+                    Object item = configuration.jsonProvider().getArrayIndex(items, i);
+                    Predicate.PredicateContext ctx = new PredicateContextImpl(item, items, configuration, new HashMap<Path, Object>());
+
+                    assertThat(apply(predicate, ctx))
+                            .describedAs(filter + " on item " + i + " with " + configuration.jsonProvider().getClass().getSimpleName())
+                            .isEqualTo(apply(expression, ctx));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void literal_comparisons_are_folded() {
+        assertThat(PredicateCompiler.compile(parse("[?(1 == 1)]")).apply(null)).isTrue();
+        assertThat(PredicateCompiler.compile(parse("[?('a' == 'b')]")).apply(null)).isFalse();
+        assertThat(PredicateCompiler.compile(parse("[?('a' < 'b' && 2 >= 1.5)]")).apply(null)).isTrue();
+        assertThat(PredicateCompiler.compile(parse("[?(1 == 2 && @.a)]")).apply(null)).isFalse();
+        assertThat(PredicateCompiler.compile(parse("[?(@.a || 1 != 2)]")).apply(null)).isTrue();
+        assertThat(PredicateCompiler.compile(parse("[?(!(1 > 2))]")).apply(null)).isTrue();
+        assertThat(PredicateCompiler.compile(parse("[?('abc' =~ /a.*/)]")).apply(null)).isTrue();
+    }
+
+    private static Object apply(Predicate predicate, Predicate.PredicateContext ctx) {
+        try {
+            return predicate.apply(ctx);
+        } catch (RuntimeException e) {
+            return e.getClass();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.jayway.jsonpath.internal.filter;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.jayway.jsonpath.internal.filter.ValueNode.createNumberNode;
+import static com.jayway.jsonpath.internal.filter.ValueNode.createStringNode;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValueListNodeTest {
+
+    private static final List<Object> VALUES = Arrays.<Object>asList(
+            1, 2L, 3.5, "4", "x", "10.0", 1e300, new BigDecimal("0.10000000000000000001"), 9007199254740993L,
+            -0.0, "1e2", true, null, "[1]", Long.MIN_VALUE, 1152921504606846976L, (double) (1L << 62));
+
+    private static final ValueNode[] PROBES = {
+            createNumberNode(1), createNumberNode(1.0), createNumberNode("1"), createNumberNode("1.00"), createStringNode("1", false),
+            createStringNode("1.0", false), createNumberNode(2), createStringNode("2", false), createNumberNode(3.5),
+            createNumberNode("3.50"), createStringNode("3.5", false), createStringNode("3.50", false), createNumberNode(4),
+            createNumberNode(4.0), createStringNode("4", false), createStringNode("x", false), createNumberNode(10),
+            createStringNode("10", false), createStringNode("10.0", false), createNumberNode(1e300), createNumberNode("1E+300"),
+            createNumberNode("0.10000000000000000001"), createNumberNode(0.1), createNumberNode(9007199254740993L),
+            createNumberNode(9007199254740992L), createNumberNode(9.007199254740992E15), createNumberNode(0),
+            createStringNode("0", false), createStringNode("-0.0", false), createNumberNode(100), createStringNode("100", false),
+            createNumberNode((double) Long.MIN_VALUE), createNumberNode(-9.223372036854775808E18), ValueNode.TRUE, ValueNode.FALSE,
+            ValueNode.NULL_NODE, ValueNode.UNDEFINED, ValueNode.createJsonNode("[1]"), createNumberNode((double) (1L << 60)),
+            createNumberNode("1152921504606846980"), createNumberNode(1L << 62), createNumberNode("4611686018427387904"),
+            createNumberNode("4.611686018427388E18")
+    };
+
+    @Test
+    public void lists_contain_what_their_nodes_equal() {
+        ValueNode.ValueListNode list = new ValueNode.ValueListNode(VALUES);
+        for (int i = 0; i < 3; i++) {
+            for (ValueNode probe : PROBES) {
+                assertThat(list.contains(probe)).describedAs(list + " contains " + probe).isEqualTo(list.getNodes().contains(probe));
+            }
+        }
+    }
+
+    @Test
+    public void lists_are_subsets_of_lists_containing_their_nodes() {
+        ValueNode.ValueListNode list = new ValueNode.ValueListNode(VALUES);
+
+        assertThat(new ValueNode.ValueListNode(Arrays.asList(1.0, "x", 2)).subsetof(list)).isTrue();
+        assertThat(new ValueNode.ValueListNode(Arrays.asList(1.0, "y", 2)).subsetof(list)).isFalse();
+        assertThat(new ValueNode.ValueListNode(Arrays.asList(true, null, "10.0", 100)).subsetof(list)).isTrue();
+    }
+
+    @Test
+    public void items_are_filtered_by_large_lists() {
+        StringBuilder ids = new StringBuilder();
+        StringBuilder items = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            ids.append(i == 0 ? "" : ",").append(i * 3);
+            items.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append('}');
+        }
+        String json = "{\"allowed\":[" + ids + "],\"items\":[" + items + "]}";
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < 1000; i += 3) {
+            expected.add(i);
+        }
+
+        assertThat(JsonPath.parse(json).<List<Integer>>read("$.items[?(@.id in [" + ids + "])].id")).isEqualTo(expected);
+        assertThat(JsonPath.parse(json).<List<Integer>>read("$.items[?(@.id in $.allowed)].id")).isEqualTo(expected);
+        assertThat(JsonPath.parse(json).<List<Integer>>read("$.items[?(@.id nin $.allowed)].id")).hasSize(1000 - expected.size());
+    }
+}
@@ -113,6 +113,33 @@ public class NumericPathFunctionTest extends BaseFunctionTest {
         }
     }
 
+    @Test
+    public void scanned_values_are_summed_with_compensation() {
+        verifyFunction(conf, "$..v.sum()", "{\"a\": [{\"v\": 0.1}, {\"v\": 0.1}, {\"v\": 0.1}, {\"v\": 0.1}, {\"v\": 0.1}], " +
+                "\"b\": {\"v\": 0.1, \"c\": [{\"v\": 0.1}, {\"v\": 0.1}, {\"v\": 0.1}, {\"v\": 0.1}]}}", 1.0d);
+        verifyFunction(conf, "$..v.avg()", "{\"a\": {\"v\": 10000000000000000.0}, \"b\": {\"v\": 1.0}, \"c\": {\"v\": -10000000000000000.0}}", 1.0d / 3);
+    }
+
+    @Test
+    public void integers_are_summed_exactly() {
+        verifyFunction(conf, "$.numbers.sum()", "{\"numbers\": [9007199254740993, 1]}", 9007199254740994d);
+    }
+
+    @Test
+    public void max_of_negative_numbers() {
+        verifyFunction(conf, "$..n.max()", "{\"a\": {\"n\": -3}, \"b\": {\"n\": -1}, \"c\": {\"n\": -2}}", -1d);
+    }
+
+    @Test
+    public void stddev_of_large_close_numbers() {
+        verifyFunction(conf, "$.numbers.stddev()", "{\"numbers\": [1000000004, 1000000007, 1000000013, 1000000016]}", Math.sqrt(22.5));
+    }
+
+    @Test
+    public void length_of_scan_counts_values_found() {
+        verifyFunction(conf, "$..n.length()", "{\"a\": {\"n\": 1}, \"b\": [{\"n\": \"x\"}, {\"n\": 3}]}", 3);
+    }
+
     /**
      * Expect that for an invalid function name we'll get back the original input to the function
      */
@@ -0,0 +1,91 @@
+package com.jayway.jsonpath.internal.function;
+
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.EvaluationListener;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * A compiled function path is shared through the path cache, it must not keep state from one evaluation
+ * in the next one.
+ */
+public class SharedFunctionPathTest {
+
+    @Test
+    public void function_parameters_are_bound_to_the_evaluated_document() {
+        JsonPath path = JsonPath.compile("$.sum($..price)");
+
+        assertThat(path.<Double>read("{\"a\": {\"price\": 1}, \"b\": {\"price\": 2}}")).isEqualTo(3.0);
+        assertThat(path.<Double>read("{\"a\": {\"price\": 10}, \"b\": {\"price\": 20}}")).isEqualTo(30.0);
+    }
+
+    @Test
+    public void path_parameters_are_read_once_per_evaluation() {
+        final List<String> read = new ArrayList<String>();
+        Configuration conf = Configuration.defaultConfiguration().addEvaluationListeners(new EvaluationListener() {
+            @Override
+            public EvaluationContinuation resultFound(FoundResult found) {
+                read.add(found.path());
+                return EvaluationContinuation.CONTINUE;
+            }
+        });
+        JsonPath path = JsonPath.compile("$.lists[*].sum($.extra)");
+
+        List<Double> sums = path.read("{\"lists\": [[1], [2, 3], [4]], \"extra\": 10}", conf);
+
+        assertThat(sums).containsExactly(11.0, 15.0, 14.0);
+        assertThat(read).containsOnlyOnce("$['extra']");
+    }
+
+    @Test
+    public void aggregations_do_not_keep_state_between_evaluations() {
+        JsonPath path = JsonPath.compile("$.numbers.avg()");
+
+        assertThat(path.<Double>read("{\"numbers\": [1, 2, 3]}")).isEqualTo(2.0);
+        assertThat(path.<Double>read("{\"numbers\": [10]}")).isEqualTo(10.0);
+    }
+
+    @Test
+    public void function_path_can_be_evaluated_concurrently() throws Exception {
+        final JsonPath path = JsonPath.compile("$.numbers.sum($.extra)");
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<Future<Boolean>>();
+            for (int t = 0; t < 8; t++) {
+                final int n = t;
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        String json = "{\"numbers\": [" + n + ", " + n + "], \"extra\": " + n + "}";
+                        for (int i = 0; i < 1000; i++) {
+                            Double sum = path.read(json);
+                            if (sum != n * 3.0) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertThat(result.get()).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void functions_are_shared_instances() {
+        assertThat(PathFunctionFactory.newFunction("sum")).isSameAs(PathFunctionFactory.newFunction("sum"));
+    }
+}
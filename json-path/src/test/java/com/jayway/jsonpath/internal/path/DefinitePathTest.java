@@ -0,0 +1,114 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.Differential;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.PathNotFoundException;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.Path;
+import com.jayway.jsonpath.spi.json.JsonProvider;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Definite paths are resolved by {@link DefinitePath} when possible, the result must be the same as the one
+ * of the general engine.
+ */
+public class DefinitePathTest {
+
+    @Test
+    public void definite_paths_are_evaluated_like_the_general_engine() {
+        Differential.assertReadsLike(FAST, GENERAL, Differential.DOCUMENT, Differential.PATHS);
+    }
+
+    @Test
+    public void definite_paths_read_the_document() {
+        for (Configuration configuration : new Configuration[]{Configurations.JSON_SMART_CONFIGURATION, Configurations.JACKSON_CONFIGURATION}) {
+            DocumentContext ctx = JsonPath.using(configuration).parse(BaseTest.JSON_DOCUMENT);
+
+            assertThat(ctx.<String>read("$.store.book[2].isbn")).isEqualTo("0-553-21311-3");
+            assertThat(ctx.<String>read("$['store']['book'][-1]['author']")).isEqualTo("J. R. R. Tolkien");
+            assertThat(ctx.<Double>read("$.store.bicycle['display-price']")).isEqualTo(19.95);
+            assertThat(ctx.<Integer>read("$.store.book.length()")).isEqualTo(4);
+        }
+    }
+
+    @Test
+    public void paths_that_find_nothing_read_as_undefined() {
+        Differential.assertReadsLike(orUndefined(true), orUndefined(false), Differential.DOCUMENT, Differential.PATHS);
+    }
+
+    @Test
+    public void supported_paths_get_a_fast_path() {
+        assertThat(definitePath("$.a.b[0].c")).isNotNull();
+        assertThat(definitePath("$.a.b.length()")).isNotNull();
+        assertThat(definitePath("$")).isNotNull();
+        assertThat(definitePath("$['a', 'b']")).isNull();
+        assertThat(definitePath("$.a[?(@.b)]")).isNull();
+        assertThat(definitePath("$.a[0:1]")).isNull();
+        assertThat(definitePath("$.a.length().b")).isNull();
+    }
+
+    private static DefinitePath definitePath(String path) {
+        return ((CompiledPath) PathCompiler.compile(path)).definitePath();
+    }
+
+    /**
+     * Reads paths with their definite path, unwrapped and not
+     */
+    private static final Differential.Evaluator FAST = new Differential.Evaluator() {
+        @Override
+        public Object read(String path, String json, Configuration configuration) {
+            Object document = configuration.jsonProvider().parse(json);
+            Path compiled = PathCompiler.compile(path);
+            return Arrays.asList(compiled.read(document, document, configuration, true), compiled.read(document, document, configuration, false));
+        }
+    };
+
+    /**
+     * Reads paths with the general engine, unwrapped and not
+     */
+    private static final Differential.Evaluator GENERAL = new Differential.Evaluator() {
+        @Override
+        public Object read(String path, String json, Configuration configuration) {
+            Object document = configuration.jsonProvider().parse(json);
+            EvaluationContext evaluated = PathCompiler.compile(path).evaluate(document, document, configuration);
+            return Arrays.asList(evaluated.getValue(true), evaluated.getValue(false));
+        }
+    };
+
+    /**
+     * Reads paths, as undefined when they are not found, with their definite path or with the general engine
+     */
+    private static Differential.Evaluator orUndefined(final boolean fast) {
+        return new Differential.Evaluator() {
+            @Override
+            public Object read(String path, String json, Configuration configuration) {
+                Object document = configuration.jsonProvider().parse(json);
+                Path compiled = PathCompiler.compile(path);
+                if (fast) {
+                    return compiled.readOrUndefined(document, document, configuration, true);
+                }
+                try {
+                    Object value = compiled.evaluate(document, document, configuration).getValue(true);
+                    if (value == null) {
+                        // Jackson tree arrays hand out null for missing indexes, null results are not compared
+                        return compiled.readOrUndefined(document, document, configuration, true);
+                    }
+                    return value;
+                } catch (PathNotFoundException e) {
+                    return JsonProvider.UNDEFINED;
+                } catch (RuntimeException e) {
+                    // some providers fail to hand out missing results, the paths are not compared then
+                    return compiled.readOrUndefined(document, document, configuration, true);
+                }
+            }
+        };
+    }
+}
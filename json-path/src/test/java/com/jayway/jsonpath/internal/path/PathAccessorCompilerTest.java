@@ -0,0 +1,142 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.Differential;
+import com.jayway.jsonpath.EvaluationEngine;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.spi.json.JsonSmartJsonProvider;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PathAccessorCompilerTest {
+
+    /**
+     * Reads paths with the bytecode engine once their accessor is compiled
+     */
+    private static final Differential.Evaluator COMPILED = new Differential.Evaluator() {
+        @Override
+        public Object read(String path, String json, Configuration configuration) {
+            Configuration conf = configuration.engine(EvaluationEngine.BYTECODE);
+            Object document = conf.jsonProvider().parse(json);
+            JsonPath compiled = JsonPath.compile(path);
+            for (int i = 0; compiled.isDefinite() && i < DefinitePath.COMPILE_THRESHOLD; i++) {
+                try {
+                    compiled.read(document, conf);
+                } catch (RuntimeException e) {
+                    // read again below
+                }
+            }
+            return compiled.read(document, conf);
+        }
+    };
+
+    @Test
+    public void compiled_paths_read_like_the_general_engine() {
+        Differential.assertReadsLikeTheRecursiveEngine(COMPILED);
+    }
+
+    @Test
+    public void compiled_paths_read_the_document() {
+        for (Configuration configuration : new Configuration[]{Configurations.JSON_SMART_CONFIGURATION, Configurations.JACKSON_CONFIGURATION}) {
+            Configuration conf = configuration.engine(EvaluationEngine.BYTECODE);
+            Object document = conf.jsonProvider().parse(BaseTest.JSON_DOCUMENT);
+
+            assertThat(compiledRead("$.store.book[2].isbn", document, conf)).isEqualTo("0-553-21311-3");
+            assertThat(compiledRead("$['store']['book'][-1]['author']", document, conf)).isEqualTo("J. R. R. Tolkien");
+            assertThat(compiledRead("$.store.bicycle['display-price']", document, conf)).isEqualTo(19.95);
+            assertThat(compiledRead("$.store.bicycle.missing", document, conf.addOptions(Option.DEFAULT_PATH_LEAF_TO_NULL))).isNull();
+        }
+    }
+
+    @Test
+    public void paths_are_only_compiled_once_they_are_hot() {
+        Configuration conf = Configurations.JSON_SMART_CONFIGURATION.engine(EvaluationEngine.BYTECODE);
+        Object document = conf.jsonProvider().parse(Differential.DOCUMENT);
+        CompiledPath path = (CompiledPath) PathCompiler.compile("$.items[0].id");
+
+        for (int i = 0; i < DefinitePath.COMPILE_THRESHOLD - 1; i++) {
+            assertThat(path.<Integer>read(document, document, conf, false)).isEqualTo(1);
+        }
+        assertThat(path.definitePath().accessor()).isNull();
+
+        assertThat(path.<Integer>read(document, document, conf, false)).isEqualTo(1);
+        assertThat(path.definitePath().accessor()).isNotNull();
+        assertThat(path.definitePath().accessor().read(document)).isEqualTo(1);
+    }
+
+    @Test
+    public void subclasses_of_supported_providers_are_compiled_unless_they_change_reads() {
+        CompiledPath path = (CompiledPath) PathCompiler.compile("$.items[0].id");
+        Configuration conf = Configuration.builder().jsonProvider(new JsonSmartJsonProvider() {
+        }).engine(EvaluationEngine.BYTECODE).build();
+        Object document = conf.jsonProvider().parse(Differential.DOCUMENT);
+
+        warmUp(path, document, conf);
+        assertThat(path.<Integer>read(document, document, conf, false)).isEqualTo(1);
+        assertThat(path.definitePath().accessor()).isNotNull();
+
+        path = (CompiledPath) PathCompiler.compile("$.items[0].id");
+        conf = conf.jsonProvider(new JsonSmartJsonProvider() {
+            @Override
+            public Object getMapValue(Object obj, String key) {
+                Object value = super.getMapValue(obj, key);
+                return value instanceof Integer ? (Integer) value * 10 : value;
+            }
+        });
+
+        warmUp(path, document, conf);
+        assertThat(path.<Integer>read(document, document, conf, false)).isEqualTo(10);
+        assertThat(path.definitePath().accessor()).isNull();
+    }
+
+    @Test
+    public void unsupported_providers_and_engines_are_not_compiled() {
+        CompiledPath path = (CompiledPath) PathCompiler.compile("$.items[0].id");
+
+        for (Configuration conf : new Configuration[]{
+                Configurations.GSON_CONFIGURATION.engine(EvaluationEngine.BYTECODE),
+                Configurations.JACKSON_JSON_NODE_CONFIGURATION.engine(EvaluationEngine.BYTECODE),
+                Configurations.JSON_SMART_CONFIGURATION.engine(EvaluationEngine.INTERPRETER)}) {
+            warmUp(path, conf.jsonProvider().parse(Differential.DOCUMENT), conf);
+        }
+        assertThat(path.definitePath().accessor()).isNull();
+    }
+
+    @Test
+    public void paths_ending_with_a_function_are_not_compiled() {
+        Configuration conf = Configurations.JSON_SMART_CONFIGURATION.engine(EvaluationEngine.BYTECODE);
+        CompiledPath path = (CompiledPath) PathCompiler.compile("$.store.book.length()");
+        Object document = conf.jsonProvider().parse(Differential.DOCUMENT);
+
+        warmUp(path, document, conf);
+
+        assertThat(path.definitePath().accessor()).isNull();
+        assertThat(path.<Integer>read(document, document, conf, true)).isEqualTo(4);
+    }
+
+    private static void warmUp(CompiledPath path, Object document, Configuration conf) {
+        for (int i = 0; i < DefinitePath.COMPILE_THRESHOLD; i++) {
+            outcome(path, document, conf);
+        }
+    }
+
+    private static Object compiledRead(String p, Object document, Configuration conf) {
+        CompiledPath path = (CompiledPath) PathCompiler.compile(p);
+        warmUp(path, document, conf);
+
+        assertThat(path.definitePath().accessor()).describedAs(p).isNotNull();
+        return path.read(document, document, conf, true);
+    }
+
+    private static Object outcome(CompiledPath path, Object document, Configuration conf) {
+        try {
+            return path.read(document, document, conf, true);
+        } catch (RuntimeException e) {
+            return e.getClass().getName() + ": " + e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.Differential;
+import com.jayway.jsonpath.DocumentContext;
+import com.jayway.jsonpath.EvaluationEngine;
+import com.jayway.jsonpath.EvaluationListener;
+import com.jayway.jsonpath.JsonPath;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import com.jayway.jsonpath.internal.Path;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The {@link EvaluationEngine#INTERPRETER} must produce the same results, paths and exceptions as the
+ * {@link EvaluationEngine#RECURSIVE} engine.
+ */
+public class PathInterpreterTest {
+
+    @Test
+    public void engine_defaults_to_recursive_evaluation() {
+        assertThat(Configuration.defaultConfiguration().engine()).isEqualTo(EvaluationEngine.RECURSIVE);
+        assertThat(Configuration.defaultConfiguration().engine(EvaluationEngine.INTERPRETER).addOptions(Option.SUPPRESS_EXCEPTIONS).engine())
+                .isEqualTo(EvaluationEngine.INTERPRETER);
+    }
+
+    @Test
+    public void interpreter_evaluates_like_the_recursive_engine() {
+        Differential.assertReadsLike(evaluation(EvaluationEngine.INTERPRETER), evaluation(EvaluationEngine.RECURSIVE),
+                Differential.DOCUMENT, Differential.PATHS);
+    }
+
+    @Test
+    public void interpreter_reads_the_document() {
+        for (Configuration configuration : new Configuration[]{Configurations.JSON_SMART_CONFIGURATION, Configurations.JACKSON_CONFIGURATION}) {
+            DocumentContext ctx = JsonPath.using(configuration.engine(EvaluationEngine.INTERPRETER)).parse(BaseTest.JSON_DOCUMENT);
+
+            assertThat(ctx.<List<String>>read("$.store.book[1:3].author")).containsExactly("Evelyn Waugh", "Herman Melville");
+            assertThat(ctx.<List<String>>read("$..book[?(@['display-price'] > 10)].title")).containsExactly("Sword of Honour", "The Lord of the Rings");
+            assertThat(ctx.<String>read("$.store.bicycle.color")).isEqualTo("red");
+            assertThat(ctx.<Integer>read("$.store.book.length()")).isEqualTo(4);
+        }
+    }
+
+    @Test
+    public void interpreter_updates_like_the_recursive_engine() {
+        Differential.assertReadsLike(update(EvaluationEngine.INTERPRETER), update(EvaluationEngine.RECURSIVE), Differential.DOCUMENT,
+                "$..price", "$.store.book[?(@['display-price'] < 10)].title", "$.store.book[*].tags[0]", "$.store.book[1:].category");
+    }
+
+    @Test
+    public void interpreter_stops_when_a_listener_aborts() {
+        for (Configuration configuration : Configurations.configurations()) {
+            final List<String> found = new ArrayList<String>();
+            Configuration conf = configuration.engine(EvaluationEngine.INTERPRETER).setEvaluationListeners(new EvaluationListener() {
+                @Override
+                public EvaluationContinuation resultFound(FoundResult result) {
+                    found.add(result.path());
+                    return found.size() == 2 ? EvaluationContinuation.ABORT : EvaluationContinuation.CONTINUE;
+                }
+            });
+            Object titles = JsonPath.using(conf).parse(Differential.DOCUMENT).read("$..title");
+
+            assertThat(conf.jsonProvider().length(titles)).isEqualTo(2);
+            assertThat(found).containsExactly("$['store']['book'][0]['title']", "$['store']['book'][1]['title']");
+        }
+    }
+
+    @Test
+    public void interpreter_does_not_recurse_into_deep_documents() {
+        // built from plain maps, some providers copy values recursively when they are added to an object
+        Configuration conf = Configurations.JSON_SMART_CONFIGURATION.engine(EvaluationEngine.INTERPRETER);
+        int depth = 20000;
+        Map<String, Object> document = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < depth; i++) {
+            Map<String, Object> parent = new LinkedHashMap<String, Object>();
+            parent.put("id", i);
+            parent.put("a", document);
+            document = parent;
+        }
+
+        List<Object> ids = JsonPath.using(conf).parse(document).read("$..id");
+
+        assertThat(ids).hasSize(depth);
+    }
+
+    /**
+     * Sets the values a path finds with the given engine
+     */
+    private static Differential.Evaluator update(final EvaluationEngine engine) {
+        return new Differential.Evaluator() {
+            @Override
+            public Object read(String path, String json, Configuration configuration) {
+                return JsonPath.using(configuration.engine(engine)).parse(json).set(path, "x").jsonString();
+            }
+        };
+    }
+
+    /**
+     * Evaluates paths with the given engine, for reading and for updating, down to the update operations
+     */
+    private static Differential.Evaluator evaluation(final EvaluationEngine engine) {
+        return new Differential.Evaluator() {
+            @Override
+            public Object read(String path, String json, Configuration configuration) {
+                Configuration conf = configuration.engine(engine);
+                Object document = conf.jsonProvider().parse(json);
+                Path compiled = PathCompiler.compile(path);
+                List<Object> outcome = new ArrayList<Object>();
+                for (boolean forUpdate : new boolean[]{false, true}) {
+                    EvaluationContext ctx = compiled.evaluate(document, document, conf, forUpdate);
+                    outcome.add(Arrays.asList(String.valueOf(ctx.getValue(false)), ctx.getPathList(), ctx.updateOperations().size()));
+                }
+                return outcome;
+            }
+        };
+    }
+}
@@ -0,0 +1,73 @@
+package com.jayway.jsonpath.internal.path;
+
+import com.jayway.jsonpath.BaseTest;
+import com.jayway.jsonpath.Configuration;
+import com.jayway.jsonpath.Configurations;
+import com.jayway.jsonpath.Option;
+import com.jayway.jsonpath.internal.EvaluationContext;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PathSetTest extends BaseTest {
+
+    private static final Configuration CONF = Configurations.JSON_SMART_CONFIGURATION;
+
+    @Test
+    public void paths_sharing_a_prefix_are_evaluated_together() {
+        PathSet set = PathSet.compile(
+                "$.store.book[0].title",
+                "$.store.book[0].author",
+                "$.store.book[?(@.isbn)].title",
+                "$.store..title",
+                "$.store..author",
+                "$.store.bicycle['color', 'foo']");
+        Object document = CONF.jsonProvider().parse(JSON_DOCUMENT);
+
+        EvaluationContext[] contexts = set.evaluate(document, document, CONF);
+
+        assertThat(contexts).doesNotContainNull();
+        assertThat(contexts[0].<Object>getValue()).isEqualTo("Sayings of the Century");
+        assertThat(contexts[1].<Object>getValue()).isEqualTo("Nigel Rees");
+        assertThat(contexts[2].getPathList()).containsExactly("$['store']['book'][2]['title']", "$['store']['book'][3]['title']");
+        assertThat(contexts[3].getPathList()).hasSize(4);
+        assertThat(contexts[4].getPathList()).hasSize(4);
+        assertThat(contexts[5].getPathList()).containsExactly("$['store']['bicycle']['color', 'foo']");
+    }
+
+    @Test
+    public void merging_leaves_the_compiled_paths_as_they_are() {
+        PathSet set = PathSet.compile("$.store.book[*].title", "$.store.book[*].author", "$.store..price");
+        Object document = CONF.jsonProvider().parse(JSON_DOCUMENT);
+
+        set.evaluate(document, document, CONF);
+
+        assertThat(set.path(0).toString()).isEqualTo("$['store']['book'][*]['title']");
+        assertThat(set.path(1).toString()).isEqualTo("$['store']['book'][*]['author']");
+        assertThat(set.path(2).toString()).isEqualTo("$['store']..['price']");
+    }
+
+    @Test
+    public void a_failing_path_is_left_to_be_read_on_its_own() {
+        PathSet set = PathSet.compile("$.store.missing.title", "$.store.book[0].title", "$.store.bicycle.color");
+        Configuration conf = CONF.addOptions(Option.REQUIRE_PROPERTIES);
+        Object document = conf.jsonProvider().parse(JSON_DOCUMENT);
+
+        EvaluationContext[] contexts = set.evaluate(document, document, conf);
+
+        assertThat(contexts[0]).isNull();
+        assertThat(contexts[1].<Object>getValue()).isEqualTo("Sayings of the Century");
+        assertThat(contexts[2].<Object>getValue()).isEqualTo("red");
+    }
+
+    @Test
+    public void function_paths_are_not_merged() {
+        PathSet set = PathSet.compile("$.store.book.length()", "$.store.book[0].title");
+        Object document = CONF.jsonProvider().parse(JSON_DOCUMENT);
+
+        EvaluationContext[] contexts = set.evaluate(document, document, CONF);
+
+        assertThat(contexts[0]).isNull();
+        assertThat(contexts[1].<Object>getValue()).isEqualTo("Sayings of the Century");
+    }
+}
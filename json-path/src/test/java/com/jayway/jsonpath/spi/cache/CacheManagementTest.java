@@ -0,0 +1,63 @@
+package com.jayway.jsonpath.spi.cache;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.After;
+import org.junit.Test;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CacheManagementTest {
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    @After
+    public void unregister() {
+        CacheManagement.unregister();
+    }
+
+    @Test
+    public void management_bean_exposes_cache_statistics() {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(10);
+        CacheManagement management = new CacheManagement(cache);
+
+        cache.get("$.a");
+        cache.put("$.a", JsonPath.compile("$.a"));
+        cache.get("$.a");
+        cache.recordLoad(50);
+
+        assertThat(management.getHitCount()).isEqualTo(1);
+        assertThat(management.getMissCount()).isEqualTo(1);
+        assertThat(management.getLoadCount()).isEqualTo(1);
+        assertThat(management.getTotalLoadTime()).isEqualTo(50);
+        assertThat(management.getSize()).isEqualTo(1);
+        assertThat(management.getLimit()).isEqualTo(10);
+
+        management.setLimit(20);
+        assertThat(cache.limit()).isEqualTo(20);
+
+        management.clear();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void default_cache_can_be_registered() throws Exception {
+        CacheManagement.register();
+        CacheManagement.register();
+
+        ObjectName name = new ObjectName(CacheManagement.OBJECT_NAME);
+        assertThat(server.isRegistered(name)).isTrue();
+        int limit = (Integer) server.getAttribute(name, "Limit");
+        assertThat(limit).isGreaterThan(0);
+
+        server.setAttribute(name, new Attribute("Limit", limit));
+        assertThat(server.getAttribute(name, "Limit")).isEqualTo(limit);
+
+        CacheManagement.unregister();
+        assertThat(server.isRegistered(name)).isFalse();
+    }
+}
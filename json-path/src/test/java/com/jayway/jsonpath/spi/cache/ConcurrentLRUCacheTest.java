@@ -0,0 +1,228 @@
+package com.jayway.jsonpath.spi.cache;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrentLRUCacheTest {
+
+    private static final JsonPath DUMMY = JsonPath.compile("$");
+
+    @Test
+    public void cache_size_is_bounded_by_limit() {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(200);
+        for (int i = 0; i < 1000; ++i) {
+            String key = String.valueOf(i);
+            cache.get(key);
+            cache.put(key, DUMMY);
+        }
+        assertThat(cache.size()).isEqualTo(200);
+    }
+
+    @Test
+    public void least_recently_used_entry_is_evicted() throws Exception {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(3);
+        cache.put("1", DUMMY);
+        cache.put("2", DUMMY);
+        cache.put("3", DUMMY);
+
+        Thread.sleep(1);
+        cache.get("1");
+        cache.put("4", DUMMY);
+
+        assertThat(cache.getSilent("1")).isNotNull();
+        assertThat(cache.getSilent("2")).isNull();
+        assertThat(cache.getSilent("3")).isNotNull();
+        assertThat(cache.getSilent("4")).isNotNull();
+    }
+
+    @Test
+    public void entries_hit_after_the_last_insert_are_more_recent() {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(3);
+        cache.put("1", DUMMY);
+        cache.put("2", DUMMY);
+        cache.put("3", DUMMY);
+
+        cache.get("1");
+        cache.get("2");
+        cache.put("4", DUMMY);
+
+        assertThat(cache.getSilent("1")).isNotNull();
+        assertThat(cache.getSilent("2")).isNotNull();
+        assertThat(cache.getSilent("3")).isNull();
+        assertThat(cache.getSilent("4")).isNotNull();
+    }
+
+    @Test
+    public void put_replaces_existing_entry() {
+        JsonPath other = JsonPath.compile("$.a");
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(2);
+        cache.put("1", DUMMY);
+        cache.put("1", other);
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.get("1")).isSameAs(other);
+    }
+
+    @Test
+    public void removed_entries_free_their_slot() {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(2);
+        cache.put("1", DUMMY);
+        cache.put("2", DUMMY);
+        cache.remove("1");
+        cache.put("3", DUMMY);
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.getSilent("2")).isNotNull();
+        assertThat(cache.getSilent("3")).isNotNull();
+    }
+
+    @Test
+    public void frequently_read_entries_survive_eviction_with_sampling() throws Exception {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(100);
+        cache.put("hot", DUMMY);
+        for (int i = 0; i < 10000; i++) {
+            cache.get("hot");
+            cache.put(String.valueOf(i), DUMMY);
+        }
+        assertThat(cache.size()).isEqualTo(100);
+        assertThat(cache.getSilent("hot")).isNotNull();
+    }
+
+    @Test
+    public void hits_misses_and_evictions_are_counted() {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(2);
+        cache.get("1");
+        cache.put("1", DUMMY);
+        cache.get("1");
+        cache.get("1");
+        cache.put("2", DUMMY);
+        cache.put("3", DUMMY);
+        cache.recordLoad(100);
+        cache.recordLoad(300);
+
+        CacheStats stats = cache.stats();
+        assertThat(stats.hitCount()).isEqualTo(2);
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.evictionCount()).isEqualTo(1);
+        assertThat(stats.loadCount()).isEqualTo(2);
+        assertThat(stats.totalLoadTime()).isEqualTo(400);
+        assertThat(stats.averageLoadPenalty()).isEqualTo(200.0);
+        assertThat(stats.hitRate()).isEqualTo(2.0 / 3.0);
+    }
+
+    @Test
+    public void events_are_reported_to_custom_stats_counter() {
+        final List<String> events = new ArrayList<String>();
+        StatsCounter counter = new StatsCounter() {
+            @Override
+            public void recordHit() {
+                events.add("hit");
+            }
+
+            @Override
+            public void recordMiss() {
+                events.add("miss");
+            }
+
+            @Override
+            public void recordEviction() {
+                events.add("eviction");
+            }
+
+            @Override
+            public void recordLoad(long loadTime) {
+                events.add("load");
+            }
+
+            @Override
+            public CacheStats snapshot() {
+                return new CacheStats(0, 0, 0, 0, 0);
+            }
+        };
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(1, counter);
+        cache.get("1");
+        cache.recordLoad(10);
+        cache.put("1", DUMMY);
+        cache.get("1");
+        cache.put("2", DUMMY);
+
+        assertThat(events).containsExactly("miss", "load", "hit", "eviction");
+    }
+
+    @Test
+    public void cache_can_be_resized() {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(10);
+        for (int i = 0; i < 10; ++i) {
+            cache.put(String.valueOf(i), DUMMY);
+        }
+        cache.resize(4);
+        assertThat(cache.size()).isEqualTo(4);
+        assertThat(cache.limit()).isEqualTo(4);
+        assertThat(cache.stats().evictionCount()).isEqualTo(6);
+
+        cache.resize(6);
+        for (int i = 10; i < 20; ++i) {
+            cache.put(String.valueOf(i), DUMMY);
+        }
+        assertThat(cache.size()).isEqualTo(6);
+    }
+
+    @Test
+    public void cache_can_be_cleared() {
+        ConcurrentLRUCache cache = new ConcurrentLRUCache(10);
+        cache.put("1", DUMMY);
+        cache.put("2", DUMMY);
+        cache.clear();
+
+        assertThat(cache.size()).isEqualTo(0);
+        assertThat(cache.get("1")).isNull();
+
+        cache.put("3", DUMMY);
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void cache_can_be_used_concurrently() throws Exception {
+        final ConcurrentLRUCache cache = new ConcurrentLRUCache(50);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        List<Thread> threads = new ArrayList<Thread>();
+        for (int t = 0; t < 8; t++) {
+            final int offset = t * 1000;
+            Thread thread = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                        for (int i = 0; i < 5000; i++) {
+                            String key = String.valueOf(offset + (i % 100));
+                            if (cache.get(key) == null) {
+                                cache.put(key, DUMMY);
+                            }
+                            if (i % 7 == 0) {
+                                cache.remove(key);
+                            }
+                        }
+                    } catch (Throwable e) {
+                        failure.set(e);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertThat(failure.get()).isNull();
+        assertThat(cache.size()).isLessThanOrEqualTo(50);
+    }
+}